@@ -37,12 +37,25 @@ public class AccumuloProperties extends StoreProperties {
     public static final String PASSWORD = "accumulo.password";
     public static final String THREADS_FOR_BATCH_SCANNER = "accumulo.batchScannerThreads";
     public static final String MAX_ENTRIES_FOR_BATCH_SCANNER = "accumulo.entriesForBatchScanner";
+    public static final String BATCH_SCANNER_PREFETCH_BATCHES = "accumulo.batchScannerPrefetchBatches";
+    public static final String BATCH_SCANNER_PREFETCH_START = "accumulo.batchScannerPrefetchStart";
+    public static final String COALESCE_RANGES = "accumulo.coalesceRanges";
+    public static final String SEED_SORT_BATCHES = "accumulo.seedSortBatches";
     public static final String CLIENT_SIDE_BLOOM_FILTER_SIZE = "accumulo.clientSideBloomFilterSize";
+    public static final String CLIENT_SIDE_EXACT_SET_MAX_SIZE = "accumulo.clientSideExactSetMaxSize";
     public static final String FALSE_POSITIVE_RATE = "accumulo.falsePositiveRate";
     public static final String MAX_BLOOM_FILTER_TO_PASS_TO_AN_ITERATOR = "accumulo.maxBloomFilterToPassToAnIterator";
     public static final String MAX_BUFFER_SIZE_FOR_BATCH_WRITER = "accumulo.maxBufferSizeForBatchWriterInBytes";
     public static final String MAX_TIME_OUT_FOR_BATCH_WRITER = "accumulo.maxTimeOutForBatchWriterInMilliseconds";
     public static final String NUM_THREADS_FOR_BATCH_WRITER = "accumulo.numThreadsForBatchWriter";
+    public static final String SHARE_BATCH_WRITERS = "accumulo.shareBatchWriters";
+    public static final String FLUSH_BATCH_WRITERS_ON_ADD = "accumulo.flushBatchWritersOnAdd";
+    public static final String INGEST_CONVERSION_THREADS = "accumulo.ingestConversionThreads";
+    public static final String INGEST_CONVERSION_BATCH_SIZE = "accumulo.ingestConversionBatchSize";
+    public static final String INGEST_CONVERSION_ORDERED = "accumulo.ingestConversionOrdered";
+    public static final String PRE_AGGREGATE_ELEMENTS = "accumulo.preAggregateElements";
+    public static final String PRE_AGGREGATION_MAX_BUFFER_SIZE = "accumulo.preAggregationMaxBufferSizeInBytes";
+    public static final String PRE_AGGREGATION_MAX_LATENCY = "accumulo.preAggregationMaxLatencyInMilliseconds";
     public static final String SPLITS_FILE_PATH = "accumulo.splits.file.path";
     public static final String TABLE_REPLICATION_FACTOR = "accumulo.file.replication";
     public static final String ENABLE_VALIDATOR_ITERATOR = "gaffer.store.accumulo.enable.validator.iterator";
@@ -58,6 +71,19 @@ public class AccumuloProperties extends StoreProperties {
     private static final String THREADS_FOR_BATCH_SCANNER_DEFAULT = "10";
     private static final String SPLITS_FILE_PATH_DEFAULT = "/data/splits.txt";
     public static final String ENABLE_VALIDATOR_ITERATOR_DEFAULT = "true";
+    public static final String SHARE_BATCH_WRITERS_DEFAULT = "true";
+    public static final String FLUSH_BATCH_WRITERS_ON_ADD_DEFAULT = "true";
+    public static final String INGEST_CONVERSION_THREADS_DEFAULT = "1";
+    public static final String INGEST_CONVERSION_BATCH_SIZE_DEFAULT = "1000";
+    public static final String INGEST_CONVERSION_ORDERED_DEFAULT = "true";
+    public static final String PRE_AGGREGATE_ELEMENTS_DEFAULT = "false";
+    public static final String PRE_AGGREGATION_MAX_BUFFER_SIZE_DEFAULT = "10000000";
+    public static final String PRE_AGGREGATION_MAX_LATENCY_DEFAULT = "1000";
+    public static final String BATCH_SCANNER_PREFETCH_BATCHES_DEFAULT = "0";
+    public static final String BATCH_SCANNER_PREFETCH_START_DEFAULT = "true";
+    public static final String COALESCE_RANGES_DEFAULT = "false";
+    public static final String SEED_SORT_BATCHES_DEFAULT = "1";
+    public static final String CLIENT_SIDE_EXACT_SET_MAX_SIZE_DEFAULT = "100000";
 
     public AccumuloProperties() {
         super();
@@ -81,7 +107,7 @@ public class AccumuloProperties extends StoreProperties {
     }
 
     public void setMaxTimeOutForBatchWriterInMilliseconds(final String maxTimeOutForBatchWriterInMilliseconds) {
-        set(NUM_THREADS_FOR_BATCH_WRITER, MAX_TIME_OUT_FOR_BATCH_WRITER);
+        set(MAX_TIME_OUT_FOR_BATCH_WRITER, maxTimeOutForBatchWriterInMilliseconds);
     }
 
     public void setMaxBufferSizeForBatchWriterInBytes(final String maxBufferSizeForBatchWriterInBytes) {
@@ -238,6 +264,93 @@ public class AccumuloProperties extends StoreProperties {
         return Integer.parseInt(get(MAX_ENTRIES_FOR_BATCH_SCANNER, MAX_ENTRIES_FOR_BATCH_SCANNER_DEFAULT));
     }
 
+    /**
+     * Get the flag determining whether the ranges created for each batch of
+     * seeds should be sorted and have any overlapping or adjacent ranges merged
+     * before they are passed to the batch scanner.
+     *
+     * @return true if ranges should be coalesced
+     */
+    public boolean getCoalesceRanges() {
+        return Boolean.parseBoolean(get(COALESCE_RANGES, COALESCE_RANGES_DEFAULT));
+    }
+
+    /**
+     * Set the flag determining whether the ranges created for each batch of
+     * seeds should be sorted and have any overlapping or adjacent ranges merged.
+     *
+     * @param coalesceRanges true if ranges should be coalesced
+     */
+    public void setCoalesceRanges(final boolean coalesceRanges) {
+        set(COALESCE_RANGES, Boolean.toString(coalesceRanges));
+    }
+
+    /**
+     * Get the number of batches of seeds that are read and sorted together
+     * when retrieving elements for seeds. The sorted ranges are split back
+     * into batches along tablet boundaries, so each batch scanner contacts
+     * fewer tablets. If this is 1 each batch is created from the seeds in the
+     * order they were provided.
+     *
+     * @return the number of batches of seeds to sort together
+     */
+    public int getSeedSortBatches() {
+        return Integer.parseInt(get(SEED_SORT_BATCHES, SEED_SORT_BATCHES_DEFAULT));
+    }
+
+    /**
+     * Set the number of batches of seeds that are read and sorted together
+     * when retrieving elements for seeds.
+     *
+     * @param seedSortBatches the number of batches of seeds to sort together
+     */
+    public void setSeedSortBatches(final String seedSortBatches) {
+        set(SEED_SORT_BATCHES, seedSortBatches);
+    }
+
+    /**
+     * Get the number of batches of seeds, in addition to the batch currently
+     * being read, that should have their scanners prepared in advance when
+     * retrieving elements for seeds. If this is 0 the scanner for the next
+     * batch is only created once the current batch has been read.
+     *
+     * @return the number of batches of seeds to prefetch
+     */
+    public int getBatchScannerPrefetchBatches() {
+        return Integer.parseInt(get(BATCH_SCANNER_PREFETCH_BATCHES, BATCH_SCANNER_PREFETCH_BATCHES_DEFAULT));
+    }
+
+    /**
+     * Set the number of batches of seeds, in addition to the batch currently
+     * being read, that should have their scanners prepared in advance.
+     *
+     * @param batchScannerPrefetchBatches the number of batches of seeds to prefetch
+     */
+    public void setBatchScannerPrefetchBatches(final String batchScannerPrefetchBatches) {
+        set(BATCH_SCANNER_PREFETCH_BATCHES, batchScannerPrefetchBatches);
+    }
+
+    /**
+     * Get the flag determining whether prefetched scanners should start
+     * fetching results from the tablet servers straight away. If false the
+     * prefetched scanners are only configured in advance.
+     *
+     * @return true if prefetched scanners should be started
+     */
+    public boolean getBatchScannerPrefetchStart() {
+        return Boolean.parseBoolean(get(BATCH_SCANNER_PREFETCH_START, BATCH_SCANNER_PREFETCH_START_DEFAULT));
+    }
+
+    /**
+     * Set the flag determining whether prefetched scanners should start
+     * fetching results from the tablet servers straight away.
+     *
+     * @param batchScannerPrefetchStart true if prefetched scanners should be started
+     */
+    public void setBatchScannerPrefetchStart(final boolean batchScannerPrefetchStart) {
+        set(BATCH_SCANNER_PREFETCH_START, Boolean.toString(batchScannerPrefetchStart));
+    }
+
     /**
      * Set the max number of items that should be read into the scanner at any
      * one time
@@ -249,11 +362,12 @@ public class AccumuloProperties extends StoreProperties {
     }
 
     /**
-     * Get the size that should be used for the creation of bloom filters on the
-     * client side
+     * Get the maximum size that should be used for the creation of bloom
+     * filters on the client side. Bloom filters are sized for the number of
+     * seeds when it is known, otherwise they are created at this size.
      *
-     * @return An integer representing the size that should be used for the
-     * creation of bloom filters on the client side
+     * @return An integer representing the maximum size that should be used for
+     * the creation of bloom filters on the client side
      */
     public int getClientSideBloomFilterSize() {
         return Integer.parseInt(get(CLIENT_SIDE_BLOOM_FILTER_SIZE, CLIENT_SIDE_BLOOM_FILTER_SIZE_DEFAULT));
@@ -269,6 +383,27 @@ public class AccumuloProperties extends StoreProperties {
         set(CLIENT_SIDE_BLOOM_FILTER_SIZE, clientSideBloomFilterSize);
     }
 
+    /**
+     * Get the maximum number of seeds that are held exactly on the client side
+     * when retrieving elements within or between sets of seeds. Larger sets of
+     * seeds are held in a bloom filter.
+     *
+     * @return the maximum number of seeds to hold exactly on the client side
+     */
+    public int getClientSideExactSetMaxSize() {
+        return Integer.parseInt(get(CLIENT_SIDE_EXACT_SET_MAX_SIZE, CLIENT_SIDE_EXACT_SET_MAX_SIZE_DEFAULT));
+    }
+
+    /**
+     * Set the maximum number of seeds that are held exactly on the client side
+     * when retrieving elements within or between sets of seeds.
+     *
+     * @param clientSideExactSetMaxSize the maximum number of seeds to hold exactly on the client side
+     */
+    public void setClientSideExactSetMaxSize(final String clientSideExactSetMaxSize) {
+        set(CLIENT_SIDE_EXACT_SET_MAX_SIZE, clientSideExactSetMaxSize);
+    }
+
     /**
      * Get the allowable rate of false positives for bloom filters (Generally
      * the higher the value the faster the filter)
@@ -391,4 +526,168 @@ public class AccumuloProperties extends StoreProperties {
     public void setEnableValidatorIterator(final boolean enableValidatorIterator) {
         set(ENABLE_VALIDATOR_ITERATOR, Boolean.toString(enableValidatorIterator));
     }
+
+    /**
+     * Get the flag determining whether a single long lived batch writer should
+     * be shared by all element additions to a table, rather than a batch writer
+     * being created and closed for each addition.
+     *
+     * @return true if batch writers should be shared
+     */
+    public boolean getShareBatchWriters() {
+        return Boolean.parseBoolean(get(SHARE_BATCH_WRITERS, SHARE_BATCH_WRITERS_DEFAULT));
+    }
+
+    /**
+     * Set the flag determining whether a single long lived batch writer should
+     * be shared by all element additions to a table.
+     *
+     * @param shareBatchWriters true if batch writers should be shared
+     */
+    public void setShareBatchWriters(final boolean shareBatchWriters) {
+        set(SHARE_BATCH_WRITERS, Boolean.toString(shareBatchWriters));
+    }
+
+    /**
+     * Get the flag determining whether each element addition flushes the
+     * shared batch writer before returning, so the added elements are visible
+     * immediately. If false, the shared writer sends mutations whenever its
+     * buffer fills or its maximum latency expires, and additions do not wait
+     * for mutations added by other callers.
+     *
+     * @return true if shared batch writers should be flushed by each addition
+     */
+    public boolean getFlushBatchWritersOnAdd() {
+        return Boolean.parseBoolean(get(FLUSH_BATCH_WRITERS_ON_ADD, FLUSH_BATCH_WRITERS_ON_ADD_DEFAULT));
+    }
+
+    /**
+     * Set the flag determining whether each element addition flushes the
+     * shared batch writer before returning.
+     *
+     * @param flushBatchWritersOnAdd true if shared batch writers should be flushed by each addition
+     */
+    public void setFlushBatchWritersOnAdd(final boolean flushBatchWritersOnAdd) {
+        set(FLUSH_BATCH_WRITERS_ON_ADD, Boolean.toString(flushBatchWritersOnAdd));
+    }
+
+    /**
+     * Get the number of threads used to convert elements into mutations when
+     * adding elements. If this is 1 the elements are converted on the thread
+     * adding them.
+     *
+     * @return the number of threads used to convert elements into mutations
+     */
+    public int getIngestConversionThreads() {
+        return Integer.parseInt(get(INGEST_CONVERSION_THREADS, INGEST_CONVERSION_THREADS_DEFAULT));
+    }
+
+    /**
+     * Set the number of threads used to convert elements into mutations when
+     * adding elements.
+     *
+     * @param ingestConversionThreads the number of threads used to convert elements into mutations
+     */
+    public void setIngestConversionThreads(final String ingestConversionThreads) {
+        set(INGEST_CONVERSION_THREADS, ingestConversionThreads);
+    }
+
+    /**
+     * Get the number of elements each conversion thread converts at a time.
+     *
+     * @return the number of elements in each conversion batch
+     */
+    public int getIngestConversionBatchSize() {
+        return Integer.parseInt(get(INGEST_CONVERSION_BATCH_SIZE, INGEST_CONVERSION_BATCH_SIZE_DEFAULT));
+    }
+
+    /**
+     * Set the number of elements each conversion thread converts at a time.
+     *
+     * @param ingestConversionBatchSize the number of elements in each conversion batch
+     */
+    public void setIngestConversionBatchSize(final String ingestConversionBatchSize) {
+        set(INGEST_CONVERSION_BATCH_SIZE, ingestConversionBatchSize);
+    }
+
+    /**
+     * Get the flag determining whether elements converted on multiple threads
+     * are written in the order they were provided. If false each batch is
+     * written as soon as it has been converted.
+     *
+     * @return true if converted elements should be written in order
+     */
+    public boolean getIngestConversionOrdered() {
+        return Boolean.parseBoolean(get(INGEST_CONVERSION_ORDERED, INGEST_CONVERSION_ORDERED_DEFAULT));
+    }
+
+    /**
+     * Set the flag determining whether elements converted on multiple threads
+     * are written in the order they were provided.
+     *
+     * @param ingestConversionOrdered true if converted elements should be written in order
+     */
+    public void setIngestConversionOrdered(final boolean ingestConversionOrdered) {
+        set(INGEST_CONVERSION_ORDERED, Boolean.toString(ingestConversionOrdered));
+    }
+
+    /**
+     * Get the flag determining whether elements with the same key should be
+     * aggregated on the client before they are sent to Accumulo.
+     *
+     * @return true if elements should be pre-aggregated
+     */
+    public boolean getPreAggregateElements() {
+        return Boolean.parseBoolean(get(PRE_AGGREGATE_ELEMENTS, PRE_AGGREGATE_ELEMENTS_DEFAULT));
+    }
+
+    /**
+     * Set the flag determining whether elements with the same key should be
+     * aggregated on the client before they are sent to Accumulo.
+     *
+     * @param preAggregateElements true if elements should be pre-aggregated
+     */
+    public void setPreAggregateElements(final boolean preAggregateElements) {
+        set(PRE_AGGREGATE_ELEMENTS, Boolean.toString(preAggregateElements));
+    }
+
+    /**
+     * Gets the approximate memory that can be used to buffer elements whilst
+     * pre-aggregating them.
+     *
+     * @return The buffer size in bytes to use when pre-aggregating
+     */
+    public long getPreAggregationMaxBufferSizeInBytes() {
+        return Long.parseLong(get(PRE_AGGREGATION_MAX_BUFFER_SIZE, PRE_AGGREGATION_MAX_BUFFER_SIZE_DEFAULT));
+    }
+
+    /**
+     * Sets the approximate memory that can be used to buffer elements whilst
+     * pre-aggregating them.
+     *
+     * @param preAggregationMaxBufferSizeInBytes the buffer size in bytes to use when pre-aggregating
+     */
+    public void setPreAggregationMaxBufferSizeInBytes(final String preAggregationMaxBufferSizeInBytes) {
+        set(PRE_AGGREGATION_MAX_BUFFER_SIZE, preAggregationMaxBufferSizeInBytes);
+    }
+
+    /**
+     * Gets the maximum time an element can be buffered whilst pre-aggregating
+     * before it is sent to the batch writer.
+     *
+     * @return The maximum latency in milliseconds to use when pre-aggregating
+     */
+    public long getPreAggregationMaxLatencyInMilliseconds() {
+        return Long.parseLong(get(PRE_AGGREGATION_MAX_LATENCY, PRE_AGGREGATION_MAX_LATENCY_DEFAULT));
+    }
+
+    /**
+     * Sets the maximum time an element can be buffered whilst pre-aggregating
+     * before it is sent to the batch writer.
+     *
+     * @param preAggregationMaxLatencyInMilliseconds the maximum latency in milliseconds to use when pre-aggregating
+     */
+    public void setPreAggregationMaxLatencyInMilliseconds(final String preAggregationMaxLatencyInMilliseconds) {
+        set(PRE_AGGREGATION_MAX_LATENCY, preAggregationMaxLatencyInMilliseconds);
+    }
 }
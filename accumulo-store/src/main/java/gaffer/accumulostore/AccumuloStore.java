@@ -19,9 +19,9 @@ package gaffer.accumulostore;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import gaffer.accumulostore.inputformat.ElementInputFormat;
 import gaffer.accumulostore.key.AccumuloKeyPackage;
-import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import gaffer.accumulostore.key.exception.IteratorSettingException;
 import gaffer.accumulostore.operation.handler.AddElementsHandler;
+import gaffer.accumulostore.operation.handler.CountGroupsHandler;
 import gaffer.accumulostore.operation.handler.GetAdjacentEntitySeedsHandler;
 import gaffer.accumulostore.operation.handler.GetAllElementsHandler;
 import gaffer.accumulostore.operation.handler.GetElementsBetweenSetsHandler;
@@ -44,14 +44,19 @@ import gaffer.accumulostore.operation.impl.GetElementsInRanges;
 import gaffer.accumulostore.operation.impl.GetElementsWithinSet;
 import gaffer.accumulostore.operation.impl.GetEntitiesInRanges;
 import gaffer.accumulostore.operation.impl.SummariseGroupOverRanges;
-import gaffer.accumulostore.utils.Pair;
+import gaffer.accumulostore.utils.AggregatingBatchWriter;
+import gaffer.accumulostore.utils.BatchWriterPool;
+import gaffer.accumulostore.utils.ElementMutationWriter;
 import gaffer.accumulostore.utils.TableUtils;
 import gaffer.commonutil.CommonConstants;
 import gaffer.data.element.Element;
 import gaffer.data.elementdefinition.view.View;
+import gaffer.data.elementdefinition.view.ViewElementDefinition;
+import gaffer.operation.GetOperation;
 import gaffer.operation.Operation;
 import gaffer.operation.data.ElementSeed;
 import gaffer.operation.data.EntitySeed;
+import gaffer.operation.impl.CountGroups;
 import gaffer.operation.impl.add.AddElements;
 import gaffer.operation.impl.get.GetAdjacentEntitySeeds;
 import gaffer.operation.impl.get.GetAllElements;
@@ -73,10 +78,6 @@ import org.apache.accumulo.core.client.MutationsRejectedException;
 import org.apache.accumulo.core.client.mapreduce.AccumuloInputFormat;
 import org.apache.accumulo.core.client.mapreduce.lib.impl.InputConfigurator;
 import org.apache.accumulo.core.client.security.tokens.PasswordToken;
-import org.apache.accumulo.core.data.Key;
-import org.apache.accumulo.core.data.Mutation;
-import org.apache.accumulo.core.data.Value;
-import org.apache.accumulo.core.security.ColumnVisibility;
 import org.apache.hadoop.conf.Configuration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -86,6 +87,10 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static gaffer.store.StoreTrait.AGGREGATION;
 import static gaffer.store.StoreTrait.FILTERING;
@@ -106,10 +111,13 @@ public class AccumuloStore extends Store {
     private static final Set<StoreTrait> TRAITS = new HashSet<>(Arrays.asList(AGGREGATION, FILTERING, TRANSFORMATION, STORE_VALIDATION));
     private AccumuloKeyPackage keyPackage;
     private Connector connection = null;
+    private BatchWriterPool batchWriterPool;
+    private ExecutorService ingestExecutor;
 
     @Override
     public void initialise(final Schema schema, final StoreProperties properties)
             throws StoreException {
+        close();
         super.initialise(schema, properties);
         final String keyPackageClass = getProperties().getKeyPackageClass();
         try {
@@ -171,6 +179,12 @@ public class AccumuloStore extends Store {
                         .getIteratorFactory()
                         .getElementFilterIteratorSetting(view, this);
                 InputConfigurator.addIterator(AccumuloInputFormat.class, conf, elementFilter);
+                IteratorSetting propertyRangeSeek = getKeyPackage()
+                        .getIteratorFactory()
+                        .getPropertyRangeSeekIteratorSetting(view, this);
+                if (null != propertyRangeSeek) {
+                    InputConfigurator.addIterator(AccumuloInputFormat.class, conf, propertyRangeSeek);
+                }
             }
         } catch (final AccumuloSecurityException | IteratorSettingException | UnsupportedEncodingException e) {
             throw new StoreException(e);
@@ -217,6 +231,7 @@ public class AccumuloStore extends Store {
         addOperationHandler(SampleDataForSplitPoints.class, new SampleDataForSplitPointsHandler());
         addOperationHandler(ImportAccumuloKeyValueFiles.class, new ImportAccumuloKeyValueFilesHandler());
         addOperationHandler(SummariseGroupOverRanges.class, new SummariseGroupOverRangesHandler());
+        addOperationHandler(CountGroups.class, new CountGroupsHandler());
     }
 
     @Override
@@ -255,58 +270,110 @@ public class AccumuloStore extends Store {
     }
 
     protected void insertGraphElements(final Iterable<Element> elements) throws StoreException {
-        // Create BatchWriter
-        final BatchWriter writer = TableUtils.createBatchWriter(this);
-        // Loop through elements, convert to mutations, and add to
-        // BatchWriter.as
+        final String tableName = getProperties().getTable();
+        final boolean shareWriter = getProperties().getShareBatchWriters();
+        final BatchWriter writer;
+        if (shareWriter) {
+            writer = getBatchWriterPool().getWriter(tableName);
+        } else {
+            writer = TableUtils.createBatchWriter(this);
+        }
+
+        // Optionally combine duplicate elements before they are sent to Accumulo.
+        final BatchWriter targetWriter;
+        if (getProperties().getPreAggregateElements()) {
+            targetWriter = new AggregatingBatchWriter(writer, keyPackage.getKeyConverter(), getSchema(),
+                    getProperties().getPreAggregationMaxBufferSizeInBytes(),
+                    getProperties().getPreAggregationMaxLatencyInMilliseconds());
+        } else {
+            targetWriter = writer;
+        }
+
+        // Convert the elements to mutations and add them to the BatchWriter.
         // The BatchWriter takes care of batching them up, sending them without
         // too high a latency, etc.
-        for (final Element element : elements) {
-            final Pair<Key> keys;
-            try {
-                keys = keyPackage.getKeyConverter().getKeysFromElement(element);
-            } catch (final AccumuloElementConversionException e) {
-                LOGGER.error("Failed to create an accumulo key from element of type " + element.getGroup()
-                        + " when trying to insert elements");
-                continue;
-            }
-            final Value value;
-            try {
-                value = keyPackage.getKeyConverter().getValueFromElement(element);
-            } catch (final AccumuloElementConversionException e) {
-                LOGGER.error("Failed to create an accumulo value from element of type " + element.getGroup()
-                        + " when trying to insert elements");
-                continue;
+        try {
+            createMutationWriter().write(elements, targetWriter);
+
+            // Closing a shared writer only releases it, so unless flushing is
+            // disabled flush it first to make the elements visible as soon as
+            // this method returns.
+            if (shareWriter && getProperties().getFlushBatchWritersOnAdd()) {
+                targetWriter.flush();
             }
-            final Mutation m = new Mutation(keys.getFirst().getRow());
-            m.put(keys.getFirst().getColumnFamily(), keys.getFirst().getColumnQualifier(),
-                    new ColumnVisibility(keys.getFirst().getColumnVisibility()), keys.getFirst().getTimestamp(), value);
+            targetWriter.close();
+        } catch (final MutationsRejectedException e) {
             try {
-                writer.addMutation(m);
-            } catch (final MutationsRejectedException e) {
-                LOGGER.error("Failed to create an accumulo key mutation");
-                continue;
+                writer.close();
+            } catch (final MutationsRejectedException closeException) {
+                // The rejected mutations are reported below.
             }
-            // If the GraphElement is a Vertex then there will only be 1 key,
-            // and the second will be null.
-            // If the GraphElement is an Edge then there will be 2 keys.
-            if (keys.getSecond() != null) {
-                final Mutation m2 = new Mutation(keys.getSecond().getRow());
-                m2.put(keys.getSecond().getColumnFamily(), keys.getSecond().getColumnQualifier(),
-                        new ColumnVisibility(keys.getSecond().getColumnVisibility()), keys.getSecond().getTimestamp(),
-                        value);
-                try {
-                    writer.addMutation(m2);
-                } catch (final MutationsRejectedException e) {
-                    LOGGER.error("Failed to create an accumulo key mutation");
-                }
+            throw new StoreException("Accumulo rejected mutations when inserting elements into table " + tableName, e);
+        }
+    }
+
+    /**
+     * Flushes and closes any batch writers this AccumuloStore is sharing
+     * between element additions and stops the threads used to convert elements.
+     * These are recreated if more elements are added.
+     *
+     * @throws StoreException if any buffered mutations were rejected
+     */
+    @Override
+    public void close() throws StoreException {
+        final BatchWriterPool pool;
+        synchronized (this) {
+            pool = batchWriterPool;
+            batchWriterPool = null;
+            if (null != ingestExecutor) {
+                ingestExecutor.shutdown();
+                ingestExecutor = null;
             }
         }
+
         try {
-            writer.close();
-        } catch (final MutationsRejectedException e) {
-            LOGGER.warn("Accumulo batch writer failed to close", e);
+            if (null != pool) {
+                pool.close();
+            }
+        } finally {
+            super.close();
+        }
+    }
+
+    private ElementMutationWriter createMutationWriter() {
+        final int threads = getProperties().getIngestConversionThreads();
+        if (threads < 2) {
+            return new ElementMutationWriter(keyPackage.getKeyConverter());
         }
+
+        // Allow each thread to have a batch queued behind the one it is converting.
+        return new ElementMutationWriter(keyPackage.getKeyConverter(), getIngestExecutor(threads),
+                getProperties().getIngestConversionBatchSize(), 2 * threads,
+                getProperties().getIngestConversionOrdered());
+    }
+
+    private synchronized ExecutorService getIngestExecutor(final int threads) {
+        if (null == ingestExecutor) {
+            ingestExecutor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+                private final AtomicInteger threadCount = new AtomicInteger();
+
+                @Override
+                public Thread newThread(final Runnable runnable) {
+                    final Thread thread = new Thread(runnable, "gaffer-ingest-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+
+        return ingestExecutor;
+    }
+
+    protected synchronized BatchWriterPool getBatchWriterPool() {
+        if (null == batchWriterPool) {
+            batchWriterPool = new BatchWriterPool(this);
+        }
+        return batchWriterPool;
     }
 
     /**
@@ -332,6 +399,46 @@ public class AccumuloStore extends Store {
         keyPackage.validateSchema(this.getSchema());
     }
 
+    /**
+     * Every edge is stored twice, once under each vertex. {@link GetAllElements} operations
+     * only return outgoing edges and deduplicate undirected edges on the tablet servers,
+     * and when results are summarised elements that only differ by visibility are aggregated together.
+     * So each element is only returned once, and any following deduplication can be skipped, unless
+     * the properties are not populated or the view transforms the elements, as distinct elements
+     * could then be returned as equal elements.
+     *
+     * @param operation the get operation
+     * @return true if the operation is a summarised {@link GetAllElements} that populates properties and
+     * has no transformations in its view.
+     */
+    @Override
+    public boolean isOutputUnique(final GetOperation<?, ?> operation) {
+        return operation instanceof GetAllElements
+                && operation.isSummarise()
+                && operation.isPopulateProperties()
+                && !hasTransformer(operation.getView());
+    }
+
+    private boolean hasTransformer(final View view) {
+        if (null == view) {
+            return false;
+        }
+
+        for (final ViewElementDefinition elementDef : view.getEntities().values()) {
+            if (null != elementDef.getTransformer()) {
+                return true;
+            }
+        }
+
+        for (final ViewElementDefinition elementDef : view.getEdges().values()) {
+            if (null != elementDef.getTransformer()) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
     @Override
     public boolean isValidationRequired() {
         return false;
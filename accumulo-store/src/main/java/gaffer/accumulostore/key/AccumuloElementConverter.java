@@ -101,6 +101,18 @@ public interface AccumuloElementConverter {
      */
     Properties getPropertiesFromValue(final String group, final Value value) throws AccumuloElementConversionException;
 
+    /**
+     * Creates a {@link SerialisedValueAggregator} that aggregates the {@link Value}s of
+     * the given group without deserialising them, if the group's aggregate functions and
+     * serialisers support it.
+     *
+     * @param group the element group
+     * @return a new {@link SerialisedValueAggregator}, or null if the values of the group
+     * must be deserialised to be aggregated
+     * @throws AccumuloElementConversionException if the group is not in the schema
+     */
+    SerialisedValueAggregator createSerialisedValueAggregator(final String group) throws AccumuloElementConversionException;
+
     /**
      * Gets a new {@link Element} from an Accumulo {@link Key}.
      *
@@ -149,6 +161,25 @@ public interface AccumuloElementConverter {
     Element getFullElement(final Key key, final Value value, final Map<String, String> options)
             throws AccumuloElementConversionException;
 
+    /**
+     * Returns an {@link Element} whose identifiers are read from the {@link Key} and whose
+     * properties are only deserialised from the {@link Key} and {@link Value} when they are
+     * first requested. This avoids deserialising properties of elements that are
+     * going to be filtered out.
+     * <p>
+     * The returned element only iterates over properties that have been loaded, so it
+     * should not be returned to users; use
+     * {@link #getFullElement(Key, Value, Map)} instead.
+     *
+     * @param key     the accumulo Key containing serialised parts of the Element
+     * @param value   the accumulo Value containing serialised properties of the Element
+     * @param options operation options
+     * @return an {@link Element} that lazily loads its properties
+     * @throws AccumuloElementConversionException If conversion fails
+     */
+    Element getLazyElement(final Key key, final Value value, final Map<String, String> options)
+            throws AccumuloElementConversionException;
+
     /**
      * Helper Used to create Bloom Filters, method Serialises a given object
      * (from an {@link gaffer.operation.data.EntitySeed} ) with the Identifier
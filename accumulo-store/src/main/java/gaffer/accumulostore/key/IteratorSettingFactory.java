@@ -58,6 +58,22 @@ public interface IteratorSettingFactory {
     IteratorSetting getElementFilterIteratorSetting(final View view, final AccumuloStore store)
             throws IteratorSettingException;
 
+    /**
+     * Returns an {@link org.apache.accumulo.core.client.IteratorSetting} that
+     * can be used to apply an iterator that seeks past the entries the filters
+     * in the {@link View} would reject, rather than reading them. It does not
+     * apply the full view, so it should only be applied alongside the iterator
+     * from {@link #getElementFilterIteratorSetting(View, AccumuloStore)}.
+     *
+     * This method may return null if none of the filters in the view can be
+     * used to seek.
+     *
+     * @param view  the operation view
+     * @param store the accumulo store
+     * @return A new {@link IteratorSetting} for an Iterator capable of seeking to the ranges of properties allowed by a {@link View}
+     */
+    IteratorSetting getPropertyRangeSeekIteratorSetting(final View view, final AccumuloStore store);
+
     /**
      * Returns an Iterator that will filter out
      * Edges/Entities/Undirected/Directed Edges based on the options in the
@@ -127,6 +143,32 @@ public interface IteratorSettingFactory {
      */
     IteratorSetting getElementPropertyRangeQueryFilter(GetOperation<?, ?> operation);
 
+    /**
+     * Returns an Iterator to be applied when doing a scan that stops returning
+     * results from a range once the result limit has been reached. The limit is
+     * applied to each range separately, so the results should also be limited
+     * client side.
+     *
+     * This method may return null if no result limit is provided.
+     *
+     * @param resultLimit the maximum number of results to return from each range
+     * @return A new {@link IteratorSetting} for an Iterator capable of limiting
+     * the number of results returned from each range
+     */
+    IteratorSetting getResultLimitIteratorSetting(final Integer resultLimit);
+
+    /**
+     * Returns an Iterator to be applied when doing a scan that replaces the
+     * results of each range with the number of elements in each group.
+     * If a limit is provided, counting stops once more than the limit have
+     * been counted in a range.
+     *
+     * @param limit the optional limit on the number of elements to count in each range
+     * @return A new {@link IteratorSetting} for an Iterator capable of counting
+     * the number of elements in each group
+     */
+    IteratorSetting getCountGroupsIteratorSetting(final Integer limit);
+
     /**
      * Returns the iterator settings for a given iterator name. Allowed iterator
      * names are: Aggregator, Validator and Bloom_Filter.
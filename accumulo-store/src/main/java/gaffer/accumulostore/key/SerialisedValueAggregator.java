@@ -0,0 +1,40 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.key;
+
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import org.apache.accumulo.core.data.Value;
+import java.util.Iterator;
+
+/**
+ * A <code>SerialisedValueAggregator</code> aggregates the Accumulo {@link Value}s of a single
+ * {@link gaffer.data.element.Element} group directly from their serialised form, without converting
+ * them into {@link gaffer.data.element.Properties} first.
+ * <p>
+ * Implementations hold the state of the aggregation, so they must not be shared between threads.
+ */
+public interface SerialisedValueAggregator {
+    /**
+     * Aggregates {@link Value}s that share the same {@link org.apache.accumulo.core.data.Key}, ignoring the timestamp.
+     *
+     * @param first  the first value to aggregate
+     * @param others the remaining values to aggregate
+     * @return a new {@link Value} containing the aggregated properties
+     * @throws AccumuloElementConversionException if a value cannot be read
+     */
+    Value aggregate(final Value first, final Iterator<Value> others) throws AccumuloElementConversionException;
+}
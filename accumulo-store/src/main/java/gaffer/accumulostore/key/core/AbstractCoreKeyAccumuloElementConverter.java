@@ -17,6 +17,7 @@ package gaffer.accumulostore.key.core;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.key.SerialisedValueAggregator;
 import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import gaffer.accumulostore.utils.AccumuloStoreConstants;
 import gaffer.accumulostore.utils.ByteArrayEscapeUtils;
@@ -25,14 +26,19 @@ import gaffer.accumulostore.utils.StorePositions;
 import gaffer.commonutil.CommonConstants;
 import gaffer.data.element.Edge;
 import gaffer.data.element.Element;
+import gaffer.data.element.ElementValueLoader;
 import gaffer.data.element.Entity;
+import gaffer.data.element.LazyEdge;
+import gaffer.data.element.LazyEntity;
 import gaffer.data.element.Properties;
 import gaffer.exception.SerialisationException;
 import gaffer.serialisation.Serialisation;
+import gaffer.serialisation.SerialisationUtils;
 import gaffer.serialisation.simple.raw.CompactRawSerialisationUtils;
 import gaffer.store.schema.Schema;
+import gaffer.store.schema.SchemaEdgeDefinition;
 import gaffer.store.schema.SchemaElementDefinition;
-import gaffer.store.schema.TypeDefinition;
+import gaffer.store.schema.SchemaEntityDefinition;
 import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Value;
 
@@ -40,16 +46,18 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
-import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
-import java.util.Iterator;
+import java.util.HashMap;
 import java.util.Map;
 
 public abstract class AbstractCoreKeyAccumuloElementConverter implements AccumuloElementConverter {
     protected final Schema schema;
+    private final Map<String, GroupPropertyLayout> layouts;
 
     public AbstractCoreKeyAccumuloElementConverter(final Schema schema) {
         this.schema = schema;
+        this.layouts = compileLayouts(schema);
     }
 
     @SuppressFBWarnings(value = "BC_UNCONFIRMED_CAST", justification = "If an element is not an Entity it must be an Edge")
@@ -109,34 +117,30 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
     }
 
     protected boolean getBytesFromProperties(final String group, final Properties properties, final StorePositions position, final OutputStream out) throws AccumuloElementConversionException {
-        final Iterator<String> propertyNames = schema.getElement(group).getProperties().iterator();
+        final GroupPropertyLayout.Position layout = getLayout(group).getPosition(position);
+        // Each property is serialised into this buffer first as its length must be written before it.
+        final ByteArrayOutputStream propertyOut = new ByteArrayOutputStream();
         boolean hasValue = false;
-        String propertyName;
         int length;
-        while (propertyNames.hasNext()) {
-            propertyName = propertyNames.next();
-            final TypeDefinition propertyDefinition = schema.getElement(group).getPropertyTypeDef(propertyName);
-            if (propertyDefinition != null) {
-                if (position.isEqual(propertyDefinition.getPosition())) {
-                    Object value = properties.get(propertyName);
-                    try {
-                        if (null != value) {
-                            final byte[] bytes = propertyDefinition.getSerialiser().serialise(value);
-                            length = bytes.length;
-                            if (length > 0) {
-                                hasValue = true;
-                                CompactRawSerialisationUtils.write(length, out);
-                                out.write(bytes);
-                            } else {
-                                CompactRawSerialisationUtils.write(0L, out);
-                            }
-                        } else {
-                            CompactRawSerialisationUtils.write(0L, out);
-                        }
-                    } catch (final IOException e) {
-                        throw new AccumuloElementConversionException("Failed to write serialise property to ByteArrayOutputStream" + propertyName, e);
+        for (int i = 0; i < layout.size(); i++) {
+            final Object value = properties.get(layout.getPropertyName(i));
+            try {
+                if (null != value) {
+                    propertyOut.reset();
+                    SerialisationUtils.serialise(layout.getSerialiser(i), value, propertyOut);
+                    length = propertyOut.size();
+                    if (length > 0) {
+                        hasValue = true;
+                        CompactRawSerialisationUtils.write(length, out);
+                        propertyOut.writeTo(out);
+                    } else {
+                        CompactRawSerialisationUtils.write(0L, out);
                     }
+                } else {
+                    CompactRawSerialisationUtils.write(0L, out);
                 }
+            } catch (final IOException e) {
+                throw new AccumuloElementConversionException("Failed to write serialise property to ByteArrayOutputStream" + layout.getPropertyName(i), e);
             }
         }
         return hasValue;
@@ -150,7 +154,7 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
     @Override
     public Properties getPropertiesFromValue(final String group, final Value value)
             throws AccumuloElementConversionException {
-        final Properties properties = new Properties();
+        final Properties properties = createProperties(group);
         if (value == null || value.getSize() == 0) {
             return properties;
         }
@@ -158,35 +162,35 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
         return properties;
     }
 
+    @Override
+    public SerialisedValueAggregator createSerialisedValueAggregator(final String group)
+            throws AccumuloElementConversionException {
+        final SchemaElementDefinition elDef = schema.getElement(group);
+        if (null == elDef) {
+            throw new AccumuloElementConversionException("No SchemaElementDefinition found for group " + group + ", is this group in your schema or do your table iterators need updating?");
+        }
+        return CoreKeySerialisedValueAggregator.create(getLayout(group).getValue(), elDef.getAggregator());
+    }
+
     protected void getPropertiesFromBytes(final String group, final byte[] bytes, final StorePositions position, final Properties properties) throws AccumuloElementConversionException {
         int lastDelimiter = 0;
         int arrayLength = bytes.length;
         long currentPropLength;
-        final SchemaElementDefinition elementDefinition = schema.getElement(group);
-        if (null == elementDefinition) {
-            throw new AccumuloElementConversionException("No SchemaElementDefinition found for group " + group + ", is this group in your schema or do your table iterators need updating?");
-        }
-        final Iterator<String> propertyNames = elementDefinition.getProperties().iterator();
-        while (propertyNames.hasNext() && lastDelimiter < arrayLength) {
-            final String propertyName = propertyNames.next();
-            TypeDefinition typeDefinition = elementDefinition.getPropertyTypeDef(propertyName);
-            if (position.isEqual(typeDefinition.getPosition())) {
-                final int numBytesForLength = CompactRawSerialisationUtils.decodeVIntSize(bytes[lastDelimiter]);
-                final byte[] length = new byte[numBytesForLength];
-                System.arraycopy(bytes, lastDelimiter, length, 0, numBytesForLength);
+        final GroupPropertyLayout.Position positionLayout = getLayout(group).getPosition(position);
+        for (int i = 0; i < positionLayout.size() && lastDelimiter < arrayLength; i++) {
+            try {
+                currentPropLength = CompactRawSerialisationUtils.readLong(bytes, lastDelimiter);
+            } catch (final SerialisationException e) {
+                throw new AccumuloElementConversionException("Exception reading length of property");
+            }
+            lastDelimiter += CompactRawSerialisationUtils.decodeVIntSize(bytes[lastDelimiter]);
+            if (currentPropLength > 0) {
                 try {
-                    currentPropLength = CompactRawSerialisationUtils.readLong(length);
-                } catch (final SerialisationException e) {
-                    throw new AccumuloElementConversionException("Exception reading length of property");
-                }
-                lastDelimiter += numBytesForLength;
-                if (currentPropLength > 0) {
-                    try {
-                        properties.put(propertyName, typeDefinition.getSerialiser()
-                                .deserialise(Arrays.copyOfRange(bytes, lastDelimiter, lastDelimiter += currentPropLength)));
-                    } catch (SerialisationException e) {
-                        throw new AccumuloElementConversionException("Failed to deserialise property " + propertyName, e);
-                    }
+                    properties.put(positionLayout.getPropertyName(i), SerialisationUtils.deserialise(
+                            positionLayout.getSerialiser(i), bytes, lastDelimiter, (int) currentPropLength));
+                    lastDelimiter += currentPropLength;
+                } catch (SerialisationException e) {
+                    throw new AccumuloElementConversionException("Failed to deserialise property " + positionLayout.getPropertyName(i), e);
                 }
             }
         }
@@ -200,11 +204,9 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
     @Override
     public Element getElementFromKey(final Key key, final Map<String, String> options)
             throws AccumuloElementConversionException {
-        final boolean keyRepresentsEntity = doesKeyRepresentEntity(key.getRowData().getBackingArray());
-        if (keyRepresentsEntity) {
-            return getEntityFromKey(key);
-        }
-        return getEdgeFromKey(key, options);
+        final Element element = getElementIdentifiersFromKey(key, options);
+        addPropertiesToElement(element, key);
+        return element;
     }
 
     @Override
@@ -216,10 +218,23 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
     public Element getFullElement(final Key key, final Value value, final Map<String, String> options)
             throws AccumuloElementConversionException {
         final Element element = getElementFromKey(key, options);
-        element.copyProperties(getPropertiesFromValue(element.getGroup(), value));
+        if (null != value && value.getSize() > 0) {
+            getPropertiesFromBytes(element.getGroup(), value.get(), StorePositions.VALUE, element.getProperties());
+        }
         return element;
     }
 
+    @Override
+    public Element getLazyElement(final Key key, final Value value, final Map<String, String> options)
+            throws AccumuloElementConversionException {
+        final Element element = getElementIdentifiersFromKey(key, options);
+        final ElementValueLoader valueLoader = new CoreKeyElementValueLoader(element, getLayout(element.getGroup()), key, value);
+        if (element instanceof Entity) {
+            return new LazyEntity((Entity) element, valueLoader);
+        }
+        return new LazyEdge((Edge) element, valueLoader);
+    }
+
     @Override
     public byte[] buildColumnFamily(final String group) throws AccumuloElementConversionException {
         try {
@@ -241,20 +256,14 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
     @Override
     public byte[] buildColumnVisibility(final String group, final Properties properties)
             throws AccumuloElementConversionException {
-        final SchemaElementDefinition elDef = schema.getElement(group);
-        if (elDef == null) {
-            throw new AccumuloElementConversionException("No element definition found for element class: " + group);
-        }
-        for (final String propertyName : elDef.getProperties()) {
-            final Object property = properties.get(propertyName);
+        final GroupPropertyLayout.Position visibility = getLayout(group).getVisibility();
+        for (int i = 0; i < visibility.size(); i++) {
+            final Object property = properties.get(visibility.getPropertyName(i));
             if (property != null) {
-                final TypeDefinition propertyDef = elDef.getPropertyTypeDef(propertyName);
-                if (StorePositions.VISIBILITY.isEqual(propertyDef.getPosition())) {
-                    try {
-                        return propertyDef.getSerialiser().serialise(property);
-                    } catch (final SerialisationException e) {
-                        throw new AccumuloElementConversionException(e.getMessage(), e);
-                    }
+                try {
+                    return visibility.getSerialiser(i).serialise(property);
+                } catch (final SerialisationException e) {
+                    throw new AccumuloElementConversionException(e.getMessage(), e);
                 }
             }
         }
@@ -264,28 +273,26 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
     @Override
     public Properties getPropertiesFromColumnVisibility(final String group, final byte[] columnVisibility)
             throws AccumuloElementConversionException {
-        final Properties properties = new Properties();
+        final Properties properties = createProperties(group);
+        getPropertiesFromColumnVisibility(group, columnVisibility, properties);
+        return properties;
+    }
+
+    protected void getPropertiesFromColumnVisibility(final String group, final byte[] columnVisibility,
+                                                     final Properties properties)
+            throws AccumuloElementConversionException {
         if (columnVisibility == null || columnVisibility.length == 0) {
-            return properties;
-        }
-        final SchemaElementDefinition elDef = schema.getElement(group);
-        if (elDef == null) {
-            throw new AccumuloElementConversionException("No element definition found for element class: " + group);
+            return;
         }
-        for (final String propertyName : elDef.getProperties()) {
-            final TypeDefinition property = elDef.getPropertyTypeDef(propertyName);
-            if (StorePositions.VISIBILITY.isEqual(property.getPosition())) {
-                final Serialisation serialiser = property.getSerialiser();
-                try {
-                    properties.put(propertyName,
-                            serialiser.deserialise(columnVisibility));
-                } catch (final SerialisationException e) {
-                    throw new AccumuloElementConversionException(e.getMessage(), e);
-                }
-                return properties;
+        final GroupPropertyLayout.Position visibility = getLayout(group).getVisibility();
+        if (!visibility.isEmpty()) {
+            try {
+                properties.put(visibility.getPropertyName(0),
+                        visibility.getSerialiser(0).deserialise(columnVisibility));
+            } catch (final SerialisationException e) {
+                throw new AccumuloElementConversionException(e.getMessage(), e);
             }
         }
-        return properties;
     }
 
     @Override
@@ -302,7 +309,7 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
     @Override
     public Properties getPropertiesFromColumnQualifier(final String group, final byte[] keyPortion)
             throws AccumuloElementConversionException {
-        final Properties properties = new Properties();
+        final Properties properties = createProperties(group);
         if (keyPortion == null || keyPortion.length == 0) {
             return properties;
         }
@@ -322,21 +329,19 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
      */
     public Properties getPropertiesFromTimestamp(final String group, final long timestamp)
             throws AccumuloElementConversionException {
-        final SchemaElementDefinition elDef = schema.getElement(group);
-        if (elDef == null) {
-            throw new AccumuloElementConversionException("No element definition found for element class: " + group);
-        }
-        final Properties properties = new Properties();
-        for (final String propertyName : elDef.getProperties()) {
-            final TypeDefinition property = elDef.getPropertyTypeDef(propertyName);
-            if (StorePositions.TIMESTAMP.isEqual(property.getPosition())) {
-                properties.put(propertyName, timestamp);
-                return properties;
-            }
-        }
+        final Properties properties = createProperties(group);
+        getPropertiesFromTimestamp(group, timestamp, properties);
         return properties;
     }
 
+    protected void getPropertiesFromTimestamp(final String group, final long timestamp, final Properties properties)
+            throws AccumuloElementConversionException {
+        final GroupPropertyLayout.Position timestampLayout = getLayout(group).getTimestamp();
+        if (!timestampLayout.isEmpty()) {
+            properties.put(timestampLayout.getPropertyName(0), timestamp);
+        }
+    }
+
     @Override
     public byte[] serialiseVertex(final Object vertex) throws AccumuloElementConversionException {
         try {
@@ -353,6 +358,14 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
 
     protected abstract boolean doesKeyRepresentEntity(final byte[] row) throws AccumuloElementConversionException;
 
+    /**
+     * Creates an {@link Entity} from the row and column family of the given {@link Key}.
+     * The entity's properties are not populated.
+     *
+     * @param key the Key containing the serialised entity
+     * @return the entity without any properties
+     * @throws AccumuloElementConversionException if the entity could not be created
+     */
     protected abstract Entity getEntityFromKey(final Key key) throws AccumuloElementConversionException;
 
     protected abstract boolean getSourceAndDestinationFromRowKey(final byte[] rowKey,
@@ -365,17 +378,29 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
 
     protected void addPropertiesToElement(final Element element, final Key key)
             throws AccumuloElementConversionException {
-        element.copyProperties(
-                getPropertiesFromColumnQualifier(element.getGroup(), key.getColumnQualifierData().getBackingArray()));
-        element.copyProperties(
-                getPropertiesFromColumnVisibility(element.getGroup(), key.getColumnVisibilityData().getBackingArray()));
-        element.copyProperties(getPropertiesFromTimestamp(element.getGroup(), key.getTimestamp()));
+        final byte[] columnQualifier = key.getColumnQualifierData().getBackingArray();
+        if (null != columnQualifier && columnQualifier.length > 0) {
+            getPropertiesFromBytes(element.getGroup(), columnQualifier, StorePositions.COLUMN_QUALIFIER,
+                    element.getProperties());
+        }
+        getPropertiesFromColumnVisibility(element.getGroup(), key.getColumnVisibilityData().getBackingArray(),
+                element.getProperties());
+        getPropertiesFromTimestamp(element.getGroup(), key.getTimestamp(), element.getProperties());
     }
 
     protected Serialisation getVertexSerialiser() {
         return schema.getVertexSerialiser();
     }
 
+    /**
+     * Creates an {@link Edge} from the row and column family of the given {@link Key}.
+     * The edge's properties are not populated.
+     *
+     * @param key     the Key containing the serialised edge
+     * @param options operation options
+     * @return the edge without any properties
+     * @throws AccumuloElementConversionException if the edge could not be created
+     */
     protected Edge getEdgeFromKey(final Key key, final Map<String, String> options)
             throws AccumuloElementConversionException {
         final byte[][] result = new byte[3][];
@@ -387,10 +412,8 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
             throw new AccumuloElementConversionException(e.getMessage(), e);
         }
         try {
-            final Edge edge = new Edge(group, getVertexSerialiser().deserialise(result[0]),
-                    getVertexSerialiser().deserialise(result[1]), directed);
-            addPropertiesToElement(edge, key);
-            return edge;
+            return new Edge(group, getVertexSerialiser().deserialise(result[0]),
+                    getVertexSerialiser().deserialise(result[1]), directed, createProperties(group));
         } catch (final SerialisationException e) {
             throw new AccumuloElementConversionException("Failed to re-create Edge from key", e);
         }
@@ -412,6 +435,15 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
         }
     }
 
+    private Element getElementIdentifiersFromKey(final Key key, final Map<String, String> options)
+            throws AccumuloElementConversionException {
+        final boolean keyRepresentsEntity = doesKeyRepresentEntity(key.getRowData().getBackingArray());
+        if (keyRepresentsEntity) {
+            return getEntityFromKey(key);
+        }
+        return getEdgeFromKey(key, options);
+    }
+
     protected String getGroupFromKey(final Key key) throws AccumuloElementConversionException {
         try {
             return new String(key.getColumnFamilyData().getBackingArray(), CommonConstants.UTF_8);
@@ -420,21 +452,68 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
         }
     }
 
-    private long buildTimestamp(final Element element) throws AccumuloElementConversionException {
-        final SchemaElementDefinition elDef = schema.getElement(element.getGroup());
+    /**
+     * Creates an empty {@link Properties} for the given group. If the group is in the schema, the properties are
+     * held in an array indexed by the group's properties, rather than a hash table.
+     *
+     * @param group the group of the element the properties belong to
+     * @return a new, empty {@link Properties}
+     */
+    protected Properties createProperties(final String group) {
+        final GroupPropertyLayout layout = layouts.get(group);
+        if (null != layout) {
+            return layout.createProperties();
+        }
+
+        final SchemaElementDefinition elDef = null != schema ? schema.getElement(group) : null;
+        return null != elDef ? elDef.createProperties() : new Properties();
+    }
+
+    /**
+     * Get the compiled {@link GroupPropertyLayout} for a given group. Layouts are
+     * compiled for every group in the schema when the converter is created, any other
+     * group defined in the schema afterwards is compiled on demand.
+     *
+     * @param group the {@link Element} group
+     * @return the compiled layout of the group's properties
+     * @throws AccumuloElementConversionException if the group has not been defined
+     */
+    protected GroupPropertyLayout getLayout(final String group) throws AccumuloElementConversionException {
+        final GroupPropertyLayout layout = layouts.get(group);
+        if (null != layout) {
+            return layout;
+        }
+
+        final SchemaElementDefinition elDef = null != schema ? schema.getElement(group) : null;
         if (elDef == null) {
-            throw new AccumuloElementConversionException(
-                    "No element definition found for element class: " + element.getGroup());
+            throw new AccumuloElementConversionException("No SchemaElementDefinition found for group " + group + ", is this group in your schema or do your table iterators need updating?");
         }
-        for (final String propertyName : elDef.getProperties()) {
-            final Object property = element.getProperty(propertyName);
+        return new GroupPropertyLayout(group, elDef);
+    }
+
+    private long buildTimestamp(final Element element) throws AccumuloElementConversionException {
+        final GroupPropertyLayout.Position timestampLayout = getLayout(element.getGroup()).getTimestamp();
+        for (int i = 0; i < timestampLayout.size(); i++) {
+            final Object property = element.getProperty(timestampLayout.getPropertyName(i));
             if (property != null) {
-                final TypeDefinition propertyDef = elDef.getPropertyTypeDef(propertyName);
-                if (StorePositions.TIMESTAMP.isEqual(propertyDef.getPosition())) {
-                    return (Long) property;
-                }
+                return (Long) property;
             }
         }
         return new Date().getTime();
     }
+
+    private static Map<String, GroupPropertyLayout> compileLayouts(final Schema schema) {
+        if (null == schema) {
+            return Collections.emptyMap();
+        }
+
+        final Map<String, GroupPropertyLayout> compiledLayouts = new HashMap<>();
+        for (final Map.Entry<String, SchemaEntityDefinition> entry : schema.getEntities().entrySet()) {
+            compiledLayouts.put(entry.getKey(), new GroupPropertyLayout(entry.getKey(), entry.getValue()));
+        }
+        for (final Map.Entry<String, SchemaEdgeDefinition> entry : schema.getEdges().entrySet()) {
+            compiledLayouts.put(entry.getKey(), new GroupPropertyLayout(entry.getKey(), entry.getValue()));
+        }
+        return compiledLayouts;
+    }
 }
@@ -19,10 +19,13 @@ package gaffer.accumulostore.key.core;
 import gaffer.accumulostore.AccumuloStore;
 import gaffer.accumulostore.key.IteratorSettingFactory;
 import gaffer.accumulostore.key.core.impl.CoreKeyBloomFilterIterator;
+import gaffer.accumulostore.key.core.impl.CoreKeyColumnQualifierRangeSeekIterator;
 import gaffer.accumulostore.key.core.impl.CoreKeyColumnQualifierVisibilityValueAggregatorIterator;
 import gaffer.accumulostore.key.exception.IteratorSettingException;
 import gaffer.accumulostore.key.impl.AggregatorIterator;
+import gaffer.accumulostore.key.impl.CountGroupsIterator;
 import gaffer.accumulostore.key.impl.ElementFilter;
+import gaffer.accumulostore.key.impl.ResultLimitIterator;
 import gaffer.accumulostore.key.impl.RowIDAggregator;
 import gaffer.accumulostore.key.impl.ValidatorFilter;
 import gaffer.accumulostore.utils.AccumuloStoreConstants;
@@ -48,6 +51,20 @@ public abstract class AbstractCoreKeyIteratorSettingsFactory implements Iterator
                 .view(view).keyConverter(store.getKeyPackage().getKeyConverter()).build();
     }
 
+    @Override
+    public IteratorSetting getPropertyRangeSeekIteratorSetting(final View view, final AccumuloStore store) {
+        if (null == view
+                || CoreKeyColumnQualifierRangeSeekIterator.getColumnQualifierRanges(store.getSchema(), view).isEmpty()) {
+            return null;
+        }
+
+        return new IteratorSettingBuilder(AccumuloStoreConstants.PROPERTY_RANGE_SEEK_ITERATOR_PRIORITY,
+                AccumuloStoreConstants.PROPERTY_RANGE_SEEK_ITERATOR_NAME, CoreKeyColumnQualifierRangeSeekIterator.class)
+                .schema(store.getSchema())
+                .view(view)
+                .build();
+    }
+
     @Override
     public IteratorSetting getAggregatorIteratorSetting(final AccumuloStore store) throws IteratorSettingException {
         return new IteratorSettingBuilder(AccumuloStoreConstants.AGGREGATOR_ITERATOR_PRIORITY,
@@ -90,6 +107,29 @@ public abstract class AbstractCoreKeyIteratorSettingsFactory implements Iterator
                 .build();
     }
 
+    @Override
+    public IteratorSetting getResultLimitIteratorSetting(final Integer resultLimit) {
+        if (null == resultLimit) {
+            return null;
+        }
+
+        return new IteratorSettingBuilder(AccumuloStoreConstants.RESULT_LIMIT_ITERATOR_PRIORITY,
+                AccumuloStoreConstants.RESULT_LIMIT_ITERATOR_NAME, ResultLimitIterator.class)
+                .option(AccumuloStoreConstants.RESULT_LIMIT, resultLimit.toString())
+                .build();
+    }
+
+    @Override
+    public IteratorSetting getCountGroupsIteratorSetting(final Integer limit) {
+        final IteratorSettingBuilder builder = new IteratorSettingBuilder(AccumuloStoreConstants.COUNT_GROUPS_ITERATOR_PRIORITY,
+                AccumuloStoreConstants.COUNT_GROUPS_ITERATOR_NAME, CountGroupsIterator.class);
+        if (null != limit) {
+            builder.option(AccumuloStoreConstants.COUNT_GROUPS_LIMIT, limit.toString());
+        }
+
+        return builder.build();
+    }
+
     @Override
     public IteratorSetting getIteratorSetting(final AccumuloStore store, final String iteratorName) throws IteratorSettingException {
         switch (iteratorName) {
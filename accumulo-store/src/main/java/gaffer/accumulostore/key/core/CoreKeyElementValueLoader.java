@@ -0,0 +1,180 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.key.core;
+
+import gaffer.accumulostore.utils.AccumuloStoreConstants;
+import gaffer.data.element.Element;
+import gaffer.data.element.IdentifierType;
+import gaffer.data.element.SerialisedElementValueLoader;
+import gaffer.exception.SerialisationException;
+import gaffer.function.SerialisedFilterFunction;
+import gaffer.serialisation.SerialisationUtils;
+import gaffer.serialisation.simple.raw.CompactRawSerialisationUtils;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import java.util.Arrays;
+
+/**
+ * A <code>CoreKeyElementValueLoader</code> loads the properties of an {@link Element} on demand from the
+ * serialised column qualifier, visibility, timestamp and value of an Accumulo key value pair.
+ * <p>
+ * The first time a property stored in the column qualifier or value is requested, the serialised bytes
+ * are scanned once to record the offset and length of each property. Only the requested property is then
+ * deserialised, so properties that are never requested, e.g. by a filter, are never deserialised.
+ * Properties in the column qualifier or value can also be tested by a {@link SerialisedFilterFunction}
+ * directly from their serialised bytes.
+ */
+public class CoreKeyElementValueLoader implements SerialisedElementValueLoader {
+    private static final long serialVersionUID = 2841967352101437585L;
+
+    private final Element element;
+    private final GroupPropertyLayout layout;
+    private final byte[] columnQualifier;
+    private final byte[] columnVisibility;
+    private final long timestamp;
+    private final byte[] value;
+
+    /**
+     * Offsets of each property, stored as pairs of start index and length.
+     * A start index of -1 means the property was not set.
+     */
+    private int[] columnQualifierOffsets;
+    private int[] valueOffsets;
+
+    public CoreKeyElementValueLoader(final Element element, final GroupPropertyLayout layout,
+                                     final Key key, final Value value) {
+        this.element = element;
+        this.layout = layout;
+        this.columnQualifier = key.getColumnQualifierData().getBackingArray();
+        this.columnVisibility = key.getColumnVisibilityData().getBackingArray();
+        this.timestamp = key.getTimestamp();
+        this.value = null != value && value.getSize() > 0 ? value.get() : AccumuloStoreConstants.EMPTY_BYTES;
+    }
+
+    @Override
+    public Object getProperty(final String name) {
+        int index = layout.getColumnQualifier().indexOf(name);
+        if (index > -1) {
+            if (null == columnQualifierOffsets) {
+                columnQualifierOffsets = getOffsets(columnQualifier, layout.getColumnQualifier());
+            }
+            return deserialise(columnQualifier, columnQualifierOffsets, layout.getColumnQualifier(), index);
+        }
+
+        index = layout.getValue().indexOf(name);
+        if (index > -1) {
+            if (null == valueOffsets) {
+                valueOffsets = getOffsets(value, layout.getValue());
+            }
+            return deserialise(value, valueOffsets, layout.getValue(), index);
+        }
+
+        // Only the first visibility and timestamp property is stored in the key.
+        if (0 == layout.getVisibility().indexOf(name)) {
+            if (null == columnVisibility || 0 == columnVisibility.length) {
+                return null;
+            }
+            try {
+                return layout.getVisibility().getSerialiser(0).deserialise(columnVisibility);
+            } catch (final SerialisationException e) {
+                throw new RuntimeException("Failed to deserialise property " + name, e);
+            }
+        }
+
+        if (0 == layout.getTimestamp().indexOf(name)) {
+            return timestamp;
+        }
+
+        return null;
+    }
+
+    @Override
+    public Boolean filterSerialisedProperty(final String name, final SerialisedFilterFunction function) {
+        int index = layout.getColumnQualifier().indexOf(name);
+        if (index > -1) {
+            if (null == columnQualifierOffsets) {
+                columnQualifierOffsets = getOffsets(columnQualifier, layout.getColumnQualifier());
+            }
+            return filterSerialised(columnQualifier, columnQualifierOffsets, layout.getColumnQualifier(), index, function);
+        }
+
+        index = layout.getValue().indexOf(name);
+        if (index > -1) {
+            if (null == valueOffsets) {
+                valueOffsets = getOffsets(value, layout.getValue());
+            }
+            return filterSerialised(value, valueOffsets, layout.getValue(), index, function);
+        }
+
+        return null;
+    }
+
+    @Override
+    public Object getIdentifier(final IdentifierType idType) {
+        return element.getIdentifier(idType);
+    }
+
+    private Object deserialise(final byte[] bytes, final int[] offsets,
+                               final GroupPropertyLayout.Position position, final int index) {
+        final int start = offsets[2 * index];
+        if (start < 0) {
+            return null;
+        }
+
+        try {
+            return SerialisationUtils.deserialise(position.getSerialiser(index), bytes, start, offsets[2 * index + 1]);
+        } catch (final SerialisationException e) {
+            throw new RuntimeException("Failed to deserialise property " + position.getPropertyName(index), e);
+        }
+    }
+
+    private Boolean filterSerialised(final byte[] bytes, final int[] offsets,
+                                     final GroupPropertyLayout.Position position, final int index,
+                                     final SerialisedFilterFunction function) {
+        final int start = offsets[2 * index];
+        if (start < 0 || !function.canFilterSerialised(position.getSerialiser(index).getClass())) {
+            return null;
+        }
+
+        return function.isValidSerialised(bytes, start, offsets[2 * index + 1]);
+    }
+
+    private static int[] getOffsets(final byte[] bytes, final GroupPropertyLayout.Position position) {
+        final int[] offsets = new int[2 * position.size()];
+        Arrays.fill(offsets, -1);
+        if (null == bytes) {
+            return offsets;
+        }
+
+        int lastDelimiter = 0;
+        for (int i = 0; i < position.size() && lastDelimiter < bytes.length; i++) {
+            final int length;
+            try {
+                length = (int) CompactRawSerialisationUtils.readLong(bytes, lastDelimiter);
+            } catch (final SerialisationException e) {
+                throw new RuntimeException("Exception reading length of property " + position.getPropertyName(i), e);
+            }
+            lastDelimiter += CompactRawSerialisationUtils.decodeVIntSize(bytes[lastDelimiter]);
+            if (length > 0) {
+                offsets[2 * i] = lastDelimiter;
+                offsets[2 * i + 1] = length;
+                lastDelimiter += length;
+            }
+        }
+        return offsets;
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.key.core;
+
+import gaffer.accumulostore.key.SerialisedValueAggregator;
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.data.element.ElementComponentKey;
+import gaffer.data.element.function.ElementAggregator;
+import gaffer.exception.SerialisationException;
+import gaffer.function.AggregateFunction;
+import gaffer.function.SerialisedAggregateFunction;
+import gaffer.function.context.PassThroughFunctionContext;
+import gaffer.serialisation.simple.raw.CompactRawSerialisationUtils;
+import org.apache.accumulo.core.data.Value;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A <code>CoreKeySerialisedValueAggregator</code> aggregates values written by
+ * {@link AbstractCoreKeyAccumuloElementConverter}, where each property is stored as its length followed by its
+ * serialised bytes. Each property's bytes are passed straight to its {@link SerialisedAggregateFunction}.
+ * <p>
+ * It can only be created for a group if every property stored in the value is aggregated on its own by a
+ * {@link SerialisedAggregateFunction} that supports the property's serialiser.
+ */
+public final class CoreKeySerialisedValueAggregator implements SerialisedValueAggregator {
+    private final AggregateFunction[] functions;
+    private final SerialisedAggregateFunction[] serialisedFunctions;
+
+    private CoreKeySerialisedValueAggregator(final AggregateFunction[] functions) {
+        this.functions = functions;
+        this.serialisedFunctions = new SerialisedAggregateFunction[functions.length];
+        for (int i = 0; i < functions.length; i++) {
+            serialisedFunctions[i] = (SerialisedAggregateFunction) functions[i];
+        }
+    }
+
+    /**
+     * @param valueLayout the layout of the properties stored in the value
+     * @param aggregator  the aggregator of the group
+     * @return a new <code>CoreKeySerialisedValueAggregator</code>, or null if the values of the group
+     * must be deserialised to be aggregated
+     */
+    public static CoreKeySerialisedValueAggregator create(final GroupPropertyLayout.Position valueLayout,
+                                                          final ElementAggregator aggregator) {
+        if (valueLayout.isEmpty() || null == aggregator.getFunctions()) {
+            return null;
+        }
+
+        final AggregateFunction[] functions = new AggregateFunction[valueLayout.size()];
+        for (final PassThroughFunctionContext<ElementComponentKey, AggregateFunction> context : aggregator.getFunctions()) {
+            final List<ElementComponentKey> selection = context.getSelection();
+            if (!selectsValueProperty(valueLayout, selection)) {
+                continue;
+            }
+
+            if (1 != selection.size()) {
+                return null;
+            }
+
+            final int index = valueLayout.indexOf(selection.get(0).getPropertyName());
+            final AggregateFunction function = context.getFunction();
+            if (null != functions[index]
+                    || !(function instanceof SerialisedAggregateFunction)
+                    || !((SerialisedAggregateFunction) function).canAggregateSerialised(valueLayout.getSerialiser(index).getClass())) {
+                return null;
+            }
+            functions[index] = function;
+        }
+
+        for (final AggregateFunction function : functions) {
+            if (null == function) {
+                return null;
+            }
+        }
+
+        return new CoreKeySerialisedValueAggregator(functions);
+    }
+
+    @Override
+    public Value aggregate(final Value first, final Iterator<Value> others) throws AccumuloElementConversionException {
+        for (final AggregateFunction function : functions) {
+            function.init();
+        }
+
+        aggregate(first);
+        while (others.hasNext()) {
+            aggregate(others.next());
+        }
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        boolean hasValue = false;
+        try {
+            for (final SerialisedAggregateFunction function : serialisedFunctions) {
+                final byte[] state = function.serialisedState();
+                if (null != state && state.length > 0) {
+                    hasValue = true;
+                    CompactRawSerialisationUtils.write(state.length, out);
+                    out.write(state);
+                } else {
+                    CompactRawSerialisationUtils.write(0L, out);
+                }
+            }
+        } catch (final IOException e) {
+            throw new AccumuloElementConversionException("Failed to write aggregated properties", e);
+        }
+
+        if (!hasValue) {
+            return new Value();
+        }
+        return new Value(out.toByteArray());
+    }
+
+    private void aggregate(final Value value) throws AccumuloElementConversionException {
+        if (null == value || 0 == value.getSize()) {
+            return;
+        }
+
+        final byte[] bytes = value.get();
+        int position = 0;
+        for (int i = 0; i < serialisedFunctions.length && position < bytes.length; i++) {
+            final long length;
+            try {
+                length = CompactRawSerialisationUtils.readLong(bytes, position);
+            } catch (final SerialisationException e) {
+                throw new AccumuloElementConversionException("Exception reading length of property", e);
+            }
+            position += CompactRawSerialisationUtils.decodeVIntSize(bytes[position]);
+            if (length > 0) {
+                try {
+                    serialisedFunctions[i].aggregateSerialised(bytes, position, (int) length);
+                } catch (final IllegalArgumentException e) {
+                    throw new AccumuloElementConversionException("Failed to aggregate serialised property", e);
+                }
+                position += length;
+            }
+        }
+    }
+
+    private static boolean selectsValueProperty(final GroupPropertyLayout.Position valueLayout,
+                                                final List<ElementComponentKey> selection) {
+        if (null == selection) {
+            return false;
+        }
+        for (final ElementComponentKey key : selection) {
+            if (!key.isId() && valueLayout.indexOf(key.getPropertyName()) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.key.core;
+
+import gaffer.accumulostore.utils.StorePositions;
+import gaffer.data.element.IndexedProperties;
+import gaffer.data.element.PropertyIndex;
+import gaffer.serialisation.Serialisation;
+import gaffer.store.schema.SchemaElementDefinition;
+import gaffer.store.schema.TypeDefinition;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A <code>GroupPropertyLayout</code> is a compiled view of the properties of a single
+ * {@link gaffer.data.element.Element} group, split by the {@link StorePositions} they
+ * are stored in. For each position it holds the property names and their
+ * {@link Serialisation}s in schema order, so elements can be converted to and from
+ * Accumulo keys and values without looking up the schema for every property.
+ */
+public final class GroupPropertyLayout implements Serializable {
+    private static final long serialVersionUID = -5314387201643557892L;
+    private final String group;
+    private final Position columnQualifier;
+    private final Position value;
+    private final Position visibility;
+    private final Position timestamp;
+    private final PropertyIndex propertyIndex;
+
+    public GroupPropertyLayout(final String group, final SchemaElementDefinition elementDef) {
+        this.group = group;
+        this.propertyIndex = elementDef.getPropertyIndex();
+
+        final Builder columnQualifierBuilder = new Builder();
+        final Builder valueBuilder = new Builder();
+        final Builder visibilityBuilder = new Builder();
+        final Builder timestampBuilder = new Builder();
+        for (final String propertyName : elementDef.getProperties()) {
+            final TypeDefinition typeDef = elementDef.getPropertyTypeDef(propertyName);
+            if (null == typeDef || !StorePositions.isValidName(typeDef.getPosition())) {
+                continue;
+            }
+
+            switch (StorePositions.valueOf(typeDef.getPosition())) {
+                case COLUMN_QUALIFIER:
+                    columnQualifierBuilder.add(propertyName, typeDef.getSerialiser());
+                    break;
+                case VISIBILITY:
+                    visibilityBuilder.add(propertyName, typeDef.getSerialiser());
+                    break;
+                case TIMESTAMP:
+                    timestampBuilder.add(propertyName, typeDef.getSerialiser());
+                    break;
+                default:
+                    valueBuilder.add(propertyName, typeDef.getSerialiser());
+                    break;
+            }
+        }
+
+        columnQualifier = columnQualifierBuilder.build();
+        value = valueBuilder.build();
+        visibility = visibilityBuilder.build();
+        timestamp = timestampBuilder.build();
+    }
+
+    public String getGroup() {
+        return group;
+    }
+
+    /**
+     * @return a new, empty {@link IndexedProperties} using the shared {@link PropertyIndex} of the group.
+     */
+    public IndexedProperties createProperties() {
+        return new IndexedProperties(propertyIndex);
+    }
+
+    public Position getPosition(final StorePositions position) {
+        switch (position) {
+            case COLUMN_QUALIFIER:
+                return columnQualifier;
+            case VISIBILITY:
+                return visibility;
+            case TIMESTAMP:
+                return timestamp;
+            default:
+                return value;
+        }
+    }
+
+    public Position getColumnQualifier() {
+        return columnQualifier;
+    }
+
+    public Position getValue() {
+        return value;
+    }
+
+    public Position getVisibility() {
+        return visibility;
+    }
+
+    public Position getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * The properties stored in a single {@link StorePositions}, held as parallel
+     * arrays of property names and serialisers in schema order.
+     */
+    public static final class Position implements Serializable {
+        private static final long serialVersionUID = 4627189372652147303L;
+        private final String[] propertyNames;
+        private final Serialisation[] serialisers;
+
+        private Position(final String[] propertyNames, final Serialisation[] serialisers) {
+            this.propertyNames = propertyNames;
+            this.serialisers = serialisers;
+        }
+
+        public int size() {
+            return propertyNames.length;
+        }
+
+        public boolean isEmpty() {
+            return 0 == propertyNames.length;
+        }
+
+        public String getPropertyName(final int index) {
+            return propertyNames[index];
+        }
+
+        public Serialisation getSerialiser(final int index) {
+            return serialisers[index];
+        }
+
+        /**
+         * @param propertyName the property name to look up
+         * @return the index of the property within this position, or -1 if it is not stored in this position
+         */
+        public int indexOf(final String propertyName) {
+            for (int i = 0; i < propertyNames.length; i++) {
+                if (propertyNames[i].equals(propertyName)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    private static final class Builder {
+        private final List<String> propertyNames = new ArrayList<>();
+        private final List<Serialisation> serialisers = new ArrayList<>();
+
+        private void add(final String propertyName, final Serialisation serialiser) {
+            propertyNames.add(propertyName);
+            serialisers.add(serialiser);
+        }
+
+        private Position build() {
+            return new Position(propertyNames.toArray(new String[propertyNames.size()]),
+                    serialisers.toArray(new Serialisation[serialisers.size()]));
+        }
+    }
+}
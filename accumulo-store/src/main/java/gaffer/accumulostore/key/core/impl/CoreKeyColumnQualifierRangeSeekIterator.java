@@ -0,0 +1,309 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.key.core.impl;
+
+import gaffer.accumulostore.key.core.GroupPropertyLayout;
+import gaffer.accumulostore.utils.AccumuloStoreConstants;
+import gaffer.accumulostore.utils.IteratorOptionsBuilder;
+import gaffer.commonutil.CommonConstants;
+import gaffer.data.element.ElementComponentKey;
+import gaffer.data.elementdefinition.exception.SchemaException;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.data.elementdefinition.view.ViewElementDefinition;
+import gaffer.function.FilterFunction;
+import gaffer.function.LowerBoundFilterFunction;
+import gaffer.function.UpperBoundFilterFunction;
+import gaffer.function.context.ConsumerFunctionContext;
+import gaffer.serialisation.OrderedSerialisation;
+import gaffer.serialisation.Serialisation;
+import gaffer.serialisation.simple.raw.CompactRawSerialisationUtils;
+import gaffer.store.schema.Schema;
+import gaffer.store.schema.SchemaElementDefinition;
+import org.apache.accumulo.core.data.ArrayByteSequence;
+import org.apache.accumulo.core.data.ByteSequence;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.PartialKey;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.IteratorEnvironment;
+import org.apache.accumulo.core.iterators.OptionDescriber;
+import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
+import org.apache.accumulo.core.iterators.WrappingIterator;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The CoreKeyColumnQualifierRangeSeekIterator uses the {@link LowerBoundFilterFunction} and {@link UpperBoundFilterFunction} filters in a
+ * {@link View} to seek past entries that the filters would reject, rather than reading and filtering them.
+ * <p>
+ * Within a row, entries are sorted by column family, i.e. group, and then column qualifier. The column qualifier
+ * starts with the first column qualifier property, prefixed by its length. If that property is serialised with a
+ * fixed length {@link OrderedSerialisation} then the entries for a group in a row are sorted by the property, so
+ * this iterator seeks straight to the lower bound of the property and skips the rest of the group once the upper
+ * bound has been passed.
+ * <p>
+ * Entries at the bounds, and all entries for groups without a seekable range, are still returned, so this iterator
+ * must be used alongside the {@link gaffer.accumulostore.key.impl.ElementFilter} that applies the full view.
+ */
+public class CoreKeyColumnQualifierRangeSeekIterator extends WrappingIterator implements OptionDescriber {
+    private Map<ByteSequence, ColumnQualifierRange> ranges;
+    private Range range;
+    private Collection<ByteSequence> columnFamilies;
+    private boolean inclusive;
+    private boolean exhausted;
+
+    /**
+     * Gets the ranges of serialised column qualifiers that can be seeked to for each group in the view.
+     * Groups without a {@link LowerBoundFilterFunction} or {@link UpperBoundFilterFunction} filter on a seekable column qualifier property
+     * are not included.
+     *
+     * @param schema the schema
+     * @param view   the view containing the filters
+     * @return the column qualifier range for each group, which may be empty
+     */
+    public static Map<String, ColumnQualifierRange> getColumnQualifierRanges(final Schema schema, final View view) {
+        final Set<String> groups = new HashSet<>(view.getEntityGroups());
+        groups.addAll(view.getEdgeGroups());
+
+        final Map<String, ColumnQualifierRange> ranges = new HashMap<>();
+        for (final String group : groups) {
+            final ColumnQualifierRange range = getColumnQualifierRange(group, schema.getElement(group), view.getElement(group));
+            if (null != range) {
+                ranges.put(group, range);
+            }
+        }
+        return ranges;
+    }
+
+    @Override
+    public void init(final SortedKeyValueIterator<Key, Value> source, final Map<String, String> options,
+                     final IteratorEnvironment env) throws IOException {
+        super.init(source, options, env);
+        validateOptions(options);
+
+        ranges = new HashMap<>();
+        try {
+            final Schema schema = Schema.fromJson(options.get(AccumuloStoreConstants.SCHEMA).getBytes(CommonConstants.UTF_8));
+            final View view = View.fromJson(options.get(AccumuloStoreConstants.VIEW).getBytes(CommonConstants.UTF_8));
+            for (final Map.Entry<String, ColumnQualifierRange> entry : getColumnQualifierRanges(schema, view).entrySet()) {
+                ranges.put(new ArrayByteSequence(entry.getKey().getBytes(CommonConstants.UTF_8)), entry.getValue());
+            }
+        } catch (final UnsupportedEncodingException e) {
+            throw new SchemaException("Unable to deserialise the schema or view from JSON", e);
+        }
+    }
+
+    @Override
+    public SortedKeyValueIterator<Key, Value> deepCopy(final IteratorEnvironment env) {
+        final CoreKeyColumnQualifierRangeSeekIterator copy = new CoreKeyColumnQualifierRangeSeekIterator();
+        copy.setSource(getSource().deepCopy(env));
+        copy.ranges = ranges;
+        return copy;
+    }
+
+    @Override
+    public void seek(final Range range, final Collection<ByteSequence> columnFamilies, final boolean inclusive)
+            throws IOException {
+        this.range = range;
+        this.columnFamilies = columnFamilies;
+        this.inclusive = inclusive;
+        exhausted = false;
+        super.seek(range, columnFamilies, inclusive);
+        findTop();
+    }
+
+    @Override
+    public boolean hasTop() {
+        return !exhausted && super.hasTop();
+    }
+
+    @Override
+    public void next() throws IOException {
+        super.next();
+        findTop();
+    }
+
+    @Override
+    public IteratorOptions describeOptions() {
+        return new IteratorOptionsBuilder(AccumuloStoreConstants.PROPERTY_RANGE_SEEK_ITERATOR_NAME,
+                "Seeks to the range of column qualifier properties allowed by the filters in the given view")
+                .addSchemaNamedOption()
+                .addViewNamedOption()
+                .build();
+    }
+
+    @Override
+    public boolean validateOptions(final Map<String, String> options) {
+        if (!options.containsKey(AccumuloStoreConstants.SCHEMA)) {
+            throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.SCHEMA);
+        }
+        if (!options.containsKey(AccumuloStoreConstants.VIEW)) {
+            throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.VIEW);
+        }
+        return true;
+    }
+
+    private void findTop() throws IOException {
+        while (!exhausted && getSource().hasTop()) {
+            final Key key = getSource().getTopKey();
+            final ColumnQualifierRange cqRange = ranges.get(key.getColumnFamilyData());
+            if (null == cqRange) {
+                return;
+            }
+
+            final ByteSequence columnQualifier = key.getColumnQualifierData();
+            if (cqRange.isBeforeLowerBound(columnQualifier)) {
+                seekTo(new Key(key.getRowData().toArray(), key.getColumnFamilyData().toArray(),
+                        cqRange.getLowerBound(), AccumuloStoreConstants.EMPTY_BYTES, Long.MAX_VALUE));
+            } else if (cqRange.isAfterUpperBound(columnQualifier)) {
+                seekTo(key.followingKey(PartialKey.ROW_COLFAM));
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void seekTo(final Key startKey) throws IOException {
+        if (range.afterEndKey(startKey)) {
+            exhausted = true;
+            return;
+        }
+        getSource().seek(new Range(startKey, true, range.getEndKey(), range.isEndKeyInclusive()), columnFamilies, inclusive);
+    }
+
+    private static ColumnQualifierRange getColumnQualifierRange(final String group, final SchemaElementDefinition elementDef,
+                                                                final ViewElementDefinition viewElementDef) {
+        if (null == elementDef || null == viewElementDef || null == viewElementDef.getFilterFunctions()) {
+            return null;
+        }
+
+        final GroupPropertyLayout.Position columnQualifier = new GroupPropertyLayout(group, elementDef).getColumnQualifier();
+        if (columnQualifier.isEmpty()) {
+            return null;
+        }
+
+        // Only the first property is sorted, and only if the properties after it start at a fixed offset
+        final String propertyName = columnQualifier.getPropertyName(0);
+        final Serialisation serialiser = columnQualifier.getSerialiser(0);
+        if (!(serialiser instanceof OrderedSerialisation) || !((OrderedSerialisation) serialiser).isFixedLength()) {
+            return null;
+        }
+
+        byte[] lowerBound = null;
+        byte[] upperBound = null;
+        for (final ConsumerFunctionContext<ElementComponentKey, FilterFunction> context : viewElementDef.getFilterFunctions()) {
+            if (!selectsProperty(context.getSelection(), propertyName)) {
+                continue;
+            }
+
+            final FilterFunction function = context.getFunction();
+            if (function instanceof LowerBoundFilterFunction) {
+                final byte[] bound = serialiseBound(serialiser, ((LowerBoundFilterFunction) function).getControlValue());
+                if (null != bound && (null == lowerBound || ByteSequence.compareBytes(new ArrayByteSequence(bound), new ArrayByteSequence(lowerBound)) > 0)) {
+                    lowerBound = bound;
+                }
+            } else if (function instanceof UpperBoundFilterFunction) {
+                final byte[] bound = serialiseBound(serialiser, ((UpperBoundFilterFunction) function).getControlValue());
+                if (null != bound && (null == upperBound || ByteSequence.compareBytes(new ArrayByteSequence(bound), new ArrayByteSequence(upperBound)) < 0)) {
+                    upperBound = bound;
+                }
+            }
+        }
+
+        if (null == lowerBound && null == upperBound) {
+            return null;
+        }
+        return new ColumnQualifierRange(lowerBound, upperBound);
+    }
+
+    private static boolean selectsProperty(final List<ElementComponentKey> selection, final String propertyName) {
+        return null != selection && 1 == selection.size() && !selection.get(0).isId()
+                && propertyName.equals(selection.get(0).getPropertyName());
+    }
+
+    /**
+     * Serialises a filter's control value in the same way as the column qualifier property is stored,
+     * i.e. prefixed by its length.
+     *
+     * @param serialiser   the serialiser of the column qualifier property
+     * @param controlValue the filter's control value
+     * @return the serialised bound, or null if the control value cannot be serialised, in which case the
+     * filter cannot be used to seek
+     */
+    private static byte[] serialiseBound(final Serialisation serialiser, final Object controlValue) {
+        if (null == controlValue || !serialiser.canHandle(controlValue.getClass())) {
+            return null;
+        }
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            final byte[] bytes = serialiser.serialise(controlValue);
+            CompactRawSerialisationUtils.write(bytes.length, out);
+            out.write(bytes);
+        } catch (final IOException e) {
+            return null;
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * The lower and upper bounds of the serialised column qualifiers for a group. The bounds are inclusive, as the
+     * element filter decides whether entries exactly at a bound are returned.
+     */
+    public static final class ColumnQualifierRange {
+        private final byte[] lowerBound;
+        private final ArrayByteSequence lowerBoundSequence;
+        private final ArrayByteSequence upperBoundSequence;
+
+        public ColumnQualifierRange(final byte[] lowerBound, final byte[] upperBound) {
+            this.lowerBound = lowerBound;
+            this.lowerBoundSequence = null != lowerBound ? new ArrayByteSequence(lowerBound) : null;
+            this.upperBoundSequence = null != upperBound ? new ArrayByteSequence(upperBound) : null;
+        }
+
+        public byte[] getLowerBound() {
+            return lowerBound;
+        }
+
+        public boolean isBeforeLowerBound(final ByteSequence columnQualifier) {
+            return null != lowerBoundSequence && ByteSequence.compareBytes(columnQualifier, lowerBoundSequence) < 0;
+        }
+
+        /**
+         * Only the start of the column qualifier, up to the length of the upper bound, is compared, as the
+         * properties after the first property do not affect whether the bound has been passed.
+         *
+         * @param columnQualifier the column qualifier
+         * @return true if the column qualifier's first property is after the upper bound
+         */
+        public boolean isAfterUpperBound(final ByteSequence columnQualifier) {
+            if (null == upperBoundSequence) {
+                return false;
+            }
+
+            final int length = Math.min(columnQualifier.length(), upperBoundSequence.length());
+            return ByteSequence.compareBytes(columnQualifier.subSequence(0, length), upperBoundSequence) > 0;
+        }
+    }
+}
@@ -57,7 +57,7 @@ public class CoreKeyColumnQualifierVisibilityValueAggregatorIterator
             triple = iter.next();
         }
         aggregateProperties(group, triple);
-        final Properties properties = new Properties();
+        final Properties properties = schema.getElement(group).createProperties();
         aggregator.state(properties);
         final ColumnQualifierColumnVisibilityValueTriple result;
         try {
@@ -73,7 +73,7 @@ public class CoreKeyColumnQualifierVisibilityValueAggregatorIterator
     }
 
     private void aggregateProperties(final String group, final ColumnQualifierColumnVisibilityValueTriple triple) {
-        final Properties properties = new Properties();
+        final Properties properties = schema.getElement(group).createProperties();
         try {
             properties.putAll(elementConverter.getPropertiesFromColumnQualifier(group, triple.getColumnQualifier()));
             properties.putAll(elementConverter.getPropertiesFromColumnVisibility(group, triple.getColumnVisibility()));
@@ -26,7 +26,6 @@ import gaffer.data.element.Entity;
 import gaffer.exception.SerialisationException;
 import gaffer.store.schema.Schema;
 import org.apache.accumulo.core.data.Key;
-import java.util.Arrays;
 import java.util.Map;
 
 public class ClassicAccumuloElementConverter extends AbstractCoreKeyAccumuloElementConverter {
@@ -120,10 +119,10 @@ public class ClassicAccumuloElementConverter extends AbstractCoreKeyAccumuloElem
     @Override
     protected Entity getEntityFromKey(final Key key) throws AccumuloElementConversionException {
         try {
-            final Entity entity = new Entity(getGroupFromKey((key)), getVertexSerialiser()
-                    .deserialise(ByteArrayEscapeUtils.unEscape(key.getRowData().getBackingArray())));
-            addPropertiesToElement(entity, key);
-            return entity;
+            final String group = getGroupFromKey(key);
+            return new Entity(group, getVertexSerialiser()
+                    .deserialise(ByteArrayEscapeUtils.unEscape(key.getRowData().getBackingArray())),
+                    createProperties(group));
         } catch (final SerialisationException e) {
             throw new AccumuloElementConversionException("Failed to re-create Entity from key", e);
         }
@@ -182,12 +181,12 @@ public class ClassicAccumuloElementConverter extends AbstractCoreKeyAccumuloElem
 
     private byte[] getDestBytes(final byte[] rowKey, final int[] positionsOfDelimiters) {
         return ByteArrayEscapeUtils
-                .unEscape(Arrays.copyOfRange(rowKey, positionsOfDelimiters[0] + 1, positionsOfDelimiters[1]));
+                .unEscape(rowKey, positionsOfDelimiters[0] + 1, positionsOfDelimiters[1]);
     }
 
     private byte[] getSourceBytes(final byte[] rowKey, final int[] positionsOfDelimiters) {
         return ByteArrayEscapeUtils
-                .unEscape(Arrays.copyOfRange(rowKey, 0, positionsOfDelimiters[0]));
+                .unEscape(rowKey, 0, positionsOfDelimiters[0]);
     }
 
     private boolean matchEdgeSource(final Map<String, String> options) {
@@ -17,6 +17,7 @@
 package gaffer.accumulostore.key.impl;
 
 import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.key.SerialisedValueAggregator;
 import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import gaffer.accumulostore.key.exception.AggregationException;
 import gaffer.accumulostore.utils.AccumuloStoreConstants;
@@ -34,6 +35,7 @@ import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.lang.reflect.InvocationTargetException;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 
@@ -42,10 +44,15 @@ import java.util.Map;
  * {@link Key} is the same (Except for the Timestamp column). The instructions
  * provided in the schema define how the aggregation takes place and
  * therefore what the resulting {@link Value} will be.
+ * <p>
+ * If the element converter can aggregate a group's values without deserialising
+ * them, see {@link SerialisedValueAggregator}, the values are aggregated in their
+ * serialised form instead.
  */
 public class AggregatorIterator extends Combiner {
     private Schema schema;
     private AccumuloElementConverter elementConverter;
+    private final Map<String, SerialisedValueAggregator> serialisedValueAggregators = new HashMap<>();
 
     @Override
     public Value reduce(final Key key, final Iterator<Value> iter) {
@@ -62,6 +69,15 @@ public class AggregatorIterator extends Combiner {
             throw new AggregationException("Failed to recreate a graph element from a key and value", e);
         }
 
+        final SerialisedValueAggregator serialisedValueAggregator = getSerialisedValueAggregator(group);
+        if (null != serialisedValueAggregator) {
+            try {
+                return serialisedValueAggregator.aggregate(value, iter);
+            } catch (final AccumuloElementConversionException e) {
+                throw new AggregationException("Failed to aggregate serialised values", e);
+            }
+        }
+
         Properties properties;
         final ElementAggregator aggregator;
         try {
@@ -80,7 +96,7 @@ public class AggregatorIterator extends Combiner {
             }
             aggregator.aggregate(properties);
         }
-        properties = new Properties();
+        properties = schema.getElement(group).createProperties();
         aggregator.state(properties);
         try {
             return elementConverter.getValueFromProperties(group, properties);
@@ -89,6 +105,17 @@ public class AggregatorIterator extends Combiner {
         }
     }
 
+    private SerialisedValueAggregator getSerialisedValueAggregator(final String group) {
+        if (!serialisedValueAggregators.containsKey(group)) {
+            try {
+                serialisedValueAggregators.put(group, elementConverter.createSerialisedValueAggregator(group));
+            } catch (final AccumuloElementConversionException e) {
+                throw new AggregationException("Failed to create a serialised value aggregator for group " + group, e);
+            }
+        }
+        return serialisedValueAggregators.get(group);
+    }
+
     @Override
     public void init(final SortedKeyValueIterator<Key, Value> source, final Map<String, String> options,
                      final IteratorEnvironment env) throws IOException {
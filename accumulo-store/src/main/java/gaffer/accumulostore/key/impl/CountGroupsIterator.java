@@ -0,0 +1,181 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.key.impl;
+
+import gaffer.accumulostore.utils.AccumuloStoreConstants;
+import gaffer.accumulostore.utils.IteratorOptionsBuilder;
+import gaffer.commonutil.CommonConstants;
+import org.apache.accumulo.core.data.ArrayByteSequence;
+import org.apache.accumulo.core.data.ByteSequence;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.IteratorEnvironment;
+import org.apache.accumulo.core.iterators.OptionDescriber;
+import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The CountGroupsIterator counts the number of key value pairs in each column family,
+ * i.e. the number of elements in each group, for the range being scanned. Values are
+ * never read, so no properties are deserialised.
+ * <p>
+ * A single key value pair is returned for each range. The key is the last key
+ * counted in the range and the value holds the counts, which can be read using
+ * {@link #getGroupCounts(Value)}. If a limit is provided, counting stops once more
+ * than the limit have been counted. This iterator should be applied after any
+ * iterators that filter or aggregate the results.
+ */
+public class CountGroupsIterator implements SortedKeyValueIterator<Key, Value>, OptionDescriber {
+    private SortedKeyValueIterator<Key, Value> source;
+    private Long limit;
+    private Key topKey;
+    private Value topValue;
+
+    @Override
+    public void init(final SortedKeyValueIterator<Key, Value> source, final Map<String, String> options,
+                     final IteratorEnvironment env) throws IOException {
+        validateOptions(options);
+        this.source = source;
+        if (options.containsKey(AccumuloStoreConstants.COUNT_GROUPS_LIMIT)) {
+            limit = Long.parseLong(options.get(AccumuloStoreConstants.COUNT_GROUPS_LIMIT));
+        }
+    }
+
+    @Override
+    public SortedKeyValueIterator<Key, Value> deepCopy(final IteratorEnvironment env) {
+        final CountGroupsIterator copy = new CountGroupsIterator();
+        copy.source = source.deepCopy(env);
+        copy.limit = limit;
+        return copy;
+    }
+
+    @Override
+    public void seek(final Range range, final Collection<ByteSequence> columnFamilies, final boolean inclusive)
+            throws IOException {
+        source.seek(range, columnFamilies, inclusive);
+        topKey = null;
+        topValue = null;
+
+        final Map<ByteSequence, long[]> counts = new HashMap<>();
+        long total = 0;
+        Key lastKey = null;
+        while (source.hasTop() && (null == limit || total <= limit)) {
+            final ByteSequence columnFamily = source.getTopKey().getColumnFamilyData();
+            long[] count = counts.get(columnFamily);
+            if (null == count) {
+                count = new long[1];
+                counts.put(new ArrayByteSequence(columnFamily.toArray()), count);
+            }
+            count[0]++;
+            total++;
+            lastKey = source.getTopKey();
+            source.next();
+        }
+
+        if (null != lastKey) {
+            topKey = new Key(lastKey);
+            topValue = encode(counts);
+        }
+    }
+
+    @Override
+    public boolean hasTop() {
+        return null != topKey;
+    }
+
+    @Override
+    public void next() throws IOException {
+        topKey = null;
+        topValue = null;
+    }
+
+    @Override
+    public Key getTopKey() {
+        return topKey;
+    }
+
+    @Override
+    public Value getTopValue() {
+        return topValue;
+    }
+
+    /**
+     * Reads the counts returned by this iterator.
+     *
+     * @param value a value returned by this iterator
+     * @return the number of elements in each group, keyed by group
+     * @throws IOException if the value could not be read
+     */
+    public static Map<String, Long> getGroupCounts(final Value value) throws IOException {
+        final DataInputStream in = new DataInputStream(new ByteArrayInputStream(value.get()));
+        final int size = in.readInt();
+        final Map<String, Long> groupCounts = new LinkedHashMap<>(size);
+        for (int i = 0; i < size; i++) {
+            final byte[] group = new byte[in.readInt()];
+            in.readFully(group);
+            groupCounts.put(new String(group, CommonConstants.UTF_8), in.readLong());
+        }
+        return groupCounts;
+    }
+
+    private static Value encode(final Map<ByteSequence, long[]> counts) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(counts.size());
+        for (final Map.Entry<ByteSequence, long[]> entry : counts.entrySet()) {
+            final byte[] group = entry.getKey().toArray();
+            out.writeInt(group.length);
+            out.write(group);
+            out.writeLong(entry.getValue()[0]);
+        }
+        out.flush();
+        return new Value(bytes.toByteArray());
+    }
+
+    @Override
+    public IteratorOptions describeOptions() {
+        return new IteratorOptionsBuilder(AccumuloStoreConstants.COUNT_GROUPS_ITERATOR_NAME,
+                "Returns the number of elements in each group for each range")
+                .addNamedOption(AccumuloStoreConstants.COUNT_GROUPS_LIMIT,
+                        "Optional: The number of elements after which counting stops for each range")
+                .build();
+    }
+
+    @Override
+    public boolean validateOptions(final Map<String, String> options) {
+        if (options.containsKey(AccumuloStoreConstants.COUNT_GROUPS_LIMIT)) {
+            try {
+                if (Long.parseLong(options.get(AccumuloStoreConstants.COUNT_GROUPS_LIMIT)) < 0) {
+                    throw new IllegalArgumentException(AccumuloStoreConstants.COUNT_GROUPS_LIMIT + " must not be negative");
+                }
+            } catch (final NumberFormatException e) {
+                throw new IllegalArgumentException(AccumuloStoreConstants.COUNT_GROUPS_LIMIT + " must be a number", e);
+            }
+        }
+
+        return true;
+    }
+}
@@ -49,7 +49,7 @@ public class ElementFilter extends Filter {
     public boolean accept(final Key key, final Value value) {
         final Element element;
         try {
-            element = elementConverter.getFullElement(key, value);
+            element = elementConverter.getLazyElement(key, value, null);
         } catch (final AccumuloElementConversionException e) {
             throw new ElementFilterException(
                     "Element filter iterator failed to create an element from an accumulo key value pair", e);
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.key.impl;
+
+import gaffer.accumulostore.utils.AccumuloStoreConstants;
+import gaffer.accumulostore.utils.IteratorOptionsBuilder;
+import org.apache.accumulo.core.data.ByteSequence;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.IteratorEnvironment;
+import org.apache.accumulo.core.iterators.OptionDescriber;
+import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
+import org.apache.accumulo.core.iterators.WrappingIterator;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * The ResultLimitIterator stops returning key value pairs once the result limit
+ * has been reached for the range currently being scanned. Tablet servers then
+ * stop reading from a range as soon as enough results have been found.
+ * <p>
+ * The count is reset on every seek, so more results than the limit may be returned
+ * in total when scanning multiple ranges. The results should therefore also be
+ * limited client side. This iterator should be applied after any iterators that
+ * filter or aggregate the results.
+ */
+public class ResultLimitIterator extends WrappingIterator implements OptionDescriber {
+    private long resultLimit;
+    private long count;
+
+    @Override
+    public void init(final SortedKeyValueIterator<Key, Value> source, final Map<String, String> options,
+                     final IteratorEnvironment env) throws IOException {
+        super.init(source, options, env);
+        validateOptions(options);
+        resultLimit = Long.parseLong(options.get(AccumuloStoreConstants.RESULT_LIMIT));
+    }
+
+    @Override
+    public SortedKeyValueIterator<Key, Value> deepCopy(final IteratorEnvironment env) {
+        final ResultLimitIterator copy = new ResultLimitIterator();
+        copy.setSource(getSource().deepCopy(env));
+        copy.resultLimit = resultLimit;
+        return copy;
+    }
+
+    @Override
+    public void seek(final Range range, final Collection<ByteSequence> columnFamilies, final boolean inclusive)
+            throws IOException {
+        count = 0;
+        super.seek(range, columnFamilies, inclusive);
+    }
+
+    @Override
+    public boolean hasTop() {
+        return count < resultLimit && super.hasTop();
+    }
+
+    @Override
+    public void next() throws IOException {
+        count++;
+        if (count < resultLimit) {
+            super.next();
+        }
+    }
+
+    @Override
+    public IteratorOptions describeOptions() {
+        return new IteratorOptionsBuilder(AccumuloStoreConstants.RESULT_LIMIT_ITERATOR_NAME,
+                "Only returns the first results from each range")
+                .addNamedOption(AccumuloStoreConstants.RESULT_LIMIT,
+                        "Required: The maximum number of results to return from each range")
+                .build();
+    }
+
+    @Override
+    public boolean validateOptions(final Map<String, String> options) {
+        if (!options.containsKey(AccumuloStoreConstants.RESULT_LIMIT)) {
+            throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.RESULT_LIMIT);
+        }
+
+        try {
+            if (Long.parseLong(options.get(AccumuloStoreConstants.RESULT_LIMIT)) < 1) {
+                throw new IllegalArgumentException(AccumuloStoreConstants.RESULT_LIMIT + " must be at least 1");
+            }
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException(AccumuloStoreConstants.RESULT_LIMIT + " must be a number", e);
+        }
+
+        return true;
+    }
+}
@@ -185,7 +185,7 @@ public class RowIDAggregator extends WrappingIterator implements OptionDescriber
                 aggregateTriple(triple);
             }
         }
-        final Properties properties = new Properties();
+        final Properties properties = schema.getElement(group).createProperties();
         aggregator.state(properties);
         final ColumnQualifierColumnVisibilityValueTriple result;
         try {
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.operation.handler;
+
+import gaffer.accumulostore.retriever.AccumuloRetriever;
+import gaffer.accumulostore.retriever.RetrieverException;
+import gaffer.data.GroupCounts;
+import gaffer.operation.OperationException;
+import gaffer.operation.impl.CountGroups;
+import gaffer.store.Context;
+import gaffer.store.Store;
+
+/**
+ * A <code>CountGroupsHandler</code> handles {@link CountGroups} operations for the
+ * Accumulo store. If the elements come straight from a Get operation, i.e. they are
+ * an {@link AccumuloRetriever}, the groups are counted on the tablet servers and only
+ * the counts are returned to the client. Otherwise the elements are counted client
+ * side.
+ */
+public class CountGroupsHandler extends gaffer.store.operation.handler.CountGroupsHandler {
+    @Override
+    public GroupCounts doOperation(final CountGroups operation,
+                                   final Context context, final Store store)
+            throws OperationException {
+        if (operation.getElements() instanceof AccumuloRetriever) {
+            final GroupCounts groupCounts;
+            try {
+                groupCounts = ((AccumuloRetriever<?>) operation.getElements()).countGroups(operation.getLimit());
+            } catch (final RetrieverException e) {
+                throw new OperationException("Failed to count groups", e);
+            }
+
+            if (null != groupCounts) {
+                return groupCounts;
+            }
+        }
+
+        return super.doOperation(operation, context, store);
+    }
+}
@@ -102,7 +102,7 @@ public class AccumuloKeyValueReducer extends Reducer<Key, Value, Key, Value> {
         } catch (final AccumuloElementConversionException e) {
             throw new IllegalArgumentException("Failed to get Properties from an accumulo value", e);
         }
-        final Properties properties = new Properties();
+        final Properties properties = schema.getElement(group).createProperties();
         aggregator.state(properties);
         try {
             return elementConverter.getValueFromProperties(group, properties);
@@ -103,6 +103,11 @@ public class GetEdgesBetweenSets extends GetElementsBetweenSets<Edge> {
             return (Builder) super.populateProperties(populateProperties);
         }
 
+        @Override
+        public Builder resultLimit(final Integer resultLimit) {
+            return (Builder) super.resultLimit(resultLimit);
+        }
+
         @Override
         public Builder view(final View view) {
             return (Builder) super.view(view);
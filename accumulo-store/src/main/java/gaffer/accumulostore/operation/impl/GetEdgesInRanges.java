@@ -91,6 +91,11 @@ public class GetEdgesInRanges<SEED_TYPE extends Pair<? extends ElementSeed>> ext
             return (Builder<SEED_TYPE>) super.populateProperties(populateProperties);
         }
 
+        @Override
+        public Builder<SEED_TYPE> resultLimit(final Integer resultLimit) {
+            return (Builder<SEED_TYPE>) super.resultLimit(resultLimit);
+        }
+
         @Override
         public Builder<SEED_TYPE> view(final View view) {
             return (Builder<SEED_TYPE>) super.view(view);
@@ -87,6 +87,11 @@ public class GetEdgesWithinSet extends GetElementsWithinSet<Edge> {
             return (Builder) super.populateProperties(populateProperties);
         }
 
+        @Override
+        public Builder resultLimit(final Integer resultLimit) {
+            return (Builder) super.resultLimit(resultLimit);
+        }
+
         @Override
         public Builder view(final View view) {
             return (Builder) super.view(view);
@@ -85,6 +85,11 @@ public class GetElementsBetweenSets<ELEMENT_TYPE extends Element>
             return (Builder<ELEMENT_TYPE>) super.populateProperties(populateProperties);
         }
 
+        @Override
+        public Builder<ELEMENT_TYPE> resultLimit(final Integer resultLimit) {
+            return (Builder<ELEMENT_TYPE>) super.resultLimit(resultLimit);
+        }
+
         @Override
         public Builder<ELEMENT_TYPE> view(final View view) {
             return (Builder<ELEMENT_TYPE>) super.view(view);
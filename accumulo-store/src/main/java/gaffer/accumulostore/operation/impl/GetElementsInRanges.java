@@ -70,6 +70,11 @@ public class GetElementsInRanges<SEED_TYPE extends Pair<? extends ElementSeed>,
             return (Builder<SEED_TYPE, ELEMENT_TYPE>) super.populateProperties(populateProperties);
         }
 
+        @Override
+        public Builder<SEED_TYPE, ELEMENT_TYPE> resultLimit(final Integer resultLimit) {
+            return (Builder<SEED_TYPE, ELEMENT_TYPE>) super.resultLimit(resultLimit);
+        }
+
         @Override
         public Builder<SEED_TYPE, ELEMENT_TYPE> view(final View view) {
             return (Builder<SEED_TYPE, ELEMENT_TYPE>) super.view(view);
@@ -81,6 +81,11 @@ public class GetElementsWithinSet<ELEMENT_TYPE extends Element> extends Abstract
             return (Builder<ELEMENT_TYPE>) super.populateProperties(populateProperties);
         }
 
+        @Override
+        public Builder<ELEMENT_TYPE> resultLimit(final Integer resultLimit) {
+            return (Builder<ELEMENT_TYPE>) super.resultLimit(resultLimit);
+        }
+
         @Override
         public Builder<ELEMENT_TYPE> view(final View view) {
             return (Builder<ELEMENT_TYPE>) super.view(view);
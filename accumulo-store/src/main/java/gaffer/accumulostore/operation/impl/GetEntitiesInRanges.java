@@ -94,6 +94,11 @@ public class GetEntitiesInRanges<SEED_TYPE extends Pair<? extends ElementSeed>>
             return (Builder<SEED_TYPE>) super.populateProperties(populateProperties);
         }
 
+        @Override
+        public Builder<SEED_TYPE> resultLimit(final Integer resultLimit) {
+            return (Builder<SEED_TYPE>) super.resultLimit(resultLimit);
+        }
+
         @Override
         public Builder<SEED_TYPE> view(final View view) {
             return (Builder<SEED_TYPE>) super.view(view);
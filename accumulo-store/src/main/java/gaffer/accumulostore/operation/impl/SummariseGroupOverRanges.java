@@ -58,6 +58,11 @@ public class SummariseGroupOverRanges<SEED_TYPE extends Pair<? extends ElementSe
             return (Builder<SEED_TYPE, ELEMENT_TYPE>) super.populateProperties(populateProperties);
         }
 
+        @Override
+        public Builder<SEED_TYPE, ELEMENT_TYPE> resultLimit(final Integer resultLimit) {
+            return (Builder<SEED_TYPE, ELEMENT_TYPE>) super.resultLimit(resultLimit);
+        }
+
         @Override
         public Builder<SEED_TYPE, ELEMENT_TYPE> view(final View view) {
             return (Builder<SEED_TYPE, ELEMENT_TYPE>) super.view(view);
@@ -20,24 +20,34 @@ import com.google.common.collect.Iterators;
 import gaffer.accumulostore.AccumuloStore;
 import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import gaffer.accumulostore.key.exception.RangeFactoryException;
+import gaffer.accumulostore.utils.RangeUtils;
 import gaffer.commonutil.iterable.CloseableIterator;
 import gaffer.commonutil.iterable.EmptyCloseableIterator;
 import gaffer.data.element.Element;
 import gaffer.operation.GetOperation;
 import gaffer.store.StoreException;
 import gaffer.user.User;
+import org.apache.accumulo.core.client.AccumuloException;
+import org.apache.accumulo.core.client.AccumuloSecurityException;
 import org.apache.accumulo.core.client.BatchScanner;
 import org.apache.accumulo.core.client.IteratorSetting;
 import org.apache.accumulo.core.client.TableNotFoundException;
 import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Range;
 import org.apache.accumulo.core.data.Value;
+import org.apache.hadoop.io.Text;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
 
 public abstract class AccumuloItemRetriever<OP_TYPE extends GetOperation<? extends SEED_TYPE, ?>, SEED_TYPE>
         extends AccumuloRetriever<OP_TYPE> {
@@ -60,7 +70,7 @@ public abstract class AccumuloItemRetriever<OP_TYPE extends GetOperation<? exten
         }
 
         try {
-            iterator = new ElementIterator(idIterator);
+            iterator = createResultIterator(new ElementIterator(idIterator));
         } catch (final RetrieverException e) {
             LOGGER.error(e.getMessage() + " returning empty iterator", e);
             return new EmptyCloseableIterator<>();
@@ -69,35 +79,132 @@ public abstract class AccumuloItemRetriever<OP_TYPE extends GetOperation<? exten
         return iterator;
     }
 
+    @Override
+    protected Iterator<Set<Range>> getRangeBatches() {
+        final Iterator<? extends SEED_TYPE> idIterator = null != ids ? ids.iterator() : Iterators.<SEED_TYPE>emptyIterator();
+        return new RangeBatchIterator(idIterator);
+    }
+
     protected abstract void addToRanges(final SEED_TYPE seed, final Set<Range> ranges) throws RangeFactoryException;
 
+    /**
+     * Creates the ranges for the next batch of seeds, containing at most the
+     * maximum number of entries for a batch scanner.
+     *
+     * @param idIterator the iterator of seeds
+     * @return the ranges for the next batch of seeds
+     */
+    protected Set<Range> createRanges(final Iterator<? extends SEED_TYPE> idIterator) {
+        return createRanges(idIterator, store.getProperties().getMaxEntriesForBatchScanner());
+    }
+
+    private Set<Range> createRanges(final Iterator<? extends SEED_TYPE> idIterator, final int maxSeeds) {
+        int count = 0;
+        final Set<Range> ranges = new HashSet<>();
+        while (idIterator.hasNext() && count < maxSeeds) {
+            count++;
+            try {
+                addToRanges(idIterator.next(), ranges);
+            } catch (final RangeFactoryException e) {
+                LOGGER.error("Failed to create a range from given seed", e);
+            }
+        }
+
+        if (store.getProperties().getCoalesceRanges()) {
+            return new LinkedHashSet<>(RangeUtils.coalesce(ranges));
+        }
+        return ranges;
+    }
+
+    private SortedSet<Text> getSplits() {
+        try {
+            return new TreeSet<>(store.getConnection().tableOperations().listSplits(store.getProperties().getTable()));
+        } catch (final StoreException | TableNotFoundException | AccumuloSecurityException | AccumuloException e) {
+            LOGGER.warn("Unable to get the table splits, batches of seeds will not be aligned to tablets", e);
+            return new TreeSet<>();
+        }
+    }
+
+    /**
+     * Creates the batches of ranges for the seeds. If the store properties
+     * specify that more than one batch of seeds should be sorted together, a
+     * window of seeds is read, their ranges are sorted and then split back into
+     * batches along tablet boundaries.
+     */
+    private class RangeBatchIterator implements Iterator<Set<Range>> {
+        private final Iterator<? extends SEED_TYPE> idIterator;
+        private final int seedSortBatches;
+        private final Deque<Set<Range>> sortedBatches = new ArrayDeque<>();
+        private SortedSet<Text> splits;
+
+        RangeBatchIterator(final Iterator<? extends SEED_TYPE> idIterator) {
+            this.idIterator = idIterator;
+            this.seedSortBatches = Math.max(1, store.getProperties().getSeedSortBatches());
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !sortedBatches.isEmpty() || idIterator.hasNext();
+        }
+
+        @Override
+        public Set<Range> next() {
+            if (!sortedBatches.isEmpty()) {
+                return sortedBatches.removeFirst();
+            }
+            if (!idIterator.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (1 == seedSortBatches) {
+                return createRanges(idIterator);
+            }
+
+            final long maxSeeds = (long) store.getProperties().getMaxEntriesForBatchScanner() * seedSortBatches;
+            final Set<Range> ranges = createRanges(idIterator, (int) Math.min(maxSeeds, Integer.MAX_VALUE));
+            if (null == splits) {
+                splits = getSplits();
+            }
+            final int targetBatchSize = (ranges.size() + seedSortBatches - 1) / seedSortBatches;
+            sortedBatches.addAll(RangeUtils.partition(ranges, splits, targetBatchSize));
+            return sortedBatches.isEmpty() ? ranges : sortedBatches.removeFirst();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("Unable to remove ranges from this iterator");
+        }
+    }
+
+    /**
+     * Iterates over the elements for the seeds, scanning a batch of seeds at a
+     * time. If prefetching is enabled in the store properties, the ranges and
+     * scanners for the following batches are prepared, and optionally started,
+     * whilst the current batch is being consumed, so the tablet servers are not
+     * left idle whilst the client creates the next batch.
+     */
     protected class ElementIterator implements CloseableIterator<Element> {
-        private final Iterator<? extends SEED_TYPE> idsIterator;
-        private int count;
-        private BatchScanner scanner;
+        private final Iterator<Set<Range>> rangeBatches;
+        private final int prefetchBatches;
+        private final boolean startPrefetchedScanners;
+        private final Deque<ScannerBatch> prefetched = new ArrayDeque<>();
+        private ScannerBatch current;
         private Iterator<Map.Entry<Key, Value>> scannerIterator;
 
         protected ElementIterator(final Iterator<? extends SEED_TYPE> idIterator) throws RetrieverException {
-            idsIterator = idIterator;
-            count = 0;
-            final Set<Range> ranges = new HashSet<>();
-            while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
-                count++;
-                try {
-                    addToRanges(idsIterator.next(), ranges);
-                } catch (final RangeFactoryException e) {
-                    LOGGER.error("Failed to create a range from given seed pair", e);
-                }
-            }
+            rangeBatches = new RangeBatchIterator(idIterator);
+            prefetchBatches = store.getProperties().getBatchScannerPrefetchBatches();
+            startPrefetchedScanners = store.getProperties().getBatchScannerPrefetchStart();
 
             // Create BatchScanner, appropriately configured (i.e. ranges,
             // iterators, etc).
             try {
-                scanner = getScanner(ranges);
+                current = createBatch();
+                scannerIterator = current.start();
+                prefetch();
             } catch (TableNotFoundException | StoreException e) {
+                close();
                 throw new RetrieverException(e);
             }
-            scannerIterator = scanner.iterator();
         }
 
         @Override
@@ -106,32 +213,26 @@ public abstract class AccumuloItemRetriever<OP_TYPE extends GetOperation<? exten
             if (scannerIterator.hasNext()) {
                 return true;
             }
-            // If current scanner is spent then go back to the iterator
-            // through the provided entities, and see if there are more.
-            // If so create the next scanner, if there are no more entities
-            // then return false.
-            while (idsIterator.hasNext() && !scannerIterator.hasNext()) {
-                count = 0;
-                final Set<Range> ranges = new HashSet<>();
-                while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
-                    count++;
-                    try {
-                        addToRanges(idsIterator.next(), ranges);
-                    } catch (final RangeFactoryException e) {
-                        LOGGER.error("Failed to create a range from given seed", e);
-                    }
+            // If current scanner is spent then move on to the next prefetched
+            // scanner, or create the next scanner from the remaining batches
+            // of ranges. If there are no more batches then return false.
+            while (!scannerIterator.hasNext() && (!prefetched.isEmpty() || rangeBatches.hasNext())) {
+                if (null != current) {
+                    closeScanner(current.scanner);
+                    current = null;
                 }
-                scanner.close();
                 try {
-                    scanner = getScanner(ranges);
+                    current = prefetched.isEmpty() ? createBatch() : prefetched.removeFirst();
+                    scannerIterator = current.start();
+                    prefetch();
                 } catch (TableNotFoundException | StoreException e) {
                     LOGGER.error(e.getMessage() + " returning iterator doesn't have any more elements", e);
+                    close();
                     return false;
                 }
-                scannerIterator = scanner.iterator();
             }
             if (!scannerIterator.hasNext()) {
-                scanner.close();
+                close();
                 return false;
             }
             return true;
@@ -140,6 +241,7 @@ public abstract class AccumuloItemRetriever<OP_TYPE extends GetOperation<? exten
         @Override
         public Element next() {
             final Map.Entry<Key, Value> entry = scannerIterator.next();
+            recordElementScanned();
             try {
                 final Element elm = elementConverter.getFullElement(entry.getKey(), entry.getValue(),
                         operation.getOptions());
@@ -159,9 +261,47 @@ public abstract class AccumuloItemRetriever<OP_TYPE extends GetOperation<? exten
 
         @Override
         public void close() {
-            if (scanner != null) {
-                scanner.close();
+            if (null != current) {
+                closeScanner(current.scanner);
+                current = null;
+            }
+            while (!prefetched.isEmpty()) {
+                closeScanner(prefetched.removeFirst().scanner);
+            }
+        }
+
+        private ScannerBatch createBatch() throws TableNotFoundException, StoreException {
+            return new ScannerBatch(getScanner(rangeBatches.next()));
+        }
+
+        private void prefetch() throws TableNotFoundException, StoreException {
+            while (prefetched.size() < prefetchBatches && rangeBatches.hasNext()) {
+                final ScannerBatch batch = createBatch();
+                prefetched.add(batch);
+                if (startPrefetchedScanners) {
+                    batch.start();
+                }
+            }
+        }
+    }
+
+    /**
+     * A scanner for a batch of seeds. The scanner starts fetching results from
+     * the tablet servers when it is started.
+     */
+    private static final class ScannerBatch {
+        private final BatchScanner scanner;
+        private Iterator<Map.Entry<Key, Value>> scannerIterator;
+
+        private ScannerBatch(final BatchScanner scanner) {
+            this.scanner = scanner;
+        }
+
+        private Iterator<Map.Entry<Key, Value>> start() {
+            if (null == scannerIterator) {
+                scannerIterator = scanner.iterator();
             }
+            return scannerIterator;
         }
     }
 }
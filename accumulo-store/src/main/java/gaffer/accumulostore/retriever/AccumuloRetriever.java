@@ -20,21 +20,35 @@ import gaffer.accumulostore.AccumuloStore;
 import gaffer.accumulostore.key.AccumuloElementConverter;
 import gaffer.accumulostore.key.IteratorSettingFactory;
 import gaffer.accumulostore.key.RangeFactory;
+import gaffer.accumulostore.key.impl.CountGroupsIterator;
+import gaffer.accumulostore.utils.AccumuloStoreConstants;
 import gaffer.commonutil.iterable.CloseableIterable;
 import gaffer.commonutil.iterable.CloseableIterator;
+import gaffer.commonutil.iterable.LimitedCloseableIterator;
+import gaffer.commonutil.iterable.WrappedCloseableIterator;
+import gaffer.data.GroupCounts;
 import gaffer.data.element.Element;
 import gaffer.data.element.function.ElementTransformer;
 import gaffer.data.elementdefinition.view.ViewElementDefinition;
 import gaffer.operation.GetOperation;
 import gaffer.operation.GetOperation.IncludeEdgeType;
 import gaffer.store.StoreException;
+import gaffer.store.metrics.OperationMetrics;
 import gaffer.user.User;
 import org.apache.accumulo.core.client.BatchScanner;
 import org.apache.accumulo.core.client.IteratorSetting;
 import org.apache.accumulo.core.client.TableNotFoundException;
+import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
 import org.apache.accumulo.core.security.Authorizations;
 import org.apache.hadoop.io.Text;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
 import java.util.Set;
 
 public abstract class AccumuloRetriever<OP_TYPE extends GetOperation<?, ?>> implements CloseableIterable<Element> {
@@ -47,6 +61,14 @@ public abstract class AccumuloRetriever<OP_TYPE extends GetOperation<?, ?>> impl
     protected final OP_TYPE operation;
     protected final AccumuloElementConverter elementConverter;
     protected final IteratorSetting[] iteratorSettings;
+    protected final IteratorSetting propertyRangeSeekIteratorSetting;
+    protected final OperationMetrics metrics;
+    private final Set<BatchScanner> openScanners =
+            Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<BatchScanner, Boolean>()));
+
+    // Counted locally and added to the shared metrics on close, to avoid updating the shared counters per element.
+    private long elementsScanned;
+    private long elementsTransformed;
 
     protected AccumuloRetriever(final AccumuloStore store, final OP_TYPE operation,
                                 final User user, final IteratorSetting... iteratorSettings)
@@ -57,6 +79,9 @@ public abstract class AccumuloRetriever<OP_TYPE extends GetOperation<?, ?>> impl
         this.elementConverter = store.getKeyPackage().getKeyConverter();
         this.operation = operation;
         this.iteratorSettings = iteratorSettings;
+        this.propertyRangeSeekIteratorSetting = hasElementFilter(iteratorSettings)
+                ? iteratorSettingFactory.getPropertyRangeSeekIteratorSetting(operation.getView(), store) : null;
+        this.metrics = store.getMetrics();
         this.user = user;
         if (null != user && null != user.getDataAuths()) {
             this.authorisations = new Authorizations(
@@ -73,8 +98,9 @@ public abstract class AccumuloRetriever<OP_TYPE extends GetOperation<?, ?>> impl
      */
     public void doTransformation(final Element element) {
         final ViewElementDefinition viewDef = operation.getView().getElement(element.getGroup());
-        if (viewDef != null) {
+        if (viewDef != null && viewDef.getTransformer() != null) {
             transform(element, viewDef.getTransformer());
+            elementsTransformed++;
         }
     }
 
@@ -83,6 +109,7 @@ public abstract class AccumuloRetriever<OP_TYPE extends GetOperation<?, ?>> impl
         if (iterator != null) {
             iterator.close();
         }
+        recordCounts();
     }
 
     /**
@@ -98,6 +125,8 @@ public abstract class AccumuloRetriever<OP_TYPE extends GetOperation<?, ?>> impl
     protected BatchScanner getScanner(final Set<Range> ranges) throws TableNotFoundException, StoreException {
         final BatchScanner scanner = store.getConnection().createBatchScanner(store.getProperties().getTable(),
                 authorisations, store.getProperties().getThreadsForBatchScanner());
+        openScanners.add(scanner);
+        metrics.batchScannerOpened();
         if (iteratorSettings != null) {
             for (final IteratorSetting iteratorSetting : iteratorSettings) {
                 if (iteratorSetting != null) {
@@ -105,6 +134,13 @@ public abstract class AccumuloRetriever<OP_TYPE extends GetOperation<?, ?>> impl
                 }
             }
         }
+        if (null != propertyRangeSeekIteratorSetting) {
+            scanner.addScanIterator(propertyRangeSeekIteratorSetting);
+        }
+        final IteratorSetting resultLimitIteratorSetting = getResultLimitIteratorSetting();
+        if (null != resultLimitIteratorSetting) {
+            scanner.addScanIterator(resultLimitIteratorSetting);
+        }
         scanner.setRanges(ranges);
 
         // Currently hard links element class to column family position.
@@ -121,6 +157,211 @@ public abstract class AccumuloRetriever<OP_TYPE extends GetOperation<?, ?>> impl
         return scanner;
     }
 
+    /**
+     * The property range seek iterator only skips entries that the element filter
+     * would reject, so it is only applied when the element filter is.
+     *
+     * @param iteratorSettings the iterator settings to check
+     * @return true if the iterator settings include the element filter
+     */
+    private static boolean hasElementFilter(final IteratorSetting[] iteratorSettings) {
+        if (null != iteratorSettings) {
+            for (final IteratorSetting iteratorSetting : iteratorSettings) {
+                if (null != iteratorSetting
+                        && AccumuloStoreConstants.ELEMENT_FILTER_ITERATOR_NAME.equals(iteratorSetting.getName())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Closes a scanner created by {@link #getScanner(Set)}. Scanners should be closed using
+     * this method so the number of open scanners can be tracked.
+     *
+     * @param scanner the scanner to close
+     */
+    protected void closeScanner(final BatchScanner scanner) {
+        if (null != scanner) {
+            scanner.close();
+            if (openScanners.remove(scanner)) {
+                metrics.batchScannerClosed();
+            }
+        }
+    }
+
+    /**
+     * Gets the maximum number of results to return, or null if the results
+     * should not be limited.
+     *
+     * @return the result limit
+     */
+    protected Integer getResultLimit() {
+        return operation.getResultLimit();
+    }
+
+    /**
+     * Gets the iterator used to stop scanning each range once the result limit
+     * has been reached. Retrievers that drop results client side should
+     * override this to return null, as the tablet servers cannot know how
+     * many of the results will be kept.
+     *
+     * @return the result limit {@link IteratorSetting} or null if the results
+     * should not be limited server side.
+     */
+    protected IteratorSetting getResultLimitIteratorSetting() {
+        return iteratorSettingFactory.getResultLimitIteratorSetting(getResultLimit());
+    }
+
+    /**
+     * Wraps the element iterator so the number of elements returned is recorded and
+     * the elements are limited to the result limit. The iterator, and so any open
+     * scanners, are closed as soon as the limit has been reached. The element counts
+     * are added to the store metrics when the iterator is closed.
+     *
+     * @param elementIterator the iterator to wrap
+     * @return the wrapped iterator
+     */
+    protected CloseableIterator<Element> createResultIterator(final CloseableIterator<Element> elementIterator) {
+        final CloseableIterator<Element> countingIterator = new WrappedCloseableIterator<Element>(elementIterator) {
+            private long elementsReturned;
+
+            @Override
+            public Element next() {
+                final Element element = super.next();
+                elementsReturned++;
+                return element;
+            }
+
+            @Override
+            public void close() {
+                super.close();
+                if (elementsReturned > 0) {
+                    metrics.increment(OperationMetrics.ELEMENTS_RETURNED, elementsReturned);
+                    elementsReturned = 0;
+                }
+                recordCounts();
+            }
+        };
+
+        final Integer resultLimit = getResultLimit();
+        if (null == resultLimit) {
+            return countingIterator;
+        }
+
+        return new LimitedCloseableIterator<>(countingIterator, 0, resultLimit);
+    }
+
+    /**
+     * Counts the number of elements in each group that this retriever would return.
+     * The elements are counted on the tablet servers by a {@link CountGroupsIterator},
+     * so only the counts are sent back to the client and no elements are deserialised.
+     *
+     * @param limit the optional limit on the number of elements to count
+     * @return the group counts, or null if the groups cannot be counted on the tablet servers
+     * @throws RetrieverException if the groups could not be counted
+     */
+    public GroupCounts countGroups(final Integer limit) throws RetrieverException {
+        final Iterator<Set<Range>> rangeBatches = getRangeBatches();
+        if (null == rangeBatches || null != getResultLimit()) {
+            return null;
+        }
+
+        final IteratorSetting countGroupsIteratorSetting = iteratorSettingFactory.getCountGroupsIteratorSetting(limit);
+        final Map<String, Long> counts = new HashMap<>();
+        long total = 0;
+        boolean limitHit = false;
+        while (!limitHit && rangeBatches.hasNext()) {
+            final Set<Range> ranges = rangeBatches.next();
+            if (ranges.isEmpty()) {
+                continue;
+            }
+
+            BatchScanner scanner = null;
+            try {
+                scanner = getScanner(ranges);
+                scanner.addScanIterator(countGroupsIteratorSetting);
+                final Iterator<Map.Entry<Key, Value>> scannerIterator = scanner.iterator();
+                while (!limitHit && scannerIterator.hasNext()) {
+                    final Map<String, Long> rangeCounts = CountGroupsIterator.getGroupCounts(scannerIterator.next().getValue());
+                    for (final Map.Entry<String, Long> rangeCount : rangeCounts.entrySet()) {
+                        long count = rangeCount.getValue();
+                        if (null != limit && total + count > limit) {
+                            count = limit - total;
+                            limitHit = true;
+                        }
+                        if (count > 0) {
+                            final Long currentCount = counts.get(rangeCount.getKey());
+                            counts.put(rangeCount.getKey(), null == currentCount ? count : currentCount + count);
+                            total += count;
+                        }
+                        if (limitHit) {
+                            break;
+                        }
+                    }
+                }
+            } catch (final TableNotFoundException | StoreException | IOException e) {
+                throw new RetrieverException(e);
+            } finally {
+                closeScanner(scanner);
+            }
+        }
+
+        metrics.increment(OperationMetrics.ELEMENTS_SCANNED, total);
+        return createGroupCounts(counts, limitHit);
+    }
+
+    /**
+     * Gets the batches of ranges scanned by this retriever, used to count groups
+     * on the tablet servers. Retrievers that filter results client side should
+     * return null, as the tablet servers cannot know which results will be kept.
+     *
+     * @return the batches of ranges to scan or null if the ranges should not be
+     * scanned without the client side processing of this retriever.
+     */
+    protected Iterator<Set<Range>> getRangeBatches() {
+        return null;
+    }
+
+    /**
+     * Records that an element has been read from a scanner. The count is added to
+     * the store metrics when this retriever or its result iterator is closed.
+     */
+    protected void recordElementScanned() {
+        elementsScanned++;
+    }
+
+    private void recordCounts() {
+        if (elementsScanned > 0) {
+            metrics.increment(OperationMetrics.ELEMENTS_SCANNED, elementsScanned);
+            elementsScanned = 0;
+        }
+        if (elementsTransformed > 0) {
+            metrics.increment(OperationMetrics.ELEMENTS_TRANSFORMED, elementsTransformed);
+            elementsTransformed = 0;
+        }
+    }
+
+    private GroupCounts createGroupCounts(final Map<String, Long> counts, final boolean limitHit) {
+        final GroupCounts groupCounts = new GroupCounts();
+        final Map<String, Integer> entityGroups = new HashMap<>();
+        final Map<String, Integer> edgeGroups = new HashMap<>();
+        final Set<String> schemaEntityGroups = store.getSchema().getEntityGroups();
+        for (final Map.Entry<String, Long> entry : counts.entrySet()) {
+            final int count = (int) Math.min(entry.getValue(), Integer.MAX_VALUE);
+            if (schemaEntityGroups.contains(entry.getKey())) {
+                entityGroups.put(entry.getKey(), count);
+            } else {
+                edgeGroups.put(entry.getKey(), count);
+            }
+        }
+        groupCounts.setEntityGroups(entityGroups);
+        groupCounts.setEdgeGroups(edgeGroups);
+        groupCounts.setLimitHit(limitHit);
+        return groupCounts;
+    }
+
     protected void transform(final Element element, final ElementTransformer transformer) {
         if (transformer != null) {
             transformer.transform(element);
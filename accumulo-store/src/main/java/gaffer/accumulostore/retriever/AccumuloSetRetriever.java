@@ -22,6 +22,7 @@ import gaffer.accumulostore.key.exception.IteratorSettingException;
 import gaffer.accumulostore.key.exception.RangeFactoryException;
 import gaffer.accumulostore.retriever.impl.AccumuloSingleIDRetriever;
 import gaffer.accumulostore.utils.BloomFilterUtils;
+import gaffer.accumulostore.utils.ClientSideVertexSet;
 import gaffer.commonutil.iterable.CloseableIterator;
 import gaffer.commonutil.iterable.EmptyCloseableIterator;
 import gaffer.data.element.Edge;
@@ -30,6 +31,7 @@ import gaffer.data.element.Entity;
 import gaffer.operation.GetOperation;
 import gaffer.operation.data.EntitySeed;
 import gaffer.store.StoreException;
+import gaffer.store.metrics.OperationMetrics;
 import gaffer.user.User;
 import org.apache.accumulo.core.client.BatchScanner;
 import org.apache.accumulo.core.client.IteratorSetting;
@@ -40,6 +42,7 @@ import org.apache.accumulo.core.data.Value;
 import org.apache.hadoop.util.bloom.BloomFilter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
@@ -87,14 +90,14 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
         }
         if (readEntriesIntoMemory) {
             try {
-                iterator = createElementIteratorReadIntoMemory();
+                iterator = createResultIterator(createElementIteratorReadIntoMemory());
             } catch (final RetrieverException e) {
                 LOGGER.error(e.getMessage() + " returning empty iterator");
                 return new EmptyCloseableIterator<>();
             }
         } else {
             try {
-                iterator = createElementIteratorFromBatches();
+                iterator = createResultIterator(createElementIteratorFromBatches());
             } catch (final RetrieverException e) {
                 LOGGER.error(e.getMessage() + " returning empty iterator");
                 return new EmptyCloseableIterator<>();
@@ -105,6 +108,18 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
 
     protected abstract boolean hasSeeds();
 
+    /**
+     * The result limit cannot be applied server side as elements are also
+     * filtered client side, so the limit is only applied once the elements have
+     * been filtered.
+     *
+     * @return null
+     */
+    @Override
+    protected IteratorSetting getResultLimitIteratorSetting() {
+        return null;
+    }
+
     protected abstract AbstractElementIteratorReadIntoMemory createElementIteratorReadIntoMemory()
             throws RetrieverException;
 
@@ -131,27 +146,47 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
         }
     }
 
-    protected void addToBloomFilter(final Iterator<EntitySeed> seeds, final BloomFilter filter1,
-                                    final BloomFilter filter2) throws RetrieverException {
+    protected void addToBloomFilter(final Iterator<EntitySeed> seeds, final BloomFilter filter,
+                                    final ClientSideVertexSet clientSideFilter) throws RetrieverException {
         while (seeds.hasNext()) {
-            addToBloomFilter(seeds.next(), filter1, filter2);
+            addToBloomFilter(seeds.next(), filter, clientSideFilter);
         }
     }
 
-    protected void addToBloomFilter(final EntitySeed seed, final BloomFilter filter1, final BloomFilter filter2)
-            throws RetrieverException {
-        addToBloomFilter(seed.getVertex(), filter1);
-        addToBloomFilter(seed.getVertex(), filter2);
+    protected void addToBloomFilter(final EntitySeed seed, final BloomFilter filter,
+                                    final ClientSideVertexSet clientSideFilter) throws RetrieverException {
+        final byte[] serialisedVertex = serialiseVertex(seed.getVertex());
+        filter.add(new org.apache.hadoop.util.bloom.Key(serialisedVertex));
+        clientSideFilter.add(serialisedVertex);
     }
 
     private void addToBloomFilter(final Object vertex, final BloomFilter filter) throws RetrieverException {
+        filter.add(new org.apache.hadoop.util.bloom.Key(serialiseVertex(vertex)));
+    }
+
+    private byte[] serialiseVertex(final Object vertex) throws RetrieverException {
         try {
-            filter.add(new org.apache.hadoop.util.bloom.Key(elementConverter.serialiseVertex(vertex)));
+            return elementConverter.serialiseVertex(vertex);
         } catch (final AccumuloElementConversionException e) {
             throw new RetrieverException("Failed to add identifier to the bloom key", e);
         }
     }
 
+    /**
+     * Gets the number of seeds that will be added to the client side filter,
+     * used to size the filter if the seeds cannot be held exactly.
+     *
+     * @return the number of seeds that will be added to the client side filter,
+     * or -1 if this is not known
+     */
+    protected long getExpectedClientSideFilterSize() {
+        return -1;
+    }
+
+    protected long getSize(final Iterable<EntitySeed> seeds) {
+        return seeds instanceof Collection ? ((Collection<?>) seeds).size() : -1;
+    }
+
     protected abstract class AbstractElementIteratorReadIntoMemory implements CloseableIterator<Element> {
         private AccumuloRetriever<?> parentRetriever;
         private Iterator<Element> iterator;
@@ -178,7 +213,20 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
             try {
                 parentRetriever = new AccumuloSingleIDRetriever(store, operation, user,
                         iteratorSettingFactory.getEdgeEntityDirectionFilterIteratorSetting(operation), elementFilter,
-                        bloomFilter);
+                        bloomFilter) {
+                    @Override
+                    protected Integer getResultLimit() {
+                        // Elements are filtered after they are retrieved, so the limit is applied by the set retriever.
+                        return null;
+                    }
+
+                    @Override
+                    protected CloseableIterator<Element> createResultIterator(
+                            final CloseableIterator<Element> elementIterator) {
+                        // The returned elements are recorded by the set retriever.
+                        return elementIterator;
+                    }
+                };
             } catch (final StoreException e) {
                 throw new RetrieverException(e.getMessage(), e);
             }
@@ -199,6 +247,7 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
                 if (checkIfBothEndsInSet(nextElm)) {
                     return true;
                 }
+                metrics.increment(OperationMetrics.ELEMENTS_FILTERED, 1);
             }
             return false;
         }
@@ -256,9 +305,9 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
 
     protected abstract class AbstractElementIteratorFromBatches implements CloseableIterator<Element> {
         protected Iterator<EntitySeed> idsAIterator;
-        // The Bloom filter that is maintained client-side
-        // as a secondary defeat of false positives.
-        protected BloomFilter clientSideFilter;
+        // The set of seeds that is maintained client-side as a secondary
+        // defeat of false positives. This is exact for small sets of seeds.
+        protected ClientSideVertexSet clientSideFilter;
         protected Set<Object> currentSeeds;
         protected BatchScanner scanner;
         protected BloomFilter filter;
@@ -268,7 +317,10 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
 
         public AbstractElementIteratorFromBatches() {
             // Set up client side filter
-            clientSideFilter = BloomFilterUtils.getBloomFilter(store.getProperties().getClientSideBloomFilterSize());
+            clientSideFilter = new ClientSideVertexSet(store.getProperties().getClientSideExactSetMaxSize(),
+                    store.getProperties().getFalsePositiveRate(),
+                    store.getProperties().getClientSideBloomFilterSize(),
+                    getExpectedClientSideFilterSize());
             // Create Bloom filter to be passed to iterators.
             filter = BloomFilterUtils.getBloomFilter(store.getProperties().getFalsePositiveRate(),
                     store.getProperties().getMaxEntriesForBatchScanner(),
@@ -284,16 +336,21 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
             try {
                 while (_hasNext()) {
                     final Map.Entry<Key, Value> entry = scannerIterator.next();
+                    recordElementScanned();
                     try {
-                        nextElm = elementConverter.getFullElement(entry.getKey(), entry.getValue(),
-                                operation.getOptions());
+                        // The secondary check only needs the identifiers, so the value is
+                        // only deserialised for elements that pass it.
+                        final Element element = elementConverter.getElementFromKey(entry.getKey(), operation.getOptions());
+                        if (secondaryCheck(element)) {
+                            element.copyProperties(elementConverter.getPropertiesFromValue(element.getGroup(), entry.getValue()));
+                            nextElm = element;
+                            return true;
+                        }
                     } catch (final AccumuloElementConversionException e) {
                         LOGGER.error("Failed to create next element from key and value entry set", e);
                         continue;
                     }
-                    if (secondaryCheck(nextElm)) {
-                        return true;
-                    }
+                    metrics.increment(OperationMetrics.ELEMENTS_FILTERED, 1);
                 }
             } catch (final RetrieverException e) {
                 LOGGER.debug("Failed to retrieve elements into iterator : " + e.getMessage()
@@ -326,7 +383,7 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
         @Override
         public void close() {
             if (scanner != null) {
-                scanner.close();
+                closeScanner(scanner);
             }
         }
 
@@ -350,6 +407,7 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
                 updateBloomFilterIfRequired(seed);
             }
 
+            closeScanner(scanner);
             try {
                 scanner = getScanner(ranges);
             } catch (TableNotFoundException | StoreException e) {
@@ -374,6 +432,11 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
             }
             if (elementFilterSetting != null) {
                 scanner.addScanIterator(elementFilterSetting);
+                final IteratorSetting propertyRangeSeekSetting = iteratorSettingFactory
+                        .getPropertyRangeSeekIteratorSetting(operation.getView(), store);
+                if (propertyRangeSeekSetting != null) {
+                    scanner.addScanIterator(propertyRangeSeekSetting);
+                }
             }
             scannerIterator = scanner.iterator();
         }
@@ -389,6 +452,21 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
          */
         protected abstract boolean secondaryCheck(final Element elm);
 
+        /**
+         * Checks whether the vertex is in the client side filter. Vertices that
+         * cannot be serialised are never in the filter.
+         *
+         * @param vertex the vertex to check
+         * @return true if the vertex matches the client side filter
+         */
+        protected boolean matchesClientSideFilter(final Object vertex) {
+            try {
+                return clientSideFilter.contains(elementConverter.serialiseVertex(vertex));
+            } catch (final AccumuloElementConversionException e) {
+                return false;
+            }
+        }
+
         private boolean _hasNext() throws RetrieverException {
             // If current scanner has next then return true.
             if (scannerIterator.hasNext()) {
@@ -402,7 +480,7 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
                 updateScanner();
             }
             if (!scannerIterator.hasNext()) {
-                scanner.close();
+                closeScanner(scanner);
             }
             return scannerIterator.hasNext();
         }
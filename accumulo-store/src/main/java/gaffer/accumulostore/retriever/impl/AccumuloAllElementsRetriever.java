@@ -35,6 +35,7 @@ import org.apache.accumulo.core.data.Range;
 import org.apache.accumulo.core.data.Value;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
@@ -76,7 +77,7 @@ public class AccumuloAllElementsRetriever extends AccumuloSingleIDRetriever {
     @Override
     public CloseableIterator<Element> iterator() {
         try {
-            iterator = new AllElementsIterator();
+            iterator = createResultIterator(new AllElementsIterator());
         } catch (final RetrieverException e) {
             LOGGER.error(e.getMessage() + " returning empty iterator", e);
             return new EmptyCloseableIterator<>();
@@ -85,6 +86,11 @@ public class AccumuloAllElementsRetriever extends AccumuloSingleIDRetriever {
         return iterator;
     }
 
+    @Override
+    protected Iterator<Set<Range>> getRangeBatches() {
+        return Collections.<Set<Range>>singleton(Sets.newHashSet(new Range())).iterator();
+    }
+
     protected class AllElementsIterator implements CloseableIterator<Element> {
         private BatchScanner scanner;
         private Iterator<Map.Entry<Key, Value>> scannerIterator;
@@ -103,7 +109,7 @@ public class AccumuloAllElementsRetriever extends AccumuloSingleIDRetriever {
         public boolean hasNext() {
             final boolean scannerHasNext = scannerIterator.hasNext();
             if (!scannerHasNext) {
-                scanner.close();
+                closeScanner(scanner);
             }
 
             return scannerHasNext;
@@ -112,6 +118,7 @@ public class AccumuloAllElementsRetriever extends AccumuloSingleIDRetriever {
         @Override
         public Element next() {
             final Map.Entry<Key, Value> entry = scannerIterator.next();
+            recordElementScanned();
             try {
                 final Element elm = elementConverter.getFullElement(entry.getKey(), entry.getValue(),
                         operation.getOptions());
@@ -132,7 +139,7 @@ public class AccumuloAllElementsRetriever extends AccumuloSingleIDRetriever {
         @Override
         public void close() {
             if (scanner != null) {
-                scanner.close();
+                closeScanner(scanner);
             }
         }
     }
@@ -17,7 +17,6 @@
 package gaffer.accumulostore.retriever.impl;
 
 import gaffer.accumulostore.AccumuloStore;
-import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import gaffer.accumulostore.operation.AbstractAccumuloTwoSetSeededOperation;
 import gaffer.accumulostore.retriever.AccumuloSetRetriever;
 import gaffer.accumulostore.retriever.RetrieverException;
@@ -101,6 +100,11 @@ public class AccumuloIDBetweenSetsRetriever extends AccumuloSetRetriever {
         return seedSetAIter.hasNext() && seedSetBIter.hasNext();
     }
 
+    @Override
+    protected long getExpectedClientSideFilterSize() {
+        return getSize(seedSetB);
+    }
+
     @Override
     protected ElementIteratorReadIntoMemory createElementIteratorReadIntoMemory() throws RetrieverException {
         return new ElementIteratorReadIntoMemory();
@@ -159,24 +163,12 @@ public class AccumuloIDBetweenSetsRetriever extends AccumuloSetRetriever {
             final Object source = edge.getSource();
             final Object destination = edge.getDestination();
             final boolean sourceIsInCurrent = currentSeeds.contains(source);
-            boolean destMatchesClientFilter;
-            try {
-                destMatchesClientFilter = clientSideFilter.membershipTest(
-                        new org.apache.hadoop.util.bloom.Key(elementConverter.serialiseVertex(destination)));
-            } catch (final AccumuloElementConversionException e) {
-                return false;
-            }
+            final boolean destMatchesClientFilter = matchesClientSideFilter(destination);
             if (sourceIsInCurrent && destMatchesClientFilter) {
                 return true;
             }
             final boolean destIsInCurrent = currentSeeds.contains(destination);
-            boolean sourceMatchesClientFilter;
-            try {
-                sourceMatchesClientFilter = clientSideFilter.membershipTest(
-                        new org.apache.hadoop.util.bloom.Key(elementConverter.serialiseVertex(source)));
-            } catch (final AccumuloElementConversionException e) {
-                return false;
-            }
+            final boolean sourceMatchesClientFilter = matchesClientSideFilter(source);
             return (destIsInCurrent && sourceMatchesClientFilter);
         }
     }
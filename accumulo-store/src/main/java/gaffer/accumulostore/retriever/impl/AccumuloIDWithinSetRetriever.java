@@ -17,7 +17,6 @@
 package gaffer.accumulostore.retriever.impl;
 
 import gaffer.accumulostore.AccumuloStore;
-import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import gaffer.accumulostore.retriever.AccumuloSetRetriever;
 import gaffer.accumulostore.retriever.RetrieverException;
 import gaffer.accumulostore.utils.BloomFilterUtils;
@@ -97,6 +96,11 @@ public class AccumuloIDWithinSetRetriever extends AccumuloSetRetriever {
         return seedsIter.hasNext();
     }
 
+    @Override
+    protected long getExpectedClientSideFilterSize() {
+        return getSize(seeds);
+    }
+
     @Override
     protected ElementIteratorReadIntoMemory createElementIteratorReadIntoMemory() throws RetrieverException {
         return new ElementIteratorReadIntoMemory();
@@ -162,23 +166,11 @@ public class AccumuloIDWithinSetRetriever extends AccumuloSetRetriever {
             if (sourceIsInCurrent && destIsInCurrent) {
                 return true;
             }
-            boolean destMatchesClientFilter;
-            try {
-                destMatchesClientFilter = clientSideFilter.membershipTest(
-                        new org.apache.hadoop.util.bloom.Key(elementConverter.serialiseVertex(destination)));
-            } catch (final AccumuloElementConversionException e) {
-                return false;
-            }
+            final boolean destMatchesClientFilter = matchesClientSideFilter(destination);
             if (sourceIsInCurrent && destMatchesClientFilter) {
                 return true;
             }
-            boolean sourceMatchesClientFilter;
-            try {
-                sourceMatchesClientFilter = clientSideFilter.membershipTest(
-                        new org.apache.hadoop.util.bloom.Key(elementConverter.serialiseVertex(source)));
-            } catch (final AccumuloElementConversionException e) {
-                return false;
-            }
+            final boolean sourceMatchesClientFilter = matchesClientSideFilter(source);
             return  (destIsInCurrent && sourceMatchesClientFilter);
         }
     }
@@ -28,6 +28,9 @@ public final class AccumuloStoreConstants {
     public static final String COLUMN_QUALIFIER_AGGREGATOR_ITERATOR_NAME = "Column_Qualifier_Aggregator";
     public static final String ROW_ID_AGGREGATOR_ITERATOR_NAME = "Row_ID_Aggregator";
     public static final String RANGE_ELEMENT_PROPERTY_FILTER_ITERATOR_NAME = "Range_Element_Property_Filter";
+    public static final String RESULT_LIMIT_ITERATOR_NAME = "Result_Limit";
+    public static final String COUNT_GROUPS_ITERATOR_NAME = "Count_Groups";
+    public static final String PROPERTY_RANGE_SEEK_ITERATOR_NAME = "Property_Range_Seek";
 
     // Converter class to be used in iterators must be on classpath of all
     // iterators
@@ -47,12 +50,16 @@ public final class AccumuloStoreConstants {
     public static final String BLOOM_FILTER = "Bloom_Filter";
     public static final String BLOOM_FILTER_CHARSET = "ISO-8859-1";
     public static final String COLUMN_FAMILY = "columnFamily";
+    public static final String RESULT_LIMIT = "Result_Limit";
+    public static final String COUNT_GROUPS_LIMIT = "Count_Groups_Limit";
 
     // Iterator priorities
     // Applied during major compactions, minor compactions  and scans.
     public static final int AGGREGATOR_ITERATOR_PRIORITY = 10;
     // Applied during major compactions, minor compactions and scans.
     public static final int VALIDATOR_ITERATOR_PRIORITY = 20;
+    // Applied only during scans, below the filters so skipped entries are never read by them.
+    public static final int PROPERTY_RANGE_SEEK_ITERATOR_PRIORITY = 30;
     // Applied only during scans.
     public static final int BLOOM_FILTER_ITERATOR_PRIORITY = 31;
     // Applied only during scans.
@@ -67,6 +74,10 @@ public final class AccumuloStoreConstants {
     public static final int COLUMN_QUALIFIER_AGGREGATOR_ITERATOR_PRIORITY = 36;
     // Applied only during scans.
     public static final int TRANSFORM_PRIORITY = 50;
+    // Applied only during scans, after all other scan iterators.
+    public static final int RESULT_LIMIT_ITERATOR_PRIORITY = 60;
+    // Applied only during scans, replaces the results with counts so must be last.
+    public static final int COUNT_GROUPS_ITERATOR_PRIORITY = 70;
 
     // Operations options
     public static final String OPERATION_HDFS_USE_ACCUMULO_PARTITIONER = "accumulostore.operation.hdfs.use_accumulo_partitioner";
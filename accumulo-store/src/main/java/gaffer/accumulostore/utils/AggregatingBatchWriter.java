@@ -0,0 +1,232 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.utils;
+
+import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.key.SerialisedValueAggregator;
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.data.element.Properties;
+import gaffer.data.element.function.ElementAggregator;
+import gaffer.store.schema.Schema;
+import gaffer.store.schema.SchemaElementDefinition;
+import org.apache.accumulo.core.client.BatchWriter;
+import org.apache.accumulo.core.client.MutationsRejectedException;
+import org.apache.accumulo.core.data.ColumnUpdate;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Mutation;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.security.ColumnVisibility;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An <code>AggregatingBatchWriter</code> sits in front of a {@link BatchWriter}
+ * and pre-aggregates the values of mutations that update the same row, column
+ * family, column qualifier and column visibility, using the aggregate functions
+ * in the {@link Schema}. This mirrors what the aggregator iterator would do later,
+ * so duplicate elements in a batch are only sent to Accumulo once.
+ * <p>
+ * As with the aggregator iterator, timestamps are ignored when grouping and the
+ * aggregated value is written with the most recent timestamp. The buffered values
+ * are aggregated and passed to the wrapped writer when the buffer exceeds its
+ * memory budget, when the oldest buffered value exceeds the maximum latency, or
+ * on {@link #flush()} and {@link #close()}. Mutations containing deletes or
+ * without timestamps are passed straight through after the buffer is flushed.
+ * <p>
+ * If a set of values cannot be aggregated they are written individually and left
+ * for the aggregator iterator to combine.
+ * <p>
+ * This class is not thread safe.
+ */
+public class AggregatingBatchWriter implements BatchWriter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AggregatingBatchWriter.class);
+
+    /**
+     * Rough estimate of the memory used by a buffered entry in addition to its
+     * key and value bytes.
+     */
+    private static final int ENTRY_OVERHEAD_BYTES = 100;
+
+    private final BatchWriter writer;
+    private final AccumuloElementConverter converter;
+    private final Schema schema;
+    private final long maxBufferSizeInBytes;
+    private final long maxLatencyInMilliseconds;
+    private final Map<Key, BufferedValues> buffer = new HashMap<>();
+    private final Map<String, SerialisedValueAggregator> serialisedValueAggregators = new HashMap<>();
+    private long bufferSizeInBytes;
+    private long bufferStartTime;
+
+    public AggregatingBatchWriter(final BatchWriter writer, final AccumuloElementConverter converter,
+                                  final Schema schema, final long maxBufferSizeInBytes,
+                                  final long maxLatencyInMilliseconds) {
+        this.writer = writer;
+        this.converter = converter;
+        this.schema = schema;
+        this.maxBufferSizeInBytes = maxBufferSizeInBytes;
+        this.maxLatencyInMilliseconds = maxLatencyInMilliseconds;
+    }
+
+    @Override
+    public void addMutation(final Mutation mutation) throws MutationsRejectedException {
+        final List<ColumnUpdate> updates = mutation.getUpdates();
+        if (!canBuffer(updates)) {
+            flushBuffer();
+            writer.addMutation(mutation);
+            return;
+        }
+
+        if (buffer.isEmpty()) {
+            bufferStartTime = System.currentTimeMillis();
+        }
+        final byte[] row = mutation.getRow();
+        for (final ColumnUpdate update : updates) {
+            bufferUpdate(row, update);
+        }
+
+        if (bufferSizeInBytes >= maxBufferSizeInBytes
+                || System.currentTimeMillis() - bufferStartTime >= maxLatencyInMilliseconds) {
+            flushBuffer();
+        }
+    }
+
+    @Override
+    public void addMutations(final Iterable<Mutation> mutations) throws MutationsRejectedException {
+        for (final Mutation mutation : mutations) {
+            addMutation(mutation);
+        }
+    }
+
+    @Override
+    public void flush() throws MutationsRejectedException {
+        flushBuffer();
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws MutationsRejectedException {
+        try {
+            flushBuffer();
+        } finally {
+            writer.close();
+        }
+    }
+
+    private static boolean canBuffer(final List<ColumnUpdate> updates) {
+        for (final ColumnUpdate update : updates) {
+            if (update.isDeleted() || !update.hasTimestamp()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void bufferUpdate(final byte[] row, final ColumnUpdate update) {
+        final Key key = new Key(row, update.getColumnFamily(), update.getColumnQualifier(),
+                update.getColumnVisibility(), Long.MAX_VALUE);
+        final Value value = new Value(update.getValue(), false);
+        BufferedValues bufferedValues = buffer.get(key);
+        if (null == bufferedValues) {
+            bufferedValues = new BufferedValues();
+            buffer.put(key, bufferedValues);
+            bufferSizeInBytes += row.length + update.getColumnFamily().length
+                    + update.getColumnQualifier().length + update.getColumnVisibility().length;
+        }
+        bufferedValues.add(value, update.getTimestamp());
+        bufferSizeInBytes += value.getSize() + ENTRY_OVERHEAD_BYTES;
+    }
+
+    private void flushBuffer() throws MutationsRejectedException {
+        if (buffer.isEmpty()) {
+            return;
+        }
+
+        for (final Map.Entry<Key, BufferedValues> entry : buffer.entrySet()) {
+            final Key key = entry.getKey();
+            final BufferedValues bufferedValues = entry.getValue();
+            Value aggregatedValue = null;
+            if (1 == bufferedValues.values.size()) {
+                aggregatedValue = bufferedValues.values.get(0);
+            } else {
+                try {
+                    aggregatedValue = aggregate(key, bufferedValues.values);
+                } catch (final AccumuloElementConversionException | RuntimeException e) {
+                    LOGGER.warn("Unable to pre-aggregate values, they will be aggregated by Accumulo instead", e);
+                }
+            }
+
+            if (null != aggregatedValue) {
+                writer.addMutation(createMutation(key, bufferedValues.maxTimestamp, aggregatedValue));
+            } else {
+                for (int i = 0; i < bufferedValues.values.size(); i++) {
+                    writer.addMutation(createMutation(key, bufferedValues.timestamps.get(i), bufferedValues.values.get(i)));
+                }
+            }
+        }
+
+        buffer.clear();
+        bufferSizeInBytes = 0;
+    }
+
+    private Value aggregate(final Key key, final List<Value> values) throws AccumuloElementConversionException {
+        final String group = converter.getGroupFromColumnFamily(key.getColumnFamilyData().getBackingArray());
+        final SerialisedValueAggregator serialisedValueAggregator = getSerialisedValueAggregator(group);
+        if (null != serialisedValueAggregator) {
+            return serialisedValueAggregator.aggregate(values.get(0), values.subList(1, values.size()).iterator());
+        }
+
+        final SchemaElementDefinition elementDef = schema.getElement(group);
+        final ElementAggregator aggregator = elementDef.getAggregator();
+        for (final Value value : values) {
+            aggregator.aggregate(converter.getPropertiesFromValue(group, value));
+        }
+        final Properties properties = elementDef.createProperties();
+        aggregator.state(properties);
+        return converter.getValueFromProperties(group, properties);
+    }
+
+    private SerialisedValueAggregator getSerialisedValueAggregator(final String group)
+            throws AccumuloElementConversionException {
+        if (!serialisedValueAggregators.containsKey(group)) {
+            serialisedValueAggregators.put(group, converter.createSerialisedValueAggregator(group));
+        }
+        return serialisedValueAggregators.get(group);
+    }
+
+    private static Mutation createMutation(final Key key, final long timestamp, final Value value) {
+        final Mutation m = new Mutation(key.getRow());
+        m.put(key.getColumnFamily(), key.getColumnQualifier(),
+                new ColumnVisibility(key.getColumnVisibility()), timestamp, value);
+        return m;
+    }
+
+    private static final class BufferedValues {
+        private final List<Value> values = new ArrayList<>(1);
+        private final List<Long> timestamps = new ArrayList<>(1);
+        private long maxTimestamp = Long.MIN_VALUE;
+
+        private void add(final Value value, final long timestamp) {
+            values.add(value);
+            timestamps.add(timestamp);
+            maxTimestamp = Math.max(maxTimestamp, timestamp);
+        }
+    }
+}
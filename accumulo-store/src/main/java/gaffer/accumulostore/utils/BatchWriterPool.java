@@ -0,0 +1,232 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.utils;
+
+import gaffer.accumulostore.AccumuloStore;
+import gaffer.store.StoreException;
+import org.apache.accumulo.core.client.BatchWriter;
+import org.apache.accumulo.core.client.MutationsRejectedException;
+import org.apache.accumulo.core.data.Mutation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A <code>BatchWriterPool</code> holds a single long lived
+ * {@link BatchWriter} per table for an {@link AccumuloStore}, so frequent small
+ * additions do not pay the cost of creating and closing a batch writer each time.
+ * <p>
+ * Batch writers are thread safe so each writer is shared by all threads adding
+ * elements to its table. Each call to {@link #getWriter(String)} returns a
+ * lease on the shared writer, which must be closed once the caller has finished
+ * adding mutations. Closing a lease does not flush or close the shared writer:
+ * buffered mutations are sent whenever the configured memory buffer fills or
+ * the configured latency expires, or when a caller flushes its lease.
+ * <p>
+ * Once a batch writer has rejected mutations it can no longer be used. It is
+ * removed from the pool, so later callers are given a new writer, and it is
+ * closed when the last lease on it is closed. The rejection is reported to
+ * every caller holding a lease on the failed writer, as their mutations may
+ * not have been written, but not to callers using its replacement.
+ */
+public class BatchWriterPool {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchWriterPool.class);
+
+    private final AccumuloStore store;
+    private final Map<String, SharedWriter> writers = new HashMap<>();
+    private boolean closed;
+
+    public BatchWriterPool(final AccumuloStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Gets a lease on the shared batch writer for the table, creating the
+     * writer if required. The lease must be closed once the caller has finished
+     * with it; this releases the lease without closing the shared writer.
+     * <p>
+     * If the pool has been closed the lease is on a new writer that is not
+     * shared and is closed with the lease.
+     *
+     * @param tableName the table to write to
+     * @return a {@link BatchWriter} lease on the shared writer for the table
+     * @throws StoreException if the batch writer could not be created
+     */
+    public synchronized BatchWriter getWriter(final String tableName) throws StoreException {
+        SharedWriter shared = closed ? null : writers.get(tableName);
+        if (null == shared) {
+            shared = new SharedWriter(tableName, TableUtils.createBatchWriter(store, tableName));
+            if (closed) {
+                shared.retired = true;
+            } else {
+                writers.put(tableName, shared);
+            }
+        }
+
+        shared.users++;
+        return new Lease(shared);
+    }
+
+    /**
+     * Flushes and closes all the batch writers in the pool. Writers that are
+     * still leased are closed when their last lease is closed.
+     *
+     * @throws StoreException if any batch writer rejected mutations whilst closing
+     */
+    public void close() throws StoreException {
+        final List<SharedWriter> unused = new ArrayList<>();
+        synchronized (this) {
+            closed = true;
+            for (final SharedWriter shared : writers.values()) {
+                shared.retired = true;
+                if (0 == shared.users) {
+                    unused.add(shared);
+                }
+            }
+            writers.clear();
+        }
+
+        MutationsRejectedException failure = null;
+        for (final SharedWriter shared : unused) {
+            try {
+                shared.writer.close();
+            } catch (final MutationsRejectedException e) {
+                LOGGER.error("Batch writer for table {} rejected mutations when closing", shared.tableName);
+                failure = e;
+            }
+        }
+
+        if (null != failure) {
+            throw new StoreException("Failed to close batch writers, some mutations were rejected", failure);
+        }
+    }
+
+    private synchronized void fail(final SharedWriter shared, final MutationsRejectedException e) {
+        if (null == shared.failure) {
+            LOGGER.error("Batch writer for table {} rejected mutations, it will be replaced", shared.tableName);
+            shared.failure = e;
+        }
+
+        if (!shared.retired) {
+            shared.retired = true;
+            if (shared == writers.get(shared.tableName)) {
+                writers.remove(shared.tableName);
+            }
+        }
+    }
+
+    private void release(final SharedWriter shared) throws MutationsRejectedException {
+        final boolean lastUser;
+        synchronized (this) {
+            shared.users--;
+            lastUser = shared.retired && 0 == shared.users;
+        }
+
+        if (lastUser) {
+            try {
+                shared.writer.close();
+            } catch (final MutationsRejectedException e) {
+                fail(shared, e);
+            }
+        }
+
+        final MutationsRejectedException failure;
+        synchronized (this) {
+            failure = shared.failure;
+        }
+        if (null != failure) {
+            throw failure;
+        }
+    }
+
+    private static final class SharedWriter {
+        private final String tableName;
+        private final BatchWriter writer;
+        private int users;
+        private boolean retired;
+        private MutationsRejectedException failure;
+
+        private SharedWriter(final String tableName, final BatchWriter writer) {
+            this.tableName = tableName;
+            this.writer = writer;
+        }
+    }
+
+    /**
+     * A single caller's view of a shared writer. Rejections are recorded
+     * against the shared writer so it is replaced, and closing the lease only
+     * closes the shared writer if it has been retired and this is its last lease.
+     */
+    private final class Lease implements BatchWriter {
+        private final SharedWriter shared;
+        private boolean released;
+
+        private Lease(final SharedWriter shared) {
+            this.shared = shared;
+        }
+
+        @Override
+        public void addMutation(final Mutation mutation) throws MutationsRejectedException {
+            checkNotReleased();
+            try {
+                shared.writer.addMutation(mutation);
+            } catch (final MutationsRejectedException e) {
+                fail(shared, e);
+                throw e;
+            }
+        }
+
+        @Override
+        public void addMutations(final Iterable<Mutation> mutations) throws MutationsRejectedException {
+            checkNotReleased();
+            try {
+                shared.writer.addMutations(mutations);
+            } catch (final MutationsRejectedException e) {
+                fail(shared, e);
+                throw e;
+            }
+        }
+
+        @Override
+        public void flush() throws MutationsRejectedException {
+            checkNotReleased();
+            try {
+                shared.writer.flush();
+            } catch (final MutationsRejectedException e) {
+                fail(shared, e);
+                throw e;
+            }
+        }
+
+        @Override
+        public void close() throws MutationsRejectedException {
+            if (!released) {
+                released = true;
+                release(shared);
+            }
+        }
+
+        private void checkNotReleased() {
+            if (released) {
+                throw new IllegalStateException("This batch writer lease has been closed");
+            }
+        }
+    }
+}
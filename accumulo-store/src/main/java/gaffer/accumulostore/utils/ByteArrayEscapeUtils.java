@@ -67,10 +67,24 @@ public final class ByteArrayEscapeUtils {
      * @return the unescaped byte array
      */
     public static byte[] unEscape(final byte[] bytes) {
-        final byte[] temp = new byte[bytes.length];
+        return unEscape(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Unescapes the bytes between the start index (inclusive) and end index (exclusive)
+     * of the provided byte array, without copying the range out first.
+     *
+     * @param bytes the byte array containing the escaped bytes
+     * @param start the index of the first escaped byte
+     * @param end   the index after the last escaped byte
+     * @return the unescaped bytes
+     */
+    public static byte[] unEscape(final byte[] bytes, final int start, final int end) {
+        final byte[] temp = new byte[end - start];
         int currentPosition = 0;
         boolean isEscaped = false;
-        for (final byte b : bytes) {
+        for (int i = start; i < end; i++) {
+            final byte b = bytes[i];
             if (isEscaped) {
                 if (b == REPLACEMENT_CHAR) {
                     temp[currentPosition++] = ESCAPE_CHAR;
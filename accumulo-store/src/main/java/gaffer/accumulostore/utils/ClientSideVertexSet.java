@@ -0,0 +1,102 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.utils;
+
+import org.apache.accumulo.core.data.ArrayByteSequence;
+import org.apache.hadoop.util.bloom.BloomFilter;
+import org.apache.hadoop.util.bloom.Key;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A <code>ClientSideVertexSet</code> holds the serialised vertices that are
+ * checked client side by the set retrievers. The vertices are held exactly
+ * until there are more than the maximum exact size, at which point they are
+ * moved into a {@link BloomFilter}. If the expected number of vertices is known
+ * the Bloom filter is sized for that number of vertices and the desired false
+ * positive rate, otherwise it is created at the maximum size. The Bloom filter
+ * is never larger than the maximum size.
+ */
+public class ClientSideVertexSet {
+    private final int maxExactSize;
+    private final double falsePositiveRate;
+    private final int maxBloomFilterSize;
+    private final long expectedSize;
+    private Set<ArrayByteSequence> exactVertices = new HashSet<>();
+    private BloomFilter bloomFilter;
+
+    /**
+     * @param maxExactSize       the maximum number of vertices to hold exactly
+     * @param falsePositiveRate  the desired false positive rate of the Bloom filter
+     * @param maxBloomFilterSize the maximum size in bits of the Bloom filter
+     * @param expectedSize       the expected number of vertices, or a negative number if this is not known
+     */
+    public ClientSideVertexSet(final int maxExactSize, final double falsePositiveRate,
+                               final int maxBloomFilterSize, final long expectedSize) {
+        this.maxExactSize = maxExactSize;
+        this.falsePositiveRate = falsePositiveRate;
+        this.maxBloomFilterSize = maxBloomFilterSize;
+        this.expectedSize = expectedSize;
+        if (expectedSize > maxExactSize) {
+            createBloomFilter();
+        }
+    }
+
+    public void add(final byte[] serialisedVertex) {
+        if (null != bloomFilter) {
+            bloomFilter.add(new Key(serialisedVertex));
+        } else {
+            exactVertices.add(new ArrayByteSequence(serialisedVertex));
+            if (exactVertices.size() > maxExactSize) {
+                createBloomFilter();
+            }
+        }
+    }
+
+    /**
+     * Returns true if the vertex has been added to this set. If the set is no
+     * longer exact this may return true for vertices that have not been added.
+     *
+     * @param serialisedVertex the serialised vertex
+     * @return true if the vertex may have been added to this set
+     */
+    public boolean contains(final byte[] serialisedVertex) {
+        if (null != bloomFilter) {
+            return bloomFilter.membershipTest(new Key(serialisedVertex));
+        }
+
+        return exactVertices.contains(new ArrayByteSequence(serialisedVertex));
+    }
+
+    public boolean isExact() {
+        return null == bloomFilter;
+    }
+
+    private void createBloomFilter() {
+        final long numItemsToBeAdded = Math.max(expectedSize, exactVertices.size());
+        if (expectedSize < 0 || numItemsToBeAdded > Integer.MAX_VALUE) {
+            bloomFilter = BloomFilterUtils.getBloomFilter(maxBloomFilterSize);
+        } else {
+            bloomFilter = BloomFilterUtils.getBloomFilter(falsePositiveRate, (int) numItemsToBeAdded, maxBloomFilterSize);
+        }
+
+        for (final ArrayByteSequence vertex : exactVertices) {
+            bloomFilter.add(new Key(vertex.toArray()));
+        }
+        exactVertices = null;
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.utils;
+
+import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.data.element.Element;
+import gaffer.store.StoreException;
+import org.apache.accumulo.core.client.BatchWriter;
+import org.apache.accumulo.core.client.MutationsRejectedException;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Mutation;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.security.ColumnVisibility;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * An <code>ElementMutationWriter</code> converts {@link Element}s into
+ * {@link Mutation}s using an {@link AccumuloElementConverter} and adds them to a
+ * {@link BatchWriter}.
+ * <p>
+ * If an {@link ExecutorService} is provided the elements are read in batches on
+ * the calling thread and each batch is converted on the executor, with a bounded
+ * number of batches in flight. The converted batches are added to the batch writer
+ * on the calling thread, either in the order the elements were provided or in the
+ * order the conversions complete.
+ * <p>
+ * Elements that cannot be converted are logged and skipped.
+ */
+public class ElementMutationWriter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ElementMutationWriter.class);
+
+    private final AccumuloElementConverter converter;
+    private final ExecutorService executor;
+    private final int batchSize;
+    private final int maxBatchesInFlight;
+    private final boolean ordered;
+
+    /**
+     * Constructs an ElementMutationWriter that converts elements on the
+     * calling thread.
+     *
+     * @param converter the converter used to create the keys and values
+     */
+    public ElementMutationWriter(final AccumuloElementConverter converter) {
+        this.converter = converter;
+        this.executor = null;
+        this.batchSize = 1;
+        this.maxBatchesInFlight = 1;
+        this.ordered = true;
+    }
+
+    /**
+     * Constructs an ElementMutationWriter that converts batches of elements
+     * on the provided executor.
+     *
+     * @param converter          the converter used to create the keys and values
+     * @param executor           the executor to convert the batches on
+     * @param batchSize          the number of elements in each batch
+     * @param maxBatchesInFlight the maximum number of batches submitted to the executor at once
+     * @param ordered            true if the mutations should be added in the same order as the elements
+     */
+    public ElementMutationWriter(final AccumuloElementConverter converter, final ExecutorService executor,
+                                 final int batchSize, final int maxBatchesInFlight, final boolean ordered) {
+        if (null == executor) {
+            throw new IllegalArgumentException("An executor is required.");
+        }
+        if (batchSize < 1 || maxBatchesInFlight < 1) {
+            throw new IllegalArgumentException("Batch size and max batches in flight must be at least 1.");
+        }
+
+        this.converter = converter;
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.maxBatchesInFlight = maxBatchesInFlight;
+        this.ordered = ordered;
+    }
+
+    /**
+     * Converts the elements and adds the resulting mutations to the writer.
+     *
+     * @param elements the elements to write
+     * @param writer   the batch writer to add the mutations to
+     * @throws MutationsRejectedException if the batch writer rejects the mutations
+     * @throws StoreException             if the calling thread is interrupted whilst waiting for a conversion
+     */
+    public void write(final Iterable<Element> elements, final BatchWriter writer)
+            throws MutationsRejectedException, StoreException {
+        if (null == executor) {
+            for (final Element element : elements) {
+                writer.addMutations(getMutations(element));
+            }
+        } else {
+            writeInParallel(elements, writer);
+        }
+    }
+
+    /**
+     * Converts an element into the mutations required to store it. An entity
+     * produces a single mutation and an edge produces two.
+     *
+     * @param element the element to convert
+     * @return the mutations, or an empty list if the element could not be converted
+     */
+    public List<Mutation> getMutations(final Element element) {
+        final Pair<Key> keys;
+        try {
+            keys = converter.getKeysFromElement(element);
+        } catch (final AccumuloElementConversionException e) {
+            LOGGER.error("Failed to create an accumulo key from element of type " + element.getGroup()
+                    + " when trying to insert elements");
+            return Collections.emptyList();
+        }
+        final Value value;
+        try {
+            value = converter.getValueFromElement(element);
+        } catch (final AccumuloElementConversionException e) {
+            LOGGER.error("Failed to create an accumulo value from element of type " + element.getGroup()
+                    + " when trying to insert elements");
+            return Collections.emptyList();
+        }
+
+        final List<Mutation> mutations = new ArrayList<>(2);
+        mutations.add(createMutation(keys.getFirst(), value));
+        // If the GraphElement is a Vertex then there will only be 1 key,
+        // and the second will be null.
+        // If the GraphElement is an Edge then there will be 2 keys.
+        if (keys.getSecond() != null) {
+            mutations.add(createMutation(keys.getSecond(), value));
+        }
+        return mutations;
+    }
+
+    private void writeInParallel(final Iterable<Element> elements, final BatchWriter writer)
+            throws MutationsRejectedException, StoreException {
+        // Only unordered delivery takes batches from the completion service,
+        // otherwise it would hold on to every converted batch.
+        final CompletionService<List<Mutation>> completionService =
+                ordered ? null : new ExecutorCompletionService<List<Mutation>>(executor);
+        final Deque<Future<List<Mutation>>> inFlight = new ArrayDeque<>(maxBatchesInFlight);
+        try {
+            List<Element> batch = new ArrayList<>(batchSize);
+            for (final Element element : elements) {
+                batch.add(element);
+                if (batch.size() >= batchSize) {
+                    if (inFlight.size() >= maxBatchesInFlight) {
+                        writer.addMutations(takeConvertedBatch(completionService, inFlight));
+                    }
+                    inFlight.add(submit(completionService, batch));
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+
+            if (!batch.isEmpty()) {
+                inFlight.add(submit(completionService, batch));
+            }
+
+            while (!inFlight.isEmpty()) {
+                writer.addMutations(takeConvertedBatch(completionService, inFlight));
+            }
+        } finally {
+            for (final Future<List<Mutation>> future : inFlight) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private Future<List<Mutation>> submit(final CompletionService<List<Mutation>> completionService,
+                                          final List<Element> batch) {
+        if (null == completionService) {
+            return executor.submit(new ConvertBatch(batch));
+        }
+        return completionService.submit(new ConvertBatch(batch));
+    }
+
+    private List<Mutation> takeConvertedBatch(final CompletionService<List<Mutation>> completionService,
+                                              final Deque<Future<List<Mutation>>> inFlight) throws StoreException {
+        try {
+            final Future<List<Mutation>> future;
+            if (null == completionService) {
+                future = inFlight.removeFirst();
+            } else {
+                future = completionService.take();
+                inFlight.remove(future);
+            }
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StoreException("Interrupted whilst waiting for elements to be converted", e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new StoreException("Failed to convert elements", e.getCause());
+        }
+    }
+
+    private static Mutation createMutation(final Key key, final Value value) {
+        final Mutation m = new Mutation(key.getRow());
+        m.put(key.getColumnFamily(), key.getColumnQualifier(),
+                new ColumnVisibility(key.getColumnVisibility()), key.getTimestamp(), value);
+        return m;
+    }
+
+    private final class ConvertBatch implements Callable<List<Mutation>> {
+        private final List<Element> elements;
+
+        private ConvertBatch(final List<Element> elements) {
+            this.elements = elements;
+        }
+
+        @Override
+        public List<Mutation> call() {
+            final List<Mutation> mutations = new ArrayList<>(2 * elements.size());
+            for (final Element element : elements) {
+                mutations.addAll(getMutations(element));
+            }
+            return mutations;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.utils;
+
+import org.apache.accumulo.core.data.Range;
+import org.apache.hadoop.io.Text;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedSet;
+
+/**
+ * Utilities for preparing the {@link Range}s passed to a
+ * {@link org.apache.accumulo.core.client.BatchScanner}.
+ */
+public final class RangeUtils {
+    private RangeUtils() {
+        // private to prevent this class being instantiated.
+        // All methods are static and should be called directly.
+    }
+
+    /**
+     * Sorts the given ranges and merges any that overlap or are adjacent.
+     *
+     * @param ranges the ranges to coalesce
+     * @return the sorted, merged ranges
+     */
+    public static List<Range> coalesce(final Collection<Range> ranges) {
+        if (ranges.isEmpty()) {
+            return new ArrayList<>(0);
+        }
+
+        return Range.mergeOverlapping(ranges);
+    }
+
+    /**
+     * Sorts the given ranges and splits them into batches of consecutive
+     * ranges, so each batch covers as few tablets as possible. Once a batch
+     * contains the target number of ranges it is ended at the next tablet
+     * boundary, unless it reaches twice the target size first.
+     *
+     * @param ranges          the ranges to split into batches
+     * @param splits          the split points of the table
+     * @param targetBatchSize the target number of ranges in each batch
+     * @return the batches of ranges, in order
+     */
+    public static List<Set<Range>> partition(final Collection<Range> ranges, final SortedSet<Text> splits,
+                                             final int targetBatchSize) {
+        final List<Range> sortedRanges = new ArrayList<>(ranges);
+        Collections.sort(sortedRanges);
+
+        final int minBatchSize = Math.max(1, targetBatchSize);
+        final int maxBatchSize = minBatchSize * 2;
+        final List<Set<Range>> batches = new ArrayList<>();
+        Set<Range> batch = new LinkedHashSet<>();
+        Text batchTablet = null;
+        for (final Range range : sortedRanges) {
+            final Text tablet = getTabletEndRow(range, splits);
+            if (batch.size() >= maxBatchSize
+                    || (batch.size() >= minBatchSize && !Objects.equals(tablet, batchTablet))) {
+                batches.add(batch);
+                batch = new LinkedHashSet<>();
+            }
+            batch.add(range);
+            batchTablet = tablet;
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+
+        return batches;
+    }
+
+    /**
+     * Gets the end row of the tablet containing the start of the given range.
+     *
+     * @param range  the range
+     * @param splits the split points of the table
+     * @return the end row of the tablet, or null if it is the last tablet
+     */
+    public static Text getTabletEndRow(final Range range, final SortedSet<Text> splits) {
+        if (splits.isEmpty()) {
+            return null;
+        }
+
+        if (null == range.getStartKey()) {
+            return splits.first();
+        }
+
+        final SortedSet<Text> tail = splits.tailSet(range.getStartKey().getRow());
+        return tail.isEmpty() ? null : tail.first();
+    }
+}
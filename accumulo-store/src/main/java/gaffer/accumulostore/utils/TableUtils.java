@@ -274,7 +274,7 @@ public final class TableUtils {
      * @throws StoreException if the table could not be found or other table issues
      */
 
-    private static BatchWriter createBatchWriter(final AccumuloStore store, final String tableName)
+    public static BatchWriter createBatchWriter(final AccumuloStore store, final String tableName)
             throws StoreException {
         final BatchWriterConfig batchConfig = new BatchWriterConfig();
         batchConfig.setMaxMemory(store.getProperties().getMaxBufferSizeForBatchWriterInBytes());
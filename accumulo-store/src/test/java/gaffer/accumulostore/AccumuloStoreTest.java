@@ -21,6 +21,7 @@ import static gaffer.store.StoreTrait.FILTERING;
 import static gaffer.store.StoreTrait.STORE_VALIDATION;
 import static gaffer.store.StoreTrait.TRANSFORMATION;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
@@ -49,13 +50,16 @@ import gaffer.commonutil.TestGroups;
 import gaffer.commonutil.TestPropertyNames;
 import gaffer.data.element.Element;
 import gaffer.data.element.Entity;
+import gaffer.data.element.function.ElementTransformer;
 import gaffer.data.elementdefinition.view.View;
+import gaffer.data.elementdefinition.view.ViewElementDefinition;
 import gaffer.operation.OperationException;
 import gaffer.operation.data.EntitySeed;
 import gaffer.operation.impl.Validate;
 import gaffer.operation.impl.add.AddElements;
 import gaffer.operation.impl.generate.GenerateElements;
 import gaffer.operation.impl.generate.GenerateObjects;
+import gaffer.operation.impl.get.GetAllElements;
 import gaffer.operation.impl.get.GetElements;
 import gaffer.operation.impl.get.GetElementsBySeed;
 import gaffer.operation.impl.get.GetRelatedElements;
@@ -217,4 +221,33 @@ public class AccumuloStoreTest {
         assertTrue("Collection should contain STORE_VALIDATION trait", traits.contains(STORE_VALIDATION));
     }
 
+    @Test
+    public void testOnlySummarisedGetAllElementsOutputIsUnique() {
+        // Given
+        final GetAllElements<Element> summarised = new GetAllElements<>();
+        summarised.setSummarise(true);
+
+        final GetAllElements<Element> notSummarised = new GetAllElements<>();
+
+        final GetAllElements<Element> withoutProperties = new GetAllElements<>();
+        withoutProperties.setSummarise(true);
+        withoutProperties.setPopulateProperties(false);
+
+        final GetAllElements<Element> transformed = new GetAllElements<>(new View.Builder()
+                .entity(TestGroups.ENTITY, new ViewElementDefinition.Builder()
+                        .transformer(new ElementTransformer())
+                        .build())
+                .build());
+        transformed.setSummarise(true);
+
+        final GetElementsBySeed<EntitySeed, Element> getElementsBySeed = new GetElementsBySeed<>();
+        getElementsBySeed.setSummarise(true);
+
+        // When / Then
+        assertTrue(byteEntityStore.isOutputUnique(summarised));
+        assertFalse(byteEntityStore.isOutputUnique(notSummarised));
+        assertFalse(byteEntityStore.isOutputUnique(withoutProperties));
+        assertFalse(byteEntityStore.isOutputUnique(transformed));
+        assertFalse(byteEntityStore.isOutputUnique(getElementsBySeed));
+    }
 }
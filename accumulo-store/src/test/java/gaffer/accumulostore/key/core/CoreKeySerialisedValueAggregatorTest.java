@@ -0,0 +1,127 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.accumulostore.key.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import gaffer.accumulostore.key.SerialisedValueAggregator;
+import gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityAccumuloElementConverter;
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.accumulostore.utils.AccumuloPropertyNames;
+import gaffer.accumulostore.utils.StorePositions;
+import gaffer.commonutil.TestGroups;
+import gaffer.data.element.Properties;
+import gaffer.function.simple.aggregate.FreqMapAggregator;
+import gaffer.function.simple.aggregate.Sum;
+import gaffer.serialisation.simple.raw.CompactRawFreqMapSerialiser;
+import gaffer.serialisation.simple.raw.CompactRawIntegerSerialiser;
+import gaffer.store.schema.Schema;
+import gaffer.store.schema.SchemaEntityDefinition;
+import gaffer.store.schema.TypeDefinition;
+import gaffer.types.simple.FreqMap;
+import org.apache.accumulo.core.data.Value;
+import org.junit.Test;
+import java.util.Arrays;
+
+public class CoreKeySerialisedValueAggregatorTest {
+    private static final String FREQ_MAP_ENTITY = "FreqMapEntity";
+
+    private final Schema schema = new Schema.Builder()
+            .type("freqMap", new TypeDefinition.Builder()
+                    .clazz(FreqMap.class)
+                    .serialiser(new CompactRawFreqMapSerialiser())
+                    .aggregateFunction(new FreqMapAggregator())
+                    .position(StorePositions.VALUE.name())
+                    .build())
+            .type("int", new TypeDefinition.Builder()
+                    .clazz(Integer.class)
+                    .serialiser(new CompactRawIntegerSerialiser())
+                    .aggregateFunction(new Sum())
+                    .position(StorePositions.VALUE.name())
+                    .build())
+            .entity(FREQ_MAP_ENTITY, new SchemaEntityDefinition.Builder()
+                    .property(AccumuloPropertyNames.PROP_1, "freqMap")
+                    .property(AccumuloPropertyNames.PROP_2, "freqMap")
+                    .build())
+            .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                    .property(AccumuloPropertyNames.PROP_1, "freqMap")
+                    .property(AccumuloPropertyNames.COUNT, "int")
+                    .build())
+            .build();
+
+    private final ByteEntityAccumuloElementConverter converter = new ByteEntityAccumuloElementConverter(schema);
+
+    @Test
+    public void shouldAggregateSerialisedValues() throws AccumuloElementConversionException {
+        // Given
+        final Value value1 = createValue(freqMap("a", 1, "b", 2), freqMap("x", 1));
+        final Value value2 = createValue(freqMap("b", 3, "c", 4), null);
+        final Value value3 = createValue(null, freqMap("x", 5));
+
+        // When
+        final SerialisedValueAggregator aggregator = converter.createSerialisedValueAggregator(FREQ_MAP_ENTITY);
+        final Value aggregated = aggregator.aggregate(value1, Arrays.asList(value2, value3).iterator());
+
+        // Then
+        final Properties properties = converter.getPropertiesFromValue(FREQ_MAP_ENTITY, aggregated);
+        assertEquals(freqMap("a", 1, "b", 5, "c", 4), properties.get(AccumuloPropertyNames.PROP_1));
+        assertEquals(freqMap("x", 6), properties.get(AccumuloPropertyNames.PROP_2));
+    }
+
+    @Test
+    public void shouldResetStateBetweenAggregations() throws AccumuloElementConversionException {
+        // Given
+        final SerialisedValueAggregator aggregator = converter.createSerialisedValueAggregator(FREQ_MAP_ENTITY);
+        aggregator.aggregate(createValue(freqMap("a", 1), null), Arrays.asList(createValue(freqMap("a", 2), null)).iterator());
+
+        // When
+        final Value aggregated = aggregator.aggregate(createValue(freqMap("b", 1), null),
+                Arrays.asList(createValue(freqMap("b", 1), null)).iterator());
+
+        // Then
+        final Properties properties = converter.getPropertiesFromValue(FREQ_MAP_ENTITY, aggregated);
+        assertEquals(freqMap("b", 2), properties.get(AccumuloPropertyNames.PROP_1));
+        assertNull(properties.get(AccumuloPropertyNames.PROP_2));
+    }
+
+    @Test
+    public void shouldNotCreateAggregatorIfAPropertyCannotBeAggregatedSerialised() throws AccumuloElementConversionException {
+        // When / Then
+        assertNotNull(converter.createSerialisedValueAggregator(FREQ_MAP_ENTITY));
+        assertNull(converter.createSerialisedValueAggregator(TestGroups.ENTITY));
+    }
+
+    private Value createValue(final FreqMap prop1, final FreqMap prop2) throws AccumuloElementConversionException {
+        final Properties properties = new Properties();
+        if (null != prop1) {
+            properties.put(AccumuloPropertyNames.PROP_1, prop1);
+        }
+        if (null != prop2) {
+            properties.put(AccumuloPropertyNames.PROP_2, prop2);
+        }
+        return converter.getValueFromProperties(FREQ_MAP_ENTITY, properties);
+    }
+
+    private static FreqMap freqMap(final Object... keysAndFrequencies) {
+        final FreqMap freqMap = new FreqMap();
+        for (int i = 0; i < keysAndFrequencies.length; i += 2) {
+            freqMap.put((String) keysAndFrequencies[i], (Integer) keysAndFrequencies[i + 1]);
+        }
+        return freqMap;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.accumulostore.key.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import gaffer.accumulostore.utils.AccumuloPropertyNames;
+import gaffer.accumulostore.utils.StorePositions;
+import gaffer.commonutil.TestGroups;
+import gaffer.serialisation.implementation.JavaSerialiser;
+import gaffer.serialisation.simple.StringSerialiser;
+import gaffer.serialisation.simple.raw.CompactRawIntegerSerialiser;
+import gaffer.store.schema.Schema;
+import gaffer.store.schema.SchemaEntityDefinition;
+import gaffer.store.schema.TypeDefinition;
+import org.junit.Test;
+
+public class GroupPropertyLayoutTest {
+    private static final String VISIBILITY = "visibility";
+
+    @Test
+    public void shouldSplitPropertiesByPositionInSchemaOrder() {
+        // Given
+        final StringSerialiser stringSerialiser = new StringSerialiser();
+        final CompactRawIntegerSerialiser integerSerialiser = new CompactRawIntegerSerialiser();
+        final JavaSerialiser visibilitySerialiser = new JavaSerialiser();
+        final Schema schema = new Schema.Builder()
+                .type("cq.string", new TypeDefinition.Builder()
+                        .clazz(String.class)
+                        .serialiser(stringSerialiser)
+                        .position(StorePositions.COLUMN_QUALIFIER.name())
+                        .build())
+                .type("value.int", new TypeDefinition.Builder()
+                        .clazz(Integer.class)
+                        .serialiser(integerSerialiser)
+                        .position(StorePositions.VALUE.name())
+                        .build())
+                .type("visibility.string", new TypeDefinition.Builder()
+                        .clazz(String.class)
+                        .serialiser(visibilitySerialiser)
+                        .position(StorePositions.VISIBILITY.name())
+                        .build())
+                .type("timestamp.long", new TypeDefinition.Builder()
+                        .clazz(Long.class)
+                        .position(StorePositions.TIMESTAMP.name())
+                        .build())
+                .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                        .property(AccumuloPropertyNames.PROP_1, "value.int")
+                        .property(AccumuloPropertyNames.COLUMN_QUALIFIER, "cq.string")
+                        .property(VISIBILITY, "visibility.string")
+                        .property(AccumuloPropertyNames.PROP_2, "value.int")
+                        .property(AccumuloPropertyNames.TIMESTAMP, "timestamp.long")
+                        .build())
+                .build();
+
+        // When
+        final GroupPropertyLayout layout = new GroupPropertyLayout(TestGroups.ENTITY, schema.getElement(TestGroups.ENTITY));
+
+        // Then
+        assertEquals(TestGroups.ENTITY, layout.getGroup());
+
+        final GroupPropertyLayout.Position value = layout.getValue();
+        assertEquals(2, value.size());
+        assertEquals(AccumuloPropertyNames.PROP_1, value.getPropertyName(0));
+        assertEquals(AccumuloPropertyNames.PROP_2, value.getPropertyName(1));
+        assertSame(integerSerialiser, value.getSerialiser(0));
+        assertSame(integerSerialiser, value.getSerialiser(1));
+
+        final GroupPropertyLayout.Position columnQualifier = layout.getColumnQualifier();
+        assertEquals(1, columnQualifier.size());
+        assertEquals(AccumuloPropertyNames.COLUMN_QUALIFIER, columnQualifier.getPropertyName(0));
+        assertSame(stringSerialiser, columnQualifier.getSerialiser(0));
+
+        assertEquals(1, layout.getVisibility().size());
+        assertEquals(VISIBILITY, layout.getVisibility().getPropertyName(0));
+        assertSame(visibilitySerialiser, layout.getVisibility().getSerialiser(0));
+
+        assertEquals(1, layout.getTimestamp().size());
+        assertEquals(AccumuloPropertyNames.TIMESTAMP, layout.getTimestamp().getPropertyName(0));
+
+        assertSame(value, layout.getPosition(StorePositions.VALUE));
+        assertSame(columnQualifier, layout.getPosition(StorePositions.COLUMN_QUALIFIER));
+    }
+
+    @Test
+    public void shouldIgnorePropertiesWithoutAStorePosition() {
+        // Given
+        final Schema schema = new Schema.Builder()
+                .type("no.position", new TypeDefinition.Builder()
+                        .clazz(String.class)
+                        .serialiser(new StringSerialiser())
+                        .build())
+                .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                        .property(AccumuloPropertyNames.PROP_1, "no.position")
+                        .build())
+                .build();
+
+        // When
+        final GroupPropertyLayout layout = new GroupPropertyLayout(TestGroups.ENTITY, schema.getElement(TestGroups.ENTITY));
+
+        // Then
+        assertTrue(layout.getValue().isEmpty());
+        assertTrue(layout.getColumnQualifier().isEmpty());
+        assertTrue(layout.getVisibility().isEmpty());
+        assertTrue(layout.getTimestamp().isEmpty());
+    }
+}
@@ -17,7 +17,9 @@ package gaffer.accumulostore.key.core.impl;
 
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import gaffer.accumulostore.key.AccumuloElementConverter;
 import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
@@ -27,7 +29,10 @@ import gaffer.accumulostore.utils.Pair;
 import gaffer.commonutil.StreamUtil;
 import gaffer.commonutil.TestGroups;
 import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
 import gaffer.data.element.Entity;
+import gaffer.data.element.LazyEdge;
+import gaffer.data.element.LazyEntity;
 import gaffer.data.element.Properties;
 import gaffer.data.elementdefinition.exception.SchemaException;
 import gaffer.store.schema.Schema;
@@ -320,4 +325,50 @@ public abstract class AbstractAccumuloElementConverterTest {
         assertEquals(10, deSerialisedProperties.get(AccumuloPropertyNames.PROP_4));
         assertEquals(8, deSerialisedProperties.get(AccumuloPropertyNames.COUNT));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldGetLazyEdgeThatOnlyLoadsRequestedProperties() throws AccumuloElementConversionException {
+        // Given
+        final Edge edge = new Edge(TestGroups.EDGE, "1", "2", true);
+        edge.putProperty(AccumuloPropertyNames.COLUMN_QUALIFIER, 1);
+        edge.putProperty(AccumuloPropertyNames.PROP_1, 5);
+        edge.putProperty(AccumuloPropertyNames.PROP_3, 299);
+
+        final Pair<Key> keys = converter.getKeysFromElement(edge);
+        final Value value = converter.getValueFromElement(edge);
+
+        // When
+        final Element lazyElement = converter.getLazyElement(keys.getFirst(), value, null);
+
+        // Then
+        assertTrue(lazyElement instanceof LazyEdge);
+        assertTrue(lazyElement.getProperties().isEmpty());
+        assertEquals("1", ((Edge) lazyElement).getSource());
+        assertEquals("2", ((Edge) lazyElement).getDestination());
+        assertEquals(299, lazyElement.getProperty(AccumuloPropertyNames.PROP_3));
+        assertEquals(1, lazyElement.getProperty(AccumuloPropertyNames.COLUMN_QUALIFIER));
+        assertNull(lazyElement.getProperty(AccumuloPropertyNames.PROP_2));
+        assertFalse(lazyElement.getProperties().containsKey(AccumuloPropertyNames.PROP_1));
+    }
+
+    @Test
+    public void shouldGetLazyEntityWithPropertiesFromKeyAndValue() throws AccumuloElementConversionException {
+        // Given
+        final Entity entity = new Entity(TestGroups.ENTITY, "3");
+        entity.putProperty(AccumuloPropertyNames.COLUMN_QUALIFIER, 2);
+        entity.putProperty(AccumuloPropertyNames.COUNT, 8);
+
+        final Pair<Key> keys = converter.getKeysFromElement(entity);
+        final Value value = converter.getValueFromElement(entity);
+
+        // When
+        final Element lazyElement = converter.getLazyElement(keys.getFirst(), value, null);
+
+        // Then
+        assertTrue(lazyElement instanceof LazyEntity);
+        assertEquals("3", ((Entity) lazyElement).getVertex());
+        assertEquals(2, lazyElement.getProperty(AccumuloPropertyNames.COLUMN_QUALIFIER));
+        assertEquals(8, lazyElement.getProperty(AccumuloPropertyNames.COUNT));
+        assertNull(lazyElement.getProperty(AccumuloPropertyNames.PROP_4));
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.accumulostore.key.core.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityAccumuloElementConverter;
+import gaffer.accumulostore.utils.AccumuloPropertyNames;
+import gaffer.accumulostore.utils.AccumuloStoreConstants;
+import gaffer.accumulostore.utils.StorePositions;
+import gaffer.commonutil.CommonConstants;
+import gaffer.commonutil.TestGroups;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import gaffer.data.element.function.ElementFilter;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.data.elementdefinition.view.ViewElementDefinition;
+import gaffer.function.simple.filter.IsLessThan;
+import gaffer.function.simple.filter.IsMoreThan;
+import gaffer.serialisation.Serialisation;
+import gaffer.serialisation.simple.StringSerialiser;
+import gaffer.serialisation.simple.ordered.OrderedLongSerialiser;
+import gaffer.serialisation.simple.raw.CompactRawLongSerialiser;
+import gaffer.store.schema.Schema;
+import gaffer.store.schema.SchemaEntityDefinition;
+import gaffer.store.schema.TypeDefinition;
+import org.apache.accumulo.core.data.ByteSequence;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.SortedMapIterator;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class CoreKeyColumnQualifierRangeSeekIteratorTest {
+    private static final String VERTEX = "vertex";
+
+    @Test
+    public void shouldOnlyReturnEntriesWithinBoundsOfFilteredGroup() throws Exception {
+        // Given
+        final Schema schema = createSchema(new OrderedLongSerialiser());
+        final View view = new View.Builder()
+                .entity(TestGroups.ENTITY, new ViewElementDefinition.Builder()
+                        .filter(new ElementFilter.Builder()
+                                .select(AccumuloPropertyNames.COLUMN_QUALIFIER)
+                                .execute(new IsMoreThan(3L))
+                                .select(AccumuloPropertyNames.COLUMN_QUALIFIER)
+                                .execute(new IsLessThan(6L, true))
+                                .build())
+                        .build())
+                .entity(TestGroups.ENTITY_2)
+                .build();
+        final CoreKeyColumnQualifierRangeSeekIterator iterator = createIterator(schema, view, createData(schema));
+
+        // When
+        iterator.seek(new Range(), Collections.<ByteSequence>emptySet(), false);
+
+        // Then - the bounds are inclusive, the element filter removes the entries at the bounds
+        final AccumuloElementConverter converter = new ByteEntityAccumuloElementConverter(schema);
+        final List<Long> entityValues = new ArrayList<>();
+        int entity2Count = 0;
+        while (iterator.hasTop()) {
+            final Element element = converter.getElementFromKey(iterator.getTopKey());
+            if (TestGroups.ENTITY.equals(element.getGroup())) {
+                entityValues.add((Long) element.getProperty(AccumuloPropertyNames.COLUMN_QUALIFIER));
+            } else {
+                entity2Count++;
+            }
+            iterator.next();
+        }
+        assertEquals(Arrays.asList(3L, 4L, 5L, 6L), entityValues);
+        assertEquals(10, entity2Count);
+    }
+
+    @Test
+    public void shouldNotReturnEntriesAfterEndOfRangeWhenSeekingToLowerBound() throws Exception {
+        // Given
+        final Schema schema = createSchema(new OrderedLongSerialiser());
+        final View view = new View.Builder()
+                .entity(TestGroups.ENTITY, new ViewElementDefinition.Builder()
+                        .filter(new ElementFilter.Builder()
+                                .select(AccumuloPropertyNames.COLUMN_QUALIFIER)
+                                .execute(new IsMoreThan(3L))
+                                .build())
+                        .build())
+                .build();
+        final TreeMap<Key, Value> data = createData(schema);
+        final CoreKeyColumnQualifierRangeSeekIterator iterator = createIterator(schema, view, data);
+        final List<Key> keys = new ArrayList<>(data.keySet());
+
+        // When - the range ends before the lower bound of 3
+        iterator.seek(new Range(keys.get(0), true, keys.get(2), false), Collections.<ByteSequence>emptySet(), false);
+
+        // Then
+        assertFalse(iterator.hasTop());
+    }
+
+    @Test
+    public void shouldNotSeekWhenColumnQualifierPropertyIsNotOrdered() {
+        // Given
+        final Schema schema = createSchema(new CompactRawLongSerialiser());
+        final View view = new View.Builder()
+                .entity(TestGroups.ENTITY, new ViewElementDefinition.Builder()
+                        .filter(new ElementFilter.Builder()
+                                .select(AccumuloPropertyNames.COLUMN_QUALIFIER)
+                                .execute(new IsMoreThan(3L))
+                                .build())
+                        .build())
+                .build();
+
+        // When
+        final Map<String, CoreKeyColumnQualifierRangeSeekIterator.ColumnQualifierRange> ranges =
+                CoreKeyColumnQualifierRangeSeekIterator.getColumnQualifierRanges(schema, view);
+
+        // Then
+        assertTrue(ranges.isEmpty());
+    }
+
+    private Schema createSchema(final Serialisation columnQualifierSerialiser) {
+        return new Schema.Builder()
+                .vertexSerialiser(new StringSerialiser())
+                .type("cq.long", new TypeDefinition.Builder()
+                        .clazz(Long.class)
+                        .serialiser(columnQualifierSerialiser)
+                        .position(StorePositions.COLUMN_QUALIFIER.name())
+                        .build())
+                .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                        .vertex(String.class)
+                        .property(AccumuloPropertyNames.COLUMN_QUALIFIER, "cq.long")
+                        .build())
+                .entity(TestGroups.ENTITY_2, new SchemaEntityDefinition.Builder()
+                        .vertex(String.class)
+                        .property(AccumuloPropertyNames.COLUMN_QUALIFIER, "cq.long")
+                        .build())
+                .build();
+    }
+
+    private TreeMap<Key, Value> createData(final Schema schema) throws Exception {
+        final AccumuloElementConverter converter = new ByteEntityAccumuloElementConverter(schema);
+        final TreeMap<Key, Value> data = new TreeMap<>();
+        for (final String group : Arrays.asList(TestGroups.ENTITY, TestGroups.ENTITY_2)) {
+            for (long i = 0; i < 10; i++) {
+                final Entity entity = new Entity(group, VERTEX);
+                entity.putProperty(AccumuloPropertyNames.COLUMN_QUALIFIER, i);
+                data.put(converter.getKeysFromElement(entity).getFirst(), converter.getValueFromElement(entity));
+            }
+        }
+        return data;
+    }
+
+    private CoreKeyColumnQualifierRangeSeekIterator createIterator(final Schema schema, final View view,
+                                                                   final TreeMap<Key, Value> data) throws Exception {
+
+        final Map<String, String> options = new HashMap<>();
+        options.put(AccumuloStoreConstants.SCHEMA, new String(schema.toJson(false), CommonConstants.UTF_8));
+        options.put(AccumuloStoreConstants.VIEW, new String(view.toJson(false), CommonConstants.UTF_8));
+
+        final CoreKeyColumnQualifierRangeSeekIterator iterator = new CoreKeyColumnQualifierRangeSeekIterator();
+        iterator.init(new SortedMapIterator(data), options, null);
+        return iterator;
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.accumulostore.key.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import gaffer.accumulostore.utils.AccumuloStoreConstants;
+import org.apache.accumulo.core.data.ByteSequence;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.SortedMapIterator;
+import org.junit.Test;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class CountGroupsIteratorTest {
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenValidateOptionsWithInvalidLimit() throws Exception {
+        // Given
+        final CountGroupsIterator iterator = new CountGroupsIterator();
+        final Map<String, String> options = new HashMap<>();
+        options.put(AccumuloStoreConstants.COUNT_GROUPS_LIMIT, "not a number");
+
+        // When / Then
+        try {
+            iterator.validateOptions(options);
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains(AccumuloStoreConstants.COUNT_GROUPS_LIMIT));
+        }
+    }
+
+    @Test
+    public void shouldReturnTrueWhenValidOptionsWithoutLimit() throws Exception {
+        // Given
+        final CountGroupsIterator iterator = new CountGroupsIterator();
+
+        // When
+        final boolean isValid = iterator.validateOptions(new HashMap<String, String>());
+
+        // Then
+        assertTrue(isValid);
+    }
+
+    @Test
+    public void shouldReturnSingleEntryWithCountsForEachColumnFamily() throws Exception {
+        // Given
+        final CountGroupsIterator iterator = createIterator(10, null);
+
+        // When
+        iterator.seek(new Range(), Collections.<ByteSequence>emptySet(), false);
+
+        // Then
+        assertTrue(iterator.hasTop());
+        assertEquals("row9", iterator.getTopKey().getRow().toString());
+        final Map<String, Long> counts = CountGroupsIterator.getGroupCounts(iterator.getTopValue());
+        assertEquals(2, counts.size());
+        assertEquals(Long.valueOf(10), counts.get("entityGroup"));
+        assertEquals(Long.valueOf(5), counts.get("edgeGroup"));
+        iterator.next();
+        assertFalse(iterator.hasTop());
+    }
+
+    @Test
+    public void shouldStopCountingOnceLimitIsExceeded() throws Exception {
+        // Given
+        final CountGroupsIterator iterator = createIterator(10, 3);
+
+        // When
+        iterator.seek(new Range(), Collections.<ByteSequence>emptySet(), false);
+
+        // Then
+        long total = 0;
+        for (final Long count : CountGroupsIterator.getGroupCounts(iterator.getTopValue()).values()) {
+            total += count;
+        }
+        assertEquals(4, total);
+    }
+
+    @Test
+    public void shouldReturnNothingForEmptyRange() throws Exception {
+        // Given
+        final CountGroupsIterator iterator = createIterator(10, null);
+
+        // When
+        iterator.seek(new Range("z", null), Collections.<ByteSequence>emptySet(), false);
+
+        // Then
+        assertFalse(iterator.hasTop());
+    }
+
+    private CountGroupsIterator createIterator(final int numRows, final Integer limit) throws IOException {
+        final TreeMap<Key, Value> data = new TreeMap<>();
+        for (int i = 0; i < numRows; i++) {
+            data.put(new Key("row" + i, "entityGroup"), new Value(new byte[0]));
+            if (i % 2 == 0) {
+                data.put(new Key("row" + i, "edgeGroup"), new Value(new byte[0]));
+            }
+        }
+
+        final Map<String, String> options = new HashMap<>();
+        if (null != limit) {
+            options.put(AccumuloStoreConstants.COUNT_GROUPS_LIMIT, limit.toString());
+        }
+
+        final CountGroupsIterator iterator = new CountGroupsIterator();
+        iterator.init(new SortedMapIterator(data), options, null);
+        return iterator;
+    }
+}
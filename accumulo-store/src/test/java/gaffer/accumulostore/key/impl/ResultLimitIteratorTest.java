@@ -0,0 +1,145 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.accumulostore.key.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import gaffer.accumulostore.utils.AccumuloStoreConstants;
+import org.apache.accumulo.core.data.ByteSequence;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.SortedMapIterator;
+import org.junit.Test;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class ResultLimitIteratorTest {
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenValidateOptionsWithNoResultLimit() throws Exception {
+        // Given
+        final ResultLimitIterator iterator = new ResultLimitIterator();
+        final Map<String, String> options = new HashMap<>();
+
+        // When / Then
+        try {
+            iterator.validateOptions(options);
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains(AccumuloStoreConstants.RESULT_LIMIT));
+        }
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenValidateOptionsWithInvalidResultLimit() throws Exception {
+        // Given
+        final ResultLimitIterator iterator = new ResultLimitIterator();
+        final Map<String, String> options = new HashMap<>();
+        options.put(AccumuloStoreConstants.RESULT_LIMIT, "0");
+
+        // When / Then
+        try {
+            iterator.validateOptions(options);
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains(AccumuloStoreConstants.RESULT_LIMIT));
+        }
+    }
+
+    @Test
+    public void shouldReturnTrueWhenValidOptions() throws Exception {
+        // Given
+        final ResultLimitIterator iterator = new ResultLimitIterator();
+        final Map<String, String> options = new HashMap<>();
+        options.put(AccumuloStoreConstants.RESULT_LIMIT, "5");
+
+        // When
+        final boolean isValid = iterator.validateOptions(options);
+
+        // Then
+        assertTrue(isValid);
+    }
+
+    @Test
+    public void shouldOnlyReturnResultLimitEntriesFromRange() throws Exception {
+        // Given
+        final ResultLimitIterator iterator = createIterator(10, 3);
+
+        // When
+        iterator.seek(new Range(), Collections.<ByteSequence>emptySet(), false);
+
+        // Then
+        assertEquals(3, count(iterator));
+    }
+
+    @Test
+    public void shouldReturnAllEntriesWhenFewerThanResultLimit() throws Exception {
+        // Given
+        final ResultLimitIterator iterator = createIterator(2, 3);
+
+        // When
+        iterator.seek(new Range(), Collections.<ByteSequence>emptySet(), false);
+
+        // Then
+        assertEquals(2, count(iterator));
+    }
+
+    @Test
+    public void shouldResetCountWhenSeekingToNewRange() throws Exception {
+        // Given
+        final ResultLimitIterator iterator = createIterator(10, 3);
+        iterator.seek(new Range(), Collections.<ByteSequence>emptySet(), false);
+        count(iterator);
+
+        // When
+        iterator.seek(new Range("row5", null), Collections.<ByteSequence>emptySet(), false);
+
+        // Then
+        assertTrue(iterator.hasTop());
+        assertEquals("row5", iterator.getTopKey().getRow().toString());
+        assertEquals(3, count(iterator));
+        assertFalse(iterator.hasTop());
+    }
+
+    private ResultLimitIterator createIterator(final int numEntries, final int resultLimit) throws IOException {
+        final TreeMap<Key, Value> data = new TreeMap<>();
+        for (int i = 0; i < numEntries; i++) {
+            data.put(new Key("row" + i), new Value(new byte[0]));
+        }
+
+        final Map<String, String> options = new HashMap<>();
+        options.put(AccumuloStoreConstants.RESULT_LIMIT, Integer.toString(resultLimit));
+
+        final ResultLimitIterator iterator = new ResultLimitIterator();
+        iterator.init(new SortedMapIterator(data), options, null);
+        return iterator;
+    }
+
+    private int count(final ResultLimitIterator iterator) throws IOException {
+        int count = 0;
+        while (iterator.hasTop()) {
+            count++;
+            iterator.next();
+        }
+        return count;
+    }
+}
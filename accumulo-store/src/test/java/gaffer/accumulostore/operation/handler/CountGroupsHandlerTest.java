@@ -0,0 +1,163 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.accumulostore.operation.handler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import gaffer.accumulostore.AccumuloProperties;
+import gaffer.accumulostore.AccumuloStore;
+import gaffer.accumulostore.SingleUseMockAccumuloStore;
+import gaffer.commonutil.StreamUtil;
+import gaffer.commonutil.TestGroups;
+import gaffer.data.GroupCounts;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.operation.OperationException;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.impl.CountGroups;
+import gaffer.operation.impl.add.AddElements;
+import gaffer.operation.impl.get.GetAllElements;
+import gaffer.operation.impl.get.GetElementsBySeed;
+import gaffer.store.Context;
+import gaffer.store.StoreException;
+import gaffer.store.schema.Schema;
+import gaffer.user.User;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class CountGroupsHandlerTest {
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(CountGroupsHandlerTest.class));
+    private static final AccumuloProperties PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.storeProps(CountGroupsHandlerTest.class));
+    private static final View VIEW = new View.Builder().edge(TestGroups.EDGE).entity(TestGroups.ENTITY).build();
+
+    private AccumuloStore store;
+
+    @Before
+    public void setup() throws StoreException, OperationException {
+        store = new SingleUseMockAccumuloStore();
+        store.initialise(SCHEMA, PROPERTIES);
+
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            elements.add(new Entity(TestGroups.ENTITY, "A" + i));
+            elements.add(new Edge(TestGroups.EDGE, "A" + i, "B" + i, true));
+        }
+        store.execute(new AddElements(elements), new User());
+    }
+
+    @Test
+    public void shouldCountGroupsServerSideForAllElements() throws OperationException {
+        // Given
+        final CountGroups countGroups = new CountGroups();
+        countGroups.setElements(getAllElements());
+
+        // When
+        final GroupCounts groupCounts = new CountGroupsHandler().doOperation(countGroups, new Context(new User()), store);
+
+        // Then
+        final GroupCounts clientSideCounts = getClientSideCounts();
+        assertEquals(clientSideCounts.getEntityGroups(), groupCounts.getEntityGroups());
+        assertEquals(clientSideCounts.getEdgeGroups(), groupCounts.getEdgeGroups());
+        assertEquals(Collections.singletonMap(TestGroups.ENTITY, 10), groupCounts.getEntityGroups());
+        assertFalse(groupCounts.isLimitHit());
+    }
+
+    @Test
+    public void shouldCountGroupsServerSideForSeededElements() throws OperationException {
+        // Given
+        final GetElementsBySeed<EntitySeed, Element> getElements = new GetElementsBySeed.Builder<EntitySeed, Element>()
+                .view(VIEW)
+                .addSeed(new EntitySeed("A1"))
+                .addSeed(new EntitySeed("A2"))
+                .build();
+        final CountGroups countGroups = new CountGroups();
+        countGroups.setElements(store.execute(getElements, new User()));
+
+        // When
+        final GroupCounts groupCounts = new CountGroupsHandler().doOperation(countGroups, new Context(new User()), store);
+
+        // Then
+        assertEquals(Integer.valueOf(2), groupCounts.getEntityGroups().get(TestGroups.ENTITY));
+        assertEquals(Integer.valueOf(2), groupCounts.getEdgeGroups().get(TestGroups.EDGE));
+        assertFalse(groupCounts.isLimitHit());
+    }
+
+    @Test
+    public void shouldRespectLimitWhenCountingGroupsServerSide() throws OperationException {
+        // Given
+        final CountGroups countGroups = new CountGroups(5);
+        countGroups.setElements(getAllElements());
+
+        // When
+        final GroupCounts groupCounts = new CountGroupsHandler().doOperation(countGroups, new Context(new User()), store);
+
+        // Then
+        assertTrue(groupCounts.isLimitHit());
+        assertEquals(5, sum(groupCounts));
+    }
+
+    @Test
+    public void shouldCountGroupsClientSideWhenElementsAreNotFromAccumulo() throws OperationException {
+        // Given
+        final CountGroups countGroups = new CountGroups();
+        countGroups.setElements(Arrays.<Element>asList(new Entity(TestGroups.ENTITY, "A1"), new Edge(TestGroups.EDGE, "A1", "B1", true)));
+
+        // When
+        final GroupCounts groupCounts = new CountGroupsHandler().doOperation(countGroups, new Context(new User()), store);
+
+        // Then
+        assertEquals(Collections.singletonMap(TestGroups.ENTITY, 1), groupCounts.getEntityGroups());
+        assertEquals(Collections.singletonMap(TestGroups.EDGE, 1), groupCounts.getEdgeGroups());
+    }
+
+    private Iterable<Element> getAllElements() throws OperationException {
+        return store.execute(new GetAllElements.Builder<Element>().view(VIEW).build(), new User());
+    }
+
+    private GroupCounts getClientSideCounts() throws OperationException {
+        final CountGroups countGroups = new CountGroups();
+        countGroups.setElements(toList(getAllElements()));
+        return new gaffer.store.operation.handler.CountGroupsHandler()
+                .doOperation(countGroups, new Context(new User()), store);
+    }
+
+    private static List<Element> toList(final Iterable<Element> elements) {
+        final List<Element> list = new ArrayList<>();
+        for (final Element element : elements) {
+            list.add(element);
+        }
+        return list;
+    }
+
+    private static int sum(final GroupCounts groupCounts) {
+        int sum = 0;
+        for (final Integer count : groupCounts.getEntityGroups().values()) {
+            sum += count;
+        }
+        for (final Integer count : groupCounts.getEdgeGroups().values()) {
+            sum += count;
+        }
+        return sum;
+    }
+}
@@ -312,6 +312,124 @@ public class AccumuloSingleIDRetrieverTest {
         assertEquals(numEntries * 2, count);
     }
 
+    @Test
+    public void testEntitySeedQueryWithResultLimit() throws AccumuloException, StoreException {
+        testEntitySeedQueryWithResultLimit(byteEntityStore);
+        testEntitySeedQueryWithResultLimit(gaffer1KeyStore);
+    }
+
+    private void testEntitySeedQueryWithResultLimit(final AccumuloStore store) throws AccumuloException, StoreException {
+        setupGraph(store, numEntries);
+        final User user = new User();
+
+        // Create set to query for
+        final Set<ElementSeed> ids = new HashSet<>();
+        for (int i = 0; i < numEntries; i++) {
+            ids.add(new EntitySeed("" + i));
+        }
+        final View view = new View.Builder().edge(TestGroups.EDGE).entity(TestGroups.ENTITY).build();
+
+        AccumuloSingleIDRetriever retriever = null;
+        final GetElements<ElementSeed, ?> operation = new GetRelatedElements<>(view, ids);
+        operation.setIncludeEntities(true);
+        operation.setIncludeEdges(IncludeEdgeType.ALL);
+        operation.setResultLimit(10);
+        try {
+            retriever = new AccumuloSingleIDRetriever(store, operation, user);
+        } catch (IteratorSettingException e) {
+            e.printStackTrace();
+        }
+        //Should stop once 10 elements have been found
+        assertEquals(10, Iterables.size(retriever));
+    }
+
+    @Test
+    public void testEntitySeedQueryWithPrefetchedBatches() throws AccumuloException, StoreException {
+        testEntitySeedQueryWithPrefetchedBatches(byteEntityStore, true);
+        testEntitySeedQueryWithPrefetchedBatches(byteEntityStore, false);
+        testEntitySeedQueryWithPrefetchedBatches(gaffer1KeyStore, true);
+        testEntitySeedQueryWithPrefetchedBatches(gaffer1KeyStore, false);
+    }
+
+    private void testEntitySeedQueryWithPrefetchedBatches(final AccumuloStore store, final boolean startPrefetchedScanners) throws AccumuloException, StoreException {
+        setupGraph(store, numEntries);
+        final User user = new User();
+        final AccumuloProperties properties = store.getProperties();
+        final int maxEntriesForBatchScanner = properties.getMaxEntriesForBatchScanner();
+        properties.setMaxEntriesForBatchScanner("30");
+        properties.setBatchScannerPrefetchBatches("3");
+        properties.setBatchScannerPrefetchStart(startPrefetchedScanners);
+
+        // Create set to query for
+        final Set<ElementSeed> ids = new HashSet<>();
+        for (int i = 0; i < numEntries; i++) {
+            ids.add(new EntitySeed("" + i));
+        }
+        final View view = new View.Builder().edge(TestGroups.EDGE).entity(TestGroups.ENTITY).build();
+
+        final GetElements<ElementSeed, ?> operation = new GetRelatedElements<>(view, ids);
+        operation.setIncludeEntities(true);
+        operation.setIncludeEdges(IncludeEdgeType.ALL);
+        try {
+            final AccumuloSingleIDRetriever retriever = new AccumuloSingleIDRetriever(store, operation, user);
+
+            //Should find both i-B and i-C edges and entities i across all the batches
+            assertEquals(numEntries * 3, Iterables.size(retriever));
+        } catch (IteratorSettingException e) {
+            fail("Unable to construct SingleID Retriever");
+        } finally {
+            properties.setMaxEntriesForBatchScanner(Integer.toString(maxEntriesForBatchScanner));
+            properties.setBatchScannerPrefetchBatches(AccumuloProperties.BATCH_SCANNER_PREFETCH_BATCHES_DEFAULT);
+            properties.setBatchScannerPrefetchStart(true);
+        }
+    }
+
+    @Test
+    public void testEntitySeedQueryWithSortedSeedBatches() throws AccumuloException, StoreException {
+        testEntitySeedQueryWithSortedSeedBatches(byteEntityStore, true);
+        testEntitySeedQueryWithSortedSeedBatches(byteEntityStore, false);
+        testEntitySeedQueryWithSortedSeedBatches(gaffer1KeyStore, true);
+        testEntitySeedQueryWithSortedSeedBatches(gaffer1KeyStore, false);
+    }
+
+    private void testEntitySeedQueryWithSortedSeedBatches(final AccumuloStore store, final boolean coalesceRanges) throws AccumuloException, StoreException {
+        setupGraph(store, numEntries);
+        final User user = new User();
+        final AccumuloProperties properties = store.getProperties();
+        final int maxEntriesForBatchScanner = properties.getMaxEntriesForBatchScanner();
+        properties.setMaxEntriesForBatchScanner("30");
+        properties.setSeedSortBatches("4");
+        properties.setCoalesceRanges(coalesceRanges);
+
+        // Create set to query for, including edge seeds whose ranges overlap the entity seed ranges
+        final Set<ElementSeed> ids = new HashSet<>();
+        for (int i = 0; i < numEntries; i++) {
+            ids.add(new EntitySeed("" + i));
+            ids.add(new EdgeSeed("" + i, "B", false));
+        }
+        final View view = new View.Builder().edge(TestGroups.EDGE).entity(TestGroups.ENTITY).build();
+
+        final GetElements<ElementSeed, ?> operation = new GetRelatedElements<>(view, ids);
+        operation.setIncludeEntities(true);
+        operation.setIncludeEdges(IncludeEdgeType.ALL);
+        try {
+            final AccumuloSingleIDRetriever retriever = new AccumuloSingleIDRetriever(store, operation, user);
+            final Set<Element> results = new HashSet<>();
+            for (final Element element : retriever) {
+                results.add(element);
+            }
+
+            //Should find both i-B and i-C edges and entities i
+            assertEquals(numEntries * 3, results.size());
+        } catch (IteratorSettingException e) {
+            fail("Unable to construct SingleID Retriever");
+        } finally {
+            properties.setMaxEntriesForBatchScanner(Integer.toString(maxEntriesForBatchScanner));
+            properties.setSeedSortBatches(AccumuloProperties.SEED_SORT_BATCHES_DEFAULT);
+            properties.setCoalesceRanges(Boolean.parseBoolean(AccumuloProperties.COALESCE_RANGES_DEFAULT));
+        }
+    }
+
     private static void setupGraph(final AccumuloStore store, final int numEntries) {
         final List<Element> elements = new ArrayList<>();
         for (int i = 0; i < numEntries; i++) {
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityAccumuloElementConverter;
+import gaffer.commonutil.TestGroups;
+import gaffer.commonutil.TestTypes;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import gaffer.function.simple.aggregate.Sum;
+import gaffer.serialisation.simple.StringSerialiser;
+import gaffer.serialisation.simple.raw.CompactRawIntegerSerialiser;
+import gaffer.store.schema.Schema;
+import gaffer.store.schema.SchemaEntityDefinition;
+import gaffer.store.schema.TypeDefinition;
+import org.apache.accumulo.core.client.BatchWriter;
+import org.apache.accumulo.core.data.ColumnUpdate;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Mutation;
+import org.apache.accumulo.core.data.Value;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class AggregatingBatchWriterTest {
+    private final Schema schema = new Schema.Builder()
+            .type(TestTypes.ID_STRING, String.class)
+            .type("int", new TypeDefinition.Builder()
+                    .clazz(Integer.class)
+                    .serialiser(new CompactRawIntegerSerialiser())
+                    .aggregateFunction(new Sum())
+                    .position(StorePositions.VALUE.name())
+                    .build())
+            .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                    .vertex(TestTypes.ID_STRING)
+                    .property(AccumuloPropertyNames.COUNT, "int")
+                    .build())
+            .vertexSerialiser(new StringSerialiser())
+            .build();
+
+    private final ByteEntityAccumuloElementConverter converter = new ByteEntityAccumuloElementConverter(schema);
+
+    @Test
+    public void shouldAggregateDuplicateElementsBeforeWriting() throws Exception {
+        // Given
+        final BatchWriter writer = mock(BatchWriter.class);
+        final AggregatingBatchWriter aggregatingWriter = new AggregatingBatchWriter(writer, converter, schema, Long.MAX_VALUE, Long.MAX_VALUE);
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            elements.add(createEntity("vertexA", 2));
+        }
+        elements.add(createEntity("vertexB", 3));
+
+        // When
+        new ElementMutationWriter(converter).write(elements, aggregatingWriter);
+        aggregatingWriter.flush();
+
+        // Then
+        final Map<String, Integer> counts = getWrittenCounts(writer, 2);
+        assertEquals(20, (int) counts.get("vertexA"));
+        assertEquals(3, (int) counts.get("vertexB"));
+        verify(writer).flush();
+    }
+
+    @Test
+    public void shouldWriteBufferedValuesWhenBufferIsFull() throws Exception {
+        // Given
+        final BatchWriter writer = mock(BatchWriter.class);
+        final AggregatingBatchWriter aggregatingWriter = new AggregatingBatchWriter(writer, converter, schema, 1, Long.MAX_VALUE);
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            elements.add(createEntity("vertexA", 2));
+        }
+
+        // When
+        new ElementMutationWriter(converter).write(elements, aggregatingWriter);
+
+        // Then
+        getWrittenCounts(writer, 3);
+    }
+
+    @Test
+    public void shouldPassMutationsWithDeletesStraightThrough() throws Exception {
+        // Given
+        final BatchWriter writer = mock(BatchWriter.class);
+        final AggregatingBatchWriter aggregatingWriter = new AggregatingBatchWriter(writer, converter, schema, Long.MAX_VALUE, Long.MAX_VALUE);
+        final Mutation mutation = new Mutation("row");
+        mutation.putDelete("columnFamily", "columnQualifier");
+
+        // When
+        aggregatingWriter.addMutation(mutation);
+
+        // Then
+        verify(writer).addMutation(mutation);
+    }
+
+    private Map<String, Integer> getWrittenCounts(final BatchWriter writer, final int expectedMutations) throws Exception {
+        final ArgumentCaptor<Mutation> captor = ArgumentCaptor.forClass(Mutation.class);
+        verify(writer, times(expectedMutations)).addMutation(captor.capture());
+
+        final Map<String, Integer> counts = new HashMap<>();
+        for (final Mutation mutation : captor.getAllValues()) {
+            assertEquals(1, mutation.getUpdates().size());
+            final ColumnUpdate update = mutation.getUpdates().get(0);
+            final Entity entity = (Entity) converter.getElementFromKey(
+                    new Key(mutation.getRow(), update.getColumnFamily(),
+                            update.getColumnQualifier(), update.getColumnVisibility(), update.getTimestamp()));
+            final Object count = converter.getPropertiesFromValue(TestGroups.ENTITY, new Value(update.getValue()))
+                    .get(AccumuloPropertyNames.COUNT);
+            assertSame(Integer.class, count.getClass());
+            counts.put((String) entity.getVertex(), (Integer) count);
+        }
+        return counts;
+    }
+
+    private Entity createEntity(final String vertex, final int count) {
+        final Entity entity = new Entity(TestGroups.ENTITY, vertex);
+        entity.putProperty(AccumuloPropertyNames.COUNT, count);
+        return entity;
+    }
+}
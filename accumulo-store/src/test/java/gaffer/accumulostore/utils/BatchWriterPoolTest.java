@@ -0,0 +1,209 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.utils;
+
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import gaffer.accumulostore.AccumuloProperties;
+import gaffer.accumulostore.AccumuloStore;
+import gaffer.store.StoreException;
+import org.apache.accumulo.core.client.BatchWriter;
+import org.apache.accumulo.core.client.BatchWriterConfig;
+import org.apache.accumulo.core.client.Connector;
+import org.apache.accumulo.core.client.MutationsRejectedException;
+import org.apache.accumulo.core.data.Mutation;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BatchWriterPoolTest {
+    private static final String TABLE_NAME = "table1";
+
+    private AccumuloStore store;
+    private Connector connector;
+    private BatchWriter sharedWriter1;
+    private BatchWriter sharedWriter2;
+
+    @Before
+    public void setup() throws Exception {
+        store = mock(AccumuloStore.class);
+        connector = mock(Connector.class);
+        sharedWriter1 = mock(BatchWriter.class);
+        sharedWriter2 = mock(BatchWriter.class);
+        given(store.getProperties()).willReturn(new AccumuloProperties());
+        given(store.getConnection()).willReturn(connector);
+        given(connector.createBatchWriter(eq(TABLE_NAME), any(BatchWriterConfig.class)))
+                .willReturn(sharedWriter1, sharedWriter2);
+    }
+
+    @Test
+    public void shouldShareWriterForTable() throws Exception {
+        // Given
+        final BatchWriterPool pool = new BatchWriterPool(store);
+        final Mutation mutation1 = new Mutation("row1");
+        final Mutation mutation2 = new Mutation("row2");
+
+        // When
+        pool.getWriter(TABLE_NAME).addMutation(mutation1);
+        pool.getWriter(TABLE_NAME).addMutation(mutation2);
+
+        // Then
+        verify(sharedWriter1).addMutation(mutation1);
+        verify(sharedWriter1).addMutation(mutation2);
+        verify(connector, times(1)).createBatchWriter(eq(TABLE_NAME), any(BatchWriterConfig.class));
+    }
+
+    @Test
+    public void shouldFlushSharedWriter() throws Exception {
+        // Given
+        final BatchWriterPool pool = new BatchWriterPool(store);
+        final BatchWriter writer = pool.getWriter(TABLE_NAME);
+
+        // When
+        writer.flush();
+
+        // Then
+        verify(sharedWriter1).flush();
+    }
+
+    @Test
+    public void shouldNotFlushOrCloseSharedWriterWhenLeaseIsClosed() throws Exception {
+        // Given
+        final BatchWriterPool pool = new BatchWriterPool(store);
+        final BatchWriter writer = pool.getWriter(TABLE_NAME);
+
+        // When
+        writer.close();
+        pool.getWriter(TABLE_NAME);
+
+        // Then
+        verify(sharedWriter1, never()).flush();
+        verify(sharedWriter1, never()).close();
+        verify(connector, times(1)).createBatchWriter(eq(TABLE_NAME), any(BatchWriterConfig.class));
+    }
+
+    @Test
+    public void shouldReplaceFailedWriterWithoutClosingItWhilstLeased() throws Exception {
+        // Given
+        final BatchWriterPool pool = new BatchWriterPool(store);
+        final BatchWriter failingLease = pool.getWriter(TABLE_NAME);
+        final BatchWriter otherLease = pool.getWriter(TABLE_NAME);
+        final Mutation mutation = new Mutation("row1");
+        doThrow(mock(MutationsRejectedException.class)).when(sharedWriter1).addMutation(mutation);
+
+        // When
+        try {
+            failingLease.addMutation(mutation);
+            fail("Exception expected");
+        } catch (final MutationsRejectedException e) {
+            // expected
+        }
+        closeQuietly(failingLease);
+        final BatchWriter newLease = pool.getWriter(TABLE_NAME);
+        newLease.flush();
+
+        // Then
+        verify(sharedWriter2).flush();
+        verify(sharedWriter1, never()).close();
+
+        // When
+        closeQuietly(otherLease);
+
+        // Then
+        verify(sharedWriter1).close();
+    }
+
+    @Test
+    public void shouldOnlyReportRejectedMutationsToLeasesOnTheFailedWriter() throws Exception {
+        // Given
+        final BatchWriterPool pool = new BatchWriterPool(store);
+        final BatchWriter failingLease = pool.getWriter(TABLE_NAME);
+        final BatchWriter otherLease = pool.getWriter(TABLE_NAME);
+        final MutationsRejectedException rejected = mock(MutationsRejectedException.class);
+        doThrow(rejected).when(sharedWriter1).flush();
+        try {
+            failingLease.flush();
+            fail("Exception expected");
+        } catch (final MutationsRejectedException e) {
+            assertSame(rejected, e);
+        }
+        final BatchWriter newLease = pool.getWriter(TABLE_NAME);
+
+        // When
+        newLease.close();
+        try {
+            otherLease.close();
+            fail("Exception expected");
+        } catch (final MutationsRejectedException e) {
+            // Then
+            assertSame(rejected, e);
+        }
+    }
+
+    @Test
+    public void shouldCloseWritersAndSurfaceRejectedMutations() throws Exception {
+        // Given
+        final BatchWriterPool pool = new BatchWriterPool(store);
+        pool.getWriter(TABLE_NAME).close();
+        final MutationsRejectedException rejected = mock(MutationsRejectedException.class);
+        doThrow(rejected).when(sharedWriter1).close();
+
+        // When / Then
+        try {
+            pool.close();
+            fail("Exception expected");
+        } catch (final StoreException e) {
+            assertSame(rejected, e.getCause());
+        }
+        verify(sharedWriter1).close();
+    }
+
+    @Test
+    public void shouldCloseLeasedWriterWhenLastLeaseIsClosedAfterPoolIsClosed() throws Exception {
+        // Given
+        final BatchWriterPool pool = new BatchWriterPool(store);
+        final BatchWriter writer = pool.getWriter(TABLE_NAME);
+
+        // When
+        pool.close();
+
+        // Then
+        verify(sharedWriter1, never()).close();
+
+        // When
+        writer.close();
+
+        // Then
+        verify(sharedWriter1).close();
+    }
+
+    private static void closeQuietly(final BatchWriter writer) {
+        try {
+            writer.close();
+        } catch (final MutationsRejectedException e) {
+            // The rejection has already been asserted.
+        }
+    }
+}
@@ -54,6 +54,21 @@ public class ByteArrayEscapeUtilsTest {
         check(updatedBytes);
     }
 
+    @Test
+    public void shouldUnEscapeRangeOfByteArray() {
+        // Given
+        final byte[] bytes = new byte[]{(byte) 10, (byte) 20, ESCAPE_CHAR, (byte) 30};
+        final byte[] escaped = ByteArrayEscapeUtils.escape(bytes);
+        final byte[] padded = new byte[escaped.length + 2];
+        System.arraycopy(escaped, 0, padded, 1, escaped.length);
+
+        // When
+        final byte[] unEscaped = ByteArrayEscapeUtils.unEscape(padded, 1, escaped.length + 1);
+
+        // Then
+        assertArrayEquals(bytes, unEscaped);
+    }
+
     @Test
     public void testWithEscapeCharacter() {
         final byte[] bytes = new byte[]{(byte) 10, (byte) 20, (byte) 30, ESCAPE_CHAR, (byte) 40, (byte) 50};
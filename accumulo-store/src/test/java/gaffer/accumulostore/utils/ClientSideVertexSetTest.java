@@ -0,0 +1,85 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.utils;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import gaffer.commonutil.CommonConstants;
+import org.junit.Test;
+import java.io.UnsupportedEncodingException;
+
+public class ClientSideVertexSetTest {
+
+    @Test
+    public void shouldHoldSmallSetsOfVerticesExactly() throws UnsupportedEncodingException {
+        // Given
+        final ClientSideVertexSet vertices = new ClientSideVertexSet(10, 0.0002, 1000, -1);
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            vertices.add(bytes("vertex" + i));
+        }
+
+        // Then
+        assertTrue(vertices.isExact());
+        for (int i = 0; i < 10; i++) {
+            assertTrue(vertices.contains(bytes("vertex" + i)));
+        }
+        for (int i = 10; i < 1000; i++) {
+            assertFalse(vertices.contains(bytes("vertex" + i)));
+        }
+    }
+
+    @Test
+    public void shouldSwitchToBloomFilterWhenMaxExactSizeIsExceeded() throws UnsupportedEncodingException {
+        // Given
+        final ClientSideVertexSet vertices = new ClientSideVertexSet(10, 0.0002, 100000, -1);
+
+        // When
+        for (int i = 0; i < 11; i++) {
+            vertices.add(bytes("vertex" + i));
+        }
+
+        // Then
+        assertFalse(vertices.isExact());
+        for (int i = 0; i < 11; i++) {
+            assertTrue(vertices.contains(bytes("vertex" + i)));
+        }
+    }
+
+    @Test
+    public void shouldUseBloomFilterWhenExpectedSizeIsLargerThanMaxExactSize() throws UnsupportedEncodingException {
+        // Given
+        final ClientSideVertexSet vertices = new ClientSideVertexSet(10, 0.0002, 100000, 100);
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            vertices.add(bytes("vertex" + i));
+        }
+
+        // Then
+        assertFalse(vertices.isExact());
+        for (int i = 0; i < 100; i++) {
+            assertTrue(vertices.contains(bytes("vertex" + i)));
+        }
+    }
+
+    private byte[] bytes(final String vertex) throws UnsupportedEncodingException {
+        return vertex.getBytes(CommonConstants.UTF_8);
+    }
+}
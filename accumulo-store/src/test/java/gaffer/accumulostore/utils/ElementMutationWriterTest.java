@@ -0,0 +1,148 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityAccumuloElementConverter;
+import gaffer.commonutil.TestGroups;
+import gaffer.commonutil.TestTypes;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import gaffer.serialisation.simple.StringSerialiser;
+import gaffer.store.schema.Schema;
+import gaffer.store.schema.SchemaEdgeDefinition;
+import gaffer.store.schema.SchemaEntityDefinition;
+import org.apache.accumulo.core.client.BatchWriter;
+import org.apache.accumulo.core.data.Mutation;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class ElementMutationWriterTest {
+    private AccumuloElementConverter converter;
+    private ExecutorService executor;
+
+    @Before
+    public void setup() {
+        final Schema schema = new Schema.Builder()
+                .type(TestTypes.ID_STRING, String.class)
+                .type(TestTypes.DIRECTED_TRUE, Boolean.class)
+                .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                        .vertex(TestTypes.ID_STRING)
+                        .build())
+                .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
+                        .source(TestTypes.ID_STRING)
+                        .destination(TestTypes.ID_STRING)
+                        .directed(TestTypes.DIRECTED_TRUE)
+                        .build())
+                .vertexSerialiser(new StringSerialiser())
+                .build();
+        converter = new ByteEntityAccumuloElementConverter(schema);
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldCreateOneMutationForAnEntityAndTwoForAnEdge() {
+        // Given
+        final ElementMutationWriter mutationWriter = new ElementMutationWriter(converter);
+
+        // When
+        final List<Mutation> entityMutations = mutationWriter.getMutations(new Entity(TestGroups.ENTITY, "vertex"));
+        final List<Mutation> edgeMutations = mutationWriter.getMutations(new Edge(TestGroups.EDGE, "source", "destination", true));
+
+        // Then
+        assertEquals(1, entityMutations.size());
+        assertEquals(2, edgeMutations.size());
+    }
+
+    @Test
+    public void shouldWriteMutationsInElementOrderWhenConvertingInParallel() throws Exception {
+        // Given
+        final List<Element> elements = createElements(2503);
+        final List<String> expectedRows = writeRows(new ElementMutationWriter(converter), elements);
+
+        // When
+        final List<String> rows = writeRows(new ElementMutationWriter(converter, executor, 100, 8, true), elements);
+
+        // Then
+        assertEquals(3754, expectedRows.size());
+        assertEquals(expectedRows, rows);
+    }
+
+    @Test
+    public void shouldWriteAllMutationsWhenConvertingInParallelUnordered() throws Exception {
+        // Given
+        final List<Element> elements = createElements(2503);
+        final List<String> expectedRows = writeRows(new ElementMutationWriter(converter), elements);
+
+        // When
+        final List<String> rows = writeRows(new ElementMutationWriter(converter, executor, 100, 8, false), elements);
+
+        // Then
+        Collections.sort(expectedRows);
+        Collections.sort(rows);
+        assertEquals(expectedRows, rows);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> writeRows(final ElementMutationWriter mutationWriter, final List<Element> elements) throws Exception {
+        final BatchWriter writer = mock(BatchWriter.class);
+        final ArgumentCaptor<Iterable> captor = ArgumentCaptor.forClass(Iterable.class);
+
+        mutationWriter.write(elements, writer);
+
+        verify(writer, atLeastOnce()).addMutations(captor.capture());
+        final List<String> rows = new ArrayList<>();
+        for (final Iterable<Mutation> mutations : captor.getAllValues()) {
+            for (final Mutation mutation : mutations) {
+                assertNotNull(mutation.getRow());
+                rows.add(new String(mutation.getRow(), "UTF-8"));
+            }
+        }
+        return rows;
+    }
+
+    private List<Element> createElements(final int numElements) {
+        final List<Element> elements = new ArrayList<>(numElements);
+        for (int i = 0; i < numElements; i++) {
+            if (i % 2 == 0) {
+                elements.add(new Entity(TestGroups.ENTITY, "vertex" + i));
+            } else {
+                elements.add(new Edge(TestGroups.EDGE, "source" + i, "destination" + i, true));
+            }
+        }
+        return elements;
+    }
+}
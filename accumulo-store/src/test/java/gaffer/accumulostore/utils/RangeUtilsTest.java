@@ -0,0 +1,111 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.accumulo.core.data.Range;
+import org.apache.hadoop.io.Text;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+public class RangeUtilsTest {
+
+    @Test
+    public void shouldSortAndMergeOverlappingRanges() {
+        // Given
+        final List<Range> ranges = Arrays.asList(
+                new Range("m", "p"),
+                new Range("a", "c"),
+                new Range("b", "d"),
+                new Range("x"));
+
+        // When
+        final List<Range> coalesced = RangeUtils.coalesce(ranges);
+
+        // Then
+        assertEquals(Arrays.asList(new Range("a", "d"), new Range("m", "p"), new Range("x")), coalesced);
+    }
+
+    @Test
+    public void shouldReturnEmptyListWhenCoalescingNoRanges() {
+        // When
+        final List<Range> coalesced = RangeUtils.coalesce(Collections.<Range>emptyList());
+
+        // Then
+        assertTrue(coalesced.isEmpty());
+    }
+
+    @Test
+    public void shouldGetEndRowOfTabletContainingRange() {
+        // Given
+        final SortedSet<Text> splits = new TreeSet<>(Arrays.asList(new Text("g"), new Text("p")));
+
+        // When / Then
+        assertEquals(new Text("g"), RangeUtils.getTabletEndRow(new Range("a"), splits));
+        assertEquals(new Text("g"), RangeUtils.getTabletEndRow(new Range("g"), splits));
+        assertEquals(new Text("p"), RangeUtils.getTabletEndRow(new Range("h"), splits));
+        assertNull(RangeUtils.getTabletEndRow(new Range("q"), splits));
+        assertEquals(new Text("g"), RangeUtils.getTabletEndRow(new Range(), splits));
+        assertNull(RangeUtils.getTabletEndRow(new Range("a"), new TreeSet<Text>()));
+    }
+
+    @Test
+    public void shouldPartitionSortedRangesAlongTabletBoundaries() {
+        // Given
+        final SortedSet<Text> splits = new TreeSet<>(Arrays.asList(new Text("c"), new Text("f")));
+        final List<Range> ranges = new ArrayList<>();
+        for (final String row : Arrays.asList("h", "a", "d", "b", "e", "c", "g")) {
+            ranges.add(new Range(row));
+        }
+
+        // When
+        final List<Set<Range>> batches = RangeUtils.partition(ranges, splits, 2);
+
+        // Then
+        assertEquals(3, batches.size());
+        assertEquals(new ArrayList<>(Arrays.asList(new Range("a"), new Range("b"), new Range("c"))), new ArrayList<>(batches.get(0)));
+        assertEquals(new ArrayList<>(Arrays.asList(new Range("d"), new Range("e"))), new ArrayList<>(batches.get(1)));
+        assertEquals(new ArrayList<>(Arrays.asList(new Range("g"), new Range("h"))), new ArrayList<>(batches.get(2)));
+    }
+
+    @Test
+    public void shouldLimitBatchSizeWhenRangesAreInOneTablet() {
+        // Given
+        final List<Range> ranges = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            ranges.add(new Range("row" + i));
+        }
+
+        // When
+        final List<Set<Range>> batches = RangeUtils.partition(ranges, new TreeSet<Text>(), 2);
+
+        // Then
+        assertEquals(3, batches.size());
+        assertEquals(4, batches.get(0).size());
+        assertEquals(4, batches.get(1).size());
+        assertEquals(2, batches.get(2).size());
+    }
+}
@@ -16,6 +16,7 @@
 package example.rest.application;
 
 import example.rest.serialisation.RestJsonProvider;
+import example.rest.serialisation.RestSmileProvider;
 import gaffer.rest.application.AbstractApplicationConfig;
 import javax.ws.rs.ApplicationPath;
 
@@ -25,5 +26,6 @@ public class ApplicationConfig extends AbstractApplicationConfig {
     protected void addSystemResources() {
         super.addSystemResources();
         resources.add(RestJsonProvider.class);
+        resources.add(RestSmileProvider.class);
     }
 }
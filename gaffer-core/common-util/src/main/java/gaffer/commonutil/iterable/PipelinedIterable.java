@@ -0,0 +1,244 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.commonutil.iterable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A <code>PipelinedIterable</code> wraps an {@link Iterable} and, for each call
+ * to iterator(), drains the wrapped iterable on a worker thread from the provided
+ * {@link ExecutorService}. Items are handed to the consuming thread in batches
+ * through a bounded queue, so the producer blocks once the queue is full.
+ * <p>
+ * Any {@link RuntimeException} or {@link Error} thrown by the wrapped iterable is
+ * rethrown on the consuming thread once the items produced before it have been consumed,
+ * so a failure is never mistaken for the end of the items. Iterators should be closed if they are not fully consumed,
+ * otherwise the worker thread will wait for the consumer indefinitely.
+ * <p>
+ * The executor must be able to run a task for every open iterator at the same time,
+ * e.g. a cached thread pool, otherwise consumers may wait for producers that
+ * are never started.
+ *
+ * @param <T> the type of items in the iterable.
+ */
+public class PipelinedIterable<T> implements CloseableIterable<T> {
+    private static final long QUEUE_TIMEOUT_MILLIS = 100;
+
+    private final Iterable<T> iterable;
+    private final ExecutorService executor;
+    private final int batchSize;
+    private final int queueSize;
+    private final Set<PipelinedIterator> openIterators = Collections.newSetFromMap(new ConcurrentHashMap<PipelinedIterator, Boolean>());
+
+    public PipelinedIterable(final Iterable<T> iterable, final ExecutorService executor,
+                             final int batchSize, final int queueSize) {
+        if (null == executor) {
+            throw new IllegalArgumentException("An executor is required.");
+        }
+        if (batchSize < 1 || queueSize < 1) {
+            throw new IllegalArgumentException("Batch size and queue size must be at least 1.");
+        }
+
+        if (null == iterable) {
+            this.iterable = new EmptyClosableIterable<>();
+        } else {
+            this.iterable = iterable;
+        }
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.queueSize = queueSize;
+    }
+
+    @Override
+    public void close() {
+        for (final PipelinedIterator itr : openIterators) {
+            itr.close();
+        }
+
+        if (iterable instanceof CloseableIterable) {
+            ((CloseableIterable) iterable).close();
+        }
+    }
+
+    @Override
+    public CloseableIterator<T> iterator() {
+        final PipelinedIterator itr = new PipelinedIterator();
+        openIterators.add(itr);
+        itr.start();
+        return itr;
+    }
+
+    private final class PipelinedIterator implements CloseableIterator<T> {
+        private final BlockingQueue<List<T>> queue = new ArrayBlockingQueue<>(queueSize);
+
+        /**
+         * Marks the end of the items. Only ever compared by reference.
+         */
+        private final List<T> endOfItems = new ArrayList<>(0);
+        private volatile boolean closed = false;
+        private volatile Throwable failure;
+        private Iterator<T> currentBatch = Collections.<T>emptyList().iterator();
+        private boolean finished = false;
+
+        private void start() {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    produce();
+                }
+            });
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (closed) {
+                return false;
+            }
+
+            while (!currentBatch.hasNext()) {
+                if (finished) {
+                    return false;
+                }
+
+                final List<T> batch = poll();
+                if (null == batch) {
+                    // closed by another thread
+                    return false;
+                }
+
+                if (endOfItems == batch) {
+                    finished = true;
+                    openIterators.remove(this);
+                    if (null != failure) {
+                        rethrow(failure);
+                    }
+                    return false;
+                }
+                currentBatch = batch.iterator();
+            }
+
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            return currentBatch.next();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("Unable to remove items from a pipelined iterator");
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            openIterators.remove(this);
+
+            // Free up space so a blocked producer notices it has been closed.
+            queue.clear();
+        }
+
+        private void produce() {
+            Iterator<T> itr = null;
+            List<T> batch = new ArrayList<>(batchSize);
+            try {
+                itr = iterable.iterator();
+                while (!closed && itr.hasNext()) {
+                    batch.add(itr.next());
+                    if (batch.size() >= batchSize) {
+                        if (!offer(batch)) {
+                            return;
+                        }
+                        batch = new ArrayList<>(batchSize);
+                    }
+                }
+
+                if (!batch.isEmpty()) {
+                    offer(batch);
+                }
+            } catch (final Throwable e) {
+                failure = e;
+                // Hand over the items produced before the failure, so the consumer sees all of them first.
+                if (!batch.isEmpty()) {
+                    offer(batch);
+                }
+            } finally {
+                if (itr instanceof CloseableIterator) {
+                    ((CloseableIterator) itr).close();
+                }
+                offer(endOfItems);
+            }
+        }
+
+        private void rethrow(final Throwable throwable) {
+            if (throwable instanceof RuntimeException) {
+                throw (RuntimeException) throwable;
+            }
+            if (throwable instanceof Error) {
+                throw (Error) throwable;
+            }
+            throw new IllegalStateException("Unable to produce the next batch of items", throwable);
+        }
+
+        private List<T> poll() {
+            try {
+                while (!closed) {
+                    final List<T> batch = queue.poll(QUEUE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                    if (null != batch) {
+                        return batch;
+                    }
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                throw new IllegalStateException("Interrupted whilst waiting for the next batch of items", e);
+            }
+
+            return null;
+        }
+
+        private boolean offer(final List<T> batch) {
+            try {
+                while (!closed) {
+                    if (queue.offer(batch, QUEUE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                        return true;
+                    }
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                closed = true;
+            }
+
+            return false;
+        }
+    }
+}
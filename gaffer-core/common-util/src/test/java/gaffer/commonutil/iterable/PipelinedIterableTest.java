@@ -0,0 +1,177 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.commonutil.iterable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.common.collect.Lists;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class PipelinedIterableTest {
+    private ExecutorService executor;
+
+    @Before
+    public void setup() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldReturnAllItemsInOrder() {
+        // Given
+        final List<Integer> values = createValues(1001);
+
+        // When
+        final Iterable<Integer> pipelined = new PipelinedIterable<>(values, executor, 10, 2);
+
+        // Then
+        assertEquals(values, Lists.newArrayList(pipelined));
+    }
+
+    @Test
+    public void shouldReturnAllItemsInOrderThroughMultipleStages() {
+        // Given
+        final List<Integer> values = createValues(1001);
+
+        // When
+        final Iterable<Integer> pipelined = new PipelinedIterable<>(
+                new PipelinedIterable<>(values, executor, 7, 1), executor, 100, 3);
+
+        // Then
+        assertEquals(values, Lists.newArrayList(pipelined));
+    }
+
+    @Test
+    public void shouldReturnNoItemsForNullIterable() {
+        // When
+        final Iterable<Integer> pipelined = new PipelinedIterable<>(null, executor, 10, 2);
+
+        // Then
+        assertFalse(pipelined.iterator().hasNext());
+    }
+
+    @Test
+    public void shouldRethrowExceptionOnConsumingThread() {
+        // Given
+        final Iterable<Integer> failingIterable = new Iterable<Integer>() {
+            @Override
+            public Iterator<Integer> iterator() {
+                throw new IllegalStateException("Test exception");
+            }
+        };
+        final Iterable<Integer> pipelined = new PipelinedIterable<>(failingIterable, executor, 10, 2);
+
+        // When / Then
+        try {
+            Lists.newArrayList(pipelined);
+            fail("Exception expected");
+        } catch (final IllegalStateException e) {
+            assertEquals("Test exception", e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldRethrowErrorOnConsumingThreadAfterProducedItems() {
+        // Given
+        final Iterable<Integer> failingIterable = new Iterable<Integer>() {
+            @Override
+            public Iterator<Integer> iterator() {
+                return new Iterator<Integer>() {
+                    private int count = 0;
+
+                    @Override
+                    public boolean hasNext() {
+                        return true;
+                    }
+
+                    @Override
+                    public Integer next() {
+                        if (count == 5) {
+                            throw new AssertionError("Test error");
+                        }
+                        return count++;
+                    }
+
+                    @Override
+                    public void remove() {
+                        throw new UnsupportedOperationException();
+                    }
+                };
+            }
+        };
+        final Iterable<Integer> pipelined = new PipelinedIterable<>(failingIterable, executor, 2, 2);
+        final List<Integer> consumed = new ArrayList<>();
+
+        // When / Then
+        try {
+            for (final Integer item : pipelined) {
+                consumed.add(item);
+            }
+            fail("Error expected");
+        } catch (final AssertionError e) {
+            assertEquals("Test error", e.getMessage());
+        }
+        assertEquals(createValues(5), consumed);
+    }
+
+    @Test
+    public void shouldStopReturningItemsAfterClose() {
+        // Given
+        final List<Integer> values = createValues(1001);
+        final PipelinedIterable<Integer> pipelined = new PipelinedIterable<>(values, executor, 10, 1);
+        final CloseableIterator<Integer> itr = pipelined.iterator();
+        assertTrue(itr.hasNext());
+        itr.next();
+
+        // When
+        itr.close();
+
+        // Then
+        assertFalse(itr.hasNext());
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenBatchSizeIsLessThanOne() {
+        try {
+            new PipelinedIterable<>(createValues(1), executor, 0, 1);
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("Batch size"));
+        }
+    }
+
+    private List<Integer> createValues(final int size) {
+        final List<Integer> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(i);
+        }
+        return values;
+    }
+}
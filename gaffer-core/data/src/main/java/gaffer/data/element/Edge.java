@@ -55,6 +55,24 @@ public class Edge extends Element {
         this.directed = directed;
     }
 
+    /**
+     * Constructs an <code>Edge</code> that holds its properties in the provided {@link Properties}, e.g. an
+     * {@link IndexedProperties} for the group.
+     *
+     * @param group       the edge group
+     * @param source      the source vertex
+     * @param destination the destination vertex
+     * @param directed    true if the edge is directed
+     * @param properties  the (usually empty) properties to hold the edge properties in
+     */
+    public Edge(final String group, final Object source, final Object destination, final boolean directed,
+                final Properties properties) {
+        super(group, properties);
+        this.source = source;
+        this.destination = destination;
+        this.directed = directed;
+    }
+
     @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.WRAPPER_OBJECT, property = "class")
     public Object getSource() {
         return source;
@@ -53,8 +53,12 @@ public abstract class Element implements Serializable {
     }
 
     Element(final String group) {
+        this(group, new Properties());
+    }
+
+    Element(final String group, final Properties properties) {
         this.group = group;
-        properties = new Properties();
+        this.properties = properties;
     }
 
     public void putProperty(final String name, final Object value) {
@@ -51,6 +51,19 @@ public class Entity extends Element {
         this.vertex = vertex;
     }
 
+    /**
+     * Constructs an <code>Entity</code> that holds its properties in the provided {@link Properties}, e.g. an
+     * {@link IndexedProperties} for the group.
+     *
+     * @param group      the entity group
+     * @param vertex     the entity vertex
+     * @param properties the (usually empty) properties to hold the entity properties in
+     */
+    public Entity(final String group, final Object vertex, final Properties properties) {
+        super(group, properties);
+        this.vertex = vertex;
+    }
+
     @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.WRAPPER_OBJECT, property = "class")
     public Object getVertex() {
         return vertex;
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.data.element;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.Collections;
+
+/**
+ * <code>IndexedProperties</code> is a {@link Properties} for a schema group that knows the group's
+ * {@link PropertyIndex}. The index is shared by all the properties of a group.
+ * <p>
+ * The property values are held in the underlying {@link java.util.HashMap}, which is sized from the index so that
+ * adding all the properties of the group never resizes the table.
+ */
+public class IndexedProperties extends Properties {
+    private static final long serialVersionUID = -2953471129845616208L;
+    private static final PropertyIndex EMPTY_INDEX = new PropertyIndex(Collections.<String>emptyList());
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private final PropertyIndex index;
+
+    /**
+     * Constructs an {@link IndexedProperties} without an index. Used for serialisation.
+     */
+    public IndexedProperties() {
+        this(EMPTY_INDEX);
+    }
+
+    /**
+     * Constructs an empty {@link IndexedProperties} with room for all the properties in the provided index.
+     *
+     * @param index the shared property index for the group.
+     */
+    public IndexedProperties(final PropertyIndex index) {
+        super((int) (index.size() / LOAD_FACTOR) + 1);
+        this.index = index;
+    }
+
+    public PropertyIndex getIndex() {
+        return index;
+    }
+
+    @SuppressWarnings("CloneDoesntCallSuperClone")
+    @SuppressFBWarnings(value = "CN_IDIOM_NO_SUPER_CALL", justification = "The properties are copied into a new instance")
+    @Override
+    public IndexedProperties clone() {
+        final IndexedProperties clone = new IndexedProperties(index);
+        clone.putAll(this);
+        return clone;
+    }
+}
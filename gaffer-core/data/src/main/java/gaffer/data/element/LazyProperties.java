@@ -17,6 +17,7 @@
 package gaffer.data.element;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import gaffer.function.SerialisedFilterFunction;
 
 import java.util.Collection;
 import java.util.HashSet;
@@ -88,6 +89,22 @@ public class LazyProperties extends Properties {
         return value;
     }
 
+    /**
+     * Tests a property that has not been loaded yet without deserialising it, if the
+     * {@link gaffer.data.element.ElementValueLoader} is a {@link SerialisedElementValueLoader}.
+     * The property is not loaded by this method.
+     *
+     * @param name     the name of the property to test
+     * @param function the filter function to test the property with
+     * @return the result of the filter function, or null if the property needs to be loaded to be tested.
+     */
+    public Boolean filterSerialised(final String name, final SerialisedFilterFunction function) {
+        if (loadedProperties.contains(name) || !(valueLoader instanceof SerialisedElementValueLoader)) {
+            return null;
+        }
+        return ((SerialisedElementValueLoader) valueLoader).filterSerialisedProperty(name, function);
+    }
+
     @Override
     public void clear() {
         properties.clear();
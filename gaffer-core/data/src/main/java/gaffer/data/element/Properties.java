@@ -31,6 +31,10 @@ public class Properties extends HashMap<String, Object> {
         super();
     }
 
+    public Properties(final int initialCapacity) {
+        super(initialCapacity);
+    }
+
     public Properties(final Map<String, Object> properties) {
         super(properties);
     }
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.data.element;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A <code>PropertyIndex</code> is an immutable mapping of the property names of a group to slots, in schema order.
+ * A single index should be created for each group and shared between all the {@link IndexedProperties} of that
+ * group.
+ */
+public final class PropertyIndex implements Serializable {
+    private static final long serialVersionUID = 4018473418839157472L;
+    private final String[] names;
+    private final Map<String, Integer> slots;
+
+    /**
+     * Constructs a {@link PropertyIndex} with a slot for each of the provided property names, in iteration order.
+     * Duplicate names are only given one slot.
+     *
+     * @param propertyNames the property names to index.
+     */
+    public PropertyIndex(final Collection<String> propertyNames) {
+        final Map<String, Integer> newSlots = new HashMap<>(propertyNames.size() * 2);
+        for (final String name : propertyNames) {
+            if (!newSlots.containsKey(name)) {
+                newSlots.put(name, newSlots.size());
+            }
+        }
+
+        names = new String[newSlots.size()];
+        for (final Map.Entry<String, Integer> entry : newSlots.entrySet()) {
+            names[entry.getValue()] = entry.getKey();
+        }
+        slots = Collections.unmodifiableMap(newSlots);
+    }
+
+    /**
+     * @param name the property name.
+     * @return the slot for the property name, or -1 if the property is not indexed.
+     */
+    public int getSlot(final Object name) {
+        final Integer slot = slots.get(name);
+        return null != slot ? slot : -1;
+    }
+
+    /**
+     * @param slot the slot.
+     * @return the name of the property held in the given slot.
+     */
+    public String getName(final int slot) {
+        return names[slot];
+    }
+
+    /**
+     * @return the number of indexed properties.
+     */
+    public int size() {
+        return names.length;
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.data.element;
+
+import gaffer.function.SerialisedFilterFunction;
+
+/**
+ * An {@link ElementValueLoader} that also has access to the serialised form of the properties it loads,
+ * so they can be tested by a {@link SerialisedFilterFunction} without being deserialised.
+ *
+ * @see LazyProperties#filterSerialised(String, SerialisedFilterFunction)
+ */
+public interface SerialisedElementValueLoader extends ElementValueLoader {
+    /**
+     * @param name     the name of the property to test
+     * @param function the filter function to test the property with
+     * @return the result of the filter function, or null if the property cannot be tested in its serialised form,
+     * e.g. because it is not set or the function does not support its serialiser.
+     */
+    Boolean filterSerialisedProperty(final String name, final SerialisedFilterFunction function);
+}
@@ -21,13 +21,21 @@ import gaffer.data.element.Element;
 import gaffer.data.element.ElementComponentKey;
 import gaffer.data.element.ElementTuple;
 import gaffer.data.element.IdentifierType;
+import gaffer.data.element.LazyProperties;
+import gaffer.data.element.Properties;
 import gaffer.function.FilterFunction;
+import gaffer.function.SerialisedFilterFunction;
+import gaffer.function.Tuple;
+import gaffer.function.context.ConsumerFunctionContext;
 import gaffer.function.processor.Filter;
 
 /**
  * Element Filter - for filtering {@link gaffer.data.element.Element}s.
  * <p>
  * Use {@link gaffer.data.element.function.ElementAggregator.Builder} to build an ElementFilter.
+ * <p>
+ * Properties of lazy elements that have not been loaded yet are tested in their serialised form by
+ * {@link SerialisedFilterFunction}s where possible, see {@link LazyProperties#filterSerialised}.
  *
  * @see gaffer.data.element.function.ElementFilter.Builder
  * @see gaffer.function.processor.Filter
@@ -40,6 +48,25 @@ public class ElementFilter extends Filter<ElementComponentKey> {
         return super.filter(elementTuple);
     }
 
+    @Override
+    protected boolean test(final ConsumerFunctionContext<ElementComponentKey, FilterFunction> functionContext,
+                           final Tuple<ElementComponentKey> tuple) {
+        final FilterFunction function = functionContext.getFunction();
+        final ElementComponentKey key = functionContext.getSelection().get(0);
+        if (function instanceof SerialisedFilterFunction && !key.isId() && tuple == elementTuple) {
+            final Properties properties = elementTuple.getElement().getProperties();
+            if (properties instanceof LazyProperties) {
+                final Boolean result = ((LazyProperties) properties)
+                        .filterSerialised(key.getPropertyName(), (SerialisedFilterFunction) function);
+                if (null != result) {
+                    return result;
+                }
+            }
+        }
+
+        return super.test(functionContext, tuple);
+    }
+
     @SuppressWarnings("CloneDoesntCallSuperClone")
     @SuppressFBWarnings(value = "CN_IDIOM_NO_SUPER_CALL", justification = "Uses super.cloneFunctions instead for better performance")
     @Override
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.data.element;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class IndexedPropertiesTest {
+    private static final PropertyIndex INDEX = new PropertyIndex(Arrays.asList("property 1", "property 2", "property 3"));
+
+    @Test
+    public void shouldConstructEmptyProperties() {
+        // When
+        final IndexedProperties properties = new IndexedProperties(INDEX);
+
+        // Then
+        assertTrue(properties.isEmpty());
+        assertEquals(0, properties.size());
+        assertFalse(properties.entrySet().iterator().hasNext());
+    }
+
+    @Test
+    public void shouldPutAndGetIndexedAndNonIndexedProperties() {
+        // Given
+        final IndexedProperties properties = new IndexedProperties(INDEX);
+
+        // When
+        properties.put("property 2", "value 2");
+        properties.put("other property", "other value");
+        final Object previous = properties.put("property 2", "new value 2");
+
+        // Then
+        assertEquals("value 2", previous);
+        assertEquals(2, properties.size());
+        assertEquals("new value 2", properties.get("property 2"));
+        assertEquals("other value", properties.get("other property"));
+        assertNull(properties.get("property 1"));
+        assertFalse(properties.containsKey("property 1"));
+        assertTrue(properties.containsKey("property 2"));
+        assertTrue(properties.containsValue("other value"));
+    }
+
+    @Test
+    public void shouldHoldNullPropertyValues() {
+        // Given
+        final IndexedProperties properties = new IndexedProperties(INDEX);
+
+        // When
+        properties.put("property 1", null);
+
+        // Then
+        assertEquals(1, properties.size());
+        assertTrue(properties.containsKey("property 1"));
+        assertNull(properties.get("property 1"));
+    }
+
+    @Test
+    public void shouldIterateOverIndexedAndOtherProperties() {
+        // Given
+        final IndexedProperties properties = new IndexedProperties(INDEX);
+        properties.put("other property", "other value");
+        properties.put("property 3", "value 3");
+        properties.put("property 1", "value 1");
+
+        // When / Then
+        assertEquals(new HashSet<>(Arrays.asList("property 1", "property 3", "other property")), properties.keySet());
+        assertEquals(new HashSet<>(Arrays.asList((Object) "value 1", "value 3", "other value")), new HashSet<>(properties.values()));
+    }
+
+    @Test
+    public void shouldSetValueThroughEntry() {
+        // Given
+        final IndexedProperties properties = new IndexedProperties(INDEX);
+        properties.put("property 1", "value 1");
+
+        // When
+        for (final Map.Entry<String, Object> entry : properties.entrySet()) {
+            entry.setValue("new value 1");
+        }
+
+        // Then
+        assertEquals("new value 1", properties.get("property 1"));
+    }
+
+    @Test
+    public void shouldRemoveProperties() {
+        // Given
+        final IndexedProperties properties = new IndexedProperties(INDEX);
+        properties.put("property 1", "value 1");
+        properties.put("property 2", "value 2");
+        properties.put("other property", "other value");
+
+        // When
+        properties.remove(Arrays.asList("property 2", "other property"));
+
+        // Then
+        assertEquals(1, properties.size());
+        assertEquals("value 1", properties.get("property 1"));
+        assertFalse(properties.containsKey("property 2"));
+        assertFalse(properties.containsKey("other property"));
+    }
+
+    @Test
+    public void shouldKeepOnlyGivenProperties() {
+        // Given
+        final IndexedProperties properties = new IndexedProperties(INDEX);
+        properties.put("property 1", "value 1");
+        properties.put("property 2", "value 2");
+        properties.put("other property", "other value");
+
+        // When
+        properties.keepOnly(Collections.singletonList("property 2"));
+
+        // Then
+        assertEquals(1, properties.size());
+        assertEquals("value 2", properties.get("property 2"));
+    }
+
+    @Test
+    public void shouldBeEqualToPropertiesWithTheSameValues() {
+        // Given
+        final IndexedProperties properties = new IndexedProperties(INDEX);
+        properties.put("property 1", "value 1");
+        properties.put("other property", "other value");
+
+        final Properties otherProperties = new Properties();
+        otherProperties.put("other property", "other value");
+        otherProperties.put("property 1", "value 1");
+
+        // When / Then
+        assertEquals(otherProperties, properties);
+        assertEquals(properties, otherProperties);
+        assertEquals(otherProperties.hashCode(), properties.hashCode());
+    }
+
+    @Test
+    public void shouldCloneProperties() {
+        // Given
+        final IndexedProperties properties = new IndexedProperties(INDEX);
+        properties.put("property 1", "value 1");
+        properties.put("other property", "other value");
+
+        // When
+        final IndexedProperties clone = properties.clone();
+
+        // Then
+        assertNotSame(properties, clone);
+        assertSame(INDEX, clone.getIndex());
+        assertEquals(properties, clone);
+        clone.put("property 1", "new value 1");
+        assertEquals("value 1", properties.get("property 1"));
+    }
+
+    @Test
+    public void shouldJavaSerialiseAndDeserialiseProperties() throws IOException, ClassNotFoundException {
+        // Given
+        final IndexedProperties properties = new IndexedProperties(INDEX);
+        properties.put("property 1", "value 1");
+        properties.put("other property", "other value");
+
+        // When
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(properties);
+        }
+        final IndexedProperties deserialised;
+        try (final ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            deserialised = (IndexedProperties) in.readObject();
+        }
+
+        // Then
+        assertEquals(properties, deserialised);
+        assertEquals(INDEX.size(), deserialised.getIndex().size());
+    }
+}
@@ -16,12 +16,15 @@
 
 package gaffer.data.element;
 
+import gaffer.function.SerialisedFilterFunction;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.internal.util.collections.Sets;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -185,4 +188,38 @@ public class LazyPropertiesTest {
         assertEquals(propertyValue1, properties.get(propertyName1));
         assertEquals(propertyValue2, properties.get(propertyName2));
     }
+
+    @Test
+    public void shouldFilterSerialisedPropertyWhenNotLoaded() {
+        // Given
+        final SerialisedElementValueLoader elementLoader = mock(SerialisedElementValueLoader.class);
+        final SerialisedFilterFunction function = mock(SerialisedFilterFunction.class);
+        final String propertyName = "property name";
+        given(elementLoader.filterSerialisedProperty(propertyName, function)).willReturn(true);
+        final LazyProperties lazyProperties = new LazyProperties(new Properties(), elementLoader);
+
+        // When
+        final Boolean result = lazyProperties.filterSerialised(propertyName, function);
+
+        // Then
+        assertTrue(result);
+        verify(elementLoader, never()).getProperty(propertyName);
+    }
+
+    @Test
+    public void shouldNotFilterSerialisedPropertyWhenLoaded() {
+        // Given
+        final SerialisedElementValueLoader elementLoader = mock(SerialisedElementValueLoader.class);
+        final SerialisedFilterFunction function = mock(SerialisedFilterFunction.class);
+        final String propertyName = "property name";
+        final Properties properties = new Properties(propertyName, "property value");
+        final LazyProperties lazyProperties = new LazyProperties(properties, elementLoader);
+
+        // When
+        final Boolean result = lazyProperties.filterSerialised(propertyName, function);
+
+        // Then
+        assertNull(result);
+        verify(elementLoader, never()).filterSerialisedProperty(propertyName, function);
+    }
 }
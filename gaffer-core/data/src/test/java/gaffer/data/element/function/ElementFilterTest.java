@@ -19,8 +19,12 @@ package gaffer.data.element.function;
 import gaffer.data.element.Element;
 import gaffer.data.element.ElementComponentKey;
 import gaffer.data.element.ElementTuple;
+import gaffer.data.element.Entity;
 import gaffer.data.element.IdentifierType;
+import gaffer.data.element.LazyEntity;
+import gaffer.data.element.SerialisedElementValueLoader;
 import gaffer.function.FilterFunction;
+import gaffer.function.SerialisedFilterFunction;
 import gaffer.function.context.ConsumerFunctionContext;
 import java.util.Collections;
 import org.junit.Test;
@@ -29,10 +33,12 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -150,4 +156,50 @@ public class ElementFilterTest {
 
         assertEquals(i, filter.getFunctions().size());
     }
+
+    @Test
+    public void shouldFilterLazyPropertyInSerialisedFormWithoutLoadingIt() {
+        // Given
+        final String propertyName = "property 1";
+        final SerialisedElementValueLoader loader = mock(SerialisedElementValueLoader.class);
+        final Element element = new LazyEntity(new Entity("group"), loader);
+        final SerialisedFilter function = mock(SerialisedFilter.class);
+        given(loader.filterSerialisedProperty(propertyName, function)).willReturn(false);
+
+        final ElementFilter filter = new ElementFilter.Builder()
+                .select(propertyName)
+                .execute(function)
+                .build();
+
+        // When
+        final boolean result = filter.filter(element);
+
+        // Then
+        assertFalse(result);
+        verify(loader, never()).getProperty(propertyName);
+    }
+
+    @Test
+    public void shouldLoadLazyPropertyWhenSerialisedFormCannotBeFiltered() {
+        // Given
+        final String propertyName = "property 1";
+        final SerialisedElementValueLoader loader = mock(SerialisedElementValueLoader.class);
+        final Element element = new LazyEntity(new Entity("group"), loader);
+        final SerialisedFilter function = mock(SerialisedFilter.class);
+        given(loader.filterSerialisedProperty(propertyName, function)).willReturn(null);
+
+        final ElementFilter filter = new ElementFilter.Builder()
+                .select(propertyName)
+                .execute(function)
+                .build();
+
+        // When
+        filter.filter(element);
+
+        // Then
+        verify(loader).getProperty(propertyName);
+    }
+
+    private abstract static class SerialisedFilter extends FilterFunction implements SerialisedFilterFunction {
+    }
 }
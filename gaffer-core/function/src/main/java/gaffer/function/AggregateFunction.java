@@ -41,6 +41,29 @@ public abstract class AggregateFunction extends ConsumerProducerFunction impleme
      */
     public abstract void aggregate(final Object[] input);
 
+    /**
+     * Execute this <code>AggregateFunction</code> with a single input value. This is used by
+     * {@link gaffer.function.processor.Aggregator} when exactly one value is selected, so functions that take a
+     * single input should override it to avoid wrapping the value in an array.
+     *
+     * @param input Input value.
+     */
+    public void aggregate(final Object input) {
+        aggregate(new Object[]{input});
+    }
+
+    /**
+     * Execute this <code>AggregateFunction</code> with two input values. This is used by
+     * {@link gaffer.function.processor.Aggregator} when exactly two values are selected, so functions that take two
+     * inputs should override it to avoid wrapping the values in an array.
+     *
+     * @param x First input value.
+     * @param y Second input value.
+     */
+    public void aggregate(final Object x, final Object y) {
+        aggregate(new Object[]{x, y});
+    }
+
     /**
      * @return Record containing the current state of this function.
      */
@@ -39,6 +39,31 @@ public abstract class FilterFunction extends ConsumerFunction {
      */
     public abstract boolean isValid(final Object[] input);
 
+    /**
+     * Executes this <code>FilterFunction</code> with a single input value. This is used by
+     * {@link gaffer.function.processor.Filter} when exactly one value is selected, so functions that take a single
+     * input should override it to avoid wrapping the value in an array.
+     *
+     * @param input Input value to test.
+     * @return true if input value passes the test.
+     */
+    public boolean test(final Object input) {
+        return isValid(new Object[]{input});
+    }
+
+    /**
+     * Executes this <code>FilterFunction</code> with two input values. This is used by
+     * {@link gaffer.function.processor.Filter} when exactly two values are selected, so functions that take two
+     * inputs should override it to avoid wrapping the values in an array.
+     *
+     * @param x First input value to test.
+     * @param y Second input value to test.
+     * @return true if input values pass the test.
+     */
+    public boolean test(final Object x, final Object y) {
+        return isValid(new Object[]{x, y});
+    }
+
     @Override
     public abstract FilterFunction statelessClone();
 }
@@ -0,0 +1,28 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.function;
+
+/**
+ * A <code>LowerBoundFilterFunction</code> is implemented by {@link FilterFunction}s that only accept
+ * {@link Comparable} input values that are more than, or equal to, a control value. Stores can use the
+ * control value to skip stored values that would be rejected without testing them.
+ */
+public interface LowerBoundFilterFunction {
+    /**
+     * @return the control value, no accepted input value is less than it.
+     */
+    Comparable getControlValue();
+}
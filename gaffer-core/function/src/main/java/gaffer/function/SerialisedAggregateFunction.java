@@ -0,0 +1,49 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.function;
+
+/**
+ * A <code>SerialisedAggregateFunction</code> is implemented by {@link AggregateFunction}s that are also able to
+ * aggregate input values in the form written by a particular serialiser, without deserialising them first. Stores can
+ * use this to merge stored values, e.g. during compactions, without creating an object for every value.
+ * <p>
+ * Serialised input is aggregated into the same internal state as deserialised input, so the state is reset by
+ * {@link #init()} and can be retrieved with either {@link #state()} or {@link #serialisedState()}.
+ */
+public interface SerialisedAggregateFunction {
+    /**
+     * @param serialiserClass the class of the serialiser used to serialise the input values.
+     * @return true if values written by the serialiser can be passed to
+     * {@link #aggregateSerialised(byte[], int, int)}.
+     */
+    boolean canAggregateSerialised(final Class<?> serialiserClass);
+
+    /**
+     * Aggregate a single serialised input value.
+     *
+     * @param bytes  the byte array containing the serialised value.
+     * @param offset the index of the first byte of the serialised value.
+     * @param length the number of bytes in the serialised value.
+     * @throws IllegalArgumentException if the bytes are not a valid serialised value.
+     */
+    void aggregateSerialised(final byte[] bytes, final int offset, final int length);
+
+    /**
+     * @return the current state of this function in its serialised form, or null if there is no state.
+     */
+    byte[] serialisedState();
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.function;
+
+/**
+ * A <code>SerialisedFilterFunction</code> is implemented by {@link FilterFunction}s that are also able to test
+ * input values in the form written by a particular serialiser, without deserialising them first. Stores can use this
+ * to filter stored values that are only deserialised on demand.
+ * <p>
+ * Testing a serialised value must give the same result as testing the deserialised value with
+ * {@link FilterFunction#isValid(Object[])}.
+ */
+public interface SerialisedFilterFunction {
+    /**
+     * @param serialiserClass the class of the serialiser used to serialise the input value.
+     * @return true if values written by the serialiser can be passed to
+     * {@link #isValidSerialised(byte[], int, int)}.
+     */
+    boolean canFilterSerialised(final Class<?> serialiserClass);
+
+    /**
+     * Test a single serialised input value.
+     *
+     * @param bytes  the byte array containing the serialised value.
+     * @param offset the index of the first byte of the serialised value.
+     * @param length the number of bytes in the serialised value.
+     * @return true if the value passes the filter.
+     * @throws IllegalArgumentException if the bytes are not a valid serialised value.
+     */
+    boolean isValidSerialised(final byte[] bytes, final int offset, final int length);
+}
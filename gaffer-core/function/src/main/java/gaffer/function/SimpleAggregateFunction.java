@@ -29,13 +29,23 @@ public abstract class SimpleAggregateFunction<T> extends AggregateFunction {
             throw new IllegalArgumentException("Expected an input array of length 1");
         }
 
+        aggregate(input[0]);
+    }
+
+    @Override
+    public void aggregate(final Object input) {
         try {
-            _aggregate((T) input[0]);
+            _aggregate((T) input);
         } catch (final ClassCastException e) {
             throw new IllegalArgumentException("Input does not match parametrised type");
         }
     }
 
+    @Override
+    public void aggregate(final Object x, final Object y) {
+        throw new IllegalArgumentException("Expected an input array of length 1");
+    }
+
     @Override
     public Object[] state() {
         return new Object[]{_state()};
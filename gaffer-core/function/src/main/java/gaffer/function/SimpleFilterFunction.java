@@ -29,12 +29,22 @@ public abstract class SimpleFilterFunction<T> extends FilterFunction {
             throw new IllegalArgumentException("Expected an input array of length 1");
         }
 
+        return test(input[0]);
+    }
+
+    @Override
+    public boolean test(final Object input) {
         try {
-            return isValid((T) input[0]);
+            return isValid((T) input);
         } catch (final ClassCastException e) {
             throw new IllegalArgumentException("Input does not match parametrised type");
         }
     }
 
+    @Override
+    public boolean test(final Object x, final Object y) {
+        throw new IllegalArgumentException("Expected an input array of length 1");
+    }
+
     protected abstract boolean isValid(final T input);
 }
@@ -16,6 +16,7 @@
 
 package gaffer.function.context;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import gaffer.function.ConsumerFunction;
 import gaffer.function.Tuple;
 import java.util.Arrays;
@@ -76,14 +77,32 @@ public class ConsumerFunctionContext<R, F extends ConsumerFunction> extends Func
      * @return Selected values.
      */
     public Object[] select(final Tuple<R> tuple) {
-        int i = 0;
-        for (R reference : selection) {
-            selected[i++] = tuple.get(reference);
+        for (int i = 0; i < selected.length; i++) {
+            selected[i] = tuple.get(selection.get(i));
         }
 
         return selected;
     }
 
+    /**
+     * Select a single value from an input {@link gaffer.function.Tuple}, without populating the selection container.
+     *
+     * @param tuple Input tuple to select from.
+     * @param index Index of the selection reference to use.
+     * @return Selected value.
+     */
+    public Object select(final Tuple<R> tuple, final int index) {
+        return tuple.get(selection.get(index));
+    }
+
+    /**
+     * @return The number of values selected from each input {@link gaffer.function.Tuple}.
+     */
+    @JsonIgnore
+    public int getSelectionSize() {
+        return selected.length;
+    }
+
     /**
      * Implementation of the Builder pattern for {@link gaffer.function.context.ConsumerFunctionContext}.
      *
@@ -59,9 +59,26 @@ public class Aggregator<R> extends Processor<R, PassThroughFunctionContext<R, Ag
             initialised = true;
         }
         for (PassThroughFunctionContext<R, AggregateFunction> functionContext : functions) {
-            Object[] selection = functionContext.select(tuple);
-            if (selection != null && hasNonNullValues(selection)) {
-                functionContext.getFunction().aggregate(selection);
+            switch (functionContext.getSelectionSize()) {
+                case 1:
+                    final Object value = functionContext.select(tuple, 0);
+                    if (null != value) {
+                        functionContext.getFunction().aggregate(value);
+                    }
+                    break;
+                case 2:
+                    final Object x = functionContext.select(tuple, 0);
+                    final Object y = functionContext.select(tuple, 1);
+                    if (null != x || null != y) {
+                        functionContext.getFunction().aggregate(x, y);
+                    }
+                    break;
+                default:
+                    final Object[] selection = functionContext.select(tuple);
+                    if (selection != null && hasNonNullValues(selection)) {
+                        functionContext.getFunction().aggregate(selection);
+                    }
+                    break;
             }
         }
     }
@@ -120,13 +120,25 @@ public class Filter<R> extends Processor<R, ConsumerFunctionContext<R, FilterFun
         }
 
         for (ConsumerFunctionContext<R, FilterFunction> functionContext : functions) {
-            FilterFunction function = functionContext.getFunction();
-            Object[] selection = functionContext.select(tuple);
-            boolean result = function.isValid(selection);
+            final FilterFunction function = functionContext.getFunction();
+            final boolean result;
+            switch (functionContext.getSelectionSize()) {
+                case 1:
+                    result = test(functionContext, tuple);
+                    break;
+                case 2:
+                    result = function.test(functionContext.select(tuple, 0), functionContext.select(tuple, 1));
+                    break;
+                default:
+                    result = function.isValid(functionContext.select(tuple));
+                    break;
+            }
 
             if (!result) {
-                LOGGER.debug(function.getClass().getName() + " filtered out "
-                        + Arrays.toString(selection) + " from input: " + tuple);
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug(function.getClass().getName() + " filtered out "
+                            + Arrays.toString(functionContext.select(tuple)) + " from input: " + tuple);
+                }
                 return false;
             }
         }
@@ -134,6 +146,19 @@ public class Filter<R> extends Processor<R, ConsumerFunctionContext<R, FilterFun
         return true;
     }
 
+    /**
+     * Test the single value selected by a {@link gaffer.function.context.ConsumerFunctionContext} from an input
+     * {@link gaffer.function.Tuple}. Subclasses can override this to test values without fully loading them from
+     * the tuple.
+     *
+     * @param functionContext {@link gaffer.function.context.ConsumerFunctionContext} selecting a single value.
+     * @param tuple           {@link gaffer.function.Tuple} to be filtered.
+     * @return the result of the filter function.
+     */
+    protected boolean test(final ConsumerFunctionContext<R, FilterFunction> functionContext, final Tuple<R> tuple) {
+        return functionContext.getFunction().test(functionContext.select(tuple, 0));
+    }
+
     /**
      * Implementation of the Builder pattern for {@link gaffer.function.processor.Filter}.
      *
@@ -118,4 +118,24 @@ public class ConsumerFunctionContextTest {
         // Then
         assertArrayEquals(values, selectedValues);
     }
+
+    @Test
+    public void shouldSelectSingleValueFromTupleByIndex() {
+        // Given
+        final String reference1 = "reference 1";
+        final String reference2 = "reference 2";
+        final String value2 = "value 2";
+        final Tuple<Object> tuple = mock(Tuple.class);
+        given(tuple.get(reference2)).willReturn(value2);
+
+        final ConsumerFunctionContext<Object, ConsumerFunction> context = new ConsumerFunctionContext<>();
+        context.setSelection(Arrays.asList((Object) reference1, reference2));
+
+        // When
+        final Object selectedValue = context.select(tuple, 1);
+
+        // Then
+        assertEquals(2, context.getSelectionSize());
+        assertEquals(value2, selectedValue);
+    }
 }
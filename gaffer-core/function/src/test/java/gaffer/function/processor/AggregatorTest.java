@@ -191,6 +191,41 @@ public class AggregatorTest {
     }
 
 
+    @Test
+    public void shouldPassSingleSelectedValueToAggregateFunctionWithoutArray() {
+        // Given
+        final String reference = "reference1";
+        final String value = "property value";
+        final Aggregator<String> aggregator = new Aggregator<>();
+        aggregator.addFunction(new PassThroughFunctionContext<>(function1, Collections.singletonList(reference)));
+        final Tuple<String> tuple = mock(Tuple.class);
+        given(tuple.get(reference)).willReturn(value);
+
+        // When
+        aggregator.aggregate(tuple);
+
+        // Then
+        verify(function1).aggregate((Object) value);
+        verify(function1, never()).aggregate(Mockito.any(Object[].class));
+    }
+
+    @Test
+    public void shouldNotCallAggregateFunctionIfSingleSelectedValueIsNull() {
+        // Given
+        final String reference = "reference1";
+        final Aggregator<String> aggregator = new Aggregator<>();
+        aggregator.addFunction(new PassThroughFunctionContext<>(function1, Collections.singletonList(reference)));
+        final Tuple<String> tuple = mock(Tuple.class);
+        given(tuple.get(reference)).willReturn(null);
+
+        // When
+        aggregator.aggregate(tuple);
+
+        // Then
+        verify(function1, never()).aggregate((Object) Mockito.any());
+        verify(function1, never()).aggregate(Mockito.any(Object[].class));
+    }
+
     @Test
     public void shouldNotDoNothingIfStateCalledWithNoFunctions() {
         // Given
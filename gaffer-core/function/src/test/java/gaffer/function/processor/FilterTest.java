@@ -23,7 +23,9 @@ import gaffer.function.context.PassThroughFunctionContext;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -34,6 +36,7 @@ import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 public class FilterTest {
@@ -184,6 +187,51 @@ public class FilterTest {
         assertFalse(result);
     }
 
+    @Test
+    public void shouldPassSingleSelectedValueToFilterFunctionWithoutArray() {
+        // Given
+        final String reference = "reference1";
+        final String value = "property value";
+        final ConsumerFunctionContext<String, FilterFunction> functionContext1 =
+                new ConsumerFunctionContext<>(function1, Collections.singletonList(reference));
+        final Filter<String> filter = new Filter<>(functionContext1);
+        final Tuple<String> tuple = mock(Tuple.class);
+        given(tuple.get(reference)).willReturn(value);
+        given(function1.test(value)).willReturn(true);
+
+        // When
+        final boolean result = filter.filter(tuple);
+
+        // Then
+        assertTrue(result);
+        verify(function1).test(value);
+        verify(function1, never()).isValid(Mockito.any(Object[].class));
+    }
+
+    @Test
+    public void shouldPassTwoSelectedValuesToFilterFunctionWithoutArray() {
+        // Given
+        final String reference1 = "reference1";
+        final String reference2 = "reference2";
+        final String value1 = "property value1";
+        final String value2 = "property value2";
+        final ConsumerFunctionContext<String, FilterFunction> functionContext1 =
+                new ConsumerFunctionContext<>(function1, Arrays.asList(reference1, reference2));
+        final Filter<String> filter = new Filter<>(functionContext1);
+        final Tuple<String> tuple = mock(Tuple.class);
+        given(tuple.get(reference1)).willReturn(value1);
+        given(tuple.get(reference2)).willReturn(value2);
+        given(function1.test(value1, value2)).willReturn(false);
+
+        // When
+        final boolean result = filter.filter(tuple);
+
+        // Then
+        assertFalse(result);
+        verify(function1).test(value1, value2);
+        verify(function1, never()).isValid(Mockito.any(Object[].class));
+    }
+
     @Test
     public void shouldCloneFilter() {
         // Given
@@ -27,6 +27,7 @@ import gaffer.store.Store;
 import gaffer.store.StoreException;
 import gaffer.store.StoreProperties;
 import gaffer.store.StoreTrait;
+import gaffer.store.metrics.OperationMetrics;
 import gaffer.store.schema.Schema;
 import gaffer.user.User;
 import org.apache.commons.io.IOUtils;
@@ -180,6 +181,24 @@ public final class Graph {
         return store.getTraits();
     }
 
+    /**
+     * Returns the metrics recorded by the contained {@link Store} implementation.
+     *
+     * @return the store {@link OperationMetrics}.
+     */
+    public OperationMetrics getStoreMetrics() {
+        return store.getMetrics();
+    }
+
+    /**
+     * Closes the contained {@link Store} implementation, releasing any resources it holds.
+     *
+     * @throws StoreException if the store could not be closed
+     */
+    public void close() throws StoreException {
+        store.close();
+    }
+
     /**
      * Builder for {@link Graph}.
      */
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.graph.hook;
+
+import com.google.common.collect.MapMaker;
+import gaffer.operation.Operation;
+import gaffer.operation.OperationChain;
+import gaffer.store.metrics.OperationMetrics;
+import gaffer.user.User;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A <code>MetricsHook</code> is a {@link GraphHook} that records the latency of the operation chains
+ * executed on a graph. Latencies are recorded for all operation chains under {@link #OPERATION_CHAIN}
+ * and for each combination of operations, named by the comma separated operation class names, so expensive
+ * types of query can be identified. The latency of each individual operation is recorded by the
+ * {@link gaffer.store.Store}, also keyed by operation class name.
+ * <p>
+ * If an operation chain returns a lazy {@link Iterable} then only the time taken to create the
+ * result is recorded, not the time taken to iterate it.
+ */
+public class MetricsHook implements GraphHook {
+    public static final String OPERATION_CHAIN = "OperationChain";
+
+    private final OperationMetrics metrics;
+
+    // Weak keys so chains that fail before postExecute is called are not retained. Weak keys are also
+    // compared by identity, which is needed as operation chains do not implement equals and hashCode.
+    private final ConcurrentMap<OperationChain<?>, ChainTiming> timings = new MapMaker().weakKeys().makeMap();
+
+    public MetricsHook() {
+        this(new OperationMetrics());
+    }
+
+    public MetricsHook(final OperationMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Records the start time of the operation chain.
+     *
+     * @param opChain the operation chain being executed
+     * @param user    the user executing the operation chain
+     */
+    @Override
+    public void preExecute(final OperationChain<?> opChain, final User user) {
+        // The name is created before execution as the store may optimise the operations in the chain.
+        timings.put(opChain, new ChainTiming(getName(opChain), System.nanoTime()));
+    }
+
+    /**
+     * Records the latency of the operation chain.
+     *
+     * @param result  the result from the operation chain
+     * @param opChain the operation chain that was executed
+     * @param user    the user who executed the operation chain
+     */
+    @Override
+    public void postExecute(final Object result, final OperationChain<?> opChain, final User user) {
+        final ChainTiming timing = timings.remove(opChain);
+        if (null != timing) {
+            final long latency = System.nanoTime() - timing.startTime;
+            metrics.recordLatency(OPERATION_CHAIN, latency);
+            metrics.recordLatency(timing.name, latency);
+        }
+    }
+
+    public OperationMetrics getMetrics() {
+        return metrics;
+    }
+
+    private static String getName(final OperationChain<?> opChain) {
+        final StringBuilder name = new StringBuilder();
+        for (final Operation operation : opChain.getOperations()) {
+            if (name.length() > 0) {
+                name.append(",");
+            }
+            name.append(operation.getClass().getName());
+        }
+
+        return name.toString();
+    }
+
+    private static final class ChainTiming {
+        private final String name;
+        private final long startTime;
+
+        private ChainTiming(final String name, final long startTime) {
+            this.name = name;
+            this.startTime = startTime;
+        }
+    }
+}
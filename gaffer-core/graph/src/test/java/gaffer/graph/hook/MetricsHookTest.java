@@ -0,0 +1,80 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.graph.hook;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import gaffer.operation.OperationChain;
+import gaffer.operation.impl.generate.GenerateObjects;
+import gaffer.operation.impl.get.GetAdjacentEntitySeeds;
+import gaffer.store.metrics.OperationMetrics;
+import gaffer.user.User;
+import org.junit.Test;
+
+public class MetricsHookTest {
+    @Test
+    public void shouldRecordOperationChainLatency() {
+        // Given
+        final MetricsHook hook = new MetricsHook();
+        final OperationChain opChain = new OperationChain.Builder()
+                .first(new GetAdjacentEntitySeeds())
+                .then(new GenerateObjects())
+                .build();
+        final User user = new User();
+
+        // When
+        hook.preExecute(opChain, user);
+        hook.postExecute(null, opChain, user);
+
+        // Then
+        final OperationMetrics metrics = hook.getMetrics();
+        assertEquals(1, metrics.getLatency(MetricsHook.OPERATION_CHAIN).getCount());
+        assertEquals(1, metrics.getLatency(GetAdjacentEntitySeeds.class.getName() + "," + GenerateObjects.class.getName()).getCount());
+    }
+
+    @Test
+    public void shouldRecordLatencyOfEachOperationChainInstance() {
+        // Given
+        final MetricsHook hook = new MetricsHook();
+        final OperationChain opChain1 = new OperationChain<>(new GetAdjacentEntitySeeds());
+        final OperationChain opChain2 = new OperationChain<>(new GetAdjacentEntitySeeds());
+        final User user = new User();
+
+        // When
+        hook.preExecute(opChain1, user);
+        hook.preExecute(opChain2, user);
+        hook.postExecute(null, opChain1, user);
+        hook.postExecute(null, opChain2, user);
+
+        // Then
+        assertEquals(2, hook.getMetrics().getLatency(MetricsHook.OPERATION_CHAIN).getCount());
+        assertEquals(2, hook.getMetrics().getLatency(GetAdjacentEntitySeeds.class.getName()).getCount());
+    }
+
+    @Test
+    public void shouldNotRecordLatencyWhenPreExecuteWasNotCalled() {
+        // Given
+        final MetricsHook hook = new MetricsHook();
+        final OperationChain opChain = new OperationChain<>(new GetAdjacentEntitySeeds());
+
+        // When
+        hook.postExecute(null, opChain, new User());
+
+        // Then
+        assertNull(hook.getMetrics().getLatency(MetricsHook.OPERATION_CHAIN));
+    }
+}
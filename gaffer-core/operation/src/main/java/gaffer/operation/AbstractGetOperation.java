@@ -37,6 +37,7 @@ public abstract class AbstractGetOperation<SEED_TYPE, RESULT_TYPE>
     private boolean summarise = false;
     private boolean populateProperties = true;
     private boolean deduplicate = false;
+    private Integer resultLimit;
 
     protected AbstractGetOperation() {
         super();
@@ -184,6 +185,16 @@ public abstract class AbstractGetOperation<SEED_TYPE, RESULT_TYPE>
         this.deduplicate = deduplicate;
     }
 
+    @Override
+    public Integer getResultLimit() {
+        return resultLimit;
+    }
+
+    @Override
+    public void setResultLimit(final Integer resultLimit) {
+        this.resultLimit = resultLimit;
+    }
+
     public static class Builder<OP_TYPE extends AbstractGetOperation<SEED_TYPE, RESULT_TYPE>, SEED_TYPE, RESULT_TYPE>
             extends AbstractOperation.Builder<OP_TYPE, Iterable<SEED_TYPE>, Iterable<RESULT_TYPE>> {
         private List<SEED_TYPE> seeds;
@@ -288,5 +299,15 @@ public abstract class AbstractGetOperation<SEED_TYPE, RESULT_TYPE>
             op.setPopulateProperties(populateProperties);
             return this;
         }
+
+        /**
+         * @param resultLimit sets the result limit on the operation.
+         * @return this Builder
+         * @see gaffer.operation.GetOperation#setResultLimit(Integer)
+         */
+        protected Builder<OP_TYPE, SEED_TYPE, RESULT_TYPE> resultLimit(final Integer resultLimit) {
+            op.setResultLimit(resultLimit);
+            return this;
+        }
     }
 }
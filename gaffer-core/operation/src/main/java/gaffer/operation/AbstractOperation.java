@@ -26,7 +26,7 @@ import gaffer.data.elementdefinition.view.ViewElementDefinition;
 import java.util.HashMap;
 import java.util.Map;
 
-public abstract class AbstractOperation<INPUT, OUTPUT> implements Operation<INPUT, OUTPUT> {
+public abstract class AbstractOperation<INPUT, OUTPUT> implements Operation<INPUT, OUTPUT>, Cloneable {
     /**
      * The operation view. This allows filters and transformations to be applied to the graph.
      */
@@ -135,6 +135,26 @@ public abstract class AbstractOperation<INPUT, OUTPUT> implements Operation<INPU
         return this.options.get(name);
     }
 
+    /**
+     * Creates a shallow copy of this operation, so the fields of the copy can be changed without changing this
+     * operation. The input, view and option values are shared with this operation.
+     *
+     * @return a shallow copy of this operation
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public AbstractOperation<INPUT, OUTPUT> clone() {
+        final AbstractOperation<INPUT, OUTPUT> clone;
+        try {
+            clone = (AbstractOperation<INPUT, OUTPUT>) super.clone();
+        } catch (final CloneNotSupportedException e) {
+            throw new IllegalStateException("Unable to clone operation: " + getClass().getName(), e);
+        }
+
+        clone.options = new HashMap<>(options);
+        return clone;
+    }
+
     @JsonGetter("options")
     Map<String, String> getJsonOptions() {
         return options.isEmpty() ? null : options;
@@ -155,4 +155,17 @@ public interface GetOperation<SEED_TYPE, RETURN_TYPE>
     boolean isDeduplicate();
 
     void setDeduplicate(final boolean deduplicate);
+
+    /**
+     * @return the maximum number of results the operation should return, or null if the results are not limited.
+     */
+    Integer getResultLimit();
+
+    /**
+     * Sets a limit on the number of results. Stores may use this to stop retrieving results early,
+     * however the limit is a hint so stores that do not support it may return more results.
+     *
+     * @param resultLimit the maximum number of results to return, or null for no limit.
+     */
+    void setResultLimit(final Integer resultLimit);
 }
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.operation.impl;
+
+import gaffer.operation.AbstractOperation;
+
+/**
+ * A <code>Limit</code> operation takes in an {@link Iterable} of items
+ * and returns at most resultLimit of them. If the limit is not set then
+ * all the items are returned.
+ *
+ * @see Limit.Builder
+ */
+public class Limit<T> extends AbstractOperation<Iterable<T>, Iterable<T>> {
+    private Integer resultLimit;
+
+    public Limit() {
+        this(null);
+    }
+
+    public Limit(final Integer resultLimit) {
+        this.resultLimit = resultLimit;
+    }
+
+    public Integer getResultLimit() {
+        return resultLimit;
+    }
+
+    public void setResultLimit(final Integer resultLimit) {
+        this.resultLimit = resultLimit;
+    }
+
+    public static class Builder<T> extends AbstractOperation.Builder<Limit<T>, Iterable<T>, Iterable<T>> {
+
+        public Builder() {
+            super(new Limit<T>());
+        }
+
+        /**
+         * @param input the input to set on the operation
+         * @return this Builder
+         * @see gaffer.operation.Operation#setInput(Object)
+         */
+        protected Builder<T> input(final Iterable<T> input) {
+            return (Builder<T>) super.input(input);
+        }
+
+        /**
+         * @param resultLimit the maximum number of items to return.
+         * @return this Builder
+         * @see Limit#setResultLimit(Integer)
+         */
+        public Builder<T> resultLimit(final Integer resultLimit) {
+            op.setResultLimit(resultLimit);
+            return this;
+        }
+
+        @Override
+        public Builder<T> option(final String name, final String value) {
+            super.option(name, value);
+            return this;
+        }
+    }
+}
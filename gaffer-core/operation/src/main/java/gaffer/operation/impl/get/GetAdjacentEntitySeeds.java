@@ -107,6 +107,12 @@ public class GetAdjacentEntitySeeds extends AbstractGetOperation<EntitySeed, Ent
             return this;
         }
 
+        @Override
+        public Builder resultLimit(final Integer resultLimit) {
+            super.resultLimit(resultLimit);
+            return this;
+        }
+
         @Override
         public Builder view(final View view) {
             super.view(view);
@@ -93,6 +93,12 @@ public class GetAllEdges extends GetAllElements<Edge> {
             return this;
         }
 
+        @Override
+        public Builder resultLimit(final Integer resultLimit) {
+            super.resultLimit(resultLimit);
+            return this;
+        }
+
         @Override
         public Builder view(final View view) {
             super.view(view);
@@ -121,6 +121,12 @@ public class GetAllElements<ELEMENT_TYPE extends Element>
             return this;
         }
 
+        @Override
+        public Builder<ELEMENT_TYPE> resultLimit(final Integer resultLimit) {
+            super.resultLimit(resultLimit);
+            return this;
+        }
+
         @Override
         public Builder<ELEMENT_TYPE> view(final View view) {
             super.view(view);
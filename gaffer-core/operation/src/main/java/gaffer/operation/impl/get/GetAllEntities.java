@@ -96,6 +96,12 @@ public class GetAllEntities extends GetAllElements<Entity> {
             return this;
         }
 
+        @Override
+        public Builder resultLimit(final Integer resultLimit) {
+            super.resultLimit(resultLimit);
+            return this;
+        }
+
         @Override
         public Builder view(final View view) {
             super.view(view);
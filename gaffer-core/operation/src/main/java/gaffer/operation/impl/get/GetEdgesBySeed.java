@@ -109,6 +109,12 @@ public class GetEdgesBySeed extends GetEdges<EdgeSeed> {
             return this;
         }
 
+        @Override
+        public Builder resultLimit(final Integer resultLimit) {
+            super.resultLimit(resultLimit);
+            return this;
+        }
+
         @Override
         public Builder view(final View view) {
             super.view(view);
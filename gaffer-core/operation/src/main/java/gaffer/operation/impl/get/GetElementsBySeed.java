@@ -125,6 +125,12 @@ public class GetElementsBySeed<SEED_TYPE extends ElementSeed, ELEMENT_TYPE exten
             return this;
         }
 
+        @Override
+        public Builder<SEED_TYPE, ELEMENT_TYPE> resultLimit(final Integer resultLimit) {
+            super.resultLimit(resultLimit);
+            return this;
+        }
+
         @Override
         public Builder<SEED_TYPE, ELEMENT_TYPE> view(final View view) {
             super.view(view);
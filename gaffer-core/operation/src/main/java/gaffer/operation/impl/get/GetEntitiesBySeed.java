@@ -91,6 +91,12 @@ public class GetEntitiesBySeed extends GetEntities<EntitySeed> {
             return this;
         }
 
+        @Override
+        public Builder resultLimit(final Integer resultLimit) {
+            super.resultLimit(resultLimit);
+            return this;
+        }
+
         @Override
         public Builder view(final View view) {
             super.view(view);
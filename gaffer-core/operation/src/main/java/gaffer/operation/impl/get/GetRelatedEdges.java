@@ -109,6 +109,12 @@ public class GetRelatedEdges<ELEMENT_SEED extends ElementSeed> extends GetEdges<
             return this;
         }
 
+        @Override
+        public Builder<ELEMENT_SEED> resultLimit(final Integer resultLimit) {
+            super.resultLimit(resultLimit);
+            return this;
+        }
+
         @Override
         public Builder<ELEMENT_SEED> view(final View view) {
             super.view(view);
@@ -107,6 +107,12 @@ public class GetRelatedElements<SEED_TYPE extends ElementSeed, ELEMENT_TYPE exte
             return this;
         }
 
+        @Override
+        public Builder<SEED_TYPE, ELEMENT_TYPE> resultLimit(final Integer resultLimit) {
+            super.resultLimit(resultLimit);
+            return this;
+        }
+
         @Override
         public Builder<SEED_TYPE, ELEMENT_TYPE> view(final View view) {
             super.view(view);
@@ -120,6 +120,12 @@ public class GetRelatedEntities<ELEMENT_SEED extends ElementSeed> extends GetEnt
             return this;
         }
 
+        @Override
+        public Builder<ELEMENT_SEED> resultLimit(final Integer resultLimit) {
+            super.resultLimit(resultLimit);
+            return this;
+        }
+
         @Override
         public Builder<ELEMENT_SEED> view(final View view) {
             super.view(view);
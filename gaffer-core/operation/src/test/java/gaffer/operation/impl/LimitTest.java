@@ -0,0 +1,60 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.operation.impl;
+
+import static org.junit.Assert.assertEquals;
+
+import com.google.common.collect.Lists;
+import gaffer.exception.SerialisationException;
+import gaffer.jsonserialisation.JSONSerialiser;
+import gaffer.operation.OperationTest;
+import org.junit.Test;
+import java.util.Arrays;
+
+public class LimitTest implements OperationTest {
+    private static final JSONSerialiser serialiser = new JSONSerialiser();
+
+    @Test
+    @Override
+    public void shouldSerialiseAndDeserialiseOperation() throws SerialisationException {
+        // Given
+        final Limit<String> op = new Limit<>(1);
+
+        // When
+        byte[] json = serialiser.serialise(op, true);
+        final Limit deserialisedOp = serialiser.deserialise(json, Limit.class);
+
+        // Then
+        assertEquals(1, (int) deserialisedOp.getResultLimit());
+    }
+
+    @Test
+    @Override
+    public void builderShouldCreatePopulatedOperation() {
+        // When
+        final Limit<String> limit = new Limit.Builder<String>()
+                .input(Arrays.asList("1", "2"))
+                .resultLimit(1)
+                .option("testOption", "true")
+                .build();
+
+        // Then
+        assertEquals(1, (int) limit.getResultLimit());
+        assertEquals(Arrays.asList("1", "2"), Lists.newArrayList(limit.getInput()));
+        assertEquals("true", limit.getOption("testOption"));
+    }
+}
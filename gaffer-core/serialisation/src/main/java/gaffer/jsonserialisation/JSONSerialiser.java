@@ -29,7 +29,6 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import gaffer.exception.SerialisationException;
-import sun.misc.IOUtils;
 import java.io.IOException;
 import java.io.InputStream;
 
@@ -140,6 +139,8 @@ public class JSONSerialiser {
     }
 
     /**
+     * The stream is parsed incrementally, rather than being read into memory first, and is closed afterwards.
+     *
      * @param stream the {@link java.io.InputStream} containing the bytes of the object to deserialise
      * @param clazz   the class of the object to deserialise
      * @param <T>    the type of the object
@@ -148,8 +149,7 @@ public class JSONSerialiser {
      */
     public <T> T deserialise(final InputStream stream, final Class<T> clazz) throws SerialisationException {
         try (final InputStream stream2 = stream) {
-            final byte[] bytes = IOUtils.readFully(stream2, stream.available(), true);
-            return deserialise(bytes, clazz);
+            return mapper.readValue(stream2, clazz);
         } catch (IOException e) {
             throw new SerialisationException(e.getMessage(), e);
         }
@@ -171,6 +171,8 @@ public class JSONSerialiser {
     }
 
     /**
+     * The stream is parsed incrementally, rather than being read into memory first, and is closed afterwards.
+     *
      * @param stream the {@link java.io.InputStream} containing the bytes of the object to deserialise
      * @param type   the type reference of the object to deserialise
      * @param <T>    the type of the object
@@ -179,8 +181,7 @@ public class JSONSerialiser {
      */
     public <T> T deserialise(final InputStream stream, final TypeReference<T> type) throws SerialisationException {
         try (final InputStream stream2 = stream) {
-            final byte[] bytes = IOUtils.readFully(stream2, stream.available(), true);
-            return deserialise(bytes, type);
+            return mapper.readValue(stream2, type);
         } catch (IOException e) {
             throw new SerialisationException(e.getMessage(), e);
         }
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.serialisation;
+
+import gaffer.exception.SerialisationException;
+
+import java.io.OutputStream;
+
+/**
+ * An <code>OffsetSerialisation</code> is a {@link Serialisation} that can write its serialised form
+ * straight to an {@link OutputStream} and read it back from a slice of a larger byte array. This
+ * avoids copying the serialised bytes into and out of intermediate arrays when several values are
+ * packed together, e.g. the properties stored in an Accumulo value.
+ *
+ * @see SerialisationUtils
+ */
+public interface OffsetSerialisation extends Serialisation {
+
+    /**
+     * Serialises the object and writes the serialised bytes to the provided {@link OutputStream}.
+     * The same bytes as {@link #serialise(Object)} must be written. The output stream is not closed.
+     *
+     * @param object the object to be serialised
+     * @param out    the output stream to write the serialised bytes to
+     * @throws SerialisationException if the object fails to serialise
+     */
+    void serialise(final Object object, final OutputStream out) throws SerialisationException;
+
+    /**
+     * Deserialises an object from the given slice of a byte array, without copying the slice.
+     *
+     * @param bytes  the byte array containing the serialised bytes
+     * @param offset the index of the first serialised byte
+     * @param length the number of serialised bytes
+     * @return Object the deserialised object
+     * @throws SerialisationException if the object fails to deserialise
+     */
+    Object deserialise(final byte[] bytes, final int offset, final int length) throws SerialisationException;
+}
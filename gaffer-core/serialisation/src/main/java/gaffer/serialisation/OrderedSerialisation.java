@@ -0,0 +1,35 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.serialisation;
+
+/**
+ * An <code>OrderedSerialisation</code> is an {@link OffsetSerialisation} whose serialised bytes sort, when compared
+ * lexicographically as unsigned bytes, in the same order as the objects they were serialised from. This allows
+ * stores that keep their data sorted by bytes, e.g. Accumulo, to seek directly to a range of values rather than
+ * reading and filtering every value.
+ */
+public interface OrderedSerialisation extends OffsetSerialisation {
+
+    /**
+     * Whether every object is serialised to the same number of bytes. Ordering is only preserved across a
+     * sequence of serialised values, e.g. several properties written one after another, if each value has a
+     * fixed length.
+     *
+     * @return true if every serialised value has the same length
+     */
+    boolean isFixedLength();
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.serialisation;
+
+import gaffer.exception.SerialisationException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Utility methods for using any {@link Serialisation} with streams and byte array slices.
+ * If the serialiser is an {@link OffsetSerialisation} the serialised bytes are not copied,
+ * otherwise the methods fall back to the byte array methods of {@link Serialisation}.
+ */
+public final class SerialisationUtils {
+
+    private SerialisationUtils() {
+    }
+
+    /**
+     * Serialises the object with the given serialiser and writes the bytes to the output stream.
+     *
+     * @param serialiser the serialiser to use
+     * @param object     the object to be serialised
+     * @param out        the output stream to write the serialised bytes to
+     * @throws SerialisationException if the object fails to serialise
+     */
+    public static void serialise(final Serialisation serialiser, final Object object, final OutputStream out)
+            throws SerialisationException {
+        if (serialiser instanceof OffsetSerialisation) {
+            ((OffsetSerialisation) serialiser).serialise(object, out);
+        } else {
+            try {
+                out.write(serialiser.serialise(object));
+            } catch (final IOException e) {
+                throw new SerialisationException("Unable to write serialised bytes", e);
+            }
+        }
+    }
+
+    /**
+     * Deserialises an object from the given slice of a byte array with the given serialiser.
+     *
+     * @param serialiser the serialiser to use
+     * @param bytes      the byte array containing the serialised bytes
+     * @param offset     the index of the first serialised byte
+     * @param length     the number of serialised bytes
+     * @return the deserialised object
+     * @throws SerialisationException if the object fails to deserialise
+     */
+    public static Object deserialise(final Serialisation serialiser, final byte[] bytes, final int offset,
+                                     final int length) throws SerialisationException {
+        if (serialiser instanceof OffsetSerialisation) {
+            return ((OffsetSerialisation) serialiser).deserialise(bytes, offset, length);
+        }
+
+        if (0 == offset && bytes.length == length) {
+            return serialiser.deserialise(bytes);
+        }
+        return serialiser.deserialise(Arrays.copyOfRange(bytes, offset, offset + length));
+    }
+}
@@ -17,7 +17,7 @@
 package gaffer.serialisation.implementation;
 
 import gaffer.exception.SerialisationException;
-import gaffer.serialisation.Serialisation;
+import gaffer.serialisation.OffsetSerialisation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.io.ByteArrayInputStream;
@@ -27,12 +27,13 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.io.OutputStream;
 import java.io.Serializable;
 
 /**
  * This class is used to serialise and deserialise objects in java.
  */
-public class JavaSerialiser implements Serialisation {
+public class JavaSerialiser implements OffsetSerialisation {
     private static final long serialVersionUID = 2073581763875104361L;
     private static final Class<Serializable> SERIALISABLE = Serializable.class;
     private static final Logger LOGGER = LoggerFactory.getLogger(JavaSerialiser.class);
@@ -53,8 +54,25 @@ public class JavaSerialiser implements Serialisation {
         }
     }
 
+    @Override
+    public void serialise(final Object object, final OutputStream out) throws SerialisationException {
+        try {
+            // The ObjectOutputStream is flushed rather than closed so the provided stream is left open.
+            final ObjectOutputStream objectOut = new ObjectOutputStream(out);
+            objectOut.writeObject(object);
+            objectOut.flush();
+        } catch (IOException e) {
+            throw new SerialisationException("Unable to serialise given object of class: " + object.getClass().getName() + ", does it implement the serializable interface?", e);
+        }
+    }
+
     public Object deserialise(final byte[] bytes) throws SerialisationException {
-        try (final InputStream inputStream = new ByteArrayInputStream(bytes);
+        return deserialise(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public Object deserialise(final byte[] bytes, final int offset, final int length) throws SerialisationException {
+        try (final InputStream inputStream = new ByteArrayInputStream(bytes, offset, length);
              final ObjectInputStream is = new ObjectInputStream(inputStream)) {
             return is.readObject();
         } catch (ClassNotFoundException | IOException e) {
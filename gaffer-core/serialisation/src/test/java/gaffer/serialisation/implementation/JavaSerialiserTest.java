@@ -20,13 +20,17 @@ import gaffer.exception.SerialisationException;
 import gaffer.serialisation.test.ParameterisedTestObject;
 import gaffer.serialisation.test.SimpleTestObject;
 import org.junit.Test;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 public class JavaSerialiserTest {
 
     final private JavaSerialiser SERIALISER = new JavaSerialiser();
+    private static final int PADDING = 7;
 
     @Test
     public void testPrimitiveSerialisation() throws SerialisationException {
@@ -109,4 +113,20 @@ public class JavaSerialiserTest {
         final Integer o = SERIALISER.deserialise(b, Integer.class);
     }
 
+    @Test
+    public void shouldSerialiseToStreamAndDeserialiseFromOffset() throws SerialisationException {
+        // Given
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(PADDING);
+
+        // When
+        SERIALISER.serialise("test value", out);
+        out.write(PADDING);
+        final byte[] bytes = out.toByteArray();
+        final Object o = SERIALISER.deserialise(bytes, 1, bytes.length - 2);
+
+        // Then
+        assertArrayEquals(SERIALISER.serialise("test value"), Arrays.copyOfRange(bytes, 1, bytes.length - 1));
+        assertEquals("test value", o);
+    }
 }
@@ -17,9 +17,15 @@
 package gaffer.store;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.commonutil.iterable.CloseableIterator;
+import gaffer.commonutil.iterable.PipelinedIterable;
+import gaffer.commonutil.iterable.WrappedCloseableIterable;
+import gaffer.commonutil.iterable.WrappedCloseableIterator;
 import gaffer.data.element.Element;
 import gaffer.data.element.IdentifierType;
 import gaffer.data.elementdefinition.exception.SchemaException;
+import gaffer.operation.GetOperation;
 import gaffer.operation.Operation;
 import gaffer.operation.OperationChain;
 import gaffer.operation.OperationException;
@@ -27,6 +33,7 @@ import gaffer.operation.data.ElementSeed;
 import gaffer.operation.data.EntitySeed;
 import gaffer.operation.impl.CountGroups;
 import gaffer.operation.impl.Deduplicate;
+import gaffer.operation.impl.Limit;
 import gaffer.operation.impl.Validate;
 import gaffer.operation.impl.add.AddElements;
 import gaffer.operation.impl.export.FetchExport;
@@ -48,8 +55,11 @@ import gaffer.operation.impl.get.GetRelatedEdges;
 import gaffer.operation.impl.get.GetRelatedElements;
 import gaffer.operation.impl.get.GetRelatedEntities;
 import gaffer.serialisation.Serialisation;
+import gaffer.store.cache.OperationChainCache;
+import gaffer.store.metrics.OperationMetrics;
 import gaffer.store.operation.handler.CountGroupsHandler;
 import gaffer.store.operation.handler.DeduplicateHandler;
+import gaffer.store.operation.handler.LimitHandler;
 import gaffer.store.operation.handler.OperationHandler;
 import gaffer.store.operation.handler.ValidateHandler;
 import gaffer.store.operation.handler.export.FetchExportHandler;
@@ -63,6 +73,7 @@ import gaffer.store.operationdeclaration.OperationDeclaration;
 import gaffer.store.operationdeclaration.OperationDeclarations;
 import gaffer.store.optimiser.CoreOperationChainOptimiser;
 import gaffer.store.optimiser.OperationChainOptimiser;
+import gaffer.store.optimiser.PushDownOperationChainOptimiser;
 import gaffer.store.schema.Schema;
 import gaffer.store.schema.SchemaElementDefinition;
 import gaffer.store.schema.ViewValidator;
@@ -70,11 +81,16 @@ import gaffer.user.User;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A <code>Store</code> backs a Graph and is responsible for storing the {@link gaffer.data.element.Element}s and
@@ -100,9 +116,13 @@ public abstract class Store {
 
     private ViewValidator viewValidator;
     private List<OperationChainOptimiser> opChainOptimisers = new ArrayList<>();
+    private ExecutorService pipelineExecutor;
+    private OperationChainCache resultCache;
+    private final OperationMetrics metrics = new OperationMetrics();
 
     public Store() {
         opChainOptimisers.add(new CoreOperationChainOptimiser(this));
+        opChainOptimisers.add(new PushDownOperationChainOptimiser(this));
         viewValidator = new ViewValidator();
     }
 
@@ -112,6 +132,26 @@ public abstract class Store {
         addOpHandlers();
         optimiseSchemas();
         validateSchemas();
+        initialiseResultCache();
+    }
+
+    /**
+     * Releases the resources held by this store. The threads used to execute pipelined operation
+     * chains are stopped once the chains already running have finished. The threads are recreated
+     * if another operation chain is pipelined.
+     *
+     * @throws StoreException if the resources could not be released
+     */
+    public void close() throws StoreException {
+        final ExecutorService executor;
+        synchronized (this) {
+            executor = pipelineExecutor;
+            pipelineExecutor = null;
+        }
+
+        if (null != executor) {
+            executor.shutdown();
+        }
     }
 
     /**
@@ -138,6 +178,19 @@ public abstract class Store {
      */
     public abstract boolean isValidationRequired();
 
+    /**
+     * Checks whether the results of a {@link GetOperation} are guaranteed to be unique, so any
+     * following {@link Deduplicate} can be skipped. By default this returns
+     * false, stores should override this if their storage design prevents some operations from
+     * returning duplicates.
+     *
+     * @param operation the get operation
+     * @return true if the operation will not return duplicate results.
+     */
+    public boolean isOutputUnique(final GetOperation<?, ?> operation) {
+        return false;
+    }
+
     /**
      * Executes a given operation and returns the result.
      *
@@ -165,12 +218,36 @@ public abstract class Store {
     public <OUTPUT> OUTPUT execute(final OperationChain<OUTPUT> operationChain, final User user) throws OperationException {
         validateOperationChain(operationChain, user);
 
+        // The key must be created before the operation chain is optimised or executed as both modify the operations.
+        final OperationChainCache.Key cacheKey = createCacheKey(operationChain, user);
+        if (null != cacheKey) {
+            final Object cachedResult = resultCache.get(cacheKey);
+            if (null != cachedResult) {
+                return (OUTPUT) cachedResult;
+            }
+        }
+
         OperationChain<OUTPUT> optimisedOperationChain = operationChain;
         for (final OperationChainOptimiser opChainOptimiser : opChainOptimisers) {
             optimisedOperationChain = opChainOptimiser.optimise(optimisedOperationChain);
         }
 
-        return handleOperationChain(optimisedOperationChain, createContext(user));
+        final OUTPUT result = handleOperationChain(optimisedOperationChain, createContext(user));
+        return null != cacheKey ? resultCache.cache(cacheKey, result) : result;
+    }
+
+    /**
+     * @return the metrics recorded by this store, including the latency of each operation class.
+     */
+    public OperationMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * @return the operation chain result cache or null if result caching is disabled.
+     */
+    public OperationChainCache getResultCache() {
+        return resultCache;
     }
 
     /**
@@ -290,6 +367,45 @@ public abstract class Store {
         }
     }
 
+    private OperationChainCache.Key createCacheKey(final OperationChain<?> operationChain, final User user) {
+        // Serialising the chain to create the key is expensive, so it is only done if the result could be cached.
+        if (null == resultCache || !isCacheable(operationChain)) {
+            return null;
+        }
+
+        return resultCache.createKey(operationChain, user);
+    }
+
+    /**
+     * Determines whether the result of an operation chain can be cached. By default only chains starting with
+     * a {@link GetOperation} and containing only {@link GetOperation}s, {@link Deduplicate}s, {@link CountGroups}
+     * and {@link Limit}s are cacheable. {@link GenerateObjects} operations are not cacheable as the generated
+     * objects may be mutable and generators cannot be reliably serialised into the cache key. The inputs of all operations must be null or {@link Collection}s, so they can be safely read
+     * when creating the cache key.
+     *
+     * @param operationChain the operation chain to check
+     * @return true if the result of the operation chain can be cached
+     */
+    protected boolean isCacheable(final OperationChain<?> operationChain) {
+        final List<Operation> ops = operationChain.getOperations();
+        if (ops.isEmpty() || !(ops.get(0) instanceof GetOperation)) {
+            return false;
+        }
+
+        for (final Operation op : ops) {
+            if (null != op.getInput() && !(op.getInput() instanceof Collection)) {
+                return false;
+            }
+
+            if (!(op instanceof GetOperation || op instanceof Deduplicate
+                    || op instanceof CountGroups || op instanceof Limit)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
     protected void setViewValidator(final ViewValidator viewValidator) {
         this.viewValidator = viewValidator;
     }
@@ -357,6 +473,10 @@ public abstract class Store {
     protected <OUTPUT> OUTPUT handleOperationChain(
             final OperationChain<OUTPUT> operationChain, final Context context) throws
             OperationException {
+        if (isPipelined(operationChain)) {
+            return handlePipelinedOperationChain(operationChain, context);
+        }
+
         Object result = null;
         for (final Operation op : operationChain.getOperations()) {
             updateOperationInput(op, result);
@@ -366,13 +486,117 @@ public abstract class Store {
         return (OUTPUT) result;
     }
 
+    /**
+     * Handles the operation chain as a pipeline. Each lazy {@link Iterable} result passed between operations
+     * is consumed on its own worker thread, so the work done by each operation when its result is iterated
+     * (e.g. scanning, conversion and generation) runs concurrently rather than as a single serial pull loop.
+     * Results are passed to the next operation in batches through bounded queues.
+     * <p>
+     * If the final result is a lazy {@link Iterable} then closing it, or its iterators, will also stop
+     * all the pipeline stages.
+     *
+     * @param operationChain the operation chain to handle
+     * @param context        the operation chain context
+     * @param <OUTPUT>       the output type of the operation chain
+     * @return the result of the operation chain
+     * @throws OperationException thrown by an operation handler if an operation fails
+     */
+    protected <OUTPUT> OUTPUT handlePipelinedOperationChain(
+            final OperationChain<OUTPUT> operationChain, final Context context) throws OperationException {
+        final List<PipelinedIterable<?>> stages = new ArrayList<>();
+        final List<Operation> ops = operationChain.getOperations();
+        Object result = null;
+        try {
+            for (int index = 0; index < ops.size(); index++) {
+                final Operation op = ops.get(index);
+                updateOperationInput(op, result);
+                result = handleOperation(op, context);
+
+                final boolean hasNextOp = index + 1 < ops.size();
+                if (hasNextOp && isPipelinable(result) && null == ops.get(index + 1).getInput()) {
+                    final PipelinedIterable<?> stage = new PipelinedIterable<>((Iterable<?>) result,
+                            getPipelineExecutor(), getProperties().getPipelineBatchSize(),
+                            getProperties().getPipelineQueueSize());
+                    stages.add(stage);
+                    result = stage;
+                }
+            }
+        } catch (final OperationException | RuntimeException e) {
+            closeStages(stages);
+            throw e;
+        }
+
+        if (!stages.isEmpty() && isPipelinable(result)) {
+            result = new PipelineOutput<>((Iterable<?>) result, stages);
+        }
+
+        return (OUTPUT) result;
+    }
+
+    /**
+     * @param operationChain the operation chain to check
+     * @return true if the operation chain should be executed as a pipeline.
+     */
+    protected boolean isPipelined(final OperationChain<?> operationChain) {
+        return null != getProperties()
+                && getProperties().isPipelineOperationChains()
+                && operationChain.getOperations().size() > 1;
+    }
+
+    private boolean isPipelinable(final Object result) {
+        // Collections are already fully loaded so there is nothing to gain from consuming them on another thread.
+        return result instanceof Iterable && !(result instanceof Collection);
+    }
+
+    private synchronized ExecutorService getPipelineExecutor() {
+        if (null == pipelineExecutor) {
+            // A cached pool is required as every stage must be able to run at the same time.
+            pipelineExecutor = Executors.newCachedThreadPool(new ThreadFactory() {
+                private final AtomicInteger threadCount = new AtomicInteger();
+
+                @Override
+                public Thread newThread(final Runnable runnable) {
+                    final Thread thread = new Thread(runnable, "gaffer-pipeline-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+
+        return pipelineExecutor;
+    }
+
+    private static void closeStages(final List<PipelinedIterable<?>> stages) {
+        for (final PipelinedIterable<?> stage : stages) {
+            stage.close();
+        }
+    }
+
     protected <OPERATION extends Operation<?, OUTPUT>, OUTPUT> OUTPUT handleOperation(final OPERATION operation, final Context context) throws OperationException {
+        OPERATION operationToHandle = operation;
+        OperationChainCache.Invalidation invalidation = null;
+        if (null != resultCache && operation instanceof AddElements) {
+            // The elements of a copy are tracked so the caller's operation is left unchanged.
+            invalidation = resultCache.startInvalidation();
+            final AddElements addElements = (AddElements) ((AddElements) operation).clone();
+            addElements.setElements(invalidation.track(addElements.getElements()));
+            operationToHandle = (OPERATION) addElements;
+        }
+
         final OperationHandler<OPERATION, OUTPUT> handler = getOperationHandler(operation.getClass());
         final OUTPUT result;
-        if (null != handler) {
-            result = handler.doOperation(operation, context, this);
-        } else {
-            result = doUnhandledOperation(operation, context);
+        final long startTime = System.nanoTime();
+        try {
+            if (null != handler) {
+                result = handler.doOperation(operationToHandle, context, this);
+            } else {
+                result = doUnhandledOperation(operationToHandle, context);
+            }
+        } finally {
+            metrics.recordLatency(operation.getClass().getName(), System.nanoTime() - startTime);
+            if (null != invalidation) {
+                invalidation.complete();
+            }
         }
 
         return result;
@@ -390,6 +614,15 @@ public abstract class Store {
         }
     }
 
+    private void initialiseResultCache() {
+        if (null != getProperties() && getProperties().isResultCacheEnabled()) {
+            resultCache = new OperationChainCache(getProperties().getResultCacheMaxSize(),
+                    getProperties().getResultCacheMaxResultSize(), getProperties().getResultCacheTimeToLive());
+        } else {
+            resultCache = null;
+        }
+    }
+
     private void addOpHandlers() {
         addCoreOpHandlers();
         addAdditionalOperationHandlers();
@@ -402,6 +635,7 @@ public abstract class Store {
         addOperationHandler(Validate.class, new ValidateHandler());
         addOperationHandler(Deduplicate.class, new DeduplicateHandler());
         addOperationHandler(CountGroups.class, new CountGroupsHandler());
+        addOperationHandler(Limit.class, new LimitHandler());
 
         // Export
         addOperationHandler(InitialiseSetExport.class, new InitialiseExportHandler());
@@ -443,4 +677,37 @@ public abstract class Store {
             }
         });
     }
+
+    /**
+     * Wraps the final result of a pipelined operation chain so that closing the result
+     * also closes the pipeline stages feeding it.
+     *
+     * @param <T> the type of items in the result
+     */
+    private static final class PipelineOutput<T> implements CloseableIterable<T> {
+        private final CloseableIterable<T> result;
+        private final List<PipelinedIterable<?>> stages;
+
+        private PipelineOutput(final Iterable<T> result, final List<PipelinedIterable<?>> stages) {
+            this.result = new WrappedCloseableIterable<>(result);
+            this.stages = stages;
+        }
+
+        @Override
+        public void close() {
+            result.close();
+            closeStages(stages);
+        }
+
+        @Override
+        public CloseableIterator<T> iterator() {
+            return new WrappedCloseableIterator<T>(result.iterator()) {
+                @Override
+                public void close() {
+                    super.close();
+                    closeStages(stages);
+                }
+            };
+        }
+    }
 }
@@ -42,6 +42,26 @@ public class StoreProperties implements Cloneable {
     public static final String SCHEMA_CLASS = "gaffer.store.schema.class";
     public static final String STORE_PROPERTIES_CLASS = "gaffer.store.properties.class";
     public static final String OPERATION_DECLARATIONS = "gaffer.store.operation.declarations";
+    public static final String PIPELINE_OPERATION_CHAINS = "gaffer.store.operation.chain.pipelined";
+    public static final String PIPELINE_BATCH_SIZE = "gaffer.store.operation.chain.pipeline.batch.size";
+    public static final String PIPELINE_QUEUE_SIZE = "gaffer.store.operation.chain.pipeline.queue.size";
+    public static final String RESULT_CACHE_ENABLED = "gaffer.store.operation.chain.cache.enabled";
+    public static final String RESULT_CACHE_MAX_SIZE = "gaffer.store.operation.chain.cache.max.size";
+    public static final String RESULT_CACHE_MAX_RESULT_SIZE = "gaffer.store.operation.chain.cache.max.result.size";
+    public static final String RESULT_CACHE_TIME_TO_LIVE = "gaffer.store.operation.chain.cache.ttl.millis";
+    public static final String DEDUPLICATE_MAX_ITEMS_IN_MEMORY = "gaffer.store.operation.deduplicate.max.items.in.memory";
+    public static final String DEDUPLICATE_EXACT = "gaffer.store.operation.deduplicate.exact";
+    public static final String DEDUPLICATE_SPILL_DIRECTORY = "gaffer.store.operation.deduplicate.spill.directory";
+
+    private static final String PIPELINE_OPERATION_CHAINS_DEFAULT = "false";
+    private static final String PIPELINE_BATCH_SIZE_DEFAULT = "1000";
+    private static final String PIPELINE_QUEUE_SIZE_DEFAULT = "10";
+    private static final String RESULT_CACHE_ENABLED_DEFAULT = "false";
+    private static final String RESULT_CACHE_MAX_SIZE_DEFAULT = "100000";
+    private static final String RESULT_CACHE_MAX_RESULT_SIZE_DEFAULT = "10000";
+    private static final String RESULT_CACHE_TIME_TO_LIVE_DEFAULT = "60000";
+    private static final String DEDUPLICATE_MAX_ITEMS_IN_MEMORY_DEFAULT = "100000";
+    private static final String DEDUPLICATE_EXACT_DEFAULT = "true";
 
     private Path propFileLocation;
     private Properties props;
@@ -137,6 +157,193 @@ public class StoreProperties implements Cloneable {
         return declarations;
     }
 
+    /**
+     * Get the flag determining whether operation chains should be executed as a pipeline,
+     * with the output of each operation consumed by the next operation on a separate thread.
+     *
+     * @return true if operation chains should be pipelined
+     */
+    public boolean isPipelineOperationChains() {
+        return Boolean.parseBoolean(get(PIPELINE_OPERATION_CHAINS, PIPELINE_OPERATION_CHAINS_DEFAULT));
+    }
+
+    /**
+     * Set the flag determining whether operation chains should be executed as a pipeline.
+     *
+     * @param pipelineOperationChains true if operation chains should be pipelined
+     */
+    public void setPipelineOperationChains(final boolean pipelineOperationChains) {
+        set(PIPELINE_OPERATION_CHAINS, Boolean.toString(pipelineOperationChains));
+    }
+
+    /**
+     * Get the number of items passed between pipelined operations in a single batch.
+     *
+     * @return the pipeline batch size
+     */
+    public int getPipelineBatchSize() {
+        return Integer.parseInt(get(PIPELINE_BATCH_SIZE, PIPELINE_BATCH_SIZE_DEFAULT));
+    }
+
+    /**
+     * Set the number of items passed between pipelined operations in a single batch.
+     *
+     * @param pipelineBatchSize the pipeline batch size
+     */
+    public void setPipelineBatchSize(final int pipelineBatchSize) {
+        set(PIPELINE_BATCH_SIZE, Integer.toString(pipelineBatchSize));
+    }
+
+    /**
+     * Get the maximum number of batches that can be queued between two pipelined operations
+     * before the producing operation is blocked.
+     *
+     * @return the pipeline queue size
+     */
+    public int getPipelineQueueSize() {
+        return Integer.parseInt(get(PIPELINE_QUEUE_SIZE, PIPELINE_QUEUE_SIZE_DEFAULT));
+    }
+
+    /**
+     * Set the maximum number of batches that can be queued between two pipelined operations.
+     *
+     * @param pipelineQueueSize the pipeline queue size
+     */
+    public void setPipelineQueueSize(final int pipelineQueueSize) {
+        set(PIPELINE_QUEUE_SIZE, Integer.toString(pipelineQueueSize));
+    }
+
+    /**
+     * Get the flag determining whether the results of read only operation chains should be cached.
+     *
+     * @return true if operation chain results should be cached
+     */
+    public boolean isResultCacheEnabled() {
+        return Boolean.parseBoolean(get(RESULT_CACHE_ENABLED, RESULT_CACHE_ENABLED_DEFAULT));
+    }
+
+    /**
+     * Set the flag determining whether the results of read only operation chains should be cached.
+     *
+     * @param resultCacheEnabled true if operation chain results should be cached
+     */
+    public void setResultCacheEnabled(final boolean resultCacheEnabled) {
+        set(RESULT_CACHE_ENABLED, Boolean.toString(resultCacheEnabled));
+    }
+
+    /**
+     * Get the maximum total number of result items held in the result cache.
+     *
+     * @return the result cache max size
+     */
+    public int getResultCacheMaxSize() {
+        return Integer.parseInt(get(RESULT_CACHE_MAX_SIZE, RESULT_CACHE_MAX_SIZE_DEFAULT));
+    }
+
+    /**
+     * Set the maximum total number of result items held in the result cache.
+     *
+     * @param resultCacheMaxSize the result cache max size
+     */
+    public void setResultCacheMaxSize(final int resultCacheMaxSize) {
+        set(RESULT_CACHE_MAX_SIZE, Integer.toString(resultCacheMaxSize));
+    }
+
+    /**
+     * Get the maximum number of items a single result can contain to be cached.
+     *
+     * @return the result cache max result size
+     */
+    public int getResultCacheMaxResultSize() {
+        return Integer.parseInt(get(RESULT_CACHE_MAX_RESULT_SIZE, RESULT_CACHE_MAX_RESULT_SIZE_DEFAULT));
+    }
+
+    /**
+     * Set the maximum number of items a single result can contain to be cached.
+     *
+     * @param resultCacheMaxResultSize the result cache max result size
+     */
+    public void setResultCacheMaxResultSize(final int resultCacheMaxResultSize) {
+        set(RESULT_CACHE_MAX_RESULT_SIZE, Integer.toString(resultCacheMaxResultSize));
+    }
+
+    /**
+     * Get the number of milliseconds a result is held in the result cache before it expires.
+     *
+     * @return the result cache time to live in milliseconds
+     */
+    public long getResultCacheTimeToLive() {
+        return Long.parseLong(get(RESULT_CACHE_TIME_TO_LIVE, RESULT_CACHE_TIME_TO_LIVE_DEFAULT));
+    }
+
+    /**
+     * Set the number of milliseconds a result is held in the result cache before it expires.
+     *
+     * @param resultCacheTimeToLive the result cache time to live in milliseconds
+     */
+    public void setResultCacheTimeToLive(final long resultCacheTimeToLive) {
+        set(RESULT_CACHE_TIME_TO_LIVE, Long.toString(resultCacheTimeToLive));
+    }
+
+    /**
+     * Get the maximum number of items a Deduplicate operation holds in memory
+     * before spilling the items it has seen to disk.
+     *
+     * @return the deduplicate max items in memory
+     */
+    public int getDeduplicateMaxItemsInMemory() {
+        return Integer.parseInt(get(DEDUPLICATE_MAX_ITEMS_IN_MEMORY, DEDUPLICATE_MAX_ITEMS_IN_MEMORY_DEFAULT));
+    }
+
+    /**
+     * Set the maximum number of items a Deduplicate operation holds in memory
+     * before spilling the items it has seen to disk.
+     *
+     * @param deduplicateMaxItemsInMemory the deduplicate max items in memory
+     */
+    public void setDeduplicateMaxItemsInMemory(final int deduplicateMaxItemsInMemory) {
+        set(DEDUPLICATE_MAX_ITEMS_IN_MEMORY, Integer.toString(deduplicateMaxItemsInMemory));
+    }
+
+    /**
+     * Get the flag determining whether items spilled to disk by a Deduplicate operation
+     * are compared exactly, rather than by fingerprint alone.
+     *
+     * @return true if spilled items should be compared exactly
+     */
+    public boolean isDeduplicateExact() {
+        return Boolean.parseBoolean(get(DEDUPLICATE_EXACT, DEDUPLICATE_EXACT_DEFAULT));
+    }
+
+    /**
+     * Set the flag determining whether items spilled to disk by a Deduplicate operation
+     * are compared exactly, rather than by fingerprint alone.
+     *
+     * @param deduplicateExact true if spilled items should be compared exactly
+     */
+    public void setDeduplicateExact(final boolean deduplicateExact) {
+        set(DEDUPLICATE_EXACT, Boolean.toString(deduplicateExact));
+    }
+
+    /**
+     * Get the local directory a Deduplicate operation spills to. Defaults to the
+     * java.io.tmpdir directory.
+     *
+     * @return the deduplicate spill directory
+     */
+    public String getDeduplicateSpillDirectory() {
+        return get(DEDUPLICATE_SPILL_DIRECTORY, System.getProperty("java.io.tmpdir"));
+    }
+
+    /**
+     * Set the local directory a Deduplicate operation spills to.
+     *
+     * @param deduplicateSpillDirectory the deduplicate spill directory
+     */
+    public void setDeduplicateSpillDirectory(final String deduplicateSpillDirectory) {
+        set(DEDUPLICATE_SPILL_DIRECTORY, deduplicateSpillDirectory);
+    }
+
     public String getStoreClass() {
         return get(STORE_CLASS);
     }
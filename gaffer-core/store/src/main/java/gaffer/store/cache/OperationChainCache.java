@@ -0,0 +1,541 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.store.cache;
+
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.commonutil.iterable.CloseableIterator;
+import gaffer.commonutil.iterable.WrappedCloseableIterable;
+import gaffer.commonutil.iterable.WrappedCloseableIterator;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.exception.SerialisationException;
+import gaffer.jsonserialisation.JSONSerialiser;
+import gaffer.operation.GetOperation;
+import gaffer.operation.Operation;
+import gaffer.operation.OperationChain;
+import gaffer.operation.data.EdgeSeed;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.impl.get.GetAllElements;
+import gaffer.user.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An <code>OperationChainCache</code> caches the results of read only {@link OperationChain}s.
+ * <p>
+ * Results are keyed on a digest of the JSON serialised operation chain and the data auths of the user
+ * executing it, so users with different data auths never share results. The cache is bounded by the
+ * total number of result items it holds, evicting the least recently used results first, and each result
+ * expires once its time to live has passed.
+ * <p>
+ * Lazy {@link Iterable} results are only cached once they have been fully iterated, so results are never
+ * read from the store just to populate the cache. Results containing more than the maximum result size
+ * are not cached.
+ * <p>
+ * When elements are added via an {@link Invalidation} any cached results that could contain elements in
+ * the same groups with the same vertices are removed. Cached results are shared between callers so they
+ * must not be modified.
+ */
+public class OperationChainCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(OperationChainCache.class);
+    private static final JSONSerialiser JSON_SERIALISER = new JSONSerialiser();
+
+    /**
+     * The maximum number of vertices tracked for each cached result or invalidation. If there are more
+     * vertices than this then the result is treated as depending on all vertices in its groups.
+     */
+    public static final int MAX_TRACKED_VERTICES = 10000;
+
+    private final int maxSize;
+    private final int maxResultSize;
+    private final long timeToLive;
+    private final LinkedHashMap<ByteBuffer, CachedResult> results = new LinkedHashMap<>(16, 0.75f, true);
+    private int size;
+
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+    private final AtomicLong invalidationCount = new AtomicLong();
+
+    /**
+     * @param maxSize       the maximum total number of result items held in the cache
+     * @param maxResultSize the maximum number of items a single result can contain to be cached
+     * @param timeToLive    the number of milliseconds a result is held in the cache before it expires
+     */
+    public OperationChainCache(final int maxSize, final int maxResultSize, final long timeToLive) {
+        if (maxSize < 1 || maxResultSize < 1 || timeToLive < 1) {
+            throw new IllegalArgumentException("Max size, max result size and time to live must be at least 1.");
+        }
+
+        this.maxSize = maxSize;
+        this.maxResultSize = Math.min(maxResultSize, maxSize);
+        this.timeToLive = timeToLive;
+    }
+
+    /**
+     * Creates a key for the operation chain executed by the user. This must be called before the operation
+     * chain is optimised or executed, as both can modify the operations.
+     *
+     * @param operationChain the operation chain to create a key for
+     * @param user           the user executing the operation chain
+     * @return the cache key or null if the operation chain could not be serialised.
+     */
+    public Key createKey(final OperationChain<?> operationChain, final User user) {
+        final byte[] digest;
+        try {
+            final MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            if (null != user && null != user.getDataAuths()) {
+                messageDigest.update(new TreeSet<>(user.getDataAuths()).toString().getBytes(StandardCharsets.UTF_8));
+            }
+            messageDigest.update((byte) 0);
+            messageDigest.update(JSON_SERIALISER.serialise(operationChain));
+            digest = messageDigest.digest();
+        } catch (final SerialisationException | NoSuchAlgorithmException e) {
+            LOGGER.debug("Unable to create a result cache key for operation chain: " + e.getMessage());
+            return null;
+        }
+
+        return new Key(ByteBuffer.wrap(digest), getDependencies(operationChain), generation.get());
+    }
+
+    /**
+     * Gets the cached result for the key. A cache hit or miss is recorded.
+     *
+     * @param key the cache key
+     * @return the cached result or null if the result is not cached.
+     */
+    public Object get(final Key key) {
+        CachedResult cachedResult;
+        synchronized (this) {
+            cachedResult = results.get(key.digest);
+            if (null != cachedResult && cachedResult.isExpired(currentTimeMillis())) {
+                remove(key.digest);
+                evictionCount.incrementAndGet();
+                cachedResult = null;
+            }
+        }
+
+        if (null == cachedResult) {
+            missCount.incrementAndGet();
+            return null;
+        }
+
+        hitCount.incrementAndGet();
+        if (cachedResult.lazy) {
+            return new WrappedCloseableIterable<>(Collections.unmodifiableList((List<?>) cachedResult.result));
+        }
+
+        if (cachedResult.result instanceof List) {
+            return Collections.unmodifiableList((List<?>) cachedResult.result);
+        }
+
+        return cachedResult.result;
+    }
+
+    /**
+     * Caches the result of executing the operation chain for the key. Lazy {@link Iterable} results are
+     * wrapped so they are cached once they have been fully iterated, so the returned result should be used
+     * in place of the provided result.
+     *
+     * @param key    the cache key
+     * @param result the result of executing the operation chain
+     * @param <T>    the type of result
+     * @return the result to return to the caller
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T cache(final Key key, final T result) {
+        if (null == result) {
+            return null;
+        }
+
+        if (result instanceof List) {
+            if (((List) result).size() <= maxResultSize) {
+                put(key, new ArrayList<>((List<?>) result), ((List) result).size(), false);
+            }
+        } else if (result instanceof Collection) {
+            // Other collection types cannot be replaced by a list when the result is read from the cache.
+            return result;
+        } else if (result instanceof Iterable) {
+            return (T) new CachingIterable<>(key, (Iterable<?>) result);
+        } else {
+            put(key, result, 1, false);
+        }
+
+        return result;
+    }
+
+    /**
+     * Starts an invalidation for elements that are about to be added to the store. Results cached while the
+     * elements are being added are never stored, as they may or may not contain the new elements.
+     *
+     * @return the invalidation to track the added elements
+     */
+    public Invalidation startInvalidation() {
+        generation.incrementAndGet();
+        return new Invalidation();
+    }
+
+    /**
+     * Removes all cached results.
+     */
+    public synchronized void clear() {
+        generation.incrementAndGet();
+        results.clear();
+        size = 0;
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    public long getInvalidationCount() {
+        return invalidationCount.get();
+    }
+
+    /**
+     * @return the number of cached results
+     */
+    public synchronized int getResultCount() {
+        return results.size();
+    }
+
+    /**
+     * @return the total number of result items held in the cache
+     */
+    public synchronized int getSize() {
+        return size;
+    }
+
+    protected long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    private void put(final Key key, final Object result, final int resultSize, final boolean lazy) {
+        synchronized (this) {
+            // Don't cache results that may have been affected by elements added since the key was created
+            if (key.generation != generation.get()) {
+                return;
+            }
+
+            remove(key.digest);
+            results.put(key.digest, new CachedResult(result, resultSize, lazy, key.dependencies,
+                    currentTimeMillis() + timeToLive));
+            size += resultSize;
+
+            final Iterator<CachedResult> itr = results.values().iterator();
+            while (size > maxSize && itr.hasNext()) {
+                size -= itr.next().size;
+                itr.remove();
+                evictionCount.incrementAndGet();
+            }
+        }
+    }
+
+    private void remove(final ByteBuffer digest) {
+        final CachedResult removed = results.remove(digest);
+        if (null != removed) {
+            size -= removed.size;
+        }
+    }
+
+    private synchronized void invalidate(final Set<String> groups, final Set<Object> vertices) {
+        final Iterator<CachedResult> itr = results.values().iterator();
+        while (itr.hasNext()) {
+            final CachedResult cachedResult = itr.next();
+            if (cachedResult.dependencies.isAffectedBy(groups, vertices)) {
+                size -= cachedResult.size;
+                itr.remove();
+                invalidationCount.incrementAndGet();
+            }
+        }
+    }
+
+    private static Dependencies getDependencies(final OperationChain<?> operationChain) {
+        final Dependencies dependencies = new Dependencies();
+        for (final Operation<?, ?> operation : operationChain.getOperations()) {
+            if (operation instanceof GetOperation) {
+                dependencies.addGroups(operation.getView());
+
+                final GetOperation<?, ?> getOperation = (GetOperation<?, ?>) operation;
+                if (getOperation instanceof GetAllElements || null == getOperation.getSeeds()) {
+                    dependencies.addAllVertices();
+                } else {
+                    for (final Object seed : getOperation.getSeeds()) {
+                        if (seed instanceof EntitySeed) {
+                            dependencies.addVertex(((EntitySeed) seed).getVertex());
+                        } else if (seed instanceof EdgeSeed) {
+                            dependencies.addVertex(((EdgeSeed) seed).getSource());
+                            dependencies.addVertex(((EdgeSeed) seed).getDestination());
+                        } else {
+                            dependencies.addAllVertices();
+                        }
+                    }
+                }
+            }
+        }
+
+        return dependencies;
+    }
+
+    /**
+     * A key for a cached result. Keys record the cache generation they were created in, so results
+     * that may be affected by elements added after the key was created are not cached.
+     */
+    public static final class Key {
+        private final ByteBuffer digest;
+        private final Dependencies dependencies;
+        private final long generation;
+
+        private Key(final ByteBuffer digest, final Dependencies dependencies, final long generation) {
+            this.digest = digest;
+            this.dependencies = dependencies;
+            this.generation = generation;
+        }
+    }
+
+    /**
+     * An <code>Invalidation</code> tracks the groups and vertices of elements as they are added to the store.
+     * Once the elements have been added, complete should be called to remove any affected results.
+     */
+    public final class Invalidation {
+        private final Set<String> groups = new HashSet<>();
+        private Set<Object> vertices = new HashSet<>();
+
+        private Invalidation() {
+        }
+
+        /**
+         * Wraps the elements so the groups and vertices of the elements are tracked as they are added.
+         *
+         * @param elements the elements being added
+         * @return the wrapped elements
+         */
+        public Iterable<Element> track(final Iterable<Element> elements) {
+            if (null == elements) {
+                return null;
+            }
+
+            return new CloseableIterable<Element>() {
+                @Override
+                public void close() {
+                    if (elements instanceof CloseableIterable) {
+                        ((CloseableIterable) elements).close();
+                    }
+                }
+
+                @Override
+                public CloseableIterator<Element> iterator() {
+                    return new WrappedCloseableIterator<Element>(elements.iterator()) {
+                        @Override
+                        public Element next() {
+                            final Element element = super.next();
+                            add(element);
+                            return element;
+                        }
+                    };
+                }
+            };
+        }
+
+        /**
+         * Removes any cached results affected by the added elements.
+         */
+        public void complete() {
+            synchronized (this) {
+                invalidate(groups, vertices);
+            }
+            generation.incrementAndGet();
+        }
+
+        private synchronized void add(final Element element) {
+            if (null == element) {
+                return;
+            }
+
+            groups.add(element.getGroup());
+            if (null != vertices) {
+                if (element instanceof Entity) {
+                    vertices.add(((Entity) element).getVertex());
+                } else if (element instanceof Edge) {
+                    vertices.add(((Edge) element).getSource());
+                    vertices.add(((Edge) element).getDestination());
+                }
+
+                if (vertices.size() > MAX_TRACKED_VERTICES) {
+                    vertices = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * The groups and vertices a cached result depends on. Null groups or vertices mean the result
+     * depends on all groups or vertices.
+     */
+    private static final class Dependencies {
+        private Set<String> groups = new HashSet<>();
+        private Set<Object> vertices = new HashSet<>();
+
+        private void addGroups(final View view) {
+            if (null == view) {
+                groups = null;
+            } else if (null != groups) {
+                groups.addAll(view.getEntityGroups());
+                groups.addAll(view.getEdgeGroups());
+            }
+        }
+
+        private void addVertex(final Object vertex) {
+            if (null != vertices) {
+                vertices.add(vertex);
+                if (vertices.size() > MAX_TRACKED_VERTICES) {
+                    vertices = null;
+                }
+            }
+        }
+
+        private void addAllVertices() {
+            vertices = null;
+        }
+
+        private boolean isAffectedBy(final Set<String> addedGroups, final Set<Object> addedVertices) {
+            return intersects(groups, addedGroups) && intersects(vertices, addedVertices);
+        }
+
+        private static boolean intersects(final Set<?> dependencies, final Set<?> added) {
+            if (null == dependencies || null == added) {
+                return true;
+            }
+
+            for (final Object item : added) {
+                if (dependencies.contains(item)) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+
+    private static final class CachedResult {
+        private final Object result;
+        private final int size;
+        private final boolean lazy;
+        private final Dependencies dependencies;
+        private final long expiryTime;
+
+        private CachedResult(final Object result, final int size, final boolean lazy,
+                             final Dependencies dependencies, final long expiryTime) {
+            this.result = result;
+            this.size = size;
+            this.lazy = lazy;
+            this.dependencies = dependencies;
+            this.expiryTime = expiryTime;
+        }
+
+        private boolean isExpired(final long time) {
+            return time >= expiryTime;
+        }
+    }
+
+    /**
+     * Records the items from the first iterator of a lazy result, and caches them once the
+     * iterator has been fully consumed.
+     *
+     * @param <T> the type of items in the result
+     */
+    private final class CachingIterable<T> implements CloseableIterable<T> {
+        private final Key key;
+        private final Iterable<T> result;
+        private boolean recording = true;
+
+        private CachingIterable(final Key key, final Iterable<T> result) {
+            this.key = key;
+            this.result = result;
+        }
+
+        @Override
+        public void close() {
+            if (result instanceof CloseableIterable) {
+                ((CloseableIterable) result).close();
+            }
+        }
+
+        @Override
+        public synchronized CloseableIterator<T> iterator() {
+            if (!recording) {
+                return new WrappedCloseableIterator<>(result.iterator());
+            }
+
+            recording = false;
+            return new WrappedCloseableIterator<T>(result.iterator()) {
+                private List<T> items = new ArrayList<>();
+
+                @Override
+                public boolean hasNext() {
+                    final boolean hasNext = super.hasNext();
+                    if (!hasNext && null != items) {
+                        put(key, items, items.size(), true);
+                        items = null;
+                    }
+
+                    return hasNext;
+                }
+
+                @Override
+                public T next() {
+                    final T item = super.next();
+                    if (null != items) {
+                        if (items.size() < maxResultSize) {
+                            items.add(item);
+                        } else {
+                            items = null;
+                        }
+                    }
+
+                    return item;
+                }
+            };
+        }
+    }
+}
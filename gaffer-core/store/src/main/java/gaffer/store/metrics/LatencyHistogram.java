@@ -0,0 +1,142 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.store.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A <code>LatencyHistogram</code> records latencies into a fixed set of buckets, so recording
+ * a latency is cheap and the memory used does not grow. Percentiles are estimated as the upper
+ * bound of the bucket containing the percentile.
+ */
+public class LatencyHistogram {
+    private static final long[] BUCKET_UPPER_BOUNDS_MILLIS =
+            {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000, 30000, 60000};
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AtomicLongArray bucketCounts = new AtomicLongArray(BUCKET_UPPER_BOUNDS_MILLIS.length + 1);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Records a latency.
+     *
+     * @param nanos the latency in nanoseconds
+     */
+    public void record(final long nanos) {
+        final long latency = Math.max(0, nanos);
+        bucketCounts.incrementAndGet(getBucketIndex(latency));
+        count.incrementAndGet();
+        totalNanos.addAndGet(latency);
+
+        long currentMax = maxNanos.get();
+        while (latency > currentMax && !maxNanos.compareAndSet(currentMax, latency)) {
+            currentMax = maxNanos.get();
+        }
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public double getMeanMillis() {
+        final long currentCount = count.get();
+        if (0 == currentCount) {
+            return 0;
+        }
+
+        return totalNanos.get() / NANOS_PER_MILLI / currentCount;
+    }
+
+    public double getMaxMillis() {
+        return maxNanos.get() / NANOS_PER_MILLI;
+    }
+
+    public double getP50Millis() {
+        return getPercentileMillis(0.5);
+    }
+
+    public double getP95Millis() {
+        return getPercentileMillis(0.95);
+    }
+
+    public double getP99Millis() {
+        return getPercentileMillis(0.99);
+    }
+
+    /**
+     * Estimates the latency at the given percentile.
+     *
+     * @param percentile the percentile, between 0 and 1
+     * @return the upper bound of the bucket containing the percentile, or the max latency if that is lower.
+     */
+    public double getPercentileMillis(final double percentile) {
+        final long currentCount = count.get();
+        if (0 == currentCount) {
+            return 0;
+        }
+
+        final long target = (long) Math.ceil(percentile * currentCount);
+        long cumulativeCount = 0;
+        for (int i = 0; i < BUCKET_UPPER_BOUNDS_MILLIS.length; i++) {
+            cumulativeCount += bucketCounts.get(i);
+            if (cumulativeCount >= target) {
+                return Math.min(BUCKET_UPPER_BOUNDS_MILLIS[i], getMaxMillis());
+            }
+        }
+
+        return getMaxMillis();
+    }
+
+    /**
+     * @return the number of latencies recorded in each bucket, keyed by the bucket upper bound.
+     */
+    public Map<String, Long> getBuckets() {
+        final Map<String, Long> buckets = new LinkedHashMap<>();
+        for (int i = 0; i < BUCKET_UPPER_BOUNDS_MILLIS.length; i++) {
+            buckets.put("<=" + BUCKET_UPPER_BOUNDS_MILLIS[i] + "ms", bucketCounts.get(i));
+        }
+        buckets.put(">" + BUCKET_UPPER_BOUNDS_MILLIS[BUCKET_UPPER_BOUNDS_MILLIS.length - 1] + "ms",
+                bucketCounts.get(BUCKET_UPPER_BOUNDS_MILLIS.length));
+
+        return buckets;
+    }
+
+    public void reset() {
+        for (int i = 0; i < bucketCounts.length(); i++) {
+            bucketCounts.set(i, 0);
+        }
+        count.set(0);
+        totalNanos.set(0);
+        maxNanos.set(0);
+    }
+
+    private static int getBucketIndex(final long nanos) {
+        for (int i = 0; i < BUCKET_UPPER_BOUNDS_MILLIS.length; i++) {
+            if (nanos <= BUCKET_UPPER_BOUNDS_MILLIS[i] * NANOS_PER_MILLI) {
+                return i;
+            }
+        }
+
+        return BUCKET_UPPER_BOUNDS_MILLIS.length;
+    }
+}
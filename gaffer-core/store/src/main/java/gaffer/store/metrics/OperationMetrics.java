@@ -0,0 +1,183 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.store.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An <code>OperationMetrics</code> records latency histograms and counters for operations.
+ * Latencies are keyed by name, e.g. the operation class name, and counters are used to record
+ * the number of elements processed by the store.
+ * <p>
+ * Operations that return lazy {@link Iterable}s do most of their work when the results are
+ * iterated, so their latencies only cover the time taken to create the results.
+ * <p>
+ * The metrics can be exposed as a JMX MBean using {@link #registerMBean(String)}.
+ */
+public class OperationMetrics implements OperationMetricsMXBean {
+    public static final String ELEMENTS_SCANNED = "elementsScanned";
+    public static final String ELEMENTS_FILTERED = "elementsFiltered";
+    public static final String ELEMENTS_TRANSFORMED = "elementsTransformed";
+    public static final String ELEMENTS_RETURNED = "elementsReturned";
+    public static final String MBEAN_DOMAIN = "gaffer";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OperationMetrics.class);
+
+    private final ConcurrentMap<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private final AtomicLong openBatchScanners = new AtomicLong();
+
+    /**
+     * Records a latency.
+     *
+     * @param name  the name of the latency histogram, e.g. the operation class name
+     * @param nanos the latency in nanoseconds
+     */
+    public void recordLatency(final String name, final long nanos) {
+        LatencyHistogram histogram = latencies.get(name);
+        if (null == histogram) {
+            final LatencyHistogram newHistogram = new LatencyHistogram();
+            histogram = latencies.putIfAbsent(name, newHistogram);
+            if (null == histogram) {
+                histogram = newHistogram;
+            }
+        }
+
+        histogram.record(nanos);
+    }
+
+    /**
+     * @param name the name of the latency histogram
+     * @return the latency histogram or null if no latencies have been recorded with the name.
+     */
+    public LatencyHistogram getLatency(final String name) {
+        return latencies.get(name);
+    }
+
+    /**
+     * Adds to a counter.
+     *
+     * @param name  the name of the counter, e.g. {@link #ELEMENTS_SCANNED}
+     * @param delta the amount to add
+     */
+    public void increment(final String name, final long delta) {
+        AtomicLong counter = counters.get(name);
+        if (null == counter) {
+            final AtomicLong newCounter = new AtomicLong();
+            counter = counters.putIfAbsent(name, newCounter);
+            if (null == counter) {
+                counter = newCounter;
+            }
+        }
+
+        counter.addAndGet(delta);
+    }
+
+    /**
+     * @param name the name of the counter
+     * @return the value of the counter
+     */
+    public long getCount(final String name) {
+        final AtomicLong counter = counters.get(name);
+        return null != counter ? counter.get() : 0;
+    }
+
+    public void batchScannerOpened() {
+        openBatchScanners.incrementAndGet();
+    }
+
+    public void batchScannerClosed() {
+        openBatchScanners.decrementAndGet();
+    }
+
+    @Override
+    public Map<String, LatencyHistogram> getLatencies() {
+        return new TreeMap<>(latencies);
+    }
+
+    @Override
+    public Map<String, Long> getCounters() {
+        final Map<String, Long> values = new TreeMap<>();
+        for (final Map.Entry<String, AtomicLong> entry : counters.entrySet()) {
+            values.put(entry.getKey(), entry.getValue().get());
+        }
+
+        return values;
+    }
+
+    @Override
+    public long getOpenBatchScanners() {
+        return openBatchScanners.get();
+    }
+
+    @Override
+    public void reset() {
+        latencies.clear();
+        counters.clear();
+    }
+
+    /**
+     * Registers the metrics with the platform MBean server, replacing any MBean already registered
+     * with the same name. Failures are logged rather than thrown, as metrics are not essential.
+     *
+     * @param name the name of the MBean
+     */
+    public void registerMBean(final String name) {
+        try {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName objectName = createObjectName(name);
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+            server.registerMBean(this, objectName);
+        } catch (final JMException e) {
+            LOGGER.warn("Unable to register operation metrics MBean " + name, e);
+        }
+    }
+
+    /**
+     * Unregisters the metrics MBean with the given name.
+     *
+     * @param name the name of the MBean
+     */
+    public static void unregisterMBean(final String name) {
+        try {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName objectName = createObjectName(name);
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+        } catch (final JMException e) {
+            LOGGER.warn("Unable to unregister operation metrics MBean " + name, e);
+        }
+    }
+
+    private static ObjectName createObjectName(final String name) throws JMException {
+        return new ObjectName(MBEAN_DOMAIN + ":type=" + OperationMetrics.class.getSimpleName()
+                + ",name=" + ObjectName.quote(name));
+    }
+}
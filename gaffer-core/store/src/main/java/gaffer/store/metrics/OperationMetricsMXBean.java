@@ -0,0 +1,44 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.store.metrics;
+
+import java.util.Map;
+
+/**
+ * The JMX interface for {@link OperationMetrics}.
+ */
+public interface OperationMetricsMXBean {
+    /**
+     * @return the latency histograms, keyed by name.
+     */
+    Map<String, LatencyHistogram> getLatencies();
+
+    /**
+     * @return the counter values, keyed by name.
+     */
+    Map<String, Long> getCounters();
+
+    /**
+     * @return the number of batch scanners currently open.
+     */
+    long getOpenBatchScanners();
+
+    /**
+     * Resets all latencies and counters. The number of open batch scanners is not reset.
+     */
+    void reset();
+}
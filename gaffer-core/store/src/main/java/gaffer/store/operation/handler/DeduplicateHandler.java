@@ -16,20 +16,30 @@
 
 package gaffer.store.operation.handler;
 
-import com.google.common.collect.Sets;
 import gaffer.operation.OperationException;
 import gaffer.operation.impl.Deduplicate;
 import gaffer.store.Context;
 import gaffer.store.Store;
+import gaffer.store.StoreProperties;
+import gaffer.store.operation.handler.dedupe.DeduplicatingIterable;
+import java.io.File;
+import java.util.Properties;
 
 /**
  * An <code>DeduplicateHandler</code> handles for {@link Deduplicate} operations.
- * Adds all the operation input items into a {@link java.util.LinkedHashSet} to
- * remove duplicate items.
+ * Wraps the operation input in a {@link DeduplicatingIterable} so duplicate items
+ * are removed as the results are streamed, maintaining the order of the items.
+ * The memory used is bounded by the store's deduplicate properties, see
+ * {@link StoreProperties#getDeduplicateMaxItemsInMemory()}.
  */
 public class DeduplicateHandler<T> implements OperationHandler<Deduplicate<T>, Iterable<T>> {
     @Override
     public Iterable<T> doOperation(final Deduplicate<T> operation, final Context context, final Store store) throws OperationException {
-        return Sets.newLinkedHashSet(operation.getInput());
+        final StoreProperties properties = null != store && null != store.getProperties()
+                ? store.getProperties() : new StoreProperties(new Properties());
+        return new DeduplicatingIterable<>(operation.getInput(),
+                properties.getDeduplicateMaxItemsInMemory(),
+                properties.isDeduplicateExact(),
+                new File(properties.getDeduplicateSpillDirectory()));
     }
 }
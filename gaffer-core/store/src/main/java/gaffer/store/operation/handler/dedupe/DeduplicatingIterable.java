@@ -0,0 +1,123 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.store.operation.handler.dedupe;
+
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.commonutil.iterable.CloseableIterator;
+import gaffer.commonutil.iterable.WrappedCloseableIterable;
+import java.io.File;
+import java.util.NoSuchElementException;
+
+/**
+ * A <code>DeduplicatingIterable</code> wraps an {@link Iterable} and lazily removes
+ * duplicate items, returning each item the first time it is seen. The order of the
+ * items is maintained.
+ * <p>
+ * Each iterator records the items it has returned in its own {@link SeenItems}, so the
+ * number of items held in memory is bounded by the provided limit and any further
+ * items are spilled to the provided directory. Spilled files are deleted when the
+ * iterator is exhausted or closed.
+ *
+ * @param <T> the type of items in the iterable.
+ */
+public class DeduplicatingIterable<T> implements CloseableIterable<T> {
+    private final CloseableIterable<T> iterable;
+    private final int maxItemsInMemory;
+    private final boolean exact;
+    private final File spillDirectory;
+
+    public DeduplicatingIterable(final Iterable<T> iterable, final int maxItemsInMemory,
+                                 final boolean exact, final File spillDirectory) {
+        if (maxItemsInMemory < 1) {
+            throw new IllegalArgumentException("Max items in memory must be at least 1.");
+        }
+
+        this.iterable = new WrappedCloseableIterable<>(iterable);
+        this.maxItemsInMemory = maxItemsInMemory;
+        this.exact = exact;
+        this.spillDirectory = spillDirectory;
+    }
+
+    @Override
+    public void close() {
+        iterable.close();
+    }
+
+    @Override
+    public CloseableIterator<T> iterator() {
+        return new DeduplicatingIterator(iterable.iterator());
+    }
+
+    private final class DeduplicatingIterator implements CloseableIterator<T> {
+        private final CloseableIterator<T> iterator;
+        private final SeenItems<T> seenItems = new SeenItems<>(maxItemsInMemory, exact, spillDirectory);
+        private T nextItem;
+        private boolean hasNextItem = false;
+        private boolean closed = false;
+
+        private DeduplicatingIterator(final CloseableIterator<T> iterator) {
+            this.iterator = iterator;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (hasNextItem) {
+                return true;
+            }
+
+            if (closed) {
+                return false;
+            }
+
+            while (iterator.hasNext()) {
+                final T item = iterator.next();
+                if (seenItems.add(item)) {
+                    nextItem = item;
+                    hasNextItem = true;
+                    return true;
+                }
+            }
+
+            close();
+            return false;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            final T item = nextItem;
+            nextItem = null;
+            hasNextItem = false;
+            return item;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("Unable to remove items from a deduplicating iterator");
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            seenItems.close();
+            iterator.close();
+        }
+    }
+}
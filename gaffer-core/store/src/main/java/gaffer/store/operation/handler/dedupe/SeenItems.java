@@ -0,0 +1,489 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.store.operation.handler.dedupe;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * A <code>SeenItems</code> records the items a {@link DeduplicatingIterable} has
+ * already returned.
+ * <p>
+ * Items are held in memory, compared using their equals and hashCode methods, until
+ * the in memory limit is reached. The items are then spilled to a run file on local
+ * disk, sorted by their hash code, and only a {@link BloomFilter} of each run's hash
+ * codes is kept in memory. Lookups of new items are rejected by the bloom filters, so
+ * the run files are only searched for items that are likely to be duplicates.
+ * <p>
+ * In exact mode the Java serialised items are spilled. Spilled items with a matching
+ * hash code are deserialised and compared using equals, so spilling does not change
+ * which items are treated as duplicates. Otherwise only a 64 bit fingerprint of each
+ * serialised item is spilled, which keeps the run files small and avoids deserialising
+ * items. An item is then treated as a duplicate if its hash code and fingerprint match
+ * a spilled item, so equal items with different serialised forms may both be returned,
+ * and in rare cases of a fingerprint collision distinct items may be dropped.
+ * <p>
+ * Whenever {@value #MERGE_FACTOR} runs of the same size have been spilled they are
+ * merged into a single run, so the number of runs searched grows logarithmically
+ * with the number of items. Items that are not {@link java.io.Serializable} cannot be
+ * spilled and are always held in memory.
+ *
+ * @param <T> the type of items
+ */
+public class SeenItems<T> implements Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SeenItems.class);
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+    private static final double BLOOM_FILTER_FALSE_POSITIVE_RATE = 0.01;
+    private static final int MERGE_FACTOR = 8;
+
+    private final int maxItemsInMemory;
+    private final boolean exact;
+    private final File spillDirectory;
+    private final Set<T> items = new HashSet<>();
+    private final Set<T> unspillableItems = new HashSet<>();
+    private final List<RunFile> runs = new ArrayList<>();
+
+    public SeenItems(final int maxItemsInMemory, final boolean exact, final File spillDirectory) {
+        if (maxItemsInMemory < 1) {
+            throw new IllegalArgumentException("Max items in memory must be at least 1.");
+        }
+
+        this.maxItemsInMemory = maxItemsInMemory;
+        this.exact = exact;
+        this.spillDirectory = spillDirectory;
+    }
+
+    /**
+     * Records the given item.
+     *
+     * @param item the item to record
+     * @return true if the item had not been seen before
+     */
+    public boolean add(final T item) {
+        if (items.contains(item) || unspillableItems.contains(item)) {
+            return false;
+        }
+
+        if (!runs.isEmpty()) {
+            final int hash = hash(item);
+            byte[] fingerprint = null;
+            for (final RunFile run : runs) {
+                if (!run.mightContain(hash)) {
+                    continue;
+                }
+
+                if (exact) {
+                    if (run.containsItem(hash, item)) {
+                        return false;
+                    }
+                } else {
+                    if (null == fingerprint) {
+                        final byte[] bytes = serialise(item);
+                        if (null == bytes) {
+                            // Items that cannot be serialised are never spilled.
+                            break;
+                        }
+                        fingerprint = fingerprint(bytes);
+                    }
+                    if (run.containsBytes(hash, fingerprint)) {
+                        return false;
+                    }
+                }
+            }
+        }
+
+        items.add(item);
+        if (items.size() >= maxItemsInMemory) {
+            spill();
+        }
+
+        return true;
+    }
+
+    public int getRunCount() {
+        return runs.size();
+    }
+
+    @Override
+    public void close() {
+        items.clear();
+        unspillableItems.clear();
+        for (final RunFile run : runs) {
+            run.close();
+        }
+        runs.clear();
+    }
+
+    private void spill() {
+        final List<SpilledItem> spilledItems = new ArrayList<>(items.size());
+        for (final T item : items) {
+            final byte[] bytes = serialise(item);
+            if (null == bytes) {
+                if (unspillableItems.isEmpty()) {
+                    LOGGER.warn("Items of class {} cannot be serialised, so they will be held in memory whilst deduplicating", item.getClass().getName());
+                }
+                unspillableItems.add(item);
+            } else {
+                spilledItems.add(new SpilledItem(hash(item), exact ? bytes : fingerprint(bytes)));
+            }
+        }
+        items.clear();
+
+        if (!spilledItems.isEmpty()) {
+            Collections.sort(spilledItems);
+            final RunFile run = new RunFile(0, spilledItems.size(), spillDirectory);
+            try {
+                for (final SpilledItem spilledItem : spilledItems) {
+                    run.append(spilledItem.hash, spilledItem.bytes);
+                }
+                run.finish();
+            } catch (final IOException e) {
+                run.close();
+                throw new RuntimeException("Unable to spill deduplicated items to " + spillDirectory + ": " + e.getMessage(), e);
+            }
+            runs.add(run);
+            mergeRuns();
+        }
+    }
+
+    /**
+     * Merges the last {@value #MERGE_FACTOR} runs into a single run of the next level
+     * while they are all of the same level. Runs are only ever added in order of
+     * decreasing level, so merged runs replace the runs they were merged from.
+     */
+    private void mergeRuns() {
+        while (runs.size() >= MERGE_FACTOR) {
+            final List<RunFile> toMerge = runs.subList(runs.size() - MERGE_FACTOR, runs.size());
+            final int level = toMerge.get(0).level;
+            long size = 0;
+            for (final RunFile run : toMerge) {
+                if (run.level != level) {
+                    return;
+                }
+                size += run.size;
+            }
+
+            final RunFile merged = new RunFile(level + 1, size, spillDirectory);
+            final PriorityQueue<RunCursor> cursors = new PriorityQueue<>(MERGE_FACTOR);
+            try {
+                for (final RunFile run : toMerge) {
+                    final RunCursor cursor = new RunCursor(run);
+                    if (cursor.advance()) {
+                        cursors.add(cursor);
+                    } else {
+                        cursor.close();
+                    }
+                }
+
+                while (!cursors.isEmpty()) {
+                    final RunCursor cursor = cursors.poll();
+                    merged.append(cursor.hash, cursor.bytes);
+                    if (cursor.advance()) {
+                        cursors.add(cursor);
+                    } else {
+                        cursor.close();
+                    }
+                }
+                merged.finish();
+            } catch (final IOException e) {
+                merged.close();
+                throw new RuntimeException("Unable to merge deduplicated items in " + spillDirectory + ": " + e.getMessage(), e);
+            } finally {
+                for (final RunCursor cursor : cursors) {
+                    cursor.close();
+                }
+            }
+
+            for (final RunFile run : toMerge) {
+                run.close();
+            }
+            toMerge.clear();
+            runs.add(merged);
+        }
+    }
+
+    private static int hash(final Object item) {
+        return null == item ? 0 : item.hashCode();
+    }
+
+    private static byte[] fingerprint(final byte[] bytes) {
+        return ByteBuffer.allocate(8).putLong(HASH_FUNCTION.hashBytes(bytes).asLong()).array();
+    }
+
+    private static byte[] serialise(final Object item) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(item);
+        } catch (final IOException e) {
+            // The item, or something it references, is not serializable.
+            return null;
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialise(final byte[] bytes) throws IOException {
+        try (final ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readObject();
+        } catch (final ClassNotFoundException e) {
+            throw new IOException("Unable to deserialise spilled item: " + e.getMessage(), e);
+        }
+    }
+
+    private static final class SpilledItem implements Comparable<SpilledItem> {
+        private final int hash;
+        private final byte[] bytes;
+
+        private SpilledItem(final int hash, final byte[] bytes) {
+            this.hash = hash;
+            this.bytes = bytes;
+        }
+
+        @Override
+        public int compareTo(final SpilledItem other) {
+            return Integer.compare(hash, other.hash);
+        }
+    }
+
+    /**
+     * A run of spilled items. The index file holds fixed length records of the
+     * item's hash code and the offset of the spilled bytes in the data file,
+     * sorted by hash code so it can be binary searched. The data file holds the
+     * serialised items, or their fingerprints, in the same order, each preceded
+     * by its length.
+     */
+    private static final class RunFile {
+        private static final int RECORD_LENGTH = 12;
+
+        private final int level;
+        private final BloomFilter<Integer> bloomFilter;
+        private final byte[] record = new byte[RECORD_LENGTH];
+        private long size;
+        private long offset;
+        private File indexFile;
+        private File dataFile;
+        private DataOutputStream indexOut;
+        private DataOutputStream dataOut;
+        private RandomAccessFile index;
+        private RandomAccessFile data;
+
+        private RunFile(final int level, final long expectedSize, final File spillDirectory) {
+            this.level = level;
+            this.bloomFilter = BloomFilter.create(Funnels.integerFunnel(),
+                    (int) Math.max(1, Math.min(expectedSize, Integer.MAX_VALUE)), BLOOM_FILTER_FALSE_POSITIVE_RATE);
+            try {
+                indexFile = File.createTempFile("gaffer-deduplicate-", ".index", spillDirectory);
+                indexFile.deleteOnExit();
+                dataFile = File.createTempFile("gaffer-deduplicate-", ".data", spillDirectory);
+                dataFile.deleteOnExit();
+                indexOut = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(indexFile)));
+                dataOut = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(dataFile)));
+            } catch (final IOException e) {
+                close();
+                throw new RuntimeException("Unable to spill deduplicated items to " + spillDirectory + ": " + e.getMessage(), e);
+            }
+        }
+
+        /**
+         * Appends an item to the run. Items must be appended in order of hash code.
+         */
+        private void append(final int hash, final byte[] bytes) throws IOException {
+            bloomFilter.put(hash);
+            indexOut.writeInt(hash);
+            indexOut.writeLong(offset);
+            dataOut.writeInt(bytes.length);
+            dataOut.write(bytes);
+            offset += 4 + bytes.length;
+            size++;
+        }
+
+        private void finish() throws IOException {
+            indexOut.close();
+            indexOut = null;
+            dataOut.close();
+            dataOut = null;
+            index = new RandomAccessFile(indexFile, "r");
+            data = new RandomAccessFile(dataFile, "r");
+        }
+
+        private boolean mightContain(final int hash) {
+            return bloomFilter.mightContain(hash);
+        }
+
+        private boolean containsItem(final int hash, final Object item) {
+            try {
+                for (long i = findFirst(hash); i < size; i++) {
+                    final ByteBuffer buffer = readRecord(i);
+                    if (buffer.getInt() != hash) {
+                        return false;
+                    }
+                    if (Objects.equals(item, deserialise(readBytes(buffer.getLong())))) {
+                        return true;
+                    }
+                }
+                return false;
+            } catch (final IOException e) {
+                throw new RuntimeException("Unable to read deduplicated items from " + dataFile + ": " + e.getMessage(), e);
+            }
+        }
+
+        private boolean containsBytes(final int hash, final byte[] bytes) {
+            try {
+                for (long i = findFirst(hash); i < size; i++) {
+                    final ByteBuffer buffer = readRecord(i);
+                    if (buffer.getInt() != hash) {
+                        return false;
+                    }
+                    if (Arrays.equals(bytes, readBytes(buffer.getLong()))) {
+                        return true;
+                    }
+                }
+                return false;
+            } catch (final IOException e) {
+                throw new RuntimeException("Unable to read deduplicated items from " + dataFile + ": " + e.getMessage(), e);
+            }
+        }
+
+        /**
+         * Finds the first record with a hash code not less than the given hash code.
+         */
+        private long findFirst(final int hash) throws IOException {
+            long low = 0;
+            long high = size;
+            while (low < high) {
+                final long mid = (low + high) >>> 1;
+                if (readRecord(mid).getInt() < hash) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private ByteBuffer readRecord(final long position) throws IOException {
+            index.seek(position * RECORD_LENGTH);
+            index.readFully(record);
+            return ByteBuffer.wrap(record);
+        }
+
+        private byte[] readBytes(final long bytesOffset) throws IOException {
+            data.seek(bytesOffset);
+            final byte[] bytes = new byte[data.readInt()];
+            data.readFully(bytes);
+            return bytes;
+        }
+
+        private void close() {
+            closeQuietly(indexOut);
+            closeQuietly(dataOut);
+            closeQuietly(index);
+            closeQuietly(data);
+            delete(indexFile);
+            delete(dataFile);
+        }
+
+        private static void delete(final File file) {
+            if (null != file && file.exists() && !file.delete()) {
+                file.deleteOnExit();
+            }
+        }
+    }
+
+    /**
+     * Reads the items of a finished run sequentially, in order of hash code.
+     */
+    private static final class RunCursor implements Comparable<RunCursor>, Closeable {
+        private final DataInputStream indexIn;
+        private final DataInputStream dataIn;
+        private long remaining;
+        private int hash;
+        private byte[] bytes;
+
+        private RunCursor(final RunFile run) throws IOException {
+            remaining = run.size;
+            indexIn = new DataInputStream(new BufferedInputStream(new FileInputStream(run.indexFile)));
+            try {
+                dataIn = new DataInputStream(new BufferedInputStream(new FileInputStream(run.dataFile)));
+            } catch (final IOException e) {
+                closeQuietly(indexIn);
+                throw e;
+            }
+        }
+
+        private boolean advance() throws IOException {
+            if (remaining < 1) {
+                return false;
+            }
+
+            // The data file is in index order, so the offset is not needed.
+            hash = indexIn.readInt();
+            indexIn.readLong();
+            bytes = new byte[dataIn.readInt()];
+            dataIn.readFully(bytes);
+            remaining--;
+            return true;
+        }
+
+        @Override
+        public int compareTo(final RunCursor other) {
+            return Integer.compare(hash, other.hash);
+        }
+
+        @Override
+        public void close() {
+            closeQuietly(indexIn);
+            closeQuietly(dataIn);
+        }
+    }
+
+    private static void closeQuietly(final Closeable closeable) {
+        if (null != closeable) {
+            try {
+                closeable.close();
+            } catch (final IOException e) {
+                // ignore - the file is about to be deleted
+            }
+        }
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.store.optimiser;
+
+import gaffer.data.AlwaysValid;
+import gaffer.data.element.IdentifierType;
+import gaffer.data.generator.ElementGenerator;
+import gaffer.operation.AbstractOperation;
+import gaffer.operation.GetOperation;
+import gaffer.operation.GetOperation.IncludeEdgeType;
+import gaffer.operation.GetOperation.IncludeIncomingOutgoingType;
+import gaffer.operation.Operation;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.data.generator.EntitySeedExtractor;
+import gaffer.operation.impl.Deduplicate;
+import gaffer.operation.impl.Limit;
+import gaffer.operation.impl.generate.GenerateObjects;
+import gaffer.operation.impl.get.GetAdjacentEntitySeeds;
+import gaffer.operation.impl.get.GetRelatedEdges;
+import gaffer.operation.impl.get.GetRelatedElements;
+import gaffer.store.Store;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Applies rules to an operation chain that push work from later operations
+ * down into the {@link GetOperation}s so the store can do less scanning:
+ * <ul>
+ * <li>Extracting the destination {@link EntitySeed}s from outgoing directed edges is
+ * replaced with a single {@link GetAdjacentEntitySeeds} operation.</li>
+ * <li>{@link Deduplicate} operations are removed if their input is already unique.</li>
+ * <li>Adjacent {@link Limit} operations are merged.</li>
+ * <li>A {@link Limit} directly after a {@link GetOperation} is set as the result limit
+ * of the {@link GetOperation}. The {@link Limit} is kept as stores may not honour the result limit.</li>
+ * </ul>
+ * This optimiser should run after the {@link CoreOperationChainOptimiser} so that
+ * any {@link Deduplicate} operations have already been added to the chain.
+ * <p>
+ * The operations in the provided chain are not modified, operations that need to be
+ * changed are copied using {@link AbstractOperation#clone()}. A {@link GetOperation} that
+ * is not an {@link AbstractOperation} cannot be copied, so its result limit is left unset.
+ */
+public class PushDownOperationChainOptimiser extends AbstractOperationChainOptimiser {
+    private final Store store;
+
+    public PushDownOperationChainOptimiser(final Store store) {
+        this.store = store;
+    }
+
+    /**
+     * No pre operations are added.
+     *
+     * @param previousOp the previous operation
+     * @param currentOp  the current operation
+     * @return an empty list.
+     */
+    @Override
+    protected List<Operation> addPreOperations(final Operation<?, ?> previousOp, final Operation<?, ?> currentOp) {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Replaces a {@link GetRelatedEdges} or {@link GetRelatedElements} operation followed by
+     * a {@link GenerateObjects} operation that extracts the edge destinations with a single
+     * {@link GetAdjacentEntitySeeds} operation. The following {@link GenerateObjects} operation
+     * is then removed.
+     *
+     * @param previousOp the previous operation
+     * @param currentOp  the current operation
+     * @param nextOp     the next operation
+     * @return the optimised operations.
+     */
+    @Override
+    protected List<Operation> optimiseCurrentOperation(final Operation<?, ?> previousOp, final Operation<?, ?> currentOp, final Operation<?, ?> nextOp) {
+        if (isAdjacentSeedExtraction(currentOp, nextOp)) {
+            return Collections.singletonList((Operation) createGetAdjacentEntitySeeds((GetOperation<?, ?>) currentOp));
+        }
+
+        if (isAdjacentSeedExtraction(previousOp, currentOp)) {
+            return Collections.emptyList();
+        }
+
+        return Collections.singletonList((Operation) currentOp);
+    }
+
+    /**
+     * No post operations are added.
+     *
+     * @param currentOp the current operation
+     * @param nextOp    the next operation
+     * @return an empty list.
+     */
+    @Override
+    protected List<Operation> addPostOperations(final Operation<?, ?> currentOp, final Operation<?, ?> nextOp) {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Removes redundant {@link Deduplicate} operations and then pushes {@link Limit}s
+     * into the {@link GetOperation}s.
+     *
+     * @param ops operations to be optimised
+     * @return the optimised operations.
+     */
+    @Override
+    protected List<Operation> optimiseAll(final List<Operation> ops) {
+        return pushDownLimits(removeRedundantDeduplicates(ops));
+    }
+
+    private List<Operation> removeRedundantDeduplicates(final List<Operation> ops) {
+        final List<Operation> optimisedOps = new ArrayList<>(ops.size());
+        Operation previousOp = null;
+        for (final Operation op : ops) {
+            if (!(op instanceof Deduplicate && null == op.getInput() && isUnique(previousOp))) {
+                optimisedOps.add(op);
+                previousOp = op;
+            }
+        }
+
+        return optimisedOps;
+    }
+
+    private boolean isUnique(final Operation previousOp) {
+        return previousOp instanceof Deduplicate
+                || (previousOp instanceof GetOperation && store.isOutputUnique((GetOperation) previousOp));
+    }
+
+    private List<Operation> pushDownLimits(final List<Operation> ops) {
+        final List<Operation> optimisedOps = new ArrayList<>(ops.size());
+        Operation previousOp = null;
+        for (final Operation op : ops) {
+            if (op instanceof Limit && null == op.getInput()) {
+                final Integer resultLimit = ((Limit) op).getResultLimit();
+                if (previousOp instanceof Limit) {
+                    final Limit previousLimit = (Limit) ((Limit) previousOp).clone();
+                    previousLimit.setResultLimit(min(previousLimit.getResultLimit(), resultLimit));
+                    optimisedOps.set(optimisedOps.size() - 1, previousLimit);
+                    previousOp = previousLimit;
+                    continue;
+                }
+
+                if (previousOp instanceof GetOperation && previousOp instanceof AbstractOperation) {
+                    final GetOperation getOp = (GetOperation) ((AbstractOperation) previousOp).clone();
+                    getOp.setResultLimit(min(getOp.getResultLimit(), resultLimit));
+                    optimisedOps.set(optimisedOps.size() - 1, getOp);
+                }
+            }
+
+            optimisedOps.add(op);
+            previousOp = op;
+        }
+
+        return optimisedOps;
+    }
+
+    private boolean isAdjacentSeedExtraction(final Operation<?, ?> getOp, final Operation<?, ?> generateOp) {
+        if (!(getOp instanceof GetRelatedEdges || getOp instanceof GetRelatedElements)
+                || !(generateOp instanceof GenerateObjects)
+                || null != generateOp.getInput()) {
+            return false;
+        }
+
+        // The destinations are only the adjacent vertices if all the edges are directed away from the seeds.
+        final GetOperation<?, ?> getOperation = (GetOperation<?, ?>) getOp;
+        if (getOperation.isIncludeEntities()
+                || getOperation.isDeduplicate()
+                || IncludeEdgeType.DIRECTED != getOperation.getIncludeEdges()
+                || IncludeIncomingOutgoingType.OUTGOING != getOperation.getIncludeIncomingOutGoing()
+                || !isEntitySeeds(getOperation.getSeeds())) {
+            return false;
+        }
+
+        final ElementGenerator<?> generator = ((GenerateObjects<?, ?>) generateOp).getElementGenerator();
+        if (null == generator || EntitySeedExtractor.class != generator.getClass()) {
+            return false;
+        }
+
+        final EntitySeedExtractor extractor = (EntitySeedExtractor) generator;
+        return IdentifierType.DESTINATION == extractor.getEdgeIdentifierToExtract()
+                && extractor.getElementValidator() instanceof AlwaysValid
+                && extractor.getObjValidator() instanceof AlwaysValid;
+    }
+
+    private boolean isEntitySeeds(final Iterable<?> seeds) {
+        // Only collections are checked, as iterating other iterables may consume them.
+        if (!(seeds instanceof Collection)) {
+            return false;
+        }
+
+        for (final Object seed : seeds) {
+            if (!(seed instanceof EntitySeed)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private GetAdjacentEntitySeeds createGetAdjacentEntitySeeds(final GetOperation<?, ?> getOp) {
+        final GetAdjacentEntitySeeds getAdjacentEntitySeeds = new GetAdjacentEntitySeeds(
+                getOp.getView(), (Iterable<EntitySeed>) getOp.getSeeds());
+        getAdjacentEntitySeeds.setOptions(new HashMap<>(getOp.getOptions()));
+        getAdjacentEntitySeeds.setIncludeEntities(false);
+        getAdjacentEntitySeeds.setIncludeEdges(getOp.getIncludeEdges());
+        getAdjacentEntitySeeds.setIncludeIncomingOutGoing(getOp.getIncludeIncomingOutGoing());
+        getAdjacentEntitySeeds.setSummarise(getOp.isSummarise());
+        getAdjacentEntitySeeds.setPopulateProperties(getOp.isPopulateProperties());
+        getAdjacentEntitySeeds.setResultLimit(getOp.getResultLimit());
+        return getAdjacentEntitySeeds;
+    }
+
+    private static Integer min(final Integer limit1, final Integer limit2) {
+        if (null == limit1) {
+            return limit2;
+        }
+
+        if (null == limit2) {
+            return limit1;
+        }
+
+        return Math.min(limit1, limit2);
+    }
+}
@@ -23,6 +23,8 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import gaffer.data.TransformIterable;
 import gaffer.data.element.ElementComponentKey;
 import gaffer.data.element.IdentifierType;
+import gaffer.data.element.IndexedProperties;
+import gaffer.data.element.PropertyIndex;
 import gaffer.data.element.function.ElementAggregator;
 import gaffer.data.element.function.ElementFilter;
 import gaffer.data.elementdefinition.ElementDefinition;
@@ -66,6 +68,12 @@ public abstract class SchemaElementDefinition implements ElementDefinition {
      */
     private LinkedHashMap<IdentifierType, String> identifiers;
 
+    /**
+     * Index of property name to slot, shared by the {@link IndexedProperties} of this element definition.
+     * Created lazily and reset whenever the properties change.
+     */
+    private PropertyIndex propertyIndex;
+
     private ElementFilter validator;
 
     /**
@@ -105,6 +113,7 @@ public abstract class SchemaElementDefinition implements ElementDefinition {
             final String newPropTypeName = entry.getValue();
             if (!properties.containsKey(newProp)) {
                 properties.put(newProp, newPropTypeName);
+                propertyIndex = null;
             } else {
                 final String typeName = properties.get(newProp);
                 if (!typeName.equals(newPropTypeName)) {
@@ -152,6 +161,26 @@ public abstract class SchemaElementDefinition implements ElementDefinition {
     @JsonSetter("properties")
     protected void setPropertyMap(final LinkedHashMap<String, String> properties) {
         this.properties = properties;
+        propertyIndex = null;
+    }
+
+    /**
+     * @return the {@link PropertyIndex} of the properties in this element definition, in the order they are defined.
+     */
+    @JsonIgnore
+    public PropertyIndex getPropertyIndex() {
+        if (null == propertyIndex) {
+            propertyIndex = new PropertyIndex(properties.keySet());
+        }
+
+        return propertyIndex;
+    }
+
+    /**
+     * @return a new, empty {@link IndexedProperties} that uses the {@link PropertyIndex} of this element definition.
+     */
+    public IndexedProperties createProperties() {
+        return new IndexedProperties(getPropertyIndex());
     }
 
     @JsonIgnore
@@ -372,6 +401,7 @@ public abstract class SchemaElementDefinition implements ElementDefinition {
 
         protected Builder property(final String propertyName, final String typeName) {
             elDef.properties.put(propertyName, typeName);
+            elDef.propertyIndex = null;
             return this;
         }
 
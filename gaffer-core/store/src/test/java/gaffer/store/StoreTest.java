@@ -26,11 +26,16 @@ import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import com.google.common.collect.Lists;
 import gaffer.commonutil.TestGroups;
 import gaffer.commonutil.TestPropertyNames;
+import gaffer.commonutil.iterable.PipelinedIterable;
+import gaffer.commonutil.iterable.WrappedCloseableIterable;
 import gaffer.data.element.Element;
 import gaffer.data.element.Entity;
 import gaffer.data.element.IdentifierType;
@@ -45,6 +50,7 @@ import gaffer.operation.data.ElementSeed;
 import gaffer.operation.data.EntitySeed;
 import gaffer.operation.impl.CountGroups;
 import gaffer.operation.impl.Deduplicate;
+import gaffer.operation.impl.Limit;
 import gaffer.operation.impl.Validate;
 import gaffer.operation.impl.add.AddElements;
 import gaffer.operation.impl.export.FetchExport;
@@ -66,6 +72,7 @@ import gaffer.operation.impl.get.GetRelatedElements;
 import gaffer.operation.impl.get.GetRelatedEntities;
 import gaffer.store.operation.handler.CountGroupsHandler;
 import gaffer.store.operation.handler.DeduplicateHandler;
+import gaffer.store.operation.handler.LimitHandler;
 import gaffer.store.operation.handler.OperationHandler;
 import gaffer.store.operation.handler.export.FetchExportHandler;
 import gaffer.store.operation.handler.export.FetchExporterHandler;
@@ -83,8 +90,10 @@ import org.junit.Before;
 import org.junit.Test;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -186,6 +195,7 @@ public class StoreTest {
 
         assertTrue(store.getOperationHandlerExposed(CountGroups.class) instanceof CountGroupsHandler);
         assertTrue(store.getOperationHandlerExposed(Deduplicate.class) instanceof DeduplicateHandler);
+        assertTrue(store.getOperationHandlerExposed(Limit.class) instanceof LimitHandler);
 
         assertTrue(store.getOperationHandlerExposed(InitialiseSetExport.class) instanceof InitialiseExportHandler);
         assertTrue(store.getOperationHandlerExposed(UpdateExport.class) instanceof UpdateExportHandler);
@@ -312,6 +322,96 @@ public class StoreTest {
         assertSame(getElementsResult, result);
     }
 
+    @Test
+    public void shouldPipelineMultiStepOperationsWhenEnabled() throws Exception {
+        // Given
+        final Schema schema = mock(Schema.class);
+        final StoreProperties properties = mock(StoreProperties.class);
+        final StoreImpl store = new StoreImpl();
+        final Entity entity1 = new Entity(TestGroups.ENTITY, "vertex1");
+        final Entity entity2 = new Entity(TestGroups.ENTITY, "vertex2");
+        final Entity entity3 = new Entity(TestGroups.ENTITY, "vertex3");
+        final Iterable<Element> getElementsResult = new WrappedCloseableIterable<Element>(
+                Arrays.<Element>asList(entity1, entity2, entity1, entity3, entity2));
+
+        final GetElementsBySeed<ElementSeed, Element> getElementsBySeed = new GetElementsBySeed<>();
+        final Deduplicate<Element> deduplicate = new Deduplicate<>();
+        final OperationChain<Iterable<Element>> opChain = new OperationChain.Builder()
+                .first(getElementsBySeed)
+                .then(deduplicate)
+                .build();
+
+        given(schema.validate()).willReturn(true);
+        given(properties.isPipelineOperationChains()).willReturn(true);
+        given(properties.getPipelineBatchSize()).willReturn(2);
+        given(properties.getPipelineQueueSize()).willReturn(1);
+        given(getElementsHandler.doOperation(getElementsBySeed, context, store)).willReturn(getElementsResult);
+
+        store.initialise(schema, properties);
+
+        // When
+        final Iterable<Element> result = store.execute(opChain, user);
+
+        // Then
+        assertTrue(deduplicate.getInput() instanceof PipelinedIterable);
+        assertEquals(Arrays.<Element>asList(entity1, entity2, entity3), Lists.newArrayList(result));
+    }
+
+    @Test
+    public void shouldReturnCachedResultForRepeatedOperationChainWhenEnabled() throws Exception {
+        // Given
+        final Schema schema = mock(Schema.class);
+        final StoreProperties properties = mock(StoreProperties.class);
+        final StoreImpl store = new StoreImpl();
+        final Entity entity = new Entity(TestGroups.ENTITY, "vertex1");
+
+        given(schema.validate()).willReturn(true);
+        given(properties.isResultCacheEnabled()).willReturn(true);
+        given(properties.getResultCacheMaxSize()).willReturn(100);
+        given(properties.getResultCacheMaxResultSize()).willReturn(10);
+        given(properties.getResultCacheTimeToLive()).willReturn(60000L);
+        given(getElementsHandler.doOperation(any(GetElementsBySeed.class), any(Context.class), any(Store.class)))
+                .willReturn(new WrappedCloseableIterable<Element>(Collections.<Element>singletonList(entity)));
+
+        store.initialise(schema, properties);
+        final Iterable<Element> firstResult = store.execute(createGetElementsBySeed("vertex1"), user);
+        final List<Element> firstResultList = Lists.newArrayList(firstResult);
+
+        // When
+        final Iterable<Element> secondResult = store.execute(createGetElementsBySeed("vertex1"), user);
+
+        // Then
+        assertEquals(firstResultList, Lists.newArrayList(secondResult));
+        verify(getElementsHandler, times(1)).doOperation(any(GetElementsBySeed.class), any(Context.class), any(Store.class));
+        assertEquals(1, store.getResultCache().getHitCount());
+        assertEquals(1, store.getResultCache().getMissCount());
+    }
+
+    @Test
+    public void shouldNotChangeTheCallersAddElementsWhenTrackingAddedElements() throws Exception {
+        // Given
+        final Schema schema = mock(Schema.class);
+        final StoreProperties properties = mock(StoreProperties.class);
+        final StoreImpl store = new StoreImpl();
+        final List<Element> elements = Collections.<Element>singletonList(new Entity(TestGroups.ENTITY, "vertex1"));
+        final AddElements addElements = new AddElements(elements);
+
+        given(schema.validate()).willReturn(true);
+        given(properties.isResultCacheEnabled()).willReturn(true);
+        given(properties.getResultCacheMaxSize()).willReturn(100);
+        given(properties.getResultCacheMaxResultSize()).willReturn(10);
+        given(properties.getResultCacheTimeToLive()).willReturn(60000L);
+        store.initialise(schema, properties);
+
+        // When
+        store.execute(addElements, user);
+        store.execute(addElements, user);
+
+        // Then
+        assertSame(elements, addElements.getElements());
+        verify(addElementsHandler, times(2)).doOperation(any(AddElements.class), any(Context.class), any(Store.class));
+    }
+
     @Test
     public void shouldReturnAllSupportedOperations() throws Exception {
         // Given
@@ -321,7 +421,7 @@ public class StoreTest {
         final Map<String, String> options = mock(HashMap.class);
 
         final StoreImpl store = new StoreImpl();
-        final int expectedNumberOfOperations = 25;
+        final int expectedNumberOfOperations = 26;
 
         given(schema.validate()).willReturn(true);
         given(validatable.isValidate()).willReturn(true);
@@ -414,6 +514,12 @@ public class StoreTest {
         assertFalse(supported);
     }
 
+    private GetElementsBySeed<ElementSeed, Element> createGetElementsBySeed(final String vertex) {
+        final GetElementsBySeed<ElementSeed, Element> getElementsBySeed = new GetElementsBySeed<>();
+        getElementsBySeed.setSeeds(Collections.<ElementSeed>singletonList(new EntitySeed(vertex)));
+        return getElementsBySeed;
+    }
+
     private class StoreImpl extends Store {
         private final Set<StoreTrait> TRAITS = new HashSet<>(Arrays.asList(AGGREGATION, FILTERING, TRANSFORMATION));
 
@@ -0,0 +1,254 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.store.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import com.google.common.collect.Lists;
+import gaffer.commonutil.TestGroups;
+import gaffer.commonutil.iterable.WrappedCloseableIterable;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.operation.OperationChain;
+import gaffer.operation.data.ElementSeed;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.impl.get.GetAllElements;
+import gaffer.operation.impl.get.GetElementsBySeed;
+import gaffer.user.User;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+
+public class OperationChainCacheTest {
+    private static final User USER = new User("user", new HashSet<>(Collections.singletonList("auth1")));
+
+    @Test
+    public void shouldCacheLazyResultOnceFullyIterated() {
+        // Given
+        final OperationChainCache cache = new OperationChainCache(100, 10, 60000);
+        final List<Element> elements = createEntities("vertex1", "vertex2");
+        final Iterable<Element> result = cache.cache(createKey(cache, USER, "vertex1"),
+                new WrappedCloseableIterable<>(elements));
+        assertNull(cache.get(createKey(cache, USER, "vertex1")));
+
+        // When
+        Lists.newArrayList(result);
+        final Object cachedResult = cache.get(createKey(cache, USER, "vertex1"));
+
+        // Then
+        assertEquals(elements, Lists.newArrayList((Iterable<?>) cachedResult));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(2, cache.getSize());
+    }
+
+    @Test
+    public void shouldNotCacheLazyResultThatIsNotFullyIterated() {
+        // Given
+        final OperationChainCache cache = new OperationChainCache(100, 10, 60000);
+        final Iterable<Element> result = cache.cache(createKey(cache, USER, "vertex1"),
+                new WrappedCloseableIterable<>(createEntities("vertex1", "vertex2")));
+
+        // When
+        result.iterator().next();
+
+        // Then
+        assertNull(cache.get(createKey(cache, USER, "vertex1")));
+    }
+
+    @Test
+    public void shouldNotCacheLazyResultLargerThanMaxResultSize() {
+        // Given
+        final OperationChainCache cache = new OperationChainCache(100, 2, 60000);
+        final Iterable<Element> result = cache.cache(createKey(cache, USER, "vertex1"),
+                new WrappedCloseableIterable<>(createEntities("vertex1", "vertex2", "vertex3")));
+
+        // When
+        final List<Element> resultList = Lists.newArrayList(result);
+
+        // Then
+        assertEquals(3, resultList.size());
+        assertNull(cache.get(createKey(cache, USER, "vertex1")));
+    }
+
+    @Test
+    public void shouldNotShareResultsBetweenUsersWithDifferentDataAuths() {
+        // Given
+        final OperationChainCache cache = new OperationChainCache(100, 10, 60000);
+        final User otherUser = new User("user", new HashSet<>(Arrays.asList("auth1", "auth2")));
+        cache.cache(createKey(cache, USER, "vertex1"), createEntities("vertex1"));
+
+        // When
+        final Object cachedResult = cache.get(createKey(cache, otherUser, "vertex1"));
+
+        // Then
+        assertNull(cachedResult);
+        assertNotNull(cache.get(createKey(cache, USER, "vertex1")));
+    }
+
+    @Test
+    public void shouldExpireResultsAfterTimeToLive() {
+        // Given
+        final long[] time = {1000L};
+        final OperationChainCache cache = new OperationChainCache(100, 10, 500) {
+            @Override
+            protected long currentTimeMillis() {
+                return time[0];
+            }
+        };
+        cache.cache(createKey(cache, USER, "vertex1"), createEntities("vertex1"));
+        assertNotNull(cache.get(createKey(cache, USER, "vertex1")));
+
+        // When
+        time[0] = 1500L;
+
+        // Then
+        assertNull(cache.get(createKey(cache, USER, "vertex1")));
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedResultsWhenMaxSizeExceeded() {
+        // Given
+        final OperationChainCache cache = new OperationChainCache(4, 2, 60000);
+        cache.cache(createKey(cache, USER, "vertex1"), createEntities("vertex1", "vertex2"));
+        cache.cache(createKey(cache, USER, "vertex2"), createEntities("vertex1", "vertex2"));
+        cache.get(createKey(cache, USER, "vertex1"));
+
+        // When
+        cache.cache(createKey(cache, USER, "vertex3"), createEntities("vertex1", "vertex2"));
+
+        // Then
+        assertNotNull(cache.get(createKey(cache, USER, "vertex1")));
+        assertNull(cache.get(createKey(cache, USER, "vertex2")));
+        assertNotNull(cache.get(createKey(cache, USER, "vertex3")));
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(4, cache.getSize());
+    }
+
+    @Test
+    public void shouldInvalidateResultsForAddedVertices() {
+        // Given
+        final OperationChainCache cache = new OperationChainCache(100, 10, 60000);
+        cache.cache(createKey(cache, USER, "vertex1"), createEntities("vertex1"));
+        cache.cache(createKey(cache, USER, "vertex2"), createEntities("vertex2"));
+        final OperationChainCache.Invalidation invalidation = cache.startInvalidation();
+
+        // When
+        Lists.newArrayList(invalidation.track(Collections.<Element>singletonList(
+                new Edge(TestGroups.EDGE, "vertex1", "vertex3", true))));
+        invalidation.complete();
+
+        // Then
+        assertNull(cache.get(createKey(cache, USER, "vertex1")));
+        assertNotNull(cache.get(createKey(cache, USER, "vertex2")));
+        assertEquals(1, cache.getInvalidationCount());
+    }
+
+    @Test
+    public void shouldNotInvalidateResultsForOtherGroups() {
+        // Given
+        final OperationChainCache cache = new OperationChainCache(100, 10, 60000);
+        final OperationChainCache.Key key = cache.createKey(new OperationChain<>(new GetElementsBySeed.Builder<>()
+                .addSeed(new EntitySeed("vertex1"))
+                .view(new View.Builder().entity(TestGroups.ENTITY).build())
+                .build()), USER);
+        cache.cache(key, createEntities("vertex1"));
+        final OperationChainCache.Invalidation invalidation = cache.startInvalidation();
+
+        // When
+        Lists.newArrayList(invalidation.track(Collections.<Element>singletonList(
+                new Edge(TestGroups.EDGE, "vertex1", "vertex3", true))));
+        invalidation.complete();
+
+        // Then
+        assertNotNull(cache.get(key));
+    }
+
+    @Test
+    public void shouldInvalidateGetAllElementsResultsForAnyVertex() {
+        // Given
+        final OperationChainCache cache = new OperationChainCache(100, 10, 60000);
+        final OperationChainCache.Key key = cache.createKey(new OperationChain<>(new GetAllElements<>()), USER);
+        cache.cache(key, createEntities("vertex1"));
+        final OperationChainCache.Invalidation invalidation = cache.startInvalidation();
+
+        // When
+        Lists.newArrayList(invalidation.track(createEntities("vertex5")));
+        invalidation.complete();
+
+        // Then
+        assertNull(cache.get(cache.createKey(new OperationChain<>(new GetAllElements<>()), USER)));
+    }
+
+    @Test
+    public void shouldNotCacheResultsCreatedDuringAnInvalidation() {
+        // Given
+        final OperationChainCache cache = new OperationChainCache(100, 10, 60000);
+        final OperationChainCache.Key key = createKey(cache, USER, "vertex1");
+        final OperationChainCache.Invalidation invalidation = cache.startInvalidation();
+
+        // When
+        cache.cache(key, createEntities("vertex1"));
+        invalidation.complete();
+
+        // Then
+        assertNull(cache.get(createKey(cache, USER, "vertex1")));
+    }
+
+    @Test
+    public void shouldReturnUnmodifiableCachedResults() {
+        // Given
+        final OperationChainCache cache = new OperationChainCache(100, 10, 60000);
+        final Iterable<Element> result = cache.cache(createKey(cache, USER, "vertex1"),
+                new WrappedCloseableIterable<>(createEntities("vertex1")));
+        Lists.newArrayList(result);
+        final Iterator<?> itr = ((Iterable<?>) cache.get(createKey(cache, USER, "vertex1"))).iterator();
+        itr.next();
+
+        // When / Then
+        try {
+            itr.remove();
+            fail("Exception expected");
+        } catch (final UnsupportedOperationException e) {
+            assertNotNull(e);
+        }
+    }
+
+    private OperationChainCache.Key createKey(final OperationChainCache cache, final User user, final String vertex) {
+        final GetElementsBySeed<ElementSeed, Element> getElementsBySeed = new GetElementsBySeed<>();
+        getElementsBySeed.setSeeds(Collections.<ElementSeed>singletonList(new EntitySeed(vertex)));
+        return cache.createKey(new OperationChain<>(getElementsBySeed), user);
+    }
+
+    private List<Element> createEntities(final String... vertices) {
+        final List<Element> entities = new ArrayList<>(vertices.length);
+        for (final String vertex : vertices) {
+            entities.add(new Entity(TestGroups.ENTITY, vertex));
+        }
+        return entities;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.store.metrics;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class LatencyHistogramTest {
+    @Test
+    public void shouldRecordCountMeanAndMax() {
+        // Given
+        final LatencyHistogram histogram = new LatencyHistogram();
+
+        // When
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(10));
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(30));
+
+        // Then
+        assertEquals(2, histogram.getCount());
+        assertEquals(20, histogram.getMeanMillis(), 0.001);
+        assertEquals(30, histogram.getMaxMillis(), 0.001);
+    }
+
+    @Test
+    public void shouldEstimatePercentilesFromBuckets() {
+        // Given
+        final LatencyHistogram histogram = new LatencyHistogram();
+
+        // When
+        for (int i = 0; i < 99; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(3));
+        }
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(150));
+
+        // Then
+        assertEquals(5, histogram.getP50Millis(), 0.001);
+        assertEquals(5, histogram.getP99Millis(), 0.001);
+        assertEquals(150, histogram.getPercentileMillis(1), 0.001);
+    }
+
+    @Test
+    public void shouldCountLatenciesInBuckets() {
+        // Given
+        final LatencyHistogram histogram = new LatencyHistogram();
+
+        // When
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(1));
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(7));
+        histogram.record(TimeUnit.MINUTES.toNanos(5));
+
+        // Then
+        final Map<String, Long> buckets = histogram.getBuckets();
+        assertEquals(Long.valueOf(1), buckets.get("<=1ms"));
+        assertEquals(Long.valueOf(1), buckets.get("<=10ms"));
+        assertEquals(Long.valueOf(1), buckets.get(">60000ms"));
+        assertEquals(Long.valueOf(0), buckets.get("<=2ms"));
+    }
+
+    @Test
+    public void shouldResetHistogram() {
+        // Given
+        final LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(10));
+
+        // When
+        histogram.reset();
+
+        // Then
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMaxMillis(), 0.001);
+        assertEquals(0, histogram.getP99Millis(), 0.001);
+    }
+}
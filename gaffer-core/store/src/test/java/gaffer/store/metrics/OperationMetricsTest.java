@@ -0,0 +1,101 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.store.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+public class OperationMetricsTest {
+    @Test
+    public void shouldRecordLatenciesByName() {
+        // Given
+        final OperationMetrics metrics = new OperationMetrics();
+
+        // When
+        metrics.recordLatency("op1", 1000);
+        metrics.recordLatency("op1", 2000);
+        metrics.recordLatency("op2", 1000);
+
+        // Then
+        assertEquals(2, metrics.getLatency("op1").getCount());
+        assertEquals(1, metrics.getLatency("op2").getCount());
+        assertEquals(2, metrics.getLatencies().size());
+    }
+
+    @Test
+    public void shouldIncrementCounters() {
+        // Given
+        final OperationMetrics metrics = new OperationMetrics();
+
+        // When
+        metrics.increment(OperationMetrics.ELEMENTS_SCANNED, 5);
+        metrics.increment(OperationMetrics.ELEMENTS_SCANNED, 2);
+        metrics.increment(OperationMetrics.ELEMENTS_RETURNED, 1);
+
+        // Then
+        assertEquals(7, metrics.getCount(OperationMetrics.ELEMENTS_SCANNED));
+        assertEquals(0, metrics.getCount(OperationMetrics.ELEMENTS_FILTERED));
+        final Map<String, Long> counters = metrics.getCounters();
+        assertEquals(Long.valueOf(1), counters.get(OperationMetrics.ELEMENTS_RETURNED));
+    }
+
+    @Test
+    public void shouldTrackOpenBatchScanners() {
+        // Given
+        final OperationMetrics metrics = new OperationMetrics();
+
+        // When
+        metrics.batchScannerOpened();
+        metrics.batchScannerOpened();
+        metrics.batchScannerClosed();
+        metrics.reset();
+
+        // Then
+        assertEquals(1, metrics.getOpenBatchScanners());
+    }
+
+    @Test
+    public void shouldRegisterAndUnregisterMBean() throws Exception {
+        // Given
+        final OperationMetrics metrics = new OperationMetrics();
+        metrics.recordLatency("op1", 1000);
+        metrics.increment(OperationMetrics.ELEMENTS_SCANNED, 5);
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName objectName = new ObjectName("gaffer:type=OperationMetrics,name=\"test\"");
+
+        // When
+        metrics.registerMBean("test");
+
+        // Then
+        assertTrue(server.isRegistered(objectName));
+        assertEquals(0L, server.getAttribute(objectName, "OpenBatchScanners"));
+        server.getAttribute(objectName, "Latencies");
+        server.getAttribute(objectName, "Counters");
+
+        // When
+        OperationMetrics.unregisterMBean("test");
+
+        // Then
+        assertFalse(server.isRegistered(objectName));
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.store.operation.handler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.collect.Lists;
+import gaffer.operation.OperationException;
+import gaffer.operation.impl.Limit;
+import gaffer.store.Context;
+import org.junit.Test;
+import java.util.Arrays;
+import java.util.List;
+
+public class LimitHandlerTest {
+
+    @Test
+    public void shouldLimitResults() throws OperationException {
+        // Given
+        final List<Integer> input = Arrays.asList(1, 2, 3, 4, 5);
+        final int limit = 3;
+        final LimitHandler<Integer> handler = new LimitHandler<>();
+        final Limit<Integer> operation = mock(Limit.class);
+
+        given(operation.getInput()).willReturn(input);
+        given(operation.getResultLimit()).willReturn(limit);
+
+        // When
+        final Iterable<Integer> result = handler.doOperation(operation, new Context(), null);
+
+        // Then
+        assertEquals(Arrays.asList(1, 2, 3), Lists.newArrayList(result));
+    }
+
+    @Test
+    public void shouldReturnAllResultsWhenLimitIsGreaterThanNumberOfResults() throws OperationException {
+        // Given
+        final List<Integer> input = Arrays.asList(1, 2, 3);
+        final int limit = 5;
+        final LimitHandler<Integer> handler = new LimitHandler<>();
+        final Limit<Integer> operation = mock(Limit.class);
+
+        given(operation.getInput()).willReturn(input);
+        given(operation.getResultLimit()).willReturn(limit);
+
+        // When
+        final Iterable<Integer> result = handler.doOperation(operation, new Context(), null);
+
+        // Then
+        assertEquals(input, Lists.newArrayList(result));
+    }
+
+    @Test
+    public void shouldReturnInputWhenLimitIsNull() throws OperationException {
+        // Given
+        final List<Integer> input = Arrays.asList(1, 2, 3);
+        final LimitHandler<Integer> handler = new LimitHandler<>();
+        final Limit<Integer> operation = mock(Limit.class);
+
+        given(operation.getInput()).willReturn(input);
+        given(operation.getResultLimit()).willReturn(null);
+
+        // When
+        final Iterable<Integer> result = handler.doOperation(operation, new Context(), null);
+
+        // Then
+        assertSame(input, result);
+    }
+}
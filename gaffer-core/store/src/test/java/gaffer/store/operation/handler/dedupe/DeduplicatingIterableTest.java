@@ -0,0 +1,106 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.store.operation.handler.dedupe;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.Lists;
+import gaffer.commonutil.iterable.CloseableIterator;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class DeduplicatingIterableTest {
+    @Rule
+    public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldRemoveDuplicatesAndMaintainOrder() {
+        // Given
+        final List<Integer> values = Arrays.asList(10, 9, 8, 10, 7, 8, 7, 6, 6, 5, 6, 9, 4, 5, 3, 4, 2, 2, 2, 1, 1);
+
+        // When
+        final Iterable<Integer> results = new DeduplicatingIterable<>(values, 100, true, tempFolder.getRoot());
+
+        // Then
+        assertEquals(Arrays.asList(10, 9, 8, 7, 6, 5, 4, 3, 2, 1), Lists.newArrayList(results));
+    }
+
+    @Test
+    public void shouldRemoveDuplicatesWhenItemsAreSpilledToDisk() {
+        // Given
+        final List<String> values = new ArrayList<>();
+        final List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            values.add("item" + i);
+            expected.add("item" + i);
+        }
+        for (int i = 499; i >= 0; i--) {
+            values.add("item" + i);
+        }
+
+        // When
+        final Iterable<String> results = new DeduplicatingIterable<>(values, 7, true, tempFolder.getRoot());
+
+        // Then
+        assertEquals(expected, Lists.newArrayList(results));
+        assertEquals(0, tempFolder.getRoot().list().length);
+    }
+
+    @Test
+    public void shouldDeduplicateEachIteratorIndependently() {
+        // Given
+        final DeduplicatingIterable<Integer> results = new DeduplicatingIterable<>(Arrays.asList(1, 1, 2), 100, true, tempFolder.getRoot());
+
+        // When
+        final List<Integer> first = Lists.newArrayList(results);
+        final List<Integer> second = Lists.newArrayList(results);
+
+        // Then
+        assertEquals(Arrays.asList(1, 2), first);
+        assertEquals(Arrays.asList(1, 2), second);
+    }
+
+    @Test
+    public void shouldStopReturningItemsAfterClose() {
+        // Given
+        final DeduplicatingIterable<Integer> results = new DeduplicatingIterable<>(Arrays.asList(1, 2, 3), 1, true, tempFolder.getRoot());
+        final CloseableIterator<Integer> itr = results.iterator();
+        assertTrue(itr.hasNext());
+        itr.next();
+
+        // When
+        itr.close();
+
+        // Then
+        assertFalse(itr.hasNext());
+        assertEquals(0, tempFolder.getRoot().list().length);
+    }
+
+    @Test
+    public void shouldReturnNoItemsForNullIterable() {
+        // When
+        final Iterable<Integer> results = new DeduplicatingIterable<>(null, 100, true, tempFolder.getRoot());
+
+        // Then
+        assertFalse(results.iterator().hasNext());
+    }
+}
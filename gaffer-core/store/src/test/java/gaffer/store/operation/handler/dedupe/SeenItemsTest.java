@@ -0,0 +1,168 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.store.operation.handler.dedupe;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class SeenItemsTest {
+    @Rule
+    public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldRecordItemsInMemory() {
+        // Given
+        final SeenItems<String> seenItems = new SeenItems<>(10, true, tempFolder.getRoot());
+
+        // When / Then
+        assertTrue(seenItems.add("a"));
+        assertTrue(seenItems.add("b"));
+        assertFalse(seenItems.add("a"));
+        assertFalse(seenItems.add("b"));
+        assertEquals(0, seenItems.getRunCount());
+    }
+
+    @Test
+    public void shouldDetectDuplicatesOfSpilledItemsAndMergeRuns() {
+        // Given
+        final SeenItems<Integer> seenItems = new SeenItems<>(3, true, tempFolder.getRoot());
+        for (int i = 0; i < 100; i++) {
+            assertTrue(seenItems.add(i));
+        }
+
+        // When / Then
+        // 33 runs of 3 items have been spilled, 32 of which are merged into 4 runs
+        assertEquals(5, seenItems.getRunCount());
+        for (int i = 0; i < 100; i++) {
+            assertFalse(seenItems.add(i));
+        }
+        for (int i = 100; i < 110; i++) {
+            assertTrue(seenItems.add(i));
+        }
+        seenItems.close();
+    }
+
+    @Test
+    public void shouldCompareSpilledItemsUsingEquals() {
+        // Given
+        final SeenItems<Object> seenItems = new SeenItems<>(1, true, tempFolder.getRoot());
+        final Map<String, Integer> map = new LinkedHashMap<>();
+        map.put("a", 1);
+        map.put("b", 2);
+        final Map<String, Integer> equalMapInDifferentOrder = new LinkedHashMap<>();
+        equalMapInDifferentOrder.put("b", 2);
+        equalMapInDifferentOrder.put("a", 1);
+
+        // When / Then
+        assertTrue(seenItems.add(1));
+        assertTrue(seenItems.add(1L));
+        assertTrue(seenItems.add(map));
+        assertEquals(3, seenItems.getRunCount());
+        assertFalse(seenItems.add(1));
+        assertFalse(seenItems.add(1L));
+        assertFalse(seenItems.add(equalMapInDifferentOrder));
+        seenItems.close();
+    }
+
+    @Test
+    public void shouldCompareSpilledItemsByFingerprintWhenNotExact() {
+        // Given
+        final SeenItems<Object> seenItems = new SeenItems<>(2, false, tempFolder.getRoot());
+
+        // When / Then
+        for (int i = 0; i < 20; i++) {
+            assertTrue(seenItems.add(i));
+        }
+        assertTrue(seenItems.add(1L));
+        assertTrue(seenItems.getRunCount() > 0);
+        for (int i = 0; i < 20; i++) {
+            assertFalse(seenItems.add(i));
+        }
+        assertFalse(seenItems.add(1L));
+        assertTrue(seenItems.add(new UnserialisableItem("a")));
+        assertTrue(seenItems.add(20));
+        seenItems.close();
+    }
+
+    @Test
+    public void shouldHoldItemsThatCannotBeSerialisedInMemory() {
+        // Given
+        final SeenItems<Object> seenItems = new SeenItems<>(1, true, tempFolder.getRoot());
+
+        // When / Then
+        assertTrue(seenItems.add(new UnserialisableItem("a")));
+        assertTrue(seenItems.add("b"));
+        assertEquals(1, seenItems.getRunCount());
+        assertFalse(seenItems.add(new UnserialisableItem("a")));
+        assertFalse(seenItems.add("b"));
+        assertTrue(seenItems.add(new UnserialisableItem("c")));
+        seenItems.close();
+    }
+
+    @Test
+    public void shouldDeleteSpilledFilesWhenClosed() {
+        // Given
+        final File spillDirectory = tempFolder.getRoot();
+        final SeenItems<Integer> seenItems = new SeenItems<>(2, true, spillDirectory);
+        for (int i = 0; i < 10; i++) {
+            seenItems.add(i);
+        }
+        assertTrue(spillDirectory.list().length > 0);
+
+        // When
+        seenItems.close();
+
+        // Then
+        assertEquals(0, spillDirectory.list().length);
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenMaxItemsInMemoryIsLessThanOne() {
+        try {
+            new SeenItems<>(0, true, tempFolder.getRoot());
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("Max items in memory"));
+        }
+    }
+
+    private static final class UnserialisableItem {
+        private final String value;
+
+        private UnserialisableItem(final String value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof UnserialisableItem && value.equals(((UnserialisableItem) obj).value);
+        }
+
+        @Override
+        public int hashCode() {
+            return value.hashCode();
+        }
+    }
+}
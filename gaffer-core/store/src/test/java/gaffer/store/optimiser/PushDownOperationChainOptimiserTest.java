@@ -0,0 +1,268 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.store.optimiser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.IdentifierType;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.operation.GetOperation.IncludeEdgeType;
+import gaffer.operation.GetOperation.IncludeIncomingOutgoingType;
+import gaffer.operation.Operation;
+import gaffer.operation.OperationChain;
+import gaffer.operation.data.EdgeSeed;
+import gaffer.operation.data.ElementSeed;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.data.generator.EntitySeedExtractor;
+import gaffer.operation.impl.Deduplicate;
+import gaffer.operation.impl.Limit;
+import gaffer.operation.impl.generate.GenerateObjects;
+import gaffer.operation.impl.get.GetAdjacentEntitySeeds;
+import gaffer.operation.impl.get.GetAllElements;
+import gaffer.operation.impl.get.GetElementsBySeed;
+import gaffer.operation.impl.get.GetRelatedEdges;
+import gaffer.store.Store;
+import org.junit.Test;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class PushDownOperationChainOptimiserTest {
+    private final Store store = mock(Store.class);
+
+    @Test
+    public void shouldSetLimitOnPrecedingGetOperation() {
+        // Given
+        final PushDownOperationChainOptimiser optimiser = new PushDownOperationChainOptimiser(store);
+        final GetElementsBySeed<EntitySeed, Element> getElements = new GetElementsBySeed<>(
+                Collections.singletonList(new EntitySeed("vertex")));
+        final Limit<Element> limit = new Limit<>(10);
+        final OperationChain<?> opChain = new OperationChain<>(Arrays.<Operation>asList(
+                getElements,
+                limit));
+
+        // When
+        final OperationChain<?> optimisedOpChain = optimiser.optimise(opChain);
+
+        // Then
+        assertEquals(2, optimisedOpChain.getOperations().size());
+        final GetElementsBySeed<?, ?> optimisedGetElements = (GetElementsBySeed<?, ?>) optimisedOpChain.getOperations().get(0);
+        assertNotSame(getElements, optimisedGetElements);
+        assertSame(getElements.getSeeds(), optimisedGetElements.getSeeds());
+        assertEquals(10, (int) optimisedGetElements.getResultLimit());
+        assertSame(limit, optimisedOpChain.getOperations().get(1));
+        assertNull(getElements.getResultLimit());
+    }
+
+    @Test
+    public void shouldKeepSmallestLimitOnGetOperation() {
+        // Given
+        final PushDownOperationChainOptimiser optimiser = new PushDownOperationChainOptimiser(store);
+        final GetElementsBySeed<EntitySeed, Element> getElements = new GetElementsBySeed<>();
+        getElements.setResultLimit(5);
+        final OperationChain<?> opChain = new OperationChain<>(Arrays.<Operation>asList(
+                getElements,
+                new Limit<Element>(10)));
+
+        // When
+        final OperationChain<?> optimisedOpChain = optimiser.optimise(opChain);
+
+        // Then
+        assertEquals(5, (int) ((GetElementsBySeed<?, ?>) optimisedOpChain.getOperations().get(0)).getResultLimit());
+    }
+
+    @Test
+    public void shouldNotSetLimitOnGetOperationWhenResultsAreDeduplicatedFirst() {
+        // Given
+        final PushDownOperationChainOptimiser optimiser = new PushDownOperationChainOptimiser(store);
+        final GetElementsBySeed<EntitySeed, Element> getElements = new GetElementsBySeed<>();
+        final OperationChain<?> opChain = new OperationChain<>(Arrays.<Operation>asList(
+                getElements,
+                new Deduplicate<Element>(),
+                new Limit<Element>(10)));
+
+        // When
+        final OperationChain<?> optimisedOpChain = optimiser.optimise(opChain);
+
+        // Then
+        assertEquals(3, optimisedOpChain.getOperations().size());
+        assertNull(getElements.getResultLimit());
+    }
+
+    @Test
+    public void shouldMergeAdjacentLimitsWithoutChangingTheOriginalLimits() {
+        // Given
+        final PushDownOperationChainOptimiser optimiser = new PushDownOperationChainOptimiser(store);
+        final Deduplicate<Element> deduplicate = new Deduplicate<>();
+        final Limit<Element> firstLimit = new Limit<>(10);
+        final OperationChain<?> opChain = new OperationChain<>(Arrays.<Operation>asList(
+                deduplicate,
+                firstLimit,
+                new Limit<Element>(3),
+                new Limit<Element>(7)));
+
+        // When
+        final OperationChain<?> optimisedOpChain = optimiser.optimise(opChain);
+
+        // Then
+        assertEquals(2, optimisedOpChain.getOperations().size());
+        assertSame(deduplicate, optimisedOpChain.getOperations().get(0));
+        assertEquals(3, (int) ((Limit) optimisedOpChain.getOperations().get(1)).getResultLimit());
+        assertEquals(10, (int) firstLimit.getResultLimit());
+        assertEquals(4, opChain.getOperations().size());
+    }
+
+    @Test
+    public void shouldRemoveAdjacentDeduplicates() {
+        // Given
+        final PushDownOperationChainOptimiser optimiser = new PushDownOperationChainOptimiser(store);
+        final GetElementsBySeed<EntitySeed, Element> getElements = new GetElementsBySeed<>();
+        final Deduplicate<Element> deduplicate = new Deduplicate<>();
+        final OperationChain<?> opChain = new OperationChain<>(Arrays.<Operation>asList(
+                getElements,
+                deduplicate,
+                new Deduplicate<Element>()));
+
+        // When
+        final OperationChain<?> optimisedOpChain = optimiser.optimise(opChain);
+
+        // Then
+        assertEquals(2, optimisedOpChain.getOperations().size());
+        assertSame(getElements, optimisedOpChain.getOperations().get(0));
+        assertSame(deduplicate, optimisedOpChain.getOperations().get(1));
+    }
+
+    @Test
+    public void shouldRemoveDeduplicateWhenGetOperationOutputIsUnique() {
+        // Given
+        final PushDownOperationChainOptimiser optimiser = new PushDownOperationChainOptimiser(store);
+        final GetAllElements<Element> getAllElements = new GetAllElements<>();
+        given(store.isOutputUnique(getAllElements)).willReturn(true);
+        final OperationChain<?> opChain = new OperationChain<>(Arrays.<Operation>asList(
+                getAllElements,
+                new Deduplicate<Element>(),
+                new Limit<Element>(10)));
+
+        // When
+        final OperationChain<?> optimisedOpChain = optimiser.optimise(opChain);
+
+        // Then
+        assertEquals(2, optimisedOpChain.getOperations().size());
+        assertTrue(optimisedOpChain.getOperations().get(0) instanceof GetAllElements);
+        assertEquals(10, (int) ((GetAllElements<?>) optimisedOpChain.getOperations().get(0)).getResultLimit());
+        assertTrue(optimisedOpChain.getOperations().get(1) instanceof Limit);
+        assertNull(getAllElements.getResultLimit());
+    }
+
+    @Test
+    public void shouldReplaceDestinationExtractionWithGetAdjacentEntitySeeds() {
+        // Given
+        final PushDownOperationChainOptimiser optimiser = new PushDownOperationChainOptimiser(store);
+        final View view = new View.Builder().edge("edgeGroup").build();
+        final GetRelatedEdges<EntitySeed> getRelatedEdges = new GetRelatedEdges<>(
+                view, Collections.singletonList(new EntitySeed("vertex")));
+        getRelatedEdges.setIncludeEdges(IncludeEdgeType.DIRECTED);
+        getRelatedEdges.setIncludeIncomingOutGoing(IncludeIncomingOutgoingType.OUTGOING);
+        getRelatedEdges.setSummarise(true);
+        getRelatedEdges.addOption("option1", "value1");
+        final OperationChain<?> opChain = new OperationChain<>(Arrays.<Operation>asList(
+                getRelatedEdges,
+                new GenerateObjects<Edge, EntitySeed>(new EntitySeedExtractor(IdentifierType.DESTINATION))));
+
+        // When
+        final OperationChain<?> optimisedOpChain = optimiser.optimise(opChain);
+
+        // Then
+        assertEquals(1, optimisedOpChain.getOperations().size());
+        final GetAdjacentEntitySeeds getAdjacentEntitySeeds = (GetAdjacentEntitySeeds) optimisedOpChain.getOperations().get(0);
+        assertSame(view, getAdjacentEntitySeeds.getView());
+        assertSame(getRelatedEdges.getSeeds(), getAdjacentEntitySeeds.getSeeds());
+        assertEquals(IncludeEdgeType.DIRECTED, getAdjacentEntitySeeds.getIncludeEdges());
+        assertEquals(IncludeIncomingOutgoingType.OUTGOING, getAdjacentEntitySeeds.getIncludeIncomingOutGoing());
+        assertTrue(getAdjacentEntitySeeds.isSummarise());
+        assertEquals("value1", getAdjacentEntitySeeds.getOption("option1"));
+        assertNotSame(getRelatedEdges.getOptions(), getAdjacentEntitySeeds.getOptions());
+    }
+
+    @Test
+    public void shouldNotReplaceSourceExtraction() {
+        // Given
+        final PushDownOperationChainOptimiser optimiser = new PushDownOperationChainOptimiser(store);
+        final GetRelatedEdges<EntitySeed> getRelatedEdges = new GetRelatedEdges<>(
+                Collections.singletonList(new EntitySeed("vertex")));
+        getRelatedEdges.setIncludeEdges(IncludeEdgeType.DIRECTED);
+        getRelatedEdges.setIncludeIncomingOutGoing(IncludeIncomingOutgoingType.OUTGOING);
+        final OperationChain<?> opChain = new OperationChain<>(Arrays.<Operation>asList(
+                getRelatedEdges,
+                new GenerateObjects<Edge, EntitySeed>(new EntitySeedExtractor(IdentifierType.SOURCE))));
+
+        // When
+        final OperationChain<?> optimisedOpChain = optimiser.optimise(opChain);
+
+        // Then
+        assertEquals(2, optimisedOpChain.getOperations().size());
+        assertSame(getRelatedEdges, optimisedOpChain.getOperations().get(0));
+    }
+
+    @Test
+    public void shouldNotReplaceDestinationExtractionForIncomingEdges() {
+        // Given
+        final PushDownOperationChainOptimiser optimiser = new PushDownOperationChainOptimiser(store);
+        final GetRelatedEdges<EntitySeed> getRelatedEdges = new GetRelatedEdges<>(
+                Collections.singletonList(new EntitySeed("vertex")));
+        getRelatedEdges.setIncludeEdges(IncludeEdgeType.DIRECTED);
+        getRelatedEdges.setIncludeIncomingOutGoing(IncludeIncomingOutgoingType.BOTH);
+        final OperationChain<?> opChain = new OperationChain<>(Arrays.<Operation>asList(
+                getRelatedEdges,
+                new GenerateObjects<Edge, EntitySeed>(new EntitySeedExtractor())));
+
+        // When
+        final OperationChain<?> optimisedOpChain = optimiser.optimise(opChain);
+
+        // Then
+        assertEquals(2, optimisedOpChain.getOperations().size());
+        assertSame(getRelatedEdges, optimisedOpChain.getOperations().get(0));
+    }
+
+    @Test
+    public void shouldNotReplaceDestinationExtractionForEdgeSeeds() {
+        // Given
+        final PushDownOperationChainOptimiser optimiser = new PushDownOperationChainOptimiser(store);
+        final List<ElementSeed> seeds = Collections.<ElementSeed>singletonList(new EdgeSeed("source", "dest", true));
+        final GetRelatedEdges<ElementSeed> getRelatedEdges = new GetRelatedEdges<>(seeds);
+        getRelatedEdges.setIncludeEdges(IncludeEdgeType.DIRECTED);
+        getRelatedEdges.setIncludeIncomingOutGoing(IncludeIncomingOutgoingType.OUTGOING);
+        final OperationChain<?> opChain = new OperationChain<>(Arrays.<Operation>asList(
+                getRelatedEdges,
+                new GenerateObjects<Edge, EntitySeed>(new EntitySeedExtractor())));
+
+        // When
+        final OperationChain<?> optimisedOpChain = optimiser.optimise(opChain);
+
+        // Then
+        assertEquals(2, optimisedOpChain.getOperations().size());
+        assertSame(getRelatedEdges, optimisedOpChain.getOperations().get(0));
+    }
+}
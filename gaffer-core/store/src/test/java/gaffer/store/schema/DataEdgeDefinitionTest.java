@@ -19,12 +19,14 @@ package gaffer.store.schema;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 
 import gaffer.commonutil.TestPropertyNames;
 import gaffer.data.element.ElementComponentKey;
 import gaffer.data.element.IdentifierType;
+import gaffer.data.element.IndexedProperties;
 import gaffer.data.element.function.ElementFilter;
 import gaffer.function.ExampleAggregateFunction;
 import gaffer.function.IsA;
@@ -108,4 +110,23 @@ public class DataEdgeDefinitionTest {
                         .build())
                 .build();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldCreateIndexedPropertiesInPropertyOrder() {
+        // Given
+        final SchemaEdgeDefinition elementDef = new SchemaEdgeDefinition.Builder()
+                .property(TestPropertyNames.PROP_1, "property.integer", Integer.class)
+                .property(TestPropertyNames.PROP_2, "property.object", Object.class)
+                .build();
+
+        // When
+        final IndexedProperties properties = elementDef.createProperties();
+
+        // Then
+        assertSame(elementDef.getPropertyIndex(), properties.getIndex());
+        assertEquals(2, properties.getIndex().size());
+        assertEquals(0, properties.getIndex().getSlot(TestPropertyNames.PROP_1));
+        assertEquals(1, properties.getIndex().getSlot(TestPropertyNames.PROP_2));
+        assertTrue(properties.isEmpty());
+    }
+}
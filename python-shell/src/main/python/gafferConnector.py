@@ -24,6 +24,9 @@ import urllib.error
 
 import gaffer as g
 
+JSON_CONTENT_TYPE = 'application/json;charset=utf-8'
+SMILE_CONTENT_TYPE = 'application/x-jackson-smile'
+
 
 class GafferConnector:
     """
@@ -31,15 +34,27 @@ class GafferConnector:
     This class is initialised with a host to connect to.
     """
 
-    def __init__(self, host, verbose=False):
+    def __init__(self, host, verbose=False, smile=False):
         """
         This initialiser sets up a connection to the specified Gaffer server.
 
         The host (and port) of the Gaffer server, should be in the form,
         'hostname:1234/service-name/version'
+
+        If smile is True, operations are sent and results are received in the
+        Smile binary encoding of JSON rather than as JSON text. This requires
+        the pysmile module.
         """
         self._host = host
         self._verbose = verbose
+        self._smile = None
+        if smile:
+            try:
+                import pysmile
+            except ImportError:
+                raise ImportError(
+                    'The pysmile module is required to use the smile format')
+            self._smile = pysmile
 
         # Create the opener
         self._opener = urllib.request.build_opener(
@@ -69,12 +84,18 @@ class GafferConnector:
         if self._verbose:
             print('Query operations: ' + str(operation_chain.toJson()))
 
-        # Convert the query dictionary into JSON and post the query to Gaffer
-        json_body = bytes(json.dumps(operation_chain.toJson()), 'ascii')
+        # Encode the query dictionary and post the query to Gaffer
+        if self._smile is not None:
+            body = self._smile.encode(operation_chain.toJson())
+            content_type = SMILE_CONTENT_TYPE
+        else:
+            body = bytes(json.dumps(operation_chain.toJson()), 'ascii')
+            content_type = JSON_CONTENT_TYPE
         request = urllib.request.Request(url,
                                          headers={
-                                             'Content-Type': 'application/json;charset=utf-8'},
-                                         data=json_body)
+                                             'Content-Type': content_type,
+                                             'Accept': content_type},
+                                         data=body)
 
         try:
             response = self._opener.open(request)
@@ -83,14 +104,16 @@ class GafferConnector:
             new_error_string = 'HTTP error ' + str(
                 error.code) + ' ' + error.reason + ': ' + error_body
             raise ConnectionError(new_error_string)
-        response_text = response.read().decode('utf-8')
-
-        if self._verbose:
-            print('Query response: ' + response_text)
+        response_bytes = response.read()
 
-        if response_text is not None and response_text is not '':
-            result = json.loads(response_text)
-        else:
+        if response_bytes is None or len(response_bytes) == 0:
             result = None
+        elif self._smile is not None:
+            result = self._smile.decode(response_bytes)
+        else:
+            result = json.loads(response_bytes.decode('utf-8'))
+
+        if self._verbose:
+            print('Query response: ' + str(result))
 
         return operation_chain.operations[-1].convert_result(result)
@@ -27,12 +27,12 @@ import gafferConnector
 
 
 class GafferConnector(gafferConnector.GafferConnector):
-    def __init__(self, host, pki, protocol=None, verbose=False):
+    def __init__(self, host, pki, protocol=None, verbose=False, smile=False):
         """
         This initialiser sets up a connection to the specified Gaffer server as per gafferConnector.GafferConnector and
         requires the additional pki object.
         """
-        super().__init__(host=host, verbose=verbose)
+        super().__init__(host=host, verbose=verbose, smile=smile)
         self._opener = urllib.request.build_opener(
             urllib.request.HTTPSHandler(self._host,
                                         context=pki.get_ssl_context(protocol)))
@@ -18,7 +18,9 @@ package gaffer.rest;
 
 import gaffer.data.elementdefinition.exception.SchemaException;
 import gaffer.graph.Graph;
+import gaffer.graph.hook.MetricsHook;
 import gaffer.graph.hook.OperationAuthoriser;
+import gaffer.store.metrics.OperationMetrics;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
@@ -26,7 +28,11 @@ import java.nio.file.Paths;
  * A <code>GraphFactory</code> creates instances of {@link gaffer.graph.Graph} to be reused for all queries.
  */
 public class GraphFactory {
+    public static final String OPERATION_CHAIN_METRICS_MBEAN_NAME = "OperationChains";
+    public static final String STORE_METRICS_MBEAN_NAME = "Store";
+
     private static Graph graph;
+    private static MetricsHook metricsHook;
 
     /**
      * Set to true by default - so the same instance of {@link Graph} will be
@@ -51,10 +57,20 @@ public class GraphFactory {
         }
     }
 
+    /**
+     * Gets the graph to query. The store metrics of the singleton graph are registered as a JMX MBean when
+     * it is created. Graphs created when the graph is not a singleton are not registered, as each one
+     * would replace the MBean of the previous graph.
+     *
+     * @return the graph
+     */
     public Graph getGraph() {
         if (singletonGraph) {
             if (null == graph) {
                 setGraph(createGraph());
+                if (isMetricsEnabled()) {
+                    graph.getStoreMetrics().registerMBean(STORE_METRICS_MBEAN_NAME);
+                }
             }
             return graph;
         }
@@ -62,6 +78,17 @@ public class GraphFactory {
         return createGraph();
     }
 
+    /**
+     * Gets the store metrics of the singleton graph held by this factory.
+     * When the graph is not a singleton every query uses a new graph and store, so there are no store
+     * metrics to return and no graph is created.
+     *
+     * @return the store metrics, or null if the graph is not a singleton.
+     */
+    public OperationMetrics getStoreMetrics() {
+        return singletonGraph ? getGraph().getStoreMetrics() : null;
+    }
+
     public void setSingletonGraph(final boolean singletonGraph) {
         this.singletonGraph = singletonGraph;
     }
@@ -86,9 +113,39 @@ public class GraphFactory {
         if (null != opAuthoriser) {
             builder.addHook(opAuthoriser);
         }
+
+        final MetricsHook hook = getMetricsHook();
+        if (null != hook) {
+            builder.addHook(hook);
+        }
         return builder;
     }
 
+    /**
+     * Gets the {@link MetricsHook} shared by all graphs created by graph factories.
+     * The metrics are also registered as a JMX MBean when the hook is first created.
+     *
+     * @return the metrics hook, or null if metrics are disabled.
+     */
+    public MetricsHook getMetricsHook() {
+        if (!isMetricsEnabled()) {
+            return null;
+        }
+
+        synchronized (GraphFactory.class) {
+            if (null == metricsHook) {
+                metricsHook = new MetricsHook();
+                metricsHook.getMetrics().registerMBean(OPERATION_CHAIN_METRICS_MBEAN_NAME);
+            }
+            return metricsHook;
+        }
+    }
+
+    protected boolean isMetricsEnabled() {
+        return Boolean.parseBoolean(System.getProperty(SystemProperty.METRICS_ENABLED,
+                SystemProperty.METRICS_ENABLED_DEFAULT));
+    }
+
     protected OperationAuthoriser createOpAuthoriser() {
         OperationAuthoriser opAuthoriser = null;
 
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.rest;
+
+import com.wordnik.swagger.annotations.ApiModelProperty;
+import gaffer.store.metrics.OperationMetrics;
+
+public class MetricsStatus {
+    @ApiModelProperty
+    private OperationMetrics operationChains;
+
+    @ApiModelProperty
+    private OperationMetrics store;
+
+    public MetricsStatus() {
+    }
+
+    public MetricsStatus(final OperationMetrics operationChains, final OperationMetrics store) {
+        this.operationChains = operationChains;
+        this.store = store;
+    }
+
+    public OperationMetrics getOperationChains() {
+        return operationChains;
+    }
+
+    public void setOperationChains(final OperationMetrics operationChains) {
+        this.operationChains = operationChains;
+    }
+
+    public OperationMetrics getStore() {
+        return store;
+    }
+
+    public void setStore(final OperationMetrics store) {
+        this.store = store;
+    }
+}
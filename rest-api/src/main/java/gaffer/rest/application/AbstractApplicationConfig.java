@@ -23,6 +23,7 @@ import com.wordnik.swagger.jaxrs.listing.ApiListingResourceJSON;
 import com.wordnik.swagger.jaxrs.listing.ResourceListingProvider;
 import gaffer.rest.service.SimpleExamplesService;
 import gaffer.rest.service.SimpleGraphConfigurationService;
+import gaffer.rest.service.SimpleJobService;
 import gaffer.rest.service.SimpleOperationService;
 import gaffer.rest.service.StatusService;
 
@@ -49,6 +50,7 @@ public abstract class AbstractApplicationConfig extends Application {
         resources.add(SimpleOperationService.class);
         resources.add(SimpleGraphConfigurationService.class);
         resources.add(SimpleExamplesService.class);
+        resources.add(SimpleJobService.class);
     }
 
     protected void addSystemResources() {
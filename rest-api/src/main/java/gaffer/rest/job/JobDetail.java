@@ -0,0 +1,177 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.rest.job;
+
+import com.wordnik.swagger.annotations.ApiModelProperty;
+
+/**
+ * A <code>JobDetail</code> holds the status information for an asynchronous job.
+ * Instances returned from the {@link JobExecutor} are snapshots and are not updated as the job progresses.
+ */
+public class JobDetail {
+    @ApiModelProperty
+    private String jobId;
+
+    @ApiModelProperty
+    private String userId;
+
+    @ApiModelProperty
+    private String description;
+
+    @ApiModelProperty
+    private JobStatus status;
+
+    @ApiModelProperty
+    private Long submittedTime;
+
+    @ApiModelProperty
+    private Long startTime;
+
+    @ApiModelProperty
+    private Long endTime;
+
+    @ApiModelProperty
+    private boolean resultsRetained;
+
+    @ApiModelProperty
+    private Integer resultCount;
+
+    @ApiModelProperty
+    private boolean resultsTruncated;
+
+    @ApiModelProperty
+    private String error;
+
+    public JobDetail() {
+    }
+
+    public JobDetail(final String jobId, final String userId, final String description) {
+        this.jobId = jobId;
+        this.userId = userId;
+        this.description = description;
+        this.status = JobStatus.QUEUED;
+        this.submittedTime = System.currentTimeMillis();
+    }
+
+    public JobDetail(final JobDetail detail) {
+        this.jobId = detail.jobId;
+        this.userId = detail.userId;
+        this.description = detail.description;
+        this.status = detail.status;
+        this.submittedTime = detail.submittedTime;
+        this.startTime = detail.startTime;
+        this.endTime = detail.endTime;
+        this.resultsRetained = detail.resultsRetained;
+        this.resultCount = detail.resultCount;
+        this.resultsTruncated = detail.resultsTruncated;
+        this.error = detail.error;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(final String jobId) {
+        this.jobId = jobId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(final String userId) {
+        this.userId = userId;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(final String description) {
+        this.description = description;
+    }
+
+    public JobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(final JobStatus status) {
+        this.status = status;
+    }
+
+    public Long getSubmittedTime() {
+        return submittedTime;
+    }
+
+    public void setSubmittedTime(final Long submittedTime) {
+        this.submittedTime = submittedTime;
+    }
+
+    public Long getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(final Long startTime) {
+        this.startTime = startTime;
+    }
+
+    public Long getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(final Long endTime) {
+        this.endTime = endTime;
+    }
+
+    /**
+     * @return true if the results of the job are kept so they can be fetched once the job has finished.
+     */
+    public boolean isResultsRetained() {
+        return resultsRetained;
+    }
+
+    public void setResultsRetained(final boolean resultsRetained) {
+        this.resultsRetained = resultsRetained;
+    }
+
+    public Integer getResultCount() {
+        return resultCount;
+    }
+
+    public void setResultCount(final Integer resultCount) {
+        this.resultCount = resultCount;
+    }
+
+    /**
+     * @return true if the job produced more results than the job executor is configured to retain.
+     */
+    public boolean isResultsTruncated() {
+        return resultsTruncated;
+    }
+
+    public void setResultsTruncated(final boolean resultsTruncated) {
+        this.resultsTruncated = resultsTruncated;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(final String error) {
+        this.error = error;
+    }
+}
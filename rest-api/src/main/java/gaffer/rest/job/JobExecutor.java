@@ -0,0 +1,400 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.rest.job;
+
+import gaffer.commonutil.exception.UnauthorisedException;
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.rest.SystemProperty;
+import gaffer.user.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A <code>JobExecutor</code> runs asynchronous jobs on a bounded pool of threads and keeps track of their status
+ * and results.
+ * <p>
+ * Jobs are queued when all threads are busy. If the queue is also full the job is rejected.
+ * The results of each job are held in memory up to a configured maximum number of items, unless the job was
+ * submitted without retaining its results. Completed jobs and
+ * their results are evicted once they have expired or when more than the configured number of completed jobs
+ * are being retained - the oldest completed jobs are evicted first.
+ * <p>
+ * The shared instance is configured using the job system properties in {@link SystemProperty}.
+ */
+public class JobExecutor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(JobExecutor.class);
+    private static JobExecutor instance;
+
+    private final ThreadPoolExecutor executor;
+    private final int maxResultsPerJob;
+    private final int maxRetainedJobs;
+    private final long completedJobTtlMillis;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    public JobExecutor(final int threads, final int queueSize, final int maxResultsPerJob,
+                       final int maxRetainedJobs, final long completedJobTtlMillis) {
+        this.maxResultsPerJob = maxResultsPerJob;
+        this.maxRetainedJobs = maxRetainedJobs;
+        this.completedJobTtlMillis = completedJobTtlMillis;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<Runnable>(queueSize), new ThreadFactory() {
+            private final AtomicInteger threadCount = new AtomicInteger();
+
+            @Override
+            public Thread newThread(final Runnable runnable) {
+                final Thread thread = new Thread(runnable, "gaffer-job-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * @return the shared <code>JobExecutor</code>, created from the system properties when first requested.
+     */
+    public static synchronized JobExecutor getInstance() {
+        if (null == instance) {
+            instance = new JobExecutor(
+                    Integer.parseInt(System.getProperty(SystemProperty.JOB_THREADS, SystemProperty.JOB_THREADS_DEFAULT)),
+                    Integer.parseInt(System.getProperty(SystemProperty.JOB_QUEUE_SIZE, SystemProperty.JOB_QUEUE_SIZE_DEFAULT)),
+                    Integer.parseInt(System.getProperty(SystemProperty.JOB_MAX_RESULTS, SystemProperty.JOB_MAX_RESULTS_DEFAULT)),
+                    Integer.parseInt(System.getProperty(SystemProperty.JOB_MAX_RETAINED, SystemProperty.JOB_MAX_RETAINED_DEFAULT)),
+                    Long.parseLong(System.getProperty(SystemProperty.JOB_RESULTS_TTL, SystemProperty.JOB_RESULTS_TTL_DEFAULT)));
+        }
+
+        return instance;
+    }
+
+    /**
+     * Shuts down the shared <code>JobExecutor</code>, if it has been created, cancelling any running jobs.
+     */
+    public static synchronized void shutdownInstance() {
+        if (null != instance) {
+            instance.shutdown();
+            instance = null;
+        }
+    }
+
+    /**
+     * Submits a job to be executed asynchronously.
+     *
+     * @param task        the task to execute. If the task returns an {@link Iterable} the items will be stored as
+     *                    the job results, otherwise the returned object will be stored as the only result.
+     * @param user        the user submitting the job
+     * @param description a description of the job
+     * @return the details of the submitted job, including the job id
+     * @throws RejectedExecutionException if the job queue is full.
+     */
+    public JobDetail submit(final Callable<?> task, final User user, final String description) {
+        return submit(task, user, description, true);
+    }
+
+    /**
+     * Submits a job to be executed asynchronously.
+     *
+     * @param task          the task to execute. If the task returns an {@link Iterable} the items will be stored as
+     *                      the job results, otherwise the returned object will be stored as the only result.
+     * @param user          the user submitting the job
+     * @param description   a description of the job
+     * @param retainResults if false the result of the task is discarded, closing it if it is a
+     *                      {@link CloseableIterable}, so only the status of the job is kept.
+     * @return the details of the submitted job, including the job id
+     * @throws RejectedExecutionException if the job queue is full.
+     */
+    public JobDetail submit(final Callable<?> task, final User user, final String description, final boolean retainResults) {
+        evictCompletedJobs();
+
+        final JobDetail detail = new JobDetail(UUID.randomUUID().toString(), user.getUserId(), description);
+        detail.setResultsRetained(retainResults);
+        final Job job = new Job(detail, task);
+        jobs.put(job.getJobId(), job);
+        try {
+            job.setFuture(executor.submit(job));
+        } catch (final RejectedExecutionException e) {
+            jobs.remove(job.getJobId());
+            throw new RejectedExecutionException("Unable to submit job - the maximum number of queued jobs has been reached", e);
+        }
+
+        return job.getDetail();
+    }
+
+    /**
+     * @param jobId the job id
+     * @param user  the user requesting the job details
+     * @return the details of the job
+     */
+    public JobDetail getJobDetail(final String jobId, final User user) {
+        return getJob(jobId, user).getDetail();
+    }
+
+    /**
+     * @param user the user requesting the job details
+     * @return the details of all jobs submitted by the user that are still retained.
+     */
+    public List<JobDetail> getJobDetails(final User user) {
+        evictCompletedJobs();
+
+        final List<JobDetail> details = new ArrayList<>();
+        for (final Job job : jobs.values()) {
+            if (job.isOwnedBy(user)) {
+                details.add(job.getDetail());
+            }
+        }
+
+        return details;
+    }
+
+    /**
+     * Gets a page of results from a finished job.
+     *
+     * @param jobId the job id
+     * @param user  the user requesting the results
+     * @param start the index of the first result to return
+     * @param n     the maximum number of results to return
+     * @return the requested page of results
+     */
+    public List<Object> getResults(final String jobId, final User user, final int start, final int n) {
+        if (start < 0 || n < 0) {
+            throw new IllegalArgumentException("start and n must not be negative");
+        }
+
+        return getJob(jobId, user).getResults(start, n);
+    }
+
+    /**
+     * Cancels a job. If the job is running it will be interrupted.
+     *
+     * @param jobId the job id
+     * @param user  the user cancelling the job
+     * @return the details of the job
+     */
+    public JobDetail cancel(final String jobId, final User user) {
+        final Job job = getJob(jobId, user);
+        job.cancel();
+        return job.getDetail();
+    }
+
+    /**
+     * Stops all running jobs and prevents any more jobs being submitted.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private Job getJob(final String jobId, final User user) {
+        final Job job = jobs.get(jobId);
+        if (null == job) {
+            throw new IllegalArgumentException("Job not found: " + jobId);
+        }
+
+        if (!job.isOwnedBy(user)) {
+            throw new UnauthorisedException("User " + user.getUserId() + " is not authorised to access job " + jobId);
+        }
+
+        return job;
+    }
+
+    private void evictCompletedJobs() {
+        final long expiryTime = System.currentTimeMillis() - completedJobTtlMillis;
+        final List<JobDetail> completedJobs = new ArrayList<>();
+        for (final Job job : jobs.values()) {
+            final JobDetail detail = job.getDetail();
+            if (detail.getStatus().isComplete()) {
+                if (detail.getEndTime() < expiryTime) {
+                    jobs.remove(detail.getJobId());
+                } else {
+                    completedJobs.add(detail);
+                }
+            }
+        }
+
+        if (completedJobs.size() > maxRetainedJobs) {
+            Collections.sort(completedJobs, new Comparator<JobDetail>() {
+                @Override
+                public int compare(final JobDetail detail1, final JobDetail detail2) {
+                    return detail1.getEndTime().compareTo(detail2.getEndTime());
+                }
+            });
+            for (final JobDetail detail : completedJobs.subList(0, completedJobs.size() - maxRetainedJobs)) {
+                jobs.remove(detail.getJobId());
+            }
+        }
+    }
+
+    private final class Job implements Runnable {
+        private final JobDetail detail;
+        private final Callable<?> task;
+        private Future<?> future;
+        private List<Object> results = Collections.emptyList();
+
+        private Job(final JobDetail detail, final Callable<?> task) {
+            this.detail = detail;
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            if (!start()) {
+                return;
+            }
+
+            try {
+                final Object result = task.call();
+                if (detail.isResultsRetained()) {
+                    final List<Object> jobResults = new ArrayList<>();
+                    final boolean truncated = collectResults(result, jobResults);
+                    finish(jobResults, truncated);
+                } else {
+                    if (result instanceof CloseableIterable) {
+                        ((CloseableIterable) result).close();
+                    }
+                    finish(null, false);
+                }
+            } catch (final InterruptedException e) {
+                complete(JobStatus.CANCELLED, null);
+            } catch (final Exception e) {
+                if (Thread.currentThread().isInterrupted()) {
+                    complete(JobStatus.CANCELLED, null);
+                } else {
+                    LOGGER.error("Job " + getJobId() + " failed", e);
+                    complete(JobStatus.FAILED, e.getMessage());
+                }
+            }
+        }
+
+        private String getJobId() {
+            return detail.getJobId();
+        }
+
+        private boolean isOwnedBy(final User user) {
+            return detail.getUserId().equals(user.getUserId());
+        }
+
+        private synchronized JobDetail getDetail() {
+            return new JobDetail(detail);
+        }
+
+        private synchronized void setFuture(final Future<?> future) {
+            this.future = future;
+        }
+
+        private synchronized List<Object> getResults(final int start, final int n) {
+            if (JobStatus.FINISHED != detail.getStatus()) {
+                throw new IllegalStateException("Results are not available for job " + getJobId() + " with status " + detail.getStatus());
+            }
+
+            if (!detail.isResultsRetained()) {
+                throw new IllegalStateException("Results were not retained for job " + getJobId());
+            }
+
+            final int fromIndex = Math.min(start, results.size());
+            final int toIndex = (int) Math.min((long) fromIndex + n, results.size());
+            return new ArrayList<>(results.subList(fromIndex, toIndex));
+        }
+
+        private synchronized boolean start() {
+            if (JobStatus.QUEUED != detail.getStatus()) {
+                return false;
+            }
+
+            detail.setStatus(JobStatus.RUNNING);
+            detail.setStartTime(System.currentTimeMillis());
+            return true;
+        }
+
+        private synchronized void cancel() {
+            if (!detail.getStatus().isComplete()) {
+                complete(JobStatus.CANCELLED, null);
+                if (null != future) {
+                    future.cancel(true);
+                }
+            }
+        }
+
+        private synchronized void finish(final List<Object> jobResults, final boolean truncated) {
+            if (JobStatus.RUNNING == detail.getStatus()) {
+                if (null != jobResults) {
+                    results = jobResults;
+                    detail.setResultCount(jobResults.size());
+                    detail.setResultsTruncated(truncated);
+                }
+                complete(JobStatus.FINISHED, null);
+            }
+        }
+
+        private synchronized void complete(final JobStatus status, final String error) {
+            if (!detail.getStatus().isComplete()) {
+                detail.setStatus(status);
+                detail.setError(error);
+                detail.setEndTime(System.currentTimeMillis());
+            }
+        }
+
+        /**
+         * Copies the result into the list of job results, up to the maximum number of results per job.
+         *
+         * @param result     the result of the task
+         * @param jobResults the list to add the results to
+         * @return true if the results were truncated
+         * @throws InterruptedException if the job is cancelled whilst the results are being collected
+         */
+        private boolean collectResults(final Object result, final List<Object> jobResults) throws InterruptedException {
+            if (null == result) {
+                return false;
+            }
+
+            if (!(result instanceof Iterable)) {
+                jobResults.add(result);
+                return false;
+            }
+
+            try {
+                for (final Object item : (Iterable<?>) result) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new InterruptedException("Job " + getJobId() + " was cancelled");
+                    }
+
+                    if (jobResults.size() >= maxResultsPerJob) {
+                        return true;
+                    }
+                    jobResults.add(item);
+                }
+            } finally {
+                if (result instanceof CloseableIterable) {
+                    ((CloseableIterable) result).close();
+                }
+            }
+
+            return false;
+        }
+    }
+}
@@ -17,6 +17,7 @@
 package gaffer.rest.listeners;
 
 
+import gaffer.rest.job.JobExecutor;
 import gaffer.rest.service.SimpleGraphConfigurationService;
 
 import javax.servlet.ServletContextEvent;
@@ -35,6 +36,6 @@ public class InitialiseListener implements ServletContextListener {
 
     @Override
     public void contextDestroyed(final ServletContextEvent sce) {
-        // no action required.
+        JobExecutor.shutdownInstance();
     }
 }
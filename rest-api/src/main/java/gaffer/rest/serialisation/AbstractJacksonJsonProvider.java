@@ -20,14 +20,32 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.jaxrs.json.JacksonJaxbJsonProvider;
+import gaffer.commonutil.iterable.CloseableIterable;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
 
 /**
  * A <code>JacksonJsonProvider</code> enables the automatic serialisation and deserialisation to/from JSON.
  * By default the JSON will not include nulls.
+ * <p>
+ * {@link Iterable} results, e.g. elements returned from a query, are streamed to the client one item at a time
+ * and the output is flushed periodically, so the response is sent in chunks rather than being built up in memory.
+ * If the iterable is a {@link CloseableIterable} it is closed once the response has been written, or when writing
+ * fails, e.g. because the client has disconnected.
+ * </p>
  * To accept json in the rest api this class must be extended.
  * To register it as a provider add the class annotations: @Provider and @Produces(MediaType.APPLICATION_JSON).
  */
 public abstract class AbstractJacksonJsonProvider extends JacksonJaxbJsonProvider {
+    /**
+     * The number of items written between each flush of a streamed {@link Iterable}.
+     */
+    public static final int FLUSH_INTERVAL = IterableStreamWriter.FLUSH_INTERVAL;
+
     public AbstractJacksonJsonProvider() {
         super.setMapper(createMapper());
     }
@@ -42,4 +60,21 @@ public abstract class AbstractJacksonJsonProvider extends JacksonJaxbJsonProvide
         mapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
         return mapper;
     }
+
+    @Override
+    public void writeTo(final Object value, final Class<?> type, final Type genericType,
+                        final Annotation[] annotations, final MediaType mediaType,
+                        final MultivaluedMap<String, Object> httpHeaders,
+                        final OutputStream entityStream) throws IOException {
+        if (value instanceof Iterable) {
+            writeIterable((Iterable<?>) value, locateMapper(type, mediaType), entityStream);
+        } else {
+            super.writeTo(value, type, genericType, annotations, mediaType, httpHeaders, entityStream);
+        }
+    }
+
+    protected void writeIterable(final Iterable<?> iterable, final ObjectMapper mapper,
+                                 final OutputStream entityStream) throws IOException {
+        IterableStreamWriter.write(iterable, mapper, entityStream);
+    }
 }
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.rest.serialisation;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.jaxrs.smile.JacksonJaxbSmileProvider;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+/**
+ * A <code>JacksonSmileProvider</code> enables the automatic serialisation and deserialisation to/from Smile,
+ * a binary encoding of JSON. It uses the same object model as the JSON provider so operation chains and results
+ * are structurally identical, but are smaller on the wire and quicker to parse.
+ * By default nulls will not be included.
+ * <p>
+ * Clients select Smile by setting the Content-Type and/or Accept headers to {@link #APPLICATION_SMILE}.
+ * {@link Iterable} results are streamed in the same way as {@link AbstractJacksonJsonProvider}.
+ * </p>
+ * To accept Smile in the rest api this class must be extended.
+ * To register it as a provider add the class annotations: @Provider, @Consumes(APPLICATION_SMILE)
+ * and @Produces(APPLICATION_SMILE).
+ */
+public abstract class AbstractJacksonSmileProvider extends JacksonJaxbSmileProvider {
+    public static final String APPLICATION_SMILE = "application/x-jackson-smile";
+    public static final MediaType APPLICATION_SMILE_TYPE = MediaType.valueOf(APPLICATION_SMILE);
+
+    public AbstractJacksonSmileProvider() {
+        super.setMapper(createMapper());
+    }
+
+    public AbstractJacksonSmileProvider(final ObjectMapper mapper) {
+        super.setMapper(mapper);
+    }
+
+    protected ObjectMapper createMapper() {
+        final ObjectMapper mapper = new ObjectMapper(new SmileFactory());
+        mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        mapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
+        return mapper;
+    }
+
+    @Override
+    public void writeTo(final Object value, final Class<?> type, final Type genericType,
+                        final Annotation[] annotations, final MediaType mediaType,
+                        final MultivaluedMap<String, Object> httpHeaders,
+                        final OutputStream entityStream) throws IOException {
+        if (value instanceof Iterable) {
+            IterableStreamWriter.write((Iterable<?>) value, locateMapper(type, mediaType), entityStream);
+        } else {
+            super.writeTo(value, type, genericType, annotations, mediaType, httpHeaders, entityStream);
+        }
+    }
+}
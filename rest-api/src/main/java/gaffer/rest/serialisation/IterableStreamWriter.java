@@ -0,0 +1,78 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.rest.serialisation;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import gaffer.commonutil.iterable.CloseableIterable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Utility methods for streaming an {@link Iterable} to a response as an array, one item at a time.
+ * The array is written in whichever format the {@link ObjectMapper}'s factory produces, e.g. JSON or Smile.
+ */
+public final class IterableStreamWriter {
+    /**
+     * The number of items written between each flush of a streamed {@link Iterable}.
+     */
+    public static final int FLUSH_INTERVAL = 100;
+
+    private IterableStreamWriter() {
+        // private to prevent this class being instantiated.
+        // All methods are static and should be called directly.
+    }
+
+    /**
+     * Writes the items in the iterable to the output stream as an array, flushing the output periodically.
+     * If the iterable is a {@link CloseableIterable} it is closed once the array has been written,
+     * or when writing fails. The output stream is not closed.
+     *
+     * @param iterable     the items to write
+     * @param mapper       the mapper used to create the generator and write each item
+     * @param entityStream the stream to write to
+     * @throws IOException if the items could not be written
+     */
+    public static void write(final Iterable<?> iterable, final ObjectMapper mapper,
+                             final OutputStream entityStream) throws IOException {
+        // Items are flushed in batches below, rather than after every item
+        final ObjectWriter writer = mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        final JsonGenerator generator = mapper.getFactory().createGenerator(entityStream, JsonEncoding.UTF8);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        try {
+            generator.writeStartArray();
+            int count = 0;
+            for (final Object item : iterable) {
+                writer.writeValue(generator, item);
+                count++;
+                // Flush the first item straight away so the client starts receiving results
+                if (1 == count || 0 == count % FLUSH_INTERVAL) {
+                    generator.flush();
+                }
+            }
+            generator.writeEndArray();
+            generator.close();
+        } finally {
+            if (iterable instanceof CloseableIterable) {
+                ((CloseableIterable) iterable).close();
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.rest.service;
+
+import com.wordnik.swagger.annotations.Api;
+import com.wordnik.swagger.annotations.ApiOperation;
+import com.wordnik.swagger.annotations.ApiParam;
+import gaffer.operation.OperationChain;
+import gaffer.rest.job.JobDetail;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.DELETE;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.MediaType;
+import java.util.List;
+
+/**
+ * An <code>IJobService</code> has methods to execute {@link gaffer.operation.OperationChain}s asynchronously
+ * on the {@link gaffer.graph.Graph} and to poll for their status and results.
+ */
+@Path("/graph/jobs")
+@Api(value = "/graph/jobs", description = "Allows operations to be executed asynchronously on the graph")
+@Consumes(MediaType.APPLICATION_JSON)
+@Produces(MediaType.APPLICATION_JSON)
+public interface IJobService {
+
+    @POST
+    @Path("/doOperation")
+    @ApiOperation(value = "Submits the given operation chain as a job to be executed asynchronously", response = JobDetail.class)
+    JobDetail executeJob(final OperationChain opChain);
+
+    @GET
+    @ApiOperation(value = "Gets the details of all retained jobs submitted by the user", response = JobDetail.class, responseContainer = "List")
+    List<JobDetail> getJobDetails();
+
+    @GET
+    @Path("/{id}")
+    @ApiOperation(value = "Gets the details of a job", response = JobDetail.class)
+    JobDetail getJobDetail(@ApiParam(value = "The job id") @PathParam("id") final String id);
+
+    @GET
+    @Path("/{id}/results")
+    @ApiOperation(value = "Gets a page of results from a finished job", response = Object.class, responseContainer = "List")
+    List<Object> getJobResults(@ApiParam(value = "The job id") @PathParam("id") final String id,
+                               @ApiParam(value = "Index of the first result to return", required = false) @QueryParam("start") @DefaultValue("0") final int start,
+                               @ApiParam(value = "Number of results to return", required = false) @QueryParam("n") @DefaultValue("1000") final int n
+    );
+
+    @DELETE
+    @Path("/{id}")
+    @ApiOperation(value = "Cancels a job", response = JobDetail.class)
+    JobDetail cancelJob(@ApiParam(value = "The job id") @PathParam("id") final String id);
+}
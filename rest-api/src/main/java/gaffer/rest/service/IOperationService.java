@@ -38,6 +38,8 @@ import gaffer.operation.impl.get.GetEntitiesBySeed;
 import gaffer.operation.impl.get.GetRelatedEdges;
 import gaffer.operation.impl.get.GetRelatedElements;
 import gaffer.operation.impl.get.GetRelatedEntities;
+import gaffer.rest.job.JobDetail;
+import gaffer.rest.serialisation.AbstractJacksonSmileProvider;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
@@ -52,14 +54,19 @@ import javax.ws.rs.core.MediaType;
  */
 @Path("/graph/doOperation")
 @Api(value = "/graph/doOperation", description = "Allows operations to be executed on the graph")
-@Consumes(MediaType.APPLICATION_JSON)
-@Produces(MediaType.APPLICATION_JSON)
+@Consumes({MediaType.APPLICATION_JSON, AbstractJacksonSmileProvider.APPLICATION_SMILE})
+@Produces({MediaType.APPLICATION_JSON, AbstractJacksonSmileProvider.APPLICATION_SMILE})
 public interface IOperationService {
 
     @POST
     @ApiOperation(value = "Performs the given operation chain on the graph", response = Object.class)
     Object execute(final OperationChain operation);
 
+    @POST
+    @Path("/async")
+    @ApiOperation(value = "Submits the given operation chain to be executed asynchronously. The results are not retained, use the job service to follow the job", response = JobDetail.class)
+    JobDetail executeAsync(final OperationChain operation);
+
     @POST
     @Path("/generate/objects")
     @ApiOperation(value = "Generate objects from elements", response = Object.class)
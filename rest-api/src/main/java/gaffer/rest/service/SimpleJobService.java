@@ -0,0 +1,108 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.rest.service;
+
+import gaffer.operation.OperationChain;
+import gaffer.rest.GraphFactory;
+import gaffer.rest.job.JobDetail;
+import gaffer.rest.job.JobExecutor;
+import gaffer.user.User;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * An implementation of {@link gaffer.rest.service.IJobService}. Jobs are executed on the shared
+ * {@link JobExecutor} against the {@link gaffer.graph.Graph} generated using the {@link gaffer.rest.GraphFactory}.
+ * <p>
+ * By default jobs will be executed with an UNKNOWN user containing no auths.
+ * The createUser() method should be overridden and a {@link User} object should
+ * be created from the http request. Users can only access the jobs they submitted.
+ * </p>
+ */
+public class SimpleJobService implements IJobService {
+    private final GraphFactory graphFactory;
+
+    public SimpleJobService() {
+        this(GraphFactory.createGraphFactory());
+    }
+
+    public SimpleJobService(final GraphFactory graphFactory) {
+        this.graphFactory = graphFactory;
+    }
+
+    @Override
+    public JobDetail executeJob(final OperationChain opChain) {
+        final User user = createUser();
+        preOperationHook(opChain, user);
+        return getJobExecutor().submit(new Callable<Object>() {
+            @Override
+            public Object call() throws Exception {
+                try {
+                    return graphFactory.getGraph().execute(opChain, user);
+                } finally {
+                    postOperationHook(opChain, user);
+                }
+            }
+        }, user, opChain.toString());
+    }
+
+    @Override
+    public List<JobDetail> getJobDetails() {
+        return getJobExecutor().getJobDetails(createUser());
+    }
+
+    @Override
+    public JobDetail getJobDetail(final String id) {
+        return getJobExecutor().getJobDetail(id, createUser());
+    }
+
+    @Override
+    public List<Object> getJobResults(final String id, final int start, final int n) {
+        return getJobExecutor().getResults(id, createUser(), start, n);
+    }
+
+    @Override
+    public JobDetail cancelJob(final String id) {
+        return getJobExecutor().cancel(id, createUser());
+    }
+
+    /**
+     * Creates a {@link User} object containing information about the user
+     * querying Gaffer.
+     * By default this will return a user with id: UNKNOWN.
+     * <p>
+     * This method should be overridden for implementations of this API. The
+     * user information should be fetched from the request.
+     *
+     * @return the user querying Gaffer.
+     */
+    protected User createUser() {
+        return new User();
+    }
+
+    protected void preOperationHook(final OperationChain<?> opChain, final User user) {
+        // no action by default
+    }
+
+    protected void postOperationHook(final OperationChain<?> opChain, final User user) {
+        // no action by default
+    }
+
+    protected JobExecutor getJobExecutor() {
+        return JobExecutor.getInstance();
+    }
+}
@@ -21,6 +21,7 @@ import gaffer.data.element.Edge;
 import gaffer.data.element.Element;
 import gaffer.data.element.Entity;
 import gaffer.graph.Graph;
+import gaffer.operation.GetOperation;
 import gaffer.operation.Operation;
 import gaffer.operation.OperationChain;
 import gaffer.operation.OperationException;
@@ -40,9 +41,12 @@ import gaffer.operation.impl.get.GetRelatedEdges;
 import gaffer.operation.impl.get.GetRelatedElements;
 import gaffer.operation.impl.get.GetRelatedEntities;
 import gaffer.rest.GraphFactory;
+import gaffer.rest.job.JobDetail;
+import gaffer.rest.job.JobExecutor;
 import gaffer.user.User;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import java.util.concurrent.Callable;
 
 /**
  * An implementation of {@link gaffer.rest.service.IOperationService}. By default it will use a singleton
@@ -73,6 +77,32 @@ public class SimpleOperationService implements IOperationService {
         return execute(opChain, false);
     }
 
+    /**
+     * Executes the operation chain asynchronously on the shared {@link JobExecutor}. The result of the chain is
+     * not retained, but the returned job id can be used to follow the progress of the chain via the job service.
+     *
+     * @param opChain the operation chain to execute
+     * @return the details of the submitted job, including the job id
+     */
+    @Override
+    public JobDetail executeAsync(final OperationChain opChain) {
+        final User user = createUser();
+        preOperationHook(opChain, user);
+
+        final JobDetail jobDetail = getJobExecutor().submit(new Callable<Object>() {
+            @Override
+            public Object call() throws OperationException {
+                try {
+                    return graphFactory.getGraph().execute(opChain, user);
+                } finally {
+                    postOperationHook(opChain, user);
+                }
+            }
+        }, user, opChain.toString(), false);
+        LOGGER.debug("Submitted job " + jobDetail.getJobId() + " for " + opChain);
+        return jobDetail;
+    }
+
     @Override
     public Object generateObjects(final GenerateObjects operation) {
         return execute((GenerateObjects<?, ?>) operation);
@@ -160,6 +190,10 @@ public class SimpleOperationService implements IOperationService {
         // no action by default
     }
 
+    protected JobExecutor getJobExecutor() {
+        return JobExecutor.getInstance();
+    }
+
     protected Graph getGraph() {
         return graphFactory.getGraph();
     }
@@ -168,36 +202,42 @@ public class SimpleOperationService implements IOperationService {
         return execute(new OperationChain<>(operation), false);
     }
 
+    /**
+     * Executes the operation chain. When executed asynchronously the chain is submitted via
+     * {@link #executeAsync(OperationChain)} and null is returned.
+     *
+     * @param opChain  the operation chain to execute
+     * @param async    true if the chain should be executed asynchronously
+     * @param <OUTPUT> the output type of the operation chain
+     * @return the result of the operation chain, or null if it was executed asynchronously
+     */
     protected <OUTPUT> OUTPUT execute(final OperationChain<OUTPUT> opChain, final boolean async) {
+        if (async) {
+            executeAsync(opChain);
+            return null;
+        }
+
         final User user = createUser();
         preOperationHook(opChain, user);
 
-        if (async) {
-            new Thread(new Runnable() {
-                @Override
-                public void run() {
-                    try {
-                        graphFactory.getGraph().execute(opChain, user);
-                    } catch (OperationException e) {
-                        LOGGER.error("Error executing opChain", e);
-                    } finally {
-                        postOperationHook(opChain, user);
-                    }
-                }
-            }).start();
-            return null;
-        } else {
-            try {
-                return graphFactory.getGraph().execute(opChain, user);
-            } catch (OperationException e) {
-                throw new RuntimeException("Error executing opChain", e);
-            } finally {
-                postOperationHook(opChain, user);
-            }
+        try {
+            return graphFactory.getGraph().execute(opChain, user);
+        } catch (OperationException e) {
+            throw new RuntimeException("Error executing opChain", e);
+        } finally {
+            postOperationHook(opChain, user);
         }
     }
 
     protected <OUTPUT> Iterable<OUTPUT> executeGet(final Operation<?, Iterable<OUTPUT>> operation, final Integer n) {
+        if (null != n && operation instanceof GetOperation) {
+            // Allow the store to stop retrieving results once it has found enough
+            final GetOperation<?, ?> getOperation = (GetOperation<?, ?>) operation;
+            if (null == getOperation.getResultLimit() || n < getOperation.getResultLimit()) {
+                getOperation.setResultLimit(n);
+            }
+        }
+
         return null != n ? new LimitedCloseableIterable<>(execute(operation), 0, n) : execute(operation);
     }
 }
@@ -20,6 +20,9 @@ import com.wordnik.swagger.annotations.Api;
 import com.wordnik.swagger.annotations.ApiOperation;
 import com.wordnik.swagger.annotations.ApiResponse;
 import com.wordnik.swagger.annotations.ApiResponses;
+import gaffer.graph.hook.MetricsHook;
+import gaffer.rest.GraphFactory;
+import gaffer.rest.MetricsStatus;
 import gaffer.rest.SystemStatus;
 
 import javax.ws.rs.GET;
@@ -34,6 +37,16 @@ import javax.ws.rs.core.MediaType;
 @Produces(MediaType.APPLICATION_JSON)
 @Api(value = "/status", description = "Methods to check the status of the system.")
 public class StatusService {
+    private final GraphFactory graphFactory;
+
+    public StatusService() {
+        this(GraphFactory.createGraphFactory());
+    }
+
+    public StatusService(final GraphFactory graphFactory) {
+        this.graphFactory = graphFactory;
+    }
+
     @GET
     @ApiOperation(value = "Returns the status of the service", response = SystemStatus.class)
     @ApiResponses(value = { @ApiResponse(code = 200, message = "OK"),
@@ -41,4 +54,16 @@ public class StatusService {
     public SystemStatus status() {
         return new SystemStatus("The system is working normally.");
     }
+
+    @GET
+    @Path("/metrics")
+    @ApiOperation(value = "Returns the latency histograms and counters recorded for operation chains and the store",
+            response = MetricsStatus.class)
+    @ApiResponses(value = { @ApiResponse(code = 200, message = "OK"),
+            @ApiResponse(code = 500, message = "Something wrong in Server") })
+    public MetricsStatus metrics() {
+        final MetricsHook metricsHook = graphFactory.getMetricsHook();
+        return new MetricsStatus(null != metricsHook ? metricsHook.getMetrics() : null,
+                graphFactory.getStoreMetrics());
+    }
 }
@@ -0,0 +1,248 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.rest.job;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import gaffer.commonutil.exception.UnauthorisedException;
+import gaffer.user.User;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+
+public class JobExecutorTest {
+    private static final long TIMEOUT_MILLIS = 10000;
+    private final User user = new User("user01");
+    private JobExecutor executor;
+
+    @Before
+    public void setup() {
+        executor = new JobExecutor(1, 1, 3, 10, TIMEOUT_MILLIS);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void shouldExecuteJobAndReturnPagedResults() throws InterruptedException {
+        // Given
+        final Callable<Object> task = createTask(Arrays.asList(1, 2, 3));
+
+        // When
+        final JobDetail submitted = executor.submit(task, user, "test job");
+        final JobDetail finished = waitForJob(submitted.getJobId());
+
+        // Then
+        assertNotNull(submitted.getJobId());
+        assertEquals(JobStatus.FINISHED, finished.getStatus());
+        assertEquals(3, (int) finished.getResultCount());
+        assertFalse(finished.isResultsTruncated());
+        assertEquals(Arrays.<Object>asList(2, 3), executor.getResults(submitted.getJobId(), user, 1, 5));
+    }
+
+    @Test
+    public void shouldTruncateResultsAtMaximum() throws InterruptedException {
+        // Given
+        final Callable<Object> task = createTask(Arrays.asList(1, 2, 3, 4, 5));
+
+        // When
+        final JobDetail submitted = executor.submit(task, user, "test job");
+        final JobDetail finished = waitForJob(submitted.getJobId());
+
+        // Then
+        assertEquals(3, (int) finished.getResultCount());
+        assertTrue(finished.isResultsTruncated());
+        assertEquals(Arrays.<Object>asList(1, 2, 3), executor.getResults(submitted.getJobId(), user, 0, 10));
+    }
+
+    @Test
+    public void shouldNotRetainResultsWhenNotRequested() throws InterruptedException {
+        // Given
+        final Callable<Object> task = createTask(Arrays.asList(1, 2, 3));
+
+        // When
+        final JobDetail submitted = executor.submit(task, user, "test job", false);
+        final JobDetail finished = waitForJob(submitted.getJobId());
+
+        // Then
+        assertFalse(submitted.isResultsRetained());
+        assertEquals(JobStatus.FINISHED, finished.getStatus());
+        assertNull(finished.getResultCount());
+        try {
+            executor.getResults(submitted.getJobId(), user, 0, 10);
+            fail("Exception expected");
+        } catch (final IllegalStateException e) {
+            assertNotNull(e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldStoreNonIterableResultAsSingleResult() throws InterruptedException {
+        // Given
+        final Callable<Object> task = createTask(10L);
+
+        // When
+        final JobDetail submitted = executor.submit(task, user, "test job");
+        waitForJob(submitted.getJobId());
+
+        // Then
+        assertEquals(Collections.<Object>singletonList(10L), executor.getResults(submitted.getJobId(), user, 0, 10));
+    }
+
+    @Test
+    public void shouldRecordFailedJob() throws InterruptedException {
+        // Given
+        final Callable<Object> task = new Callable<Object>() {
+            @Override
+            public Object call() throws Exception {
+                throw new IllegalArgumentException("Test exception");
+            }
+        };
+
+        // When
+        final JobDetail submitted = executor.submit(task, user, "test job");
+        final JobDetail failed = waitForJob(submitted.getJobId());
+
+        // Then
+        assertEquals(JobStatus.FAILED, failed.getStatus());
+        assertEquals("Test exception", failed.getError());
+    }
+
+    @Test
+    public void shouldRejectJobsWhenQueueIsFull() throws InterruptedException {
+        // Given
+        final CountDownLatch latch = new CountDownLatch(1);
+        final JobDetail running = executor.submit(createBlockingTask(latch), user, "running job");
+        waitForStatus(running.getJobId(), JobStatus.RUNNING);
+        executor.submit(createTask(1), user, "queued job");
+
+        // When / Then
+        try {
+            executor.submit(createTask(1), user, "rejected job");
+            fail("Exception expected");
+        } catch (final RejectedExecutionException e) {
+            assertNotNull(e.getMessage());
+        } finally {
+            latch.countDown();
+        }
+        waitForJob(running.getJobId());
+    }
+
+    @Test
+    public void shouldCancelRunningJob() throws InterruptedException {
+        // Given
+        final CountDownLatch latch = new CountDownLatch(1);
+        final JobDetail submitted = executor.submit(createBlockingTask(latch), user, "test job");
+
+        // When
+        final JobDetail cancelled = executor.cancel(submitted.getJobId(), user);
+
+        // Then
+        assertEquals(JobStatus.CANCELLED, cancelled.getStatus());
+        assertEquals(JobStatus.CANCELLED, waitForJob(submitted.getJobId()).getStatus());
+    }
+
+    @Test
+    public void shouldNotAllowOtherUsersToAccessJob() throws InterruptedException {
+        // Given
+        final JobDetail submitted = executor.submit(createTask(1), user, "test job");
+        waitForJob(submitted.getJobId());
+
+        // When / Then
+        try {
+            executor.getJobDetail(submitted.getJobId(), new User("user02"));
+            fail("Exception expected");
+        } catch (final UnauthorisedException e) {
+            assertNotNull(e.getMessage());
+        }
+        assertTrue(executor.getJobDetails(new User("user02")).isEmpty());
+        assertEquals(1, executor.getJobDetails(user).size());
+    }
+
+    @Test
+    public void shouldEvictOldestCompletedJobs() throws InterruptedException {
+        // Given
+        executor.shutdown();
+        executor = new JobExecutor(1, 1, 3, 1, TIMEOUT_MILLIS);
+        final JobDetail job1 = executor.submit(createTask(1), user, "job 1");
+        waitForJob(job1.getJobId());
+        Thread.sleep(5);
+        final JobDetail job2 = executor.submit(createTask(2), user, "job 2");
+        waitForJob(job2.getJobId());
+
+        // When
+        executor.submit(createTask(3), user, "job 3");
+
+        // Then
+        try {
+            executor.getJobDetail(job1.getJobId(), user);
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertNotNull(e.getMessage());
+        }
+        assertEquals(JobStatus.FINISHED, executor.getJobDetail(job2.getJobId(), user).getStatus());
+    }
+
+    private void waitForStatus(final String jobId, final JobStatus status) throws InterruptedException {
+        final long endTime = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (status != executor.getJobDetail(jobId, user).getStatus() && System.currentTimeMillis() < endTime) {
+            Thread.sleep(10);
+        }
+    }
+
+    private JobDetail waitForJob(final String jobId) throws InterruptedException {
+        final long endTime = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        JobDetail detail = executor.getJobDetail(jobId, user);
+        while (!detail.getStatus().isComplete() && System.currentTimeMillis() < endTime) {
+            Thread.sleep(10);
+            detail = executor.getJobDetail(jobId, user);
+        }
+
+        return detail;
+    }
+
+    private Callable<Object> createTask(final Object result) {
+        return new Callable<Object>() {
+            @Override
+            public Object call() throws Exception {
+                return result;
+            }
+        };
+    }
+
+    private Callable<Object> createBlockingTask(final CountDownLatch latch) {
+        return new Callable<Object>() {
+            @Override
+            public Object call() throws Exception {
+                latch.await();
+                return null;
+            }
+        };
+    }
+}
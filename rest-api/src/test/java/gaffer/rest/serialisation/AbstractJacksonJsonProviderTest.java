@@ -0,0 +1,95 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.rest.serialisation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gaffer.commonutil.TestGroups;
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.commonutil.iterable.CloseableIterator;
+import gaffer.commonutil.iterable.WrappedCloseableIterator;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import org.junit.Test;
+import javax.ws.rs.core.MediaType;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class AbstractJacksonJsonProviderTest {
+    private final AbstractJacksonJsonProvider provider = new AbstractJacksonJsonProvider() {
+    };
+
+    @Test
+    public void shouldStreamIterableAsJsonArrayAndCloseIt() throws IOException {
+        // Given
+        final List<Element> elements = createElements(AbstractJacksonJsonProvider.FLUSH_INTERVAL + 1);
+        final CloseableIterable<Element> iterable = mockIterable(elements);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        provider.writeTo(iterable, iterable.getClass(), null, null, MediaType.APPLICATION_JSON_TYPE, null, out);
+
+        // Then
+        final Element[] result = new ObjectMapper().readValue(out.toByteArray(), Element[].class);
+        assertEquals(elements, Arrays.asList(result));
+        verify(iterable).close();
+    }
+
+    @Test
+    public void shouldCloseIterableWhenClientDisconnects() {
+        // Given
+        final CloseableIterable<Element> iterable = mockIterable(createElements(1));
+        final OutputStream out = new OutputStream() {
+            @Override
+            public void write(final int b) throws IOException {
+                throw new IOException("Client disconnected");
+            }
+        };
+
+        // When
+        try {
+            provider.writeTo(iterable, iterable.getClass(), null, null, MediaType.APPLICATION_JSON_TYPE, null, out);
+            fail("Exception expected");
+        } catch (final IOException e) {
+            // Then
+            verify(iterable).close();
+        }
+    }
+
+    private CloseableIterable<Element> mockIterable(final List<Element> elements) {
+        final CloseableIterable<Element> iterable = mock(CloseableIterable.class);
+        final CloseableIterator<Element> iterator = new WrappedCloseableIterator<>(elements.iterator());
+        given(iterable.iterator()).willReturn(iterator);
+        return iterable;
+    }
+
+    private List<Element> createElements(final int size) {
+        final List<Element> elements = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            elements.add(new Entity(TestGroups.ENTITY, "vertex" + i));
+        }
+        return elements;
+    }
+}
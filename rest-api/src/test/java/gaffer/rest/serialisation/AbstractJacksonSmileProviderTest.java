@@ -0,0 +1,88 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.rest.serialisation;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import gaffer.commonutil.TestGroups;
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.commonutil.iterable.CloseableIterator;
+import gaffer.commonutil.iterable.WrappedCloseableIterator;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import org.junit.Test;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class AbstractJacksonSmileProviderTest {
+    private final AbstractJacksonSmileProvider provider = new AbstractJacksonSmileProvider() {
+    };
+
+    @Test
+    public void shouldStreamIterableAsSmileArrayAndCloseIt() throws IOException {
+        // Given
+        final List<Element> elements = createElements(IterableStreamWriter.FLUSH_INTERVAL + 1);
+        final CloseableIterable<Element> iterable = mockIterable(elements);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        provider.writeTo(iterable, iterable.getClass(), null, null, AbstractJacksonSmileProvider.APPLICATION_SMILE_TYPE, null, out);
+
+        // Then
+        final Element[] result = new ObjectMapper(new SmileFactory()).readValue(out.toByteArray(), Element[].class);
+        assertEquals(elements, Arrays.asList(result));
+        verify(iterable).close();
+    }
+
+    @Test
+    public void shouldSerialiseAndDeserialiseElement() throws IOException {
+        // Given
+        final Element element = new Entity(TestGroups.ENTITY, "vertex");
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        provider.writeTo(element, Element.class, Element.class, null, AbstractJacksonSmileProvider.APPLICATION_SMILE_TYPE, null, out);
+        final Object result = provider.readFrom((Class) Element.class, Element.class, null,
+                AbstractJacksonSmileProvider.APPLICATION_SMILE_TYPE, null, new ByteArrayInputStream(out.toByteArray()));
+
+        // Then
+        assertEquals(element, result);
+    }
+
+    private CloseableIterable<Element> mockIterable(final List<Element> elements) {
+        final CloseableIterable<Element> iterable = mock(CloseableIterable.class);
+        final CloseableIterator<Element> iterator = new WrappedCloseableIterator<>(elements.iterator());
+        given(iterable.iterator()).willReturn(iterator);
+        return iterable;
+    }
+
+    private List<Element> createElements(final int size) {
+        final List<Element> elements = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            elements.add(new Entity(TestGroups.ENTITY, "vertex" + i));
+        }
+        return elements;
+    }
+}
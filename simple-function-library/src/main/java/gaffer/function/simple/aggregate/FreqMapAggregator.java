@@ -15,45 +15,118 @@
  */
 package gaffer.function.simple.aggregate;
 
+import gaffer.commonutil.CommonConstants;
+import gaffer.exception.SerialisationException;
+import gaffer.function.SerialisedAggregateFunction;
 import gaffer.function.SimpleAggregateFunction;
 import gaffer.function.annotation.Inputs;
 import gaffer.function.annotation.Outputs;
+import gaffer.serialisation.simple.raw.CompactRawFreqMapSerialiser;
+import gaffer.serialisation.simple.raw.CompactRawSerialisationUtils;
 import gaffer.types.simple.FreqMap;
+import java.io.ByteArrayOutputStream;
+import java.io.UnsupportedEncodingException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Map.Entry;
 
 /**
  * An <code>FreqMapAggregator</code> is a {@link SimpleAggregateFunction} that takes in
- * {@link gaffer.types.simple.FreqMap}s and merges the frequencies together.
+ * {@link gaffer.types.simple.FreqMap}s and merges the frequencies together. Null frequencies are skipped.
+ * <p>
+ * Maps serialised by a {@link CompactRawFreqMapSerialiser} are merged directly from their serialised form: the
+ * frequencies are added to primitive counters keyed by the serialised key bytes, so keys already seen are merged
+ * without creating any objects. A {@link FreqMap} is only created if the state is requested in deserialised form.
  */
 @Inputs(FreqMap.class)
 @Outputs(FreqMap.class)
-public class FreqMapAggregator extends SimpleAggregateFunction<FreqMap> {
+public class FreqMapAggregator extends SimpleAggregateFunction<FreqMap> implements SerialisedAggregateFunction {
+    private static final CompactRawFreqMapSerialiser SERIALISER = new CompactRawFreqMapSerialiser();
     private FreqMap frequencyMap;
+    private Map<SerialisedKey, Frequency> serialisedFrequencies;
+    private final SerialisedMerger serialisedMerger = new SerialisedMerger();
 
     @Override
     protected void _aggregate(final FreqMap input) {
         if (null != input) {
             if (null == frequencyMap) {
-                frequencyMap = new FreqMap(input);
-            } else {
-                for (Entry<String, Integer> entry : input.entrySet()) {
-                    if (frequencyMap.containsKey(entry.getKey())) {
-                        frequencyMap.put(entry.getKey(), frequencyMap.get(entry.getKey()) + entry.getValue());
-                    } else {
-                        frequencyMap.put(entry.getKey(), entry.getValue());
-                    }
+                frequencyMap = new FreqMap(input.size());
+            }
+            for (final Entry<String, Integer> entry : input.entrySet()) {
+                if (null != entry.getValue()) {
+                    frequencyMap.upsert(entry.getKey(), entry.getValue());
                 }
             }
         }
     }
 
+    @Override
+    public boolean canAggregateSerialised(final Class<?> serialiserClass) {
+        return CompactRawFreqMapSerialiser.class.equals(serialiserClass);
+    }
+
+    @Override
+    public void aggregateSerialised(final byte[] bytes, final int offset, final int length) {
+        if (null == serialisedFrequencies) {
+            serialisedFrequencies = new HashMap<>();
+        }
+        try {
+            CompactRawFreqMapSerialiser.forEachEntry(bytes, offset, length, serialisedMerger);
+        } catch (final SerialisationException e) {
+            throw new IllegalArgumentException("Unable to merge serialised frequency map", e);
+        }
+    }
+
+    @Override
+    public byte[] serialisedState() {
+        if (null != frequencyMap) {
+            try {
+                return SERIALISER.serialise(_state());
+            } catch (final SerialisationException e) {
+                throw new IllegalStateException("Unable to serialise frequency map", e);
+            }
+        }
+
+        if (null == serialisedFrequencies) {
+            return null;
+        }
+
+        // Only serialised input has been aggregated, so the state is written straight from the key bytes.
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            CompactRawSerialisationUtils.write(serialisedFrequencies.size(), out);
+            for (final Entry<SerialisedKey, Frequency> entry : serialisedFrequencies.entrySet()) {
+                CompactRawFreqMapSerialiser.writeEntry(entry.getKey().bytes, entry.getValue().value, out);
+            }
+        } catch (final SerialisationException e) {
+            throw new IllegalStateException("Unable to serialise frequency map", e);
+        }
+        return out.toByteArray();
+    }
+
     @Override
     public void init() {
         frequencyMap = null;
+        serialisedFrequencies = null;
     }
 
     @Override
     protected FreqMap _state() {
+        if (null != serialisedFrequencies) {
+            if (null == frequencyMap) {
+                frequencyMap = new FreqMap(serialisedFrequencies.size());
+            }
+            try {
+                for (final Entry<SerialisedKey, Frequency> entry : serialisedFrequencies.entrySet()) {
+                    frequencyMap.upsert(new String(entry.getKey().bytes, CommonConstants.UTF_8), entry.getValue().value);
+                }
+            } catch (final UnsupportedEncodingException e) {
+                throw new IllegalStateException("Unable to decode frequency map key", e);
+            }
+            serialisedFrequencies = null;
+        }
+
         return frequencyMap;
     }
 
@@ -63,4 +136,80 @@ public class FreqMapAggregator extends SimpleAggregateFunction<FreqMap> {
         aggregator.init();
         return aggregator;
     }
+
+    /**
+     * Adds each serialised entry to the counter for its key bytes. The probe key points into the serialised bytes,
+     * so the key bytes are only copied the first time a key is seen.
+     */
+    private final class SerialisedMerger implements CompactRawFreqMapSerialiser.EntryVisitor {
+        private final SerialisedKey probe = new SerialisedKey();
+
+        @Override
+        public void visit(final byte[] bytes, final int keyOffset, final int keyLength, final int frequency) {
+            probe.set(bytes, keyOffset, keyLength);
+            final Frequency current = serialisedFrequencies.get(probe);
+            if (null != current) {
+                current.value += frequency;
+            } else {
+                final SerialisedKey key = new SerialisedKey();
+                key.set(Arrays.copyOfRange(bytes, keyOffset, keyOffset + keyLength), 0, keyLength);
+                serialisedFrequencies.put(key, new Frequency(frequency));
+            }
+        }
+    }
+
+    /**
+     * A key held as a range of UTF-8 bytes. Keys stored in the state own their bytes, starting at offset 0.
+     */
+    private static final class SerialisedKey {
+        private byte[] bytes;
+        private int offset;
+        private int length;
+        private int hash;
+
+        private void set(final byte[] newBytes, final int newOffset, final int newLength) {
+            bytes = newBytes;
+            offset = newOffset;
+            length = newLength;
+            int newHash = 1;
+            for (int i = offset; i < offset + length; i++) {
+                newHash = 31 * newHash + bytes[i];
+            }
+            hash = newHash;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof SerialisedKey)) {
+                return false;
+            }
+
+            final SerialisedKey other = (SerialisedKey) obj;
+            if (hash != other.hash || length != other.length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (bytes[offset + i] != other.bytes[other.offset + i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class Frequency {
+        private int value;
+
+        private Frequency(final int value) {
+            this.value = value;
+        }
+    }
 }
@@ -17,22 +17,41 @@ package gaffer.function.simple.aggregate;
 
 import com.clearspring.analytics.stream.cardinality.CardinalityMergeException;
 import com.clearspring.analytics.stream.cardinality.HyperLogLogPlus;
+import gaffer.exception.SerialisationException;
+import gaffer.function.SerialisedAggregateFunction;
 import gaffer.function.SimpleAggregateFunction;
 import gaffer.function.annotation.Inputs;
 import gaffer.function.annotation.Outputs;
+import gaffer.serialisation.simple.HyperLogLogPlusSerialisationUtils;
+import gaffer.serialisation.simple.HyperLogLogPlusWithCardinalitySerialiser;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
 
 /**
  * An <code>HyperLogLogPlusAggregator</code> is a {@link SimpleAggregateFunction} that takes in
  * {@link com.clearspring.analytics.stream.cardinality.HyperLogLogPlus}s and merges the sketches together.
+ * <p>
+ * Sketches serialised by a {@link HyperLogLogPlusWithCardinalitySerialiser} can be merged in their serialised form.
+ * Dense sketches with the same precision are merged register by register into a copy of the first one, without
+ * deserialising them. Other sketches are deserialised and merged as normal.
  */
 @Inputs(HyperLogLogPlus.class)
 @Outputs(HyperLogLogPlus.class)
-public class HyperLogLogPlusAggregator extends SimpleAggregateFunction<HyperLogLogPlus> {
+public class HyperLogLogPlusAggregator extends SimpleAggregateFunction<HyperLogLogPlus> implements SerialisedAggregateFunction {
+    private static final HyperLogLogPlusWithCardinalitySerialiser SERIALISER = new HyperLogLogPlusWithCardinalitySerialiser();
     private HyperLogLogPlus sketch;
 
+    /**
+     * The serialised dense sketch that serialised inputs are merged into.
+     */
+    private byte[] serialisedSketch;
+    private int serialisedRegistersOffset;
+
     @Override
     public void init() {
         sketch = null;
+        serialisedSketch = null;
     }
 
     @Override
@@ -51,13 +70,104 @@ public class HyperLogLogPlusAggregator extends SimpleAggregateFunction<HyperLogL
 
     @Override
     protected HyperLogLogPlus _state() {
+        mergeSerialisedSketch();
         return sketch;
     }
 
+    @Override
+    public boolean canAggregateSerialised(final Class<?> serialiserClass) {
+        return HyperLogLogPlusWithCardinalitySerialiser.class.equals(serialiserClass);
+    }
+
+    @Override
+    public void aggregateSerialised(final byte[] bytes, final int offset, final int length) {
+        final int sketchOffset;
+        try {
+            sketchOffset = HyperLogLogPlusWithCardinalitySerialiser.getSketchOffset(bytes, offset, length);
+        } catch (final SerialisationException e) {
+            throw new IllegalArgumentException("Unable to read serialised HyperLogLogPlus sketch", e);
+        }
+
+        final int sketchLength = offset + length - sketchOffset;
+        final int registersOffset = HyperLogLogPlusSerialisationUtils.getRegistersOffset(bytes, sketchOffset, sketchLength);
+        if (registersOffset > -1) {
+            if (null == serialisedSketch) {
+                serialisedSketch = Arrays.copyOfRange(bytes, sketchOffset, sketchOffset + sketchLength);
+                serialisedRegistersOffset = registersOffset - sketchOffset;
+                return;
+            }
+
+            if (hasSameHeader(bytes, sketchOffset, sketchLength, registersOffset)) {
+                HyperLogLogPlusSerialisationUtils.mergeRegisters(serialisedSketch, serialisedRegistersOffset,
+                        bytes, registersOffset, sketchLength - serialisedRegistersOffset);
+                return;
+            }
+        }
+
+        // Sparse sketches and sketches with a different precision are merged as objects.
+        try {
+            _aggregate(SERIALISER.deserialise(bytes, offset, length));
+        } catch (final SerialisationException e) {
+            throw new IllegalArgumentException("Unable to deserialise HyperLogLogPlus sketch", e);
+        }
+    }
+
+    @Override
+    public byte[] serialisedState() {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            if (null == sketch) {
+                if (null == serialisedSketch) {
+                    return null;
+                }
+                HyperLogLogPlusWithCardinalitySerialiser.serialise(
+                        buildSketch(serialisedSketch).cardinality(), serialisedSketch, out);
+            } else {
+                mergeSerialisedSketch();
+                SERIALISER.serialise(sketch, out);
+            }
+        } catch (final SerialisationException e) {
+            throw new RuntimeException("Unable to serialise HyperLogLogPlus sketch", e);
+        }
+        return out.toByteArray();
+    }
+
     @Override
     public HyperLogLogPlusAggregator statelessClone() {
         HyperLogLogPlusAggregator clone = new HyperLogLogPlusAggregator();
         clone.init();
         return clone;
     }
+
+    private boolean hasSameHeader(final byte[] bytes, final int sketchOffset, final int sketchLength, final int registersOffset) {
+        if (sketchLength != serialisedSketch.length || registersOffset - sketchOffset != serialisedRegistersOffset) {
+            return false;
+        }
+        for (int i = 0; i < serialisedRegistersOffset; i++) {
+            if (bytes[sketchOffset + i] != serialisedSketch[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void mergeSerialisedSketch() {
+        if (null != serialisedSketch) {
+            final HyperLogLogPlus merged = buildSketch(serialisedSketch);
+            serialisedSketch = null;
+            if (null == sketch) {
+                sketch = merged;
+            } else {
+                _aggregate(merged);
+            }
+        }
+    }
+
+    private static HyperLogLogPlus buildSketch(final byte[] bytes) {
+        try {
+            return HyperLogLogPlus.Builder.build(bytes);
+        } catch (final IOException e) {
+            throw new RuntimeException("Failed to create HyperLogLogPlus sketch from merged bytes", e);
+        }
+    }
 }
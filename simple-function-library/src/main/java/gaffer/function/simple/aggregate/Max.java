@@ -30,23 +30,23 @@ import gaffer.function.annotation.Outputs;
 @Outputs(Number.class)
 public class Max extends NumericAggregateFunction {
     @Override
-    protected void aggregateInt(final Integer input) {
-        if (input > (Integer) aggregate) {
-            aggregate = input;
+    protected void aggregateInt(final int input) {
+        if (input > intAggregate) {
+            intAggregate = input;
         }
     }
 
     @Override
-    protected void aggregateLong(final Long input) {
-        if (input > (Long) aggregate) {
-            aggregate = input;
+    protected void aggregateLong(final long input) {
+        if (input > longAggregate) {
+            longAggregate = input;
         }
     }
 
     @Override
-    protected void aggregateDouble(final Double input) {
-        if (input > (Double) aggregate) {
-            aggregate = input;
+    protected void aggregateDouble(final double input) {
+        if (input > doubleAggregate) {
+            doubleAggregate = input;
         }
     }
 
@@ -24,6 +24,9 @@ import gaffer.function.SimpleAggregateFunction;
  * implement the init methods and aggregate methods for the different number types.
  * If you know the type of number that will be used then this can be set by calling setMode(NumberType),
  * otherwise it will be automatically set for you using the class of the first number passed in.
+ * <p>
+ * The aggregate is held in a primitive field for the selected number type, so aggregating does not box a new
+ * {@link java.lang.Number} for every input. The aggregate is only boxed when the state is requested.
  *
  * @see gaffer.function.simple.aggregate.NumericAggregateFunction
  */
@@ -31,7 +34,13 @@ public abstract class NumericAggregateFunction extends SimpleAggregateFunction<N
 
     private NumberType mode = NumberType.AUTO;
 
-    protected Number aggregate = null;
+    protected int intAggregate;
+
+    protected long longAggregate;
+
+    protected double doubleAggregate;
+
+    private boolean aggregated = false;
 
     /**
      * Sets the number type mode. If this is not set, then this will be set automatically based on the class of the
@@ -52,7 +61,10 @@ public abstract class NumericAggregateFunction extends SimpleAggregateFunction<N
 
     @Override
     public void init() {
-        aggregate = null;
+        aggregated = false;
+        intAggregate = 0;
+        longAggregate = 0L;
+        doubleAggregate = 0d;
     }
 
     @Override
@@ -75,24 +87,30 @@ public abstract class NumericAggregateFunction extends SimpleAggregateFunction<N
                 _aggregate(input);
                 break;
             case INT:
-                if (null == aggregate) {
-                    aggregate = (Integer) input;
+                final int intInput = (Integer) input;
+                if (aggregated) {
+                    aggregateInt(intInput);
                 } else {
-                    aggregateInt((Integer) input);
+                    intAggregate = intInput;
+                    aggregated = true;
                 }
                 break;
             case LONG:
-                if (null == aggregate) {
-                    aggregate = (Long) input;
+                final long longInput = (Long) input;
+                if (aggregated) {
+                    aggregateLong(longInput);
                 } else {
-                    aggregateLong((Long) input);
+                    longAggregate = longInput;
+                    aggregated = true;
                 }
                 break;
             case DOUBLE:
-                if (null == aggregate) {
-                    aggregate = (Double) input;
+                final double doubleInput = (Double) input;
+                if (aggregated) {
+                    aggregateDouble(doubleInput);
                 } else {
-                    aggregateDouble((Double) input);
+                    doubleAggregate = doubleInput;
+                    aggregated = true;
                 }
                 break;
             default:
@@ -100,15 +118,43 @@ public abstract class NumericAggregateFunction extends SimpleAggregateFunction<N
         }
     }
 
-    protected abstract void aggregateInt(final Integer input);
+    /**
+     * Aggregates an input into <code>intAggregate</code>. Only called once the aggregate has been set.
+     *
+     * @param input the input to aggregate
+     */
+    protected abstract void aggregateInt(final int input);
 
-    protected abstract void aggregateLong(final Long input);
+    /**
+     * Aggregates an input into <code>longAggregate</code>. Only called once the aggregate has been set.
+     *
+     * @param input the input to aggregate
+     */
+    protected abstract void aggregateLong(final long input);
 
-    protected abstract void aggregateDouble(final Double input);
+    /**
+     * Aggregates an input into <code>doubleAggregate</code>. Only called once the aggregate has been set.
+     *
+     * @param input the input to aggregate
+     */
+    protected abstract void aggregateDouble(final double input);
 
     @Override
     public Number _state() {
-        return aggregate;
+        if (!aggregated) {
+            return null;
+        }
+
+        switch (mode) {
+            case INT:
+                return intAggregate;
+            case LONG:
+                return longAggregate;
+            case DOUBLE:
+                return doubleAggregate;
+            default:
+                return null;
+        }
     }
 
     public enum NumberType {
@@ -30,18 +30,18 @@ import gaffer.function.annotation.Outputs;
 @Outputs(Number.class)
 public class Product extends NumericAggregateFunction {
     @Override
-    protected void aggregateInt(final Integer input) {
-        aggregate = (Integer) aggregate * input;
+    protected void aggregateInt(final int input) {
+        intAggregate *= input;
     }
 
     @Override
-    protected void aggregateLong(final Long input) {
-        aggregate = (Long) aggregate * input;
+    protected void aggregateLong(final long input) {
+        longAggregate *= input;
     }
 
     @Override
-    protected void aggregateDouble(final Double input) {
-        aggregate = (Double) aggregate * input;
+    protected void aggregateDouble(final double input) {
+        doubleAggregate *= input;
     }
 
     public Product statelessClone() {
@@ -45,10 +45,15 @@ public class AreEqual extends FilterFunction {
             return true;
         }
 
-        if (null == input[0]) {
-            return null == input[1];
+        return test(input[0], input[1]);
+    }
+
+    @Override
+    public boolean test(final Object x, final Object y) {
+        if (null == x) {
+            return null == y;
         }
 
-        return input[0].equals(input[1]);
+        return x.equals(y);
     }
 }
@@ -17,15 +17,20 @@ package gaffer.function.simple.filter;
 
 import com.clearspring.analytics.stream.cardinality.HyperLogLogPlus;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import gaffer.exception.SerialisationException;
+import gaffer.function.SerialisedFilterFunction;
 import gaffer.function.SimpleFilterFunction;
 import gaffer.function.annotation.Inputs;
+import gaffer.serialisation.simple.HyperLogLogPlusWithCardinalitySerialiser;
 
 /**
  * An <code>Exists</code> is a {@link SimpleFilterFunction} that simply checks that the input
  * {@link com.clearspring.analytics.stream.cardinality.HyperLogLogPlus} cardinality is less than a control value.
+ * Sketches serialised by a {@link HyperLogLogPlusWithCardinalitySerialiser} are tested using the cardinality stored
+ * with them, without deserialising the sketch.
  */
 @Inputs(HyperLogLogPlus.class)
-public class HyperLogLogPlusIsLessThan extends SimpleFilterFunction<HyperLogLogPlus> {
+public class HyperLogLogPlusIsLessThan extends SimpleFilterFunction<HyperLogLogPlus> implements SerialisedFilterFunction {
     private long controlValue;
     private boolean orEqualTo;
 
@@ -69,7 +74,24 @@ public class HyperLogLogPlusIsLessThan extends SimpleFilterFunction<HyperLogLogP
         if (input == null) {
             return false;
         }
-        long cardinality = input.cardinality();
+        return isLessThan(input.cardinality());
+    }
+
+    @Override
+    public boolean canFilterSerialised(final Class<?> serialiserClass) {
+        return HyperLogLogPlusWithCardinalitySerialiser.class.equals(serialiserClass);
+    }
+
+    @Override
+    public boolean isValidSerialised(final byte[] bytes, final int offset, final int length) {
+        try {
+            return isLessThan(HyperLogLogPlusWithCardinalitySerialiser.readCardinality(bytes, offset, length));
+        } catch (final SerialisationException e) {
+            throw new IllegalArgumentException("Unable to read the cardinality of a serialised HyperLogLogPlus sketch", e);
+        }
+    }
+
+    private boolean isLessThan(final long cardinality) {
         if (orEqualTo) {
             if (cardinality <= controlValue) {
                 return true;
@@ -18,6 +18,7 @@ package gaffer.function.simple.filter;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import gaffer.function.SimpleFilterFunction;
+import gaffer.function.UpperBoundFilterFunction;
 import gaffer.function.annotation.Inputs;
 
 /**
@@ -26,7 +27,7 @@ import gaffer.function.annotation.Inputs;
  * the input value to be less than or equal to the control value.
  */
 @Inputs(Comparable.class)
-public class IsLessThan extends SimpleFilterFunction<Comparable> {
+public class IsLessThan extends SimpleFilterFunction<Comparable> implements UpperBoundFilterFunction {
     private Comparable controlValue;
     private boolean orEqualTo;
 
@@ -45,6 +46,7 @@ public class IsLessThan extends SimpleFilterFunction<Comparable> {
 
     @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.WRAPPER_OBJECT)
     @JsonProperty("value")
+    @Override
     public Comparable getControlValue() {
         return controlValue;
     }
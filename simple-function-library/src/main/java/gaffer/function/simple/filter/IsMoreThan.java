@@ -17,6 +17,7 @@ package gaffer.function.simple.filter;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import gaffer.function.LowerBoundFilterFunction;
 import gaffer.function.SimpleFilterFunction;
 import gaffer.function.annotation.Inputs;
 
@@ -26,7 +27,7 @@ import gaffer.function.annotation.Inputs;
  * the input value to be more than or equal to the control value.
  */
 @Inputs(Comparable.class)
-public class IsMoreThan extends SimpleFilterFunction<Comparable> {
+public class IsMoreThan extends SimpleFilterFunction<Comparable> implements LowerBoundFilterFunction {
     private Comparable controlValue;
     private boolean orEqualTo;
 
@@ -45,6 +46,7 @@ public class IsMoreThan extends SimpleFilterFunction<Comparable> {
 
     @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.WRAPPER_OBJECT)
     @JsonProperty("value")
+    @Override
     public Comparable getControlValue() {
         return controlValue;
     }
@@ -53,6 +53,16 @@ public class Not extends FilterFunction {
 
     }
 
+    @Override
+    public boolean test(final Object input) {
+        return null == function || !function.test(input);
+    }
+
+    @Override
+    public boolean test(final Object x, final Object y) {
+        return null == function || !function.test(x, y);
+    }
+
     public FilterFunction getFunction() {
         return function;
     }
@@ -29,13 +29,15 @@ public class XIsLessThanY extends FilterFunction {
 
     @Override
     public boolean isValid(final Object[] input) {
-        return !(null == input
-                || input.length != 2
-                || null == input[0]
-                || null == input[1]
-                || !(input[0] instanceof Comparable)
-                || input[0].getClass() != input[1].getClass())
-                && ((Comparable) input[0]).compareTo(input[1]) < 0;
+        return null != input && input.length == 2 && test(input[0], input[1]);
+    }
 
+    @Override
+    public boolean test(final Object x, final Object y) {
+        return !(null == x
+                || null == y
+                || !(x instanceof Comparable)
+                || x.getClass() != y.getClass())
+                && ((Comparable) x).compareTo(y) < 0;
     }
 }
@@ -4,9 +4,11 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import gaffer.exception.SerialisationException;
 import gaffer.function.AggregateFunctionTest;
+import gaffer.serialisation.simple.raw.CompactRawFreqMapSerialiser;
 import gaffer.types.simple.FreqMap;
 import gaffer.jsonserialisation.JSONSerialiser;
 import org.junit.Test;
@@ -37,6 +39,98 @@ public class FreqMapAggregatorTest extends AggregateFunctionTest {
         assertEquals((Integer) 5, mergedFreqMap.get("3"));
     }
 
+    @Test
+    public void shouldMergeSerialisedFreqMaps() throws SerialisationException {
+        // Given
+        final FreqMapAggregator aggregator = new FreqMapAggregator();
+        aggregator.init();
+        final CompactRawFreqMapSerialiser serialiser = new CompactRawFreqMapSerialiser();
+
+        final FreqMap freqMap1 = new FreqMap();
+        freqMap1.put("1", 2);
+        freqMap1.put("2", 3);
+
+        final FreqMap freqMap2 = new FreqMap();
+        freqMap2.put("2", 4);
+        freqMap2.put("3", 5);
+        final byte[] bytes = serialiser.serialise(freqMap2);
+
+        // When
+        aggregator._aggregate(freqMap1);
+        aggregator.aggregateSerialised(bytes, 0, bytes.length);
+
+        // Then
+        assertTrue(aggregator.canAggregateSerialised(CompactRawFreqMapSerialiser.class));
+        final FreqMap mergedFreqMap = (FreqMap) serialiser.deserialise(aggregator.serialisedState());
+        assertEquals(3, mergedFreqMap.size());
+        assertEquals((Integer) 2, mergedFreqMap.get("1"));
+        assertEquals((Integer) 7, mergedFreqMap.get("2"));
+        assertEquals((Integer) 5, mergedFreqMap.get("3"));
+    }
+
+    @Test
+    public void shouldMergeOnlySerialisedFreqMapsWithoutDeserialisingThem() throws SerialisationException {
+        // Given
+        final FreqMapAggregator aggregator = new FreqMapAggregator();
+        aggregator.init();
+        final CompactRawFreqMapSerialiser serialiser = new CompactRawFreqMapSerialiser();
+
+        final FreqMap freqMap1 = new FreqMap();
+        freqMap1.put("1", 2);
+        freqMap1.put("\u00e9", 3);
+        final byte[] bytes1 = serialiser.serialise(freqMap1);
+
+        final FreqMap freqMap2 = new FreqMap();
+        freqMap2.put("\u00e9", 4);
+        freqMap2.put("3", 5);
+        final byte[] bytes2 = new byte[serialiser.serialise(freqMap2).length + 2];
+        System.arraycopy(serialiser.serialise(freqMap2), 0, bytes2, 1, bytes2.length - 2);
+
+        // When
+        aggregator.aggregateSerialised(bytes1, 0, bytes1.length);
+        aggregator.aggregateSerialised(bytes2, 1, bytes2.length - 2);
+        aggregator.aggregateSerialised(bytes1, 0, bytes1.length);
+
+        // Then
+        final FreqMap expected = new FreqMap();
+        expected.put("1", 4);
+        expected.put("\u00e9", 10);
+        expected.put("3", 5);
+        assertEquals(expected, serialiser.deserialise(aggregator.serialisedState()));
+        assertEquals(expected, aggregator.state()[0]);
+    }
+
+    @Test
+    public void shouldSkipNullFrequencies() {
+        // Given
+        final FreqMapAggregator aggregator = new FreqMapAggregator();
+        aggregator.init();
+        final FreqMap freqMap = new FreqMap();
+        freqMap.put("1", null);
+        freqMap.put("2", 3);
+
+        // When
+        aggregator._aggregate(freqMap);
+        aggregator._aggregate(freqMap);
+
+        // Then
+        final FreqMap mergedFreqMap = (FreqMap) aggregator.state()[0];
+        assertEquals(1, mergedFreqMap.size());
+        assertEquals((Integer) 6, mergedFreqMap.get("2"));
+    }
+
+    @Test
+    public void shouldHaveNoSerialisedStateAfterInit() {
+        // Given
+        final FreqMapAggregator aggregator = new FreqMapAggregator();
+
+        // When
+        aggregator.init();
+
+        // Then
+        assertNull(aggregator.serialisedState());
+    }
+
     @Test
     public void shouldCloneAggregator() {
         // Given
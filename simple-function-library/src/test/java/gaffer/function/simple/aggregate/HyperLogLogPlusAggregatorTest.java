@@ -19,12 +19,14 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import com.clearspring.analytics.stream.cardinality.HyperLogLogPlus;
 import gaffer.exception.SerialisationException;
 import gaffer.function.AggregateFunctionTest;
 import gaffer.function.Function;
 import gaffer.jsonserialisation.JSONSerialiser;
+import gaffer.serialisation.simple.HyperLogLogPlusWithCardinalitySerialiser;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -119,6 +121,63 @@ public class HyperLogLogPlusAggregatorTest extends AggregateFunctionTest {
         assertEquals(hyperLogLogPlus1.cardinality(), ((HyperLogLogPlus) clone.state()[0]).cardinality());
     }
 
+    @Test
+    public void shouldAggregateSerialisedSketchesTheSameAsObjects() throws Exception {
+        // Given
+        final HyperLogLogPlusWithCardinalitySerialiser serialiser = new HyperLogLogPlusWithCardinalitySerialiser();
+        final HyperLogLogPlusAggregator objectAggregator = new HyperLogLogPlusAggregator();
+        final HyperLogLogPlusAggregator serialisedAggregator = new HyperLogLogPlusAggregator();
+        objectAggregator.init();
+        serialisedAggregator.init();
+        assertTrue(serialisedAggregator.canAggregateSerialised(HyperLogLogPlusWithCardinalitySerialiser.class));
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            final HyperLogLogPlus hyperLogLogPlus = new HyperLogLogPlus(10, 0);
+            for (int j = 0; j < 100; j++) {
+                hyperLogLogPlus.offer("value" + (i * 50 + j));
+            }
+            final byte[] bytes = serialiser.serialise(hyperLogLogPlus);
+            objectAggregator._aggregate(hyperLogLogPlus);
+            serialisedAggregator.aggregateSerialised(bytes, 0, bytes.length);
+        }
+        final byte[] result = serialisedAggregator.serialisedState();
+
+        // Then
+        final long expectedCardinality = ((HyperLogLogPlus) objectAggregator.state()[0]).cardinality();
+        assertEquals(expectedCardinality, HyperLogLogPlusWithCardinalitySerialiser.readCardinality(result, 0, result.length));
+        assertEquals(expectedCardinality, serialiser.deserialise(result).cardinality());
+    }
+
+    @Test
+    public void shouldAggregateSparseSerialisedSketches() throws Exception {
+        // Given
+        final HyperLogLogPlusWithCardinalitySerialiser serialiser = new HyperLogLogPlusWithCardinalitySerialiser();
+        final HyperLogLogPlusAggregator aggregator = new HyperLogLogPlusAggregator();
+        aggregator.init();
+        final byte[] bytes1 = serialiser.serialise(hyperLogLogPlus1);
+        final byte[] bytes2 = serialiser.serialise(hyperLogLogPlus2);
+
+        // When
+        aggregator.aggregateSerialised(bytes1, 0, bytes1.length);
+        aggregator.aggregateSerialised(bytes2, 0, bytes2.length);
+
+        // Then
+        assertEquals(4l, ((HyperLogLogPlus) aggregator.state()[0]).cardinality());
+    }
+
+    @Test
+    public void shouldReturnNullSerialisedStateWhenEmpty() {
+        // Given
+        final HyperLogLogPlusAggregator aggregator = new HyperLogLogPlusAggregator();
+
+        // When
+        aggregator.init();
+
+        // Then
+        assertNull(aggregator.serialisedState());
+    }
+
     private static String getRandomLetter() {
         String[] letters = "ABCDEFGHIJKLMNOPQRSTUVWXYZ".split("");
         return letters[(int) (Math.random() * letters.length)];
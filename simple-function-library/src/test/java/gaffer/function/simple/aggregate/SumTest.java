@@ -479,6 +479,28 @@ public class SumTest extends AggregateFunctionTest {
         assertEquals(firstValue, sum.state()[0]);
     }
 
+    @Test
+    public void testInitResetsAggregateInLongMode() {
+        // Given
+        final Sum longSum = new Sum();
+        longSum.setMode(NumericAggregateFunction.NumberType.LONG);
+        longSum.init();
+        longSum._aggregate(5L);
+        longSum._aggregate(7L);
+
+        // When 1
+        longSum.init();
+
+        // Then 1
+        assertNull(longSum.state()[0]);
+
+        // When 2
+        longSum._aggregate(2L);
+
+        // Then 2
+        assertEquals(2L, longSum.state()[0]);
+    }
+
     @Test
     public void testCloneInAutoMode() {
         // Given
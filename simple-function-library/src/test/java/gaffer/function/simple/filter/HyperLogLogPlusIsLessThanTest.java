@@ -27,6 +27,8 @@ import gaffer.function.FilterFunction;
 import gaffer.function.FilterFunctionTest;
 import gaffer.function.Function;
 import gaffer.jsonserialisation.JSONSerialiser;
+import gaffer.serialisation.simple.HyperLogLogPlusSerialiser;
+import gaffer.serialisation.simple.HyperLogLogPlusWithCardinalitySerialiser;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -57,6 +59,26 @@ public class HyperLogLogPlusIsLessThanTest extends FilterFunctionTest {
         assertEquals(31l, hyperLogLogPlusWithCardinality31.cardinality());
     }
 
+    @Test
+    public void shouldFilterOnSerialisedCardinality() throws SerialisationException {
+        // Given
+        final HyperLogLogPlusIsLessThan filter = new HyperLogLogPlusIsLessThan(15);
+        final HyperLogLogPlusWithCardinalitySerialiser serialiser = new HyperLogLogPlusWithCardinalitySerialiser();
+        final byte[] bytes5 = serialiser.serialise(hyperLogLogPlusWithCardinality5);
+        final byte[] bytes31 = serialiser.serialise(hyperLogLogPlusWithCardinality31);
+
+        // When
+        final boolean canFilter = filter.canFilterSerialised(HyperLogLogPlusWithCardinalitySerialiser.class);
+        final boolean accepted5 = filter.isValidSerialised(bytes5, 0, bytes5.length);
+        final boolean accepted31 = filter.isValidSerialised(bytes31, 0, bytes31.length);
+
+        // Then
+        assertTrue(canFilter);
+        assertFalse(filter.canFilterSerialised(HyperLogLogPlusSerialiser.class));
+        assertTrue(accepted5);
+        assertFalse(accepted31);
+    }
+
     @Test
     public void shouldAcceptWhenLessThan() {
         // Given
@@ -17,7 +17,7 @@
 package gaffer.serialisation.simple;
 
 import gaffer.exception.SerialisationException;
-import gaffer.serialisation.Serialisation;
+import gaffer.serialisation.OffsetSerialisation;
 import org.apache.avro.Schema;
 import org.apache.avro.file.DataFileStream;
 import org.apache.avro.file.DataFileWriter;
@@ -31,24 +31,33 @@ import org.slf4j.LoggerFactory;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 
 /**
  * This class is used to serialise and deserialise avro files
  */
-public class AvroSerialiser implements Serialisation {
+public class AvroSerialiser implements OffsetSerialisation {
 
     private static final long serialVersionUID = -6264923181170362212L;
     private static final Logger LOGGER = LoggerFactory.getLogger(AvroSerialiser.class);
 
     public byte[] serialise(final Object object) throws SerialisationException {
+        final ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+        serialise(object, byteOut);
+        return byteOut.toByteArray();
+    }
+
+    @Override
+    public void serialise(final Object object, final OutputStream out) throws SerialisationException {
         Schema schema = ReflectData.get().getSchema(object.getClass());
         DatumWriter<Object> datumWriter = new ReflectDatumWriter<>(schema);
         DataFileWriter<Object> dataFileWriter = new DataFileWriter<>(datumWriter);
-        ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
         try {
-            dataFileWriter.create(schema, byteOut);
+            // The writer closes the stream it writes to, so the provided stream is shielded from being closed.
+            dataFileWriter.create(schema, new UnclosableOutputStream(out));
             dataFileWriter.append(object);
             dataFileWriter.flush();
         } catch (IOException e) {
@@ -56,12 +65,16 @@ public class AvroSerialiser implements Serialisation {
         } finally {
             close(dataFileWriter);
         }
-        return byteOut.toByteArray();
     }
 
     public Object deserialise(final byte[] bytes) throws SerialisationException {
+        return deserialise(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public Object deserialise(final byte[] bytes, final int offset, final int length) throws SerialisationException {
         final DatumReader<Object> datumReader = new ReflectDatumReader<>();
-        try (final InputStream inputStream = new ByteArrayInputStream(bytes);
+        try (final InputStream inputStream = new ByteArrayInputStream(bytes, offset, length);
              final DataFileStream<Object> in = new DataFileStream<>(inputStream, datumReader)) {
             return in.next();
         } catch (IOException e) {
@@ -105,4 +118,20 @@ public class AvroSerialiser implements Serialisation {
             }
         }
     }
+
+    private static final class UnclosableOutputStream extends FilterOutputStream {
+        private UnclosableOutputStream(final OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+            out.write(bytes, offset, length);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
 }
@@ -16,12 +16,14 @@
 package gaffer.serialisation.simple;
 
 import gaffer.exception.SerialisationException;
-import gaffer.serialisation.Serialisation;
+import gaffer.serialisation.OffsetSerialisation;
+import java.io.IOException;
+import java.io.OutputStream;
 
 /**
  * This class is used to serialise and deserialise a boolean value
  */
-public class BooleanSerialiser implements Serialisation {
+public class BooleanSerialiser implements OffsetSerialisation {
 
     private static final long serialVersionUID = -3964992157560886710L;
     private static final byte FALSE = (byte) 0;
@@ -31,10 +33,24 @@ public class BooleanSerialiser implements Serialisation {
         return new byte[]{Boolean.TRUE.equals(object) ? TRUE : FALSE};
     }
 
+    @Override
+    public void serialise(final Object object, final OutputStream out) throws SerialisationException {
+        try {
+            out.write(Boolean.TRUE.equals(object) ? TRUE : FALSE);
+        } catch (final IOException e) {
+            throw new SerialisationException(e.getMessage(), e);
+        }
+    }
+
     public Object deserialise(final byte[] bytes) throws SerialisationException {
         return bytes.length == 1 && TRUE == bytes[0];
     }
 
+    @Override
+    public Object deserialise(final byte[] bytes, final int offset, final int length) throws SerialisationException {
+        return length == 1 && TRUE == bytes[offset];
+    }
+
     public <T> T deserialise(final byte[] bytes, final Class<T> clazz) throws SerialisationException {
         return clazz.cast(bytes.length == 1 && TRUE == bytes[0]);
     }
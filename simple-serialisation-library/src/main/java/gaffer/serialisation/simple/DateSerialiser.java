@@ -17,13 +17,15 @@ package gaffer.serialisation.simple;
 
 
 import gaffer.exception.SerialisationException;
-import gaffer.serialisation.Serialisation;
+import gaffer.serialisation.OffsetSerialisation;
 import gaffer.serialisation.simple.constants.SimpleSerialisationConstants;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
 import java.util.Date;
 
-public class DateSerialiser implements Serialisation {
+public class DateSerialiser implements OffsetSerialisation {
 
     private static final long serialVersionUID = 5647756843689779437L;
 
@@ -42,11 +44,25 @@ public class DateSerialiser implements Serialisation {
         }
     }
 
+    @Override
+    public void serialise(final Object object, final OutputStream out) throws SerialisationException {
+        try {
+            TextSerialisationUtils.writeDecimal(((Date) object).getTime(), out);
+        } catch (final IOException e) {
+            throw new SerialisationException(e.getMessage(), e);
+        }
+    }
+
     @Override
     public Object deserialise(final byte[] bytes) throws SerialisationException {
+        return deserialise(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public Object deserialise(final byte[] bytes, final int offset, final int length) throws SerialisationException {
         Long longR;
         try {
-             longR = Long.parseLong(new String(bytes, SimpleSerialisationConstants.ISO_8859_1_ENCODING));
+             longR = Long.parseLong(new String(bytes, offset, length, SimpleSerialisationConstants.ISO_8859_1_ENCODING));
         } catch (NumberFormatException | UnsupportedEncodingException e) {
             throw new SerialisationException(e.getMessage(), e);
         }
@@ -16,15 +16,17 @@
 package gaffer.serialisation.simple;
 
 import gaffer.exception.SerialisationException;
-import gaffer.serialisation.Serialisation;
+import gaffer.serialisation.OffsetSerialisation;
 import gaffer.serialisation.simple.constants.SimpleSerialisationConstants;
 import gaffer.types.simple.FreqMap;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
 import java.util.Map;
 import java.util.Set;
 
-public class FreqMapSerialiser implements Serialisation  {
+public class FreqMapSerialiser implements OffsetSerialisation {
 
     private static final long serialVersionUID = 3772387954385745791L;
     private static final String SEPERATOR = "\\,";
@@ -59,15 +61,45 @@ public class FreqMapSerialiser implements Serialisation  {
         }
     }
 
+    @Override
+    public void serialise(final Object object, final OutputStream out) throws SerialisationException {
+        final Set<Map.Entry<String, Integer>> entrySet = ((FreqMap) object).entrySet();
+        final int last = entrySet.size() - 1;
+        int start = 0;
+        try {
+            for (final Map.Entry<String, Integer> entry : entrySet) {
+                final Integer value = entry.getValue();
+                if (value == null) {
+                    continue;
+                }
+                TextSerialisationUtils.writeIso88591(String.valueOf(entry.getKey()), out);
+                TextSerialisationUtils.writeIso88591(SEPERATOR, out);
+                TextSerialisationUtils.writeDecimal(value, out);
+                ++start;
+                if (start > last) {
+                    break;
+                }
+                TextSerialisationUtils.writeIso88591(SEPERATOR, out);
+            }
+        } catch (final IOException e) {
+            throw new SerialisationException(e.getMessage(), e);
+        }
+    }
+
     @Override
     public Object deserialise(final byte[] bytes) throws SerialisationException {
+        return deserialise(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public Object deserialise(final byte[] bytes, final int offset, final int length) throws SerialisationException {
         FreqMap freqMap = new FreqMap();
-        if (bytes.length == 0) {
+        if (length == 0) {
             return freqMap;
         }
         String stringMap;
         try {
-            stringMap = new String(bytes, SimpleSerialisationConstants.ISO_8859_1_ENCODING);
+            stringMap = new String(bytes, offset, length, SimpleSerialisationConstants.ISO_8859_1_ENCODING);
         } catch (UnsupportedEncodingException e) {
             throw new SerialisationException(e.getMessage(), e);
         }
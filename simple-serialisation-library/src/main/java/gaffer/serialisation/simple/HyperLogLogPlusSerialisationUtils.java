@@ -0,0 +1,119 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.serialisation.simple;
+
+/**
+ * Methods for working with {@link com.clearspring.analytics.stream.cardinality.HyperLogLogPlus} sketches in the form
+ * written by {@link com.clearspring.analytics.stream.cardinality.HyperLogLogPlus#getBytes()}, without deserialising
+ * them.
+ * <p>
+ * A dense (normal format) sketch is written as a version marker, its precision, sparse precision and format, the
+ * number of register bytes, and then the registers packed into big-endian ints, six 5-bit registers per int.
+ * Two dense sketches with the same header can be merged by taking the maximum of each register, in the same way as
+ * the sketch's own register set is merged. Sparse sketches are not supported.
+ */
+public final class HyperLogLogPlusSerialisationUtils {
+    private static final int VERSION_MARKER = -2;
+    private static final int NORMAL_FORMAT = 0;
+    private static final int REGISTERS_PER_WORD = 6;
+    private static final int REGISTER_SIZE = 5;
+    private static final int REGISTER_MASK = 0x1f;
+
+    private HyperLogLogPlusSerialisationUtils() {
+        // private constructor to prevent users instantiating this class as it only contains static methods.
+    }
+
+    /**
+     * @param bytes  the byte array containing the serialised sketch.
+     * @param offset the index of the first byte of the serialised sketch.
+     * @param length the number of bytes in the serialised sketch.
+     * @return the index of the first register byte, or -1 if the bytes are not a dense sketch.
+     */
+    public static int getRegistersOffset(final byte[] bytes, final int offset, final int length) {
+        final int end = offset + length;
+        if (length < 4 || readInt(bytes, offset) != VERSION_MARKER) {
+            return -1;
+        }
+
+        // Precision, sparse precision, format and number of register bytes.
+        final int[] header = new int[4];
+        int position = offset + 4;
+        for (int i = 0; i < header.length; i++) {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                if (position >= end || shift > 28) {
+                    return -1;
+                }
+                b = bytes[position++];
+                value |= (b & 0x7f) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            header[i] = value;
+        }
+
+        final int registerBytes = header[3];
+        if (NORMAL_FORMAT != header[2] || registerBytes != end - position || 0 != registerBytes % 4) {
+            return -1;
+        }
+        return position;
+    }
+
+    /**
+     * Merges the registers of one dense sketch into another, keeping the maximum value of each register.
+     * Both sketches must have the same header, see {@link #getRegistersOffset(byte[], int, int)}.
+     *
+     * @param target       the byte array containing the registers to merge into.
+     * @param targetOffset the index of the first register byte in the target.
+     * @param source       the byte array containing the registers to merge.
+     * @param sourceOffset the index of the first register byte in the source.
+     * @param length       the number of register bytes.
+     */
+    public static void mergeRegisters(final byte[] target, final int targetOffset,
+                                      final byte[] source, final int sourceOffset, final int length) {
+        for (int i = 0; i < length; i += 4) {
+            final int targetWord = readInt(target, targetOffset + i);
+            final int sourceWord = readInt(source, sourceOffset + i);
+            if (targetWord == sourceWord) {
+                continue;
+            }
+
+            int word = 0;
+            for (int j = 0; j < REGISTERS_PER_WORD; j++) {
+                final int mask = REGISTER_MASK << (REGISTER_SIZE * j);
+                final int targetValue = targetWord & mask;
+                final int sourceValue = sourceWord & mask;
+                word |= targetValue < sourceValue ? sourceValue : targetValue;
+            }
+            writeInt(word, target, targetOffset + i);
+        }
+    }
+
+    private static int readInt(final byte[] bytes, final int offset) {
+        return (bytes[offset] & 0xff) << 24
+                | (bytes[offset + 1] & 0xff) << 16
+                | (bytes[offset + 2] & 0xff) << 8
+                | (bytes[offset + 3] & 0xff);
+    }
+
+    private static void writeInt(final int value, final byte[] bytes, final int offset) {
+        bytes[offset] = (byte) (value >>> 24);
+        bytes[offset + 1] = (byte) (value >>> 16);
+        bytes[offset + 2] = (byte) (value >>> 8);
+        bytes[offset + 3] = (byte) value;
+    }
+}
@@ -17,10 +17,13 @@ package gaffer.serialisation.simple;
 
 import com.clearspring.analytics.stream.cardinality.HyperLogLogPlus;
 import gaffer.exception.SerialisationException;
-import gaffer.serialisation.Serialisation;
+import gaffer.serialisation.OffsetSerialisation;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 
-public class HyperLogLogPlusSerialiser implements Serialisation {
+public class HyperLogLogPlusSerialiser implements OffsetSerialisation {
     private static final long serialVersionUID = 2782098698280905174L;
 
     @Override
@@ -37,6 +40,15 @@ public class HyperLogLogPlusSerialiser implements Serialisation {
         }
     }
 
+    @Override
+    public void serialise(final Object object, final OutputStream out) throws SerialisationException {
+        try {
+            out.write(((HyperLogLogPlus) object).getBytes());
+        } catch (IOException exception) {
+            throw new SerialisationException("Failed to write bytes from HyperLogLogPlus sketch", exception);
+        }
+    }
+
     @Override
     public HyperLogLogPlus deserialise(final byte[] bytes) throws SerialisationException {
         try {
@@ -45,4 +57,13 @@ public class HyperLogLogPlusSerialiser implements Serialisation {
             throw new RuntimeException("Failed to create HyperLogLogPlus sketch from given bytes", exception);
         }
     }
+
+    @Override
+    public HyperLogLogPlus deserialise(final byte[] bytes, final int offset, final int length) throws SerialisationException {
+        try {
+            return HyperLogLogPlus.Builder.build(new DataInputStream(new ByteArrayInputStream(bytes, offset, length)));
+        } catch (IOException exception) {
+            throw new RuntimeException("Failed to create HyperLogLogPlus sketch from given bytes", exception);
+        }
+    }
 }
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.serialisation.simple;
+
+import com.clearspring.analytics.stream.cardinality.HyperLogLogPlus;
+import gaffer.exception.SerialisationException;
+import gaffer.serialisation.OffsetSerialisation;
+import gaffer.serialisation.simple.raw.CompactRawSerialisationUtils;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Serialises {@link HyperLogLogPlus} sketches together with their cardinality. The cardinality is written first
+ * with {@link CompactRawSerialisationUtils}, followed by the sketch in the same form as
+ * {@link HyperLogLogPlusSerialiser}. Filters can then read the cardinality with
+ * {@link #readCardinality(byte[], int, int)} without deserialising the sketch or recomputing its cardinality.
+ */
+public class HyperLogLogPlusWithCardinalitySerialiser implements OffsetSerialisation {
+    private static final long serialVersionUID = -3315612487021826441L;
+
+    @Override
+    public boolean canHandle(final Class clazz) {
+        return HyperLogLogPlus.class.equals(clazz);
+    }
+
+    @Override
+    public byte[] serialise(final Object object) throws SerialisationException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        serialise(object, out);
+        return out.toByteArray();
+    }
+
+    @Override
+    public void serialise(final Object object, final OutputStream out) throws SerialisationException {
+        final HyperLogLogPlus sketch = (HyperLogLogPlus) object;
+        final byte[] sketchBytes;
+        try {
+            sketchBytes = sketch.getBytes();
+        } catch (final IOException e) {
+            throw new SerialisationException("Failed to get bytes from HyperLogLogPlus sketch", e);
+        }
+        serialise(sketch.cardinality(), sketchBytes, out);
+    }
+
+    /**
+     * Writes a serialised sketch and its cardinality, e.g. a sketch that has been merged in its serialised form.
+     *
+     * @param cardinality the cardinality of the sketch.
+     * @param sketchBytes the sketch, as written by {@link HyperLogLogPlus#getBytes()}.
+     * @param out         the {@link OutputStream} to write to.
+     * @throws SerialisationException if the bytes cannot be written.
+     */
+    public static void serialise(final long cardinality, final byte[] sketchBytes, final OutputStream out)
+            throws SerialisationException {
+        CompactRawSerialisationUtils.write(cardinality, out);
+        try {
+            out.write(sketchBytes);
+        } catch (final IOException e) {
+            throw new SerialisationException("Failed to write bytes from HyperLogLogPlus sketch", e);
+        }
+    }
+
+    @Override
+    public HyperLogLogPlus deserialise(final byte[] bytes) throws SerialisationException {
+        return deserialise(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public HyperLogLogPlus deserialise(final byte[] bytes, final int offset, final int length) throws SerialisationException {
+        final int sketchOffset = getSketchOffset(bytes, offset, length);
+        try {
+            return HyperLogLogPlus.Builder.build(new DataInputStream(
+                    new ByteArrayInputStream(bytes, sketchOffset, offset + length - sketchOffset)));
+        } catch (final IOException e) {
+            throw new SerialisationException("Failed to create HyperLogLogPlus sketch from given bytes", e);
+        }
+    }
+
+    /**
+     * @param bytes  the byte array containing the serialised sketch.
+     * @param offset the index of the first byte of the serialised sketch.
+     * @param length the number of bytes in the serialised sketch.
+     * @return the cardinality stored with the sketch.
+     * @throws SerialisationException if the bytes are too short to contain a cardinality.
+     */
+    public static long readCardinality(final byte[] bytes, final int offset, final int length)
+            throws SerialisationException {
+        getSketchOffset(bytes, offset, length);
+        return CompactRawSerialisationUtils.readLong(bytes, offset);
+    }
+
+    /**
+     * @param bytes  the byte array containing the serialised sketch.
+     * @param offset the index of the first byte of the serialised sketch.
+     * @param length the number of bytes in the serialised sketch.
+     * @return the index of the first byte of the sketch itself, after the cardinality.
+     * @throws SerialisationException if the bytes are too short to contain a cardinality.
+     */
+    public static int getSketchOffset(final byte[] bytes, final int offset, final int length)
+            throws SerialisationException {
+        if (length < 1 || CompactRawSerialisationUtils.decodeVIntSize(bytes[offset]) > length) {
+            throw new SerialisationException("Not enough bytes to read the cardinality of a HyperLogLogPlus sketch");
+        }
+        return offset + CompactRawSerialisationUtils.decodeVIntSize(bytes[offset]);
+    }
+}
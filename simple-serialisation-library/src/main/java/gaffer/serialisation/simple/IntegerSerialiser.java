@@ -16,12 +16,14 @@
 package gaffer.serialisation.simple;
 
 import gaffer.exception.SerialisationException;
-import gaffer.serialisation.Serialisation;
+import gaffer.serialisation.OffsetSerialisation;
 import gaffer.serialisation.simple.constants.SimpleSerialisationConstants;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
 
-public class IntegerSerialiser implements Serialisation {
+public class IntegerSerialiser implements OffsetSerialisation {
 
     private static final long serialVersionUID = 5647756843689779437L;
 
@@ -40,10 +42,24 @@ public class IntegerSerialiser implements Serialisation {
         }
     }
 
+    @Override
+    public void serialise(final Object object, final OutputStream out) throws SerialisationException {
+        try {
+            TextSerialisationUtils.writeDecimal((Integer) object, out);
+        } catch (final IOException e) {
+            throw new SerialisationException(e.getMessage(), e);
+        }
+    }
+
     @Override
     public Object deserialise(final byte[] bytes) throws SerialisationException {
+        return deserialise(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public Object deserialise(final byte[] bytes, final int offset, final int length) throws SerialisationException {
         try {
-            return Integer.parseInt(new String(bytes, SimpleSerialisationConstants.ISO_8859_1_ENCODING));
+            return Integer.parseInt(new String(bytes, offset, length, SimpleSerialisationConstants.ISO_8859_1_ENCODING));
         } catch (NumberFormatException | UnsupportedEncodingException e) {
             throw new SerialisationException(e.getMessage(), e);
         }
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.serialisation.simple;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * The methods in this class are used by the text based serialisers to write their serialised form straight
+ * to an {@link OutputStream}. They write the same bytes as encoding the equivalent {@link String} with
+ * {@link String#getBytes(String)}, without creating the intermediate byte array.
+ */
+public final class TextSerialisationUtils {
+    private static final int REPLACEMENT = '?';
+
+    private TextSerialisationUtils() {
+        // private to prevent this class being instantiated.
+        // All methods are static and should be called directly.
+    }
+
+    /**
+     * Writes the decimal representation of the value, i.e. the ISO-8859-1 bytes of
+     * {@link Long#toString(long)}.
+     *
+     * @param value the value to write
+     * @param out   the output stream to write to
+     * @throws IOException if the bytes cannot be written
+     */
+    public static void writeDecimal(final long value, final OutputStream out) throws IOException {
+        if (value < 0) {
+            out.write('-');
+            // Write the digits of the negative value so Long.MIN_VALUE does not overflow.
+            writeNegativeDigits(value, out);
+        } else {
+            writeNegativeDigits(-value, out);
+        }
+    }
+
+    /**
+     * Writes the characters as ISO-8859-1 bytes. Characters that cannot be encoded are written as '?'.
+     *
+     * @param value the characters to write
+     * @param out   the output stream to write to
+     * @throws IOException if the bytes cannot be written
+     */
+    public static void writeIso88591(final CharSequence value, final OutputStream out) throws IOException {
+        final int length = value.length();
+        for (int i = 0; i < length; i++) {
+            final char c = value.charAt(i);
+            if (c <= 0xFF) {
+                out.write(c);
+            } else {
+                out.write(REPLACEMENT);
+                if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    i++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the characters as UTF-8 bytes. Unpaired surrogates are written as '?'.
+     *
+     * @param value the characters to write
+     * @param out   the output stream to write to
+     * @throws IOException if the bytes cannot be written
+     */
+    public static void writeUtf8(final CharSequence value, final OutputStream out) throws IOException {
+        final int length = value.length();
+        for (int i = 0; i < length; i++) {
+            final char c = value.charAt(i);
+            if (c < 0x80) {
+                out.write(c);
+            } else if (c < 0x800) {
+                out.write(0xC0 | (c >> 6));
+                out.write(0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    final int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    out.write(0xF0 | (codePoint >> 18));
+                    out.write(0x80 | ((codePoint >> 12) & 0x3F));
+                    out.write(0x80 | ((codePoint >> 6) & 0x3F));
+                    out.write(0x80 | (codePoint & 0x3F));
+                } else {
+                    out.write(REPLACEMENT);
+                }
+            } else {
+                out.write(0xE0 | (c >> 12));
+                out.write(0x80 | ((c >> 6) & 0x3F));
+                out.write(0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    private static void writeNegativeDigits(final long negativeValue, final OutputStream out) throws IOException {
+        long divisor = -1;
+        while (divisor >= Long.MIN_VALUE / 10 && negativeValue <= divisor * 10) {
+            divisor *= 10;
+        }
+        long remainder = negativeValue;
+        while (divisor != 0) {
+            final long digit = remainder / divisor;
+            out.write('0' + (int) digit);
+            remainder -= digit * divisor;
+            divisor /= 10;
+        }
+    }
+}
@@ -18,7 +18,9 @@ package gaffer.serialisation.simple;
 import com.google.common.base.Splitter;
 import gaffer.commonutil.CommonConstants;
 import gaffer.exception.SerialisationException;
-import gaffer.serialisation.Serialisation;
+import gaffer.serialisation.OffsetSerialisation;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
 import java.util.Iterator;
 import java.util.TreeSet;
@@ -27,7 +29,7 @@ import java.util.TreeSet;
  * A <code>TreeSetStringSerialiser</code> is a serialiser for {@link TreeSet}s with
  * {@link String} values.
  */
-public class TreeSetStringSerialiser implements Serialisation {
+public class TreeSetStringSerialiser implements OffsetSerialisation {
     private static final long serialVersionUID = -8241328807929077861L;
     private static final String COMMA = "\\,";
     private static final String OPEN = "{";
@@ -57,11 +59,34 @@ public class TreeSetStringSerialiser implements Serialisation {
         }
     }
 
+    @Override
+    public void serialise(final Object object, final OutputStream out) throws SerialisationException {
+        final Iterator values = ((TreeSet) object).iterator();
+        try {
+            TextSerialisationUtils.writeUtf8(OPEN, out);
+            if (values.hasNext()) {
+                TextSerialisationUtils.writeUtf8(String.valueOf(values.next()), out);
+            }
+            while (values.hasNext()) {
+                TextSerialisationUtils.writeUtf8(COMMA, out);
+                TextSerialisationUtils.writeUtf8(String.valueOf(values.next()), out);
+            }
+            TextSerialisationUtils.writeUtf8(CLOSE, out);
+        } catch (final IOException e) {
+            throw new SerialisationException(e.getMessage(), e);
+        }
+    }
+
     @Override
     public TreeSet<String> deserialise(final byte[] bytes) throws SerialisationException {
+        return deserialise(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public TreeSet<String> deserialise(final byte[] bytes, final int offset, final int length) throws SerialisationException {
         final String str;
         try {
-            str = new String(bytes, CommonConstants.UTF_8);
+            str = new String(bytes, offset, length, CommonConstants.UTF_8);
         } catch (UnsupportedEncodingException e) {
             throw new SerialisationException(e.getMessage(), e);
         }
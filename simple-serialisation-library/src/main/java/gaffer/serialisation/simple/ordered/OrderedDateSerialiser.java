@@ -0,0 +1,65 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.serialisation.simple.ordered;
+
+import gaffer.exception.SerialisationException;
+import gaffer.serialisation.OrderedSerialisation;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Date;
+
+/**
+ * OrderedDateSerialiser serialises Dates as their time in milliseconds, using the same encoding as
+ * {@link OrderedLongSerialiser}, so the serialised bytes sort in time order.
+ */
+public class OrderedDateSerialiser implements OrderedSerialisation {
+    private static final long serialVersionUID = 1836049735629830428L;
+
+    @Override
+    public boolean canHandle(final Class clazz) {
+        return Date.class.equals(clazz);
+    }
+
+    @Override
+    public boolean isFixedLength() {
+        return true;
+    }
+
+    @Override
+    public byte[] serialise(final Object object) throws SerialisationException {
+        return OrderedSerialisationUtils.writeLong(((Date) object).getTime());
+    }
+
+    @Override
+    public void serialise(final Object object, final OutputStream out) throws SerialisationException {
+        try {
+            OrderedSerialisationUtils.writeLong(((Date) object).getTime(), out);
+        } catch (final IOException e) {
+            throw new SerialisationException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Object deserialise(final byte[] bytes) throws SerialisationException {
+        return deserialise(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public Object deserialise(final byte[] bytes, final int offset, final int length) throws SerialisationException {
+        return new Date(OrderedSerialisationUtils.readLong(bytes, offset, length));
+    }
+}
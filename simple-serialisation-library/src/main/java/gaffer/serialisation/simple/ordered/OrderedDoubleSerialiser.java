@@ -0,0 +1,64 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.serialisation.simple.ordered;
+
+import gaffer.exception.SerialisationException;
+import gaffer.serialisation.OrderedSerialisation;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * OrderedDoubleSerialiser serialises Doubles into 8 bytes that sort in the same order as
+ * {@link Double#compareTo(Double)}, i.e. from negative infinity to positive infinity with NaN last.
+ */
+public class OrderedDoubleSerialiser implements OrderedSerialisation {
+    private static final long serialVersionUID = 8046915043624171393L;
+
+    @Override
+    public boolean canHandle(final Class clazz) {
+        return Double.class.equals(clazz);
+    }
+
+    @Override
+    public boolean isFixedLength() {
+        return true;
+    }
+
+    @Override
+    public byte[] serialise(final Object object) throws SerialisationException {
+        return OrderedSerialisationUtils.writeLong(OrderedSerialisationUtils.toSortableLong((Double) object));
+    }
+
+    @Override
+    public void serialise(final Object object, final OutputStream out) throws SerialisationException {
+        try {
+            OrderedSerialisationUtils.writeLong(OrderedSerialisationUtils.toSortableLong((Double) object), out);
+        } catch (final IOException e) {
+            throw new SerialisationException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Object deserialise(final byte[] bytes) throws SerialisationException {
+        return deserialise(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public Object deserialise(final byte[] bytes, final int offset, final int length) throws SerialisationException {
+        return OrderedSerialisationUtils.fromSortableLong(OrderedSerialisationUtils.readLong(bytes, offset, length));
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.serialisation.simple.ordered;
+
+import gaffer.exception.SerialisationException;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * The methods in this class are used by the ordered serialisers. Numbers are written big-endian with the sign bit
+ * flipped, so that comparing the bytes lexicographically as unsigned values gives the same order as comparing the
+ * numbers.
+ */
+public final class OrderedSerialisationUtils {
+    public static final int INT_LENGTH = 4;
+    public static final int LONG_LENGTH = 8;
+
+    private OrderedSerialisationUtils() {
+        // private to prevent this class being instantiated.
+        // All methods are static and should be called directly.
+    }
+
+    public static byte[] writeLong(final long value) {
+        final long flipped = value ^ Long.MIN_VALUE;
+        final byte[] bytes = new byte[LONG_LENGTH];
+        for (int i = 0; i < LONG_LENGTH; i++) {
+            bytes[i] = (byte) (flipped >>> (8 * (LONG_LENGTH - 1 - i)));
+        }
+        return bytes;
+    }
+
+    public static void writeLong(final long value, final OutputStream out) throws IOException {
+        final long flipped = value ^ Long.MIN_VALUE;
+        for (int i = 0; i < LONG_LENGTH; i++) {
+            out.write((int) (flipped >>> (8 * (LONG_LENGTH - 1 - i))) & 255);
+        }
+    }
+
+    public static long readLong(final byte[] bytes, final int offset, final int length) throws SerialisationException {
+        checkLength(bytes, offset, length, LONG_LENGTH);
+        long flipped = 0;
+        for (int i = 0; i < LONG_LENGTH; i++) {
+            flipped = (flipped << 8) | (bytes[offset + i] & 255L);
+        }
+        return flipped ^ Long.MIN_VALUE;
+    }
+
+    public static byte[] writeInt(final int value) {
+        final int flipped = value ^ Integer.MIN_VALUE;
+        final byte[] bytes = new byte[INT_LENGTH];
+        for (int i = 0; i < INT_LENGTH; i++) {
+            bytes[i] = (byte) (flipped >>> (8 * (INT_LENGTH - 1 - i)));
+        }
+        return bytes;
+    }
+
+    public static void writeInt(final int value, final OutputStream out) throws IOException {
+        final int flipped = value ^ Integer.MIN_VALUE;
+        for (int i = 0; i < INT_LENGTH; i++) {
+            out.write((flipped >>> (8 * (INT_LENGTH - 1 - i))) & 255);
+        }
+    }
+
+    public static int readInt(final byte[] bytes, final int offset, final int length) throws SerialisationException {
+        checkLength(bytes, offset, length, INT_LENGTH);
+        int flipped = 0;
+        for (int i = 0; i < INT_LENGTH; i++) {
+            flipped = (flipped << 8) | (bytes[offset + i] & 255);
+        }
+        return flipped ^ Integer.MIN_VALUE;
+    }
+
+    /**
+     * Converts a double to a long that sorts in the same order as {@link Double#compare(double, double)}.
+     * The bits of negative doubles, other than the sign bit, are flipped so that larger magnitudes sort first.
+     * All NaN values are collapsed to the canonical NaN, which sorts last.
+     *
+     * @param value the double to convert
+     * @return the sortable long, to be written with {@link #writeLong(long)}
+     */
+    public static long toSortableLong(final double value) {
+        final long bits = Double.doubleToLongBits(value);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    /**
+     * Reverses {@link #toSortableLong(double)}.
+     *
+     * @param sortable the sortable long
+     * @return the double
+     */
+    public static double fromSortableLong(final long sortable) {
+        return Double.longBitsToDouble(sortable ^ ((sortable >> 63) & Long.MAX_VALUE));
+    }
+
+    /**
+     * Compares two serialised values lexicographically as unsigned bytes, which is the order they are sorted in
+     * by stores such as Accumulo.
+     *
+     * @param first  the first serialised value
+     * @param second the second serialised value
+     * @return a negative number, zero or a positive number if the first value sorts before, the same as or after
+     * the second value
+     */
+    public static int compare(final byte[] first, final byte[] second) {
+        final int length = Math.min(first.length, second.length);
+        for (int i = 0; i < length; i++) {
+            final int diff = (first[i] & 255) - (second[i] & 255);
+            if (0 != diff) {
+                return diff;
+            }
+        }
+        return first.length - second.length;
+    }
+
+    private static void checkLength(final byte[] bytes, final int offset, final int length, final int expectedLength)
+            throws SerialisationException {
+        if (length != expectedLength) {
+            throw new SerialisationException("Expected " + expectedLength + " bytes but got " + length);
+        }
+        if (offset < 0 || offset + length > bytes.length) {
+            throw new SerialisationException("Not enough bytes to read from offset " + offset);
+        }
+    }
+}
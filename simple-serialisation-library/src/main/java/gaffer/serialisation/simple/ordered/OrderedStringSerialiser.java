@@ -0,0 +1,36 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.serialisation.simple.ordered;
+
+import gaffer.serialisation.OrderedSerialisation;
+import gaffer.serialisation.simple.StringSerialiser;
+
+/**
+ * OrderedStringSerialiser serialises Strings as UTF-8, in the same way as {@link StringSerialiser}. UTF-8 bytes sort
+ * in the order of the Strings' unicode code points, which matches {@link String#compareTo(String)} except for
+ * characters outside of the basic multilingual plane.
+ * The serialised length varies, so Strings written after a length prefix, e.g. in an Accumulo column qualifier,
+ * do not sort in order.
+ */
+public class OrderedStringSerialiser extends StringSerialiser implements OrderedSerialisation {
+    private static final long serialVersionUID = -7367095384712740281L;
+
+    @Override
+    public boolean isFixedLength() {
+        return false;
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.serialisation.simple.raw;
+
+import gaffer.commonutil.CommonConstants;
+import gaffer.exception.SerialisationException;
+import gaffer.serialisation.OffsetSerialisation;
+import gaffer.types.simple.FreqMap;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.util.Map;
+
+/**
+ * Serialises {@link FreqMap}s into a compact binary form. The number of entries is written first, followed by each
+ * key as its UTF-8 length and bytes, and then its frequency. All numbers are written with
+ * {@link CompactRawSerialisationUtils}, so small frequencies take a single byte. Unlike
+ * {@link gaffer.serialisation.simple.FreqMapSerialiser} keys may contain any characters. As with
+ * {@link gaffer.serialisation.simple.FreqMapSerialiser}, entries with a null frequency are skipped. Null keys
+ * cannot be serialised.
+ * <p>
+ * {@link #mergeInto(byte[], int, int, FreqMap)} can be used to add serialised frequencies to an existing map
+ * without deserialising them into a separate {@link FreqMap} first, and
+ * {@link #forEachEntry(byte[], int, int, EntryVisitor)} visits the serialised entries without decoding the keys.
+ */
+public class CompactRawFreqMapSerialiser implements OffsetSerialisation {
+
+    private static final long serialVersionUID = -2263140186440530513L;
+
+    @Override
+    public boolean canHandle(final Class clazz) {
+        return FreqMap.class.equals(clazz);
+    }
+
+    @Override
+    public byte[] serialise(final Object object) throws SerialisationException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        serialise(object, out);
+        return out.toByteArray();
+    }
+
+    @Override
+    public void serialise(final Object object, final OutputStream out) throws SerialisationException {
+        final FreqMap freqMap = (FreqMap) object;
+        int entries = 0;
+        for (final Integer frequency : freqMap.values()) {
+            if (null != frequency) {
+                entries++;
+            }
+        }
+
+        CompactRawSerialisationUtils.write(entries, out);
+        try {
+            for (final Map.Entry<String, Integer> entry : freqMap.entrySet()) {
+                if (null == entry.getValue()) {
+                    continue;
+                }
+                if (null == entry.getKey()) {
+                    throw new SerialisationException("Unable to serialise a frequency map with a null key");
+                }
+                writeEntry(entry.getKey().getBytes(CommonConstants.UTF_8), entry.getValue(), out);
+            }
+        } catch (final UnsupportedEncodingException e) {
+            throw new SerialisationException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Writes a single entry of a serialised {@link FreqMap}. The number of entries must be written first using
+     * {@link CompactRawSerialisationUtils#write(long, OutputStream)}.
+     *
+     * @param key       the UTF-8 bytes of the key.
+     * @param frequency the frequency.
+     * @param out       the stream to write to.
+     * @throws SerialisationException if the entry cannot be written.
+     */
+    public static void writeEntry(final byte[] key, final int frequency, final OutputStream out)
+            throws SerialisationException {
+        CompactRawSerialisationUtils.write(key.length, out);
+        try {
+            out.write(key);
+        } catch (final IOException e) {
+            throw new SerialisationException(e.getMessage(), e);
+        }
+        CompactRawSerialisationUtils.write(frequency, out);
+    }
+
+    @Override
+    public Object deserialise(final byte[] bytes) throws SerialisationException {
+        return deserialise(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public Object deserialise(final byte[] bytes, final int offset, final int length) throws SerialisationException {
+        final FreqMap freqMap = new FreqMap();
+        mergeInto(bytes, offset, length, freqMap);
+        return freqMap;
+    }
+
+    /**
+     * Adds the frequencies of a serialised {@link FreqMap} to the frequencies in the given map.
+     *
+     * @param bytes   the byte array containing the serialised map.
+     * @param offset  the index of the first byte of the serialised map.
+     * @param length  the number of bytes in the serialised map.
+     * @param freqMap the map to add the frequencies to.
+     * @throws SerialisationException if the bytes are not a valid serialised map.
+     */
+    public static void mergeInto(final byte[] bytes, final int offset, final int length, final FreqMap freqMap)
+            throws SerialisationException {
+        forEachEntry(bytes, offset, length, new EntryVisitor() {
+            @Override
+            public void visit(final byte[] keyBytes, final int keyOffset, final int keyLength, final int frequency)
+                    throws SerialisationException {
+                try {
+                    freqMap.upsert(new String(keyBytes, keyOffset, keyLength, CommonConstants.UTF_8), frequency);
+                } catch (final UnsupportedEncodingException e) {
+                    throw new SerialisationException(e.getMessage(), e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Visits each entry of a serialised {@link FreqMap}, without decoding the keys.
+     *
+     * @param bytes   the byte array containing the serialised map.
+     * @param offset  the index of the first byte of the serialised map.
+     * @param length  the number of bytes in the serialised map.
+     * @param visitor the visitor to pass each entry to.
+     * @throws SerialisationException if the bytes are not a valid serialised map.
+     */
+    public static void forEachEntry(final byte[] bytes, final int offset, final int length, final EntryVisitor visitor)
+            throws SerialisationException {
+        if (0 == length) {
+            return;
+        }
+
+        final int end = offset + length;
+        int position = offset;
+        final int entries = readInt(bytes, position, end);
+        position += CompactRawSerialisationUtils.decodeVIntSize(bytes[position]);
+        for (int i = 0; i < entries; i++) {
+            final int keyLength = readInt(bytes, position, end);
+            position += CompactRawSerialisationUtils.decodeVIntSize(bytes[position]);
+            if (keyLength < 0 || position + keyLength > end) {
+                throw new SerialisationException("Invalid key length " + keyLength + " at offset " + position);
+            }
+            final int keyOffset = position;
+            position += keyLength;
+
+            final int frequency = readInt(bytes, position, end);
+            position += CompactRawSerialisationUtils.decodeVIntSize(bytes[position]);
+            visitor.visit(bytes, keyOffset, keyLength, frequency);
+        }
+    }
+
+    private static int readInt(final byte[] bytes, final int position, final int end) throws SerialisationException {
+        if (position >= end || position + CompactRawSerialisationUtils.decodeVIntSize(bytes[position]) > end) {
+            throw new SerialisationException("Not enough bytes to read a serialised frequency map at offset " + position);
+        }
+        final long value = CompactRawSerialisationUtils.readLong(bytes, position);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new SerialisationException("Value " + value + " at offset " + position + " is not an int");
+        }
+        return (int) value;
+    }
+
+    /**
+     * Receives the entries of a serialised {@link FreqMap} from
+     * {@link #forEachEntry(byte[], int, int, EntryVisitor)}.
+     */
+    public interface EntryVisitor {
+        /**
+         * @param bytes     the byte array containing the serialised map.
+         * @param keyOffset the index of the first byte of the UTF-8 key.
+         * @param keyLength the number of bytes in the key.
+         * @param frequency the frequency of the key.
+         * @throws SerialisationException if the entry cannot be processed.
+         */
+        void visit(final byte[] bytes, final int keyOffset, final int keyLength, final int frequency)
+                throws SerialisationException;
+    }
+}
@@ -17,7 +17,8 @@
 package gaffer.serialisation.simple.raw;
 
 import gaffer.exception.SerialisationException;
-import gaffer.serialisation.Serialisation;
+import gaffer.serialisation.OffsetSerialisation;
+import java.io.OutputStream;
 
 /**
  * Serialises integers using a variable-length scheme that means smaller integers get serialised into a smaller
@@ -30,7 +31,7 @@ import gaffer.serialisation.Serialisation;
  * equal to <code>Integer.MIN_VALUE</code>. This means that, in terms of serialised size, there is no benefit to
  * using an integer instead of a long.
  */
-public class CompactRawIntegerSerialiser implements Serialisation {
+public class CompactRawIntegerSerialiser implements OffsetSerialisation {
 
     private static final long serialVersionUID = -2874472098583724627L;
 
@@ -44,9 +45,19 @@ public class CompactRawIntegerSerialiser implements Serialisation {
         return CompactRawSerialisationUtils.writeLong((int) o);
     }
 
+    @Override
+    public void serialise(final Object o, final OutputStream out) throws SerialisationException {
+        CompactRawSerialisationUtils.write((int) o, out);
+    }
+
     @Override
     public Object deserialise(final byte[] bytes) throws SerialisationException {
-        final long result = CompactRawSerialisationUtils.readLong(bytes);
+        return deserialise(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public Object deserialise(final byte[] bytes, final int offset, final int length) throws SerialisationException {
+        final long result = CompactRawSerialisationUtils.readLong(bytes, offset);
         if ((result > Integer.MAX_VALUE) || (result < Integer.MIN_VALUE)) {
             throw new SerialisationException("Value too long to fit in integer");
         }
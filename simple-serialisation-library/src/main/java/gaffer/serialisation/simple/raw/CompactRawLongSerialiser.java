@@ -17,7 +17,8 @@
 package gaffer.serialisation.simple.raw;
 
 import gaffer.exception.SerialisationException;
-import gaffer.serialisation.Serialisation;
+import gaffer.serialisation.OffsetSerialisation;
+import java.io.OutputStream;
 
 /**
  * Serialises longs using a variable-length scheme that means smaller longs get serialised into a smaller
@@ -25,7 +26,7 @@ import gaffer.serialisation.Serialisation;
  * large longs may be serialised into 9 bytes. This is particularly well suited to serialising count properties in
  * power-law graphs where the majority of counts will be very small.
  */
-public class CompactRawLongSerialiser implements Serialisation {
+public class CompactRawLongSerialiser implements OffsetSerialisation {
 
     private static final long serialVersionUID = 6104372357426908732L;
 
@@ -39,9 +40,19 @@ public class CompactRawLongSerialiser implements Serialisation {
         return CompactRawSerialisationUtils.writeLong((long) o);
     }
 
+    @Override
+    public void serialise(final Object o, final OutputStream out) throws SerialisationException {
+        CompactRawSerialisationUtils.write((long) o, out);
+    }
+
     @Override
     public Object deserialise(final byte[] bytes) throws SerialisationException {
         return CompactRawSerialisationUtils.readLong(bytes);
     }
 
+    @Override
+    public Object deserialise(final byte[] bytes, final int offset, final int length) throws SerialisationException {
+        return CompactRawSerialisationUtils.readLong(bytes, offset);
+    }
+
 }
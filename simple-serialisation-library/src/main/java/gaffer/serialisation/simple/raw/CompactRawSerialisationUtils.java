@@ -61,13 +61,29 @@ public final class CompactRawSerialisationUtils {
     }
 
     public static long readLong(final byte[] bytes) throws SerialisationException {
-        final byte firstByte = bytes[0];
+        return readLong(bytes, 0);
+    }
+
+    /**
+     * Reads a long written by {@link CompactRawSerialisationUtils#writeLong(long)} starting at the given offset,
+     * without copying it out of the provided byte array first.
+     *
+     * @param bytes  the byte array containing the serialised long.
+     * @param offset the index of the first byte of the serialised long.
+     * @return The value of the serialised long.
+     * @throws SerialisationException if the byte array is too short to contain the serialised long.
+     */
+    public static long readLong(final byte[] bytes, final int offset) throws SerialisationException {
+        final byte firstByte = bytes[offset];
         final int len = decodeVIntSize(firstByte);
         if (len == 1) {
             return (long) firstByte;
         }
+        if (offset + len > bytes.length) {
+            throw new SerialisationException("Not enough bytes to read a long of length " + len + " at offset " + offset);
+        }
         long i = 0;
-        short place = 1;
+        int place = offset + 1;
         for (int idx = 0; idx < len - 1; idx++) {
             final byte b = bytes[place++];
             i = i << 8;
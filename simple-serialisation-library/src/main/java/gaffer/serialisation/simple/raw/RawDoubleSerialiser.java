@@ -17,14 +17,16 @@
 package gaffer.serialisation.simple.raw;
 
 import gaffer.exception.SerialisationException;
-import gaffer.serialisation.Serialisation;
+import gaffer.serialisation.OffsetSerialisation;
+import java.io.IOException;
+import java.io.OutputStream;
 
 /**
  * RawDoubleSerialiser serialises Doubles into an IEEE floating point little-endian byte array.
  * It's significantly faster than {@link gaffer.serialisation.simple.DoubleSerialiser}, but potentially
  * uses much more space.
  */
-public class RawDoubleSerialiser implements Serialisation {
+public class RawDoubleSerialiser implements OffsetSerialisation {
     private static final long serialVersionUID = 1568251281744704278L;
 
     @Override
@@ -47,15 +49,32 @@ public class RawDoubleSerialiser implements Serialisation {
         return out;
     }
 
+    @Override
+    public void serialise(final Object o, final OutputStream out) throws SerialisationException {
+        final long value = Double.doubleToRawLongBits((Double) o);
+        try {
+            for (int i = 0; i < 8; i++) {
+                out.write((int) (value >> (8 * i)) & 255);
+            }
+        } catch (final IOException e) {
+            throw new SerialisationException(e.getMessage(), e);
+        }
+    }
+
     @Override
     public Object deserialise(final byte[] bytes) throws SerialisationException {
-        return Double.longBitsToDouble((long) bytes[0] & 255L
-                | ((long) bytes[1] & 255L) << 8
-                | ((long) bytes[2] & 255L) << 16
-                | ((long) bytes[3] & 255L) << 24
-                | ((long) bytes[4] & 255L) << 32
-                | ((long) bytes[5] & 255L) << 40
-                | ((long) bytes[6] & 255L) << 48
-                | ((long) bytes[7] & 255L) << 56);
+        return deserialise(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public Object deserialise(final byte[] bytes, final int offset, final int length) throws SerialisationException {
+        return Double.longBitsToDouble((long) bytes[offset] & 255L
+                | ((long) bytes[offset + 1] & 255L) << 8
+                | ((long) bytes[offset + 2] & 255L) << 16
+                | ((long) bytes[offset + 3] & 255L) << 24
+                | ((long) bytes[offset + 4] & 255L) << 32
+                | ((long) bytes[offset + 5] & 255L) << 40
+                | ((long) bytes[offset + 6] & 255L) << 48
+                | ((long) bytes[offset + 7] & 255L) << 56);
     }
 }
@@ -17,12 +17,14 @@
 package gaffer.serialisation.simple.raw;
 
 import gaffer.exception.SerialisationException;
-import gaffer.serialisation.Serialisation;
+import gaffer.serialisation.OffsetSerialisation;
+import java.io.IOException;
+import java.io.OutputStream;
 
 /**
  * RawFloatSerialiser serialises Floats into an IEEE floating point little-endian byte array.
  */
-public class RawFloatSerialiser implements Serialisation {
+public class RawFloatSerialiser implements OffsetSerialisation {
     private static final long serialVersionUID = -8573401558869574875L;
 
     @Override
@@ -41,11 +43,28 @@ public class RawFloatSerialiser implements Serialisation {
         return out;
     }
 
+    @Override
+    public void serialise(final Object o, final OutputStream out) throws SerialisationException {
+        final int value = Float.floatToRawIntBits((Float) o);
+        try {
+            for (int i = 0; i < 4; i++) {
+                out.write((value >> (8 * i)) & 255);
+            }
+        } catch (final IOException e) {
+            throw new SerialisationException(e.getMessage(), e);
+        }
+    }
+
     @Override
     public Object deserialise(final byte[] bytes) throws SerialisationException {
-        return Float.intBitsToFloat((int) ((int) bytes[0] & 255L
-                | ((int) bytes[1] & 255L) << 8
-                | ((int) bytes[2] & 255L) << 16
-                | ((int) bytes[3] & 255L) << 24));
+        return deserialise(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public Object deserialise(final byte[] bytes, final int offset, final int length) throws SerialisationException {
+        return Float.intBitsToFloat((int) ((int) bytes[offset] & 255L
+                | ((int) bytes[offset + 1] & 255L) << 8
+                | ((int) bytes[offset + 2] & 255L) << 16
+                | ((int) bytes[offset + 3] & 255L) << 24));
     }
 }
@@ -17,14 +17,16 @@
 package gaffer.serialisation.simple.raw;
 
 import gaffer.exception.SerialisationException;
-import gaffer.serialisation.Serialisation;
+import gaffer.serialisation.OffsetSerialisation;
+import java.io.IOException;
+import java.io.OutputStream;
 
 /**
  * RawIntegerSerialiser serialises Integers into a little-endian byte array.
  * It's significantly faster than {@link gaffer.serialisation.simple.IntegerSerialiser}, but potentially
  * uses much more space.
  */
-public class RawIntegerSerialiser implements Serialisation {
+public class RawIntegerSerialiser implements OffsetSerialisation {
     private static final long serialVersionUID = -8344193425875811395L;
 
     @Override
@@ -43,11 +45,28 @@ public class RawIntegerSerialiser implements Serialisation {
         return out;
     }
 
+    @Override
+    public void serialise(final Object o, final OutputStream out) throws SerialisationException {
+        final int value = (Integer) o;
+        try {
+            for (int i = 0; i < 4; i++) {
+                out.write((value >> (8 * i)) & 255);
+            }
+        } catch (final IOException e) {
+            throw new SerialisationException(e.getMessage(), e);
+        }
+    }
+
     @Override
     public Object deserialise(final byte[] bytes) throws SerialisationException {
-        return (int) ((int) bytes[0] & 255L
-                | ((int) bytes[1] & 255L) << 8
-                | ((int) bytes[2] & 255L) << 16
-                | ((int) bytes[3] & 255L) << 24);
+        return deserialise(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public Object deserialise(final byte[] bytes, final int offset, final int length) throws SerialisationException {
+        return (int) ((int) bytes[offset] & 255L
+                | ((int) bytes[offset + 1] & 255L) << 8
+                | ((int) bytes[offset + 2] & 255L) << 16
+                | ((int) bytes[offset + 3] & 255L) << 24);
     }
 }
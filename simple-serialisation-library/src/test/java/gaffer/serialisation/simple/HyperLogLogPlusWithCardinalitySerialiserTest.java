@@ -0,0 +1,105 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.serialisation.simple;
+
+import com.clearspring.analytics.stream.cardinality.HyperLogLogPlus;
+import gaffer.exception.SerialisationException;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class HyperLogLogPlusWithCardinalitySerialiserTest {
+
+    final HyperLogLogPlusWithCardinalitySerialiser serialiser = new HyperLogLogPlusWithCardinalitySerialiser();
+
+    @Test
+    public void shouldSerialiseAndDeserialise() throws SerialisationException {
+        // Given
+        final HyperLogLogPlus hyperLogLogPlus = new HyperLogLogPlus(5, 5);
+        hyperLogLogPlus.offer("A");
+        hyperLogLogPlus.offer("B");
+
+        // When
+        final byte[] serialised = serialiser.serialise(hyperLogLogPlus);
+        final HyperLogLogPlus deserialised = serialiser.deserialise(serialised);
+
+        // Then
+        assertEquals(hyperLogLogPlus.cardinality(), deserialised.cardinality());
+    }
+
+    @Test
+    public void shouldReadCachedCardinalityWithoutDeserialising() throws SerialisationException {
+        // Given
+        final HyperLogLogPlus hyperLogLogPlus = new HyperLogLogPlus(10, 0);
+        for (int i = 0; i < 500; i++) {
+            hyperLogLogPlus.offer("value" + i);
+        }
+        final byte[] serialised = serialiser.serialise(hyperLogLogPlus);
+        final byte[] padded = new byte[serialised.length + 4];
+        System.arraycopy(serialised, 0, padded, 2, serialised.length);
+
+        // When
+        final long cardinality = HyperLogLogPlusWithCardinalitySerialiser.readCardinality(padded, 2, serialised.length);
+
+        // Then
+        assertEquals(hyperLogLogPlus.cardinality(), cardinality);
+    }
+
+    @Test
+    public void shouldMergeDenseRegistersTheSameAsAddAll() throws Exception {
+        // Given
+        final HyperLogLogPlus hyperLogLogPlus1 = new HyperLogLogPlus(10, 0);
+        final HyperLogLogPlus hyperLogLogPlus2 = new HyperLogLogPlus(10, 0);
+        for (int i = 0; i < 500; i++) {
+            hyperLogLogPlus1.offer("a" + i);
+            hyperLogLogPlus2.offer("b" + i);
+        }
+        final byte[] bytes1 = hyperLogLogPlus1.getBytes();
+        final byte[] bytes2 = hyperLogLogPlus2.getBytes();
+        final int registersOffset = HyperLogLogPlusSerialisationUtils.getRegistersOffset(bytes1, 0, bytes1.length);
+
+        // When
+        HyperLogLogPlusSerialisationUtils.mergeRegisters(bytes1, registersOffset,
+                bytes2, registersOffset, bytes1.length - registersOffset);
+        hyperLogLogPlus1.addAll(hyperLogLogPlus2);
+
+        // Then
+        assertTrue(registersOffset > 0);
+        assertEquals(hyperLogLogPlus1.cardinality(), HyperLogLogPlus.Builder.build(bytes1).cardinality());
+    }
+
+    @Test
+    public void shouldNotReturnRegistersOffsetForSparseSketch() throws Exception {
+        // Given
+        final HyperLogLogPlus hyperLogLogPlus = new HyperLogLogPlus(10, 14);
+        hyperLogLogPlus.offer("A");
+        final byte[] bytes = hyperLogLogPlus.getBytes();
+
+        // When
+        final int registersOffset = HyperLogLogPlusSerialisationUtils.getRegistersOffset(bytes, 0, bytes.length);
+
+        // Then
+        assertEquals(-1, registersOffset);
+    }
+
+    @Test
+    public void shouldOnlyHandleHyperLogLogPlus() {
+        assertTrue(serialiser.canHandle(HyperLogLogPlus.class));
+        assertFalse(serialiser.canHandle(String.class));
+    }
+}
@@ -16,13 +16,14 @@
 package gaffer.serialisation.simple;
 
 import gaffer.exception.SerialisationException;
+import gaffer.serialisation.OffsetSerialisation;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
-public class LongSerialiserTest {
+public class LongSerialiserTest extends OffsetSerialisationTest {
 
     private static final LongSerialiser SERIALISER = new LongSerialiser();
 
@@ -61,4 +62,14 @@ public class LongSerialiserTest {
     public void canSerialiseLongClass() throws SerialisationException {
         assertTrue(SERIALISER.canHandle(Long.class));
     }
-}
\ No newline at end of file
+
+    @Override
+    protected OffsetSerialisation getSerialisation() {
+        return SERIALISER;
+    }
+
+    @Override
+    protected Object getOffsetTestValue() {
+        return 123456789L;
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.serialisation.simple;
+
+import gaffer.exception.SerialisationException;
+import gaffer.serialisation.OffsetSerialisation;
+import org.junit.Test;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public abstract class OffsetSerialisationTest {
+    private static final int PADDING = 7;
+
+    protected abstract OffsetSerialisation getSerialisation();
+
+    protected abstract Object getOffsetTestValue();
+
+    @Test
+    public void shouldSerialiseToStreamAndDeserialiseFromOffset() throws SerialisationException {
+        // Given
+        final OffsetSerialisation serialiser = getSerialisation();
+        final Object value = getOffsetTestValue();
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(PADDING);
+
+        // When
+        serialiser.serialise(value, out);
+        out.write(PADDING);
+        final byte[] bytes = out.toByteArray();
+        final Object o = serialiser.deserialise(bytes, 1, bytes.length - 2);
+
+        // Then
+        assertArrayEquals(serialiser.serialise(value), Arrays.copyOfRange(bytes, 1, bytes.length - 1));
+        assertEquals(value, o);
+    }
+}
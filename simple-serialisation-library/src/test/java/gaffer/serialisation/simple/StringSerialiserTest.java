@@ -16,13 +16,14 @@
 package gaffer.serialisation.simple;
 
 import gaffer.exception.SerialisationException;
+import gaffer.serialisation.OffsetSerialisation;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
-public class StringSerialiserTest {
+public class StringSerialiserTest extends OffsetSerialisationTest {
 
     private static final StringSerialiser SERIALISER = new StringSerialiser();
 
@@ -47,4 +48,14 @@ public class StringSerialiserTest {
     public void canSerialiseStringClass() throws SerialisationException {
         assertTrue(SERIALISER.canHandle(String.class));
     }
-}
\ No newline at end of file
+
+    @Override
+    protected OffsetSerialisation getSerialisation() {
+        return SERIALISER;
+    }
+
+    @Override
+    protected Object getOffsetTestValue() {
+        return "test value";
+    }
+}
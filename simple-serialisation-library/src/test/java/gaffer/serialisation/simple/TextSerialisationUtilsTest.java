@@ -0,0 +1,57 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.serialisation.simple;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import gaffer.commonutil.CommonConstants;
+import gaffer.serialisation.simple.constants.SimpleSerialisationConstants;
+import org.junit.Test;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+public class TextSerialisationUtilsTest {
+
+    @Test
+    public void shouldWriteTheSameBytesAsLongToString() throws IOException {
+        final long[] values = {0, 1, -1, 9, 10, -10, 99, 100, 123456789, Integer.MAX_VALUE, Integer.MIN_VALUE,
+                999999999999999999L, 1000000000000000000L, Long.MAX_VALUE, Long.MIN_VALUE, Long.MIN_VALUE + 1};
+        for (final long value : values) {
+            // When
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            TextSerialisationUtils.writeDecimal(value, out);
+
+            // Then
+            assertArrayEquals(Long.toString(value).getBytes(SimpleSerialisationConstants.ISO_8859_1_ENCODING), out.toByteArray());
+        }
+    }
+
+    @Test
+    public void shouldWriteTheSameBytesAsStringGetBytes() throws IOException {
+        final String[] values = {"", "abc", "caf\u00e9", "\u20ac1", "\u0101", "\ud83d\ude00", "a\ud83dz", "\ude00a", "end\ud83d"};
+        for (final String value : values) {
+            // When
+            final ByteArrayOutputStream utf8 = new ByteArrayOutputStream();
+            TextSerialisationUtils.writeUtf8(value, utf8);
+            final ByteArrayOutputStream iso = new ByteArrayOutputStream();
+            TextSerialisationUtils.writeIso88591(value, iso);
+
+            // Then
+            assertArrayEquals(value.getBytes(CommonConstants.UTF_8), utf8.toByteArray());
+            assertArrayEquals(value.getBytes(SimpleSerialisationConstants.ISO_8859_1_ENCODING), iso.toByteArray());
+        }
+    }
+}
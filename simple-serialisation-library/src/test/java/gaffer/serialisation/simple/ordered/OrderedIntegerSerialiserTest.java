@@ -0,0 +1,76 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.serialisation.simple.ordered;
+
+import gaffer.exception.SerialisationException;
+import gaffer.serialisation.OffsetSerialisation;
+import gaffer.serialisation.simple.OffsetSerialisationTest;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class OrderedIntegerSerialiserTest extends OffsetSerialisationTest {
+
+    private static final OrderedIntegerSerialiser SERIALISER = new OrderedIntegerSerialiser();
+    private static final Integer[] SORTED_VALUES = {Integer.MIN_VALUE, -1000000, -256, -1, 0, 1, 255, 256, 1000000, Integer.MAX_VALUE};
+
+    @Test
+    public void shouldSerialiseAndDeserialiseSortedValues() throws SerialisationException {
+        for (final Integer value : SORTED_VALUES) {
+            // When
+            final Object o = SERIALISER.deserialise(SERIALISER.serialise(value));
+
+            // Then
+            assertEquals(Integer.class, o.getClass());
+            assertEquals(value, o);
+        }
+    }
+
+    @Test
+    public void shouldPreserveOrderOfSerialisedValues() throws SerialisationException {
+        for (int i = 1; i < SORTED_VALUES.length; i++) {
+            // When
+            final byte[] previous = SERIALISER.serialise(SORTED_VALUES[i - 1]);
+            final byte[] current = SERIALISER.serialise(SORTED_VALUES[i]);
+
+            // Then
+            assertTrue(SORTED_VALUES[i - 1] + " should sort before " + SORTED_VALUES[i],
+                    OrderedSerialisationUtils.compare(previous, current) < 0);
+        }
+    }
+
+    @Test
+    public void cantSerialiseStringClass() throws SerialisationException {
+        assertFalse(SERIALISER.canHandle(String.class));
+    }
+
+    @Test
+    public void canSerialiseIntegerClass() throws SerialisationException {
+        assertTrue(SERIALISER.canHandle(Integer.class));
+    }
+
+    @Override
+    protected OffsetSerialisation getSerialisation() {
+        return SERIALISER;
+    }
+
+    @Override
+    protected Object getOffsetTestValue() {
+        return Integer.MIN_VALUE;
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.serialisation.simple.raw;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import gaffer.exception.SerialisationException;
+import gaffer.types.simple.FreqMap;
+import org.junit.Test;
+import java.util.Arrays;
+
+public class CompactRawFreqMapSerialiserTest {
+    private static final CompactRawFreqMapSerialiser SERIALISER = new CompactRawFreqMapSerialiser();
+
+    @Test
+    public void shouldSerialiseAndDeserialiseFreqMap() throws SerialisationException {
+        // Given
+        final FreqMap freqMap = new FreqMap();
+        freqMap.put("x", 10);
+        freqMap.put("y", -5);
+        freqMap.put("a\\,b", Integer.MAX_VALUE);
+        freqMap.put("\u00e9\u4e2d", Integer.MIN_VALUE);
+
+        // When
+        final byte[] bytes = SERIALISER.serialise(freqMap);
+        final FreqMap deserialised = (FreqMap) SERIALISER.deserialise(bytes);
+
+        // Then
+        assertEquals(freqMap, deserialised);
+    }
+
+    @Test
+    public void shouldSerialiseEmptyFreqMap() throws SerialisationException {
+        // When
+        final byte[] bytes = SERIALISER.serialise(new FreqMap());
+        final FreqMap deserialised = (FreqMap) SERIALISER.deserialise(bytes);
+
+        // Then
+        assertEquals(1, bytes.length);
+        assertTrue(deserialised.isEmpty());
+    }
+
+    @Test
+    public void shouldDeserialiseFromOffset() throws SerialisationException {
+        // Given
+        final FreqMap freqMap = new FreqMap();
+        freqMap.put("x", 1);
+        freqMap.put("y", 2);
+        final byte[] serialised = SERIALISER.serialise(freqMap);
+        final byte[] padded = new byte[serialised.length + 6];
+        Arrays.fill(padded, (byte) -1);
+        System.arraycopy(serialised, 0, padded, 3, serialised.length);
+
+        // When
+        final FreqMap deserialised = (FreqMap) SERIALISER.deserialise(padded, 3, serialised.length);
+
+        // Then
+        assertEquals(freqMap, deserialised);
+    }
+
+    @Test
+    public void shouldMergeSerialisedFreqMapIntoExistingMap() throws SerialisationException {
+        // Given
+        final FreqMap freqMap = new FreqMap();
+        freqMap.put("x", 1);
+        freqMap.put("y", 2);
+        final FreqMap other = new FreqMap();
+        other.put("y", 3);
+        other.put("z", 4);
+
+        // When
+        final byte[] bytes = SERIALISER.serialise(other);
+        CompactRawFreqMapSerialiser.mergeInto(bytes, 0, bytes.length, freqMap);
+
+        // Then
+        assertEquals(3, freqMap.size());
+        assertEquals(1, freqMap.getFrequency("x"));
+        assertEquals(5, freqMap.getFrequency("y"));
+        assertEquals(4, freqMap.getFrequency("z"));
+    }
+
+    @Test
+    public void shouldThrowExceptionForTruncatedBytes() throws SerialisationException {
+        // Given
+        final FreqMap freqMap = new FreqMap();
+        freqMap.put("key", 1000);
+        final byte[] bytes = SERIALISER.serialise(freqMap);
+
+        // When / Then
+        try {
+            SERIALISER.deserialise(bytes, 0, bytes.length - 1);
+            fail("Exception expected");
+        } catch (final SerialisationException e) {
+            assertFalse(e.getMessage().isEmpty());
+        }
+    }
+
+    @Test
+    public void shouldSkipEntriesWithNullFrequencies() throws SerialisationException {
+        // Given
+        final FreqMap freqMap = new FreqMap();
+        freqMap.put("x", null);
+        freqMap.put("y", 5);
+
+        // When
+        final FreqMap deserialised = (FreqMap) SERIALISER.deserialise(SERIALISER.serialise(freqMap));
+
+        // Then
+        assertEquals(1, deserialised.size());
+        assertEquals((Integer) 5, deserialised.get("y"));
+    }
+
+    @Test
+    public void shouldThrowExceptionForNullKey() {
+        // Given
+        final FreqMap freqMap = new FreqMap();
+        freqMap.put(null, 1);
+
+        // When / Then
+        try {
+            SERIALISER.serialise(freqMap);
+            fail("Exception expected");
+        } catch (final SerialisationException e) {
+            assertFalse(e.getMessage().isEmpty());
+        }
+    }
+
+    @Test
+    public void shouldOnlyHandleFreqMaps() {
+        assertTrue(SERIALISER.canHandle(FreqMap.class));
+        assertFalse(SERIALISER.canHandle(String.class));
+    }
+}
@@ -16,11 +16,13 @@
 package gaffer.serialisation.simple.raw;
 
 import gaffer.exception.SerialisationException;
+import gaffer.serialisation.OffsetSerialisation;
+import gaffer.serialisation.simple.OffsetSerialisationTest;
 import org.junit.Test;
 
 import static org.junit.Assert.*;
 
-public class CompactRawIntegerSerialiserTest {
+public class CompactRawIntegerSerialiserTest extends OffsetSerialisationTest {
 
     private static final CompactRawIntegerSerialiser SERIALISER = new CompactRawIntegerSerialiser();
 
@@ -74,4 +76,13 @@ public class CompactRawIntegerSerialiserTest {
         assertEquals(value, o);
     }
 
-}
\ No newline at end of file
+    @Override
+    protected OffsetSerialisation getSerialisation() {
+        return SERIALISER;
+    }
+
+    @Override
+    protected Object getOffsetTestValue() {
+        return -100000;
+    }
+}
@@ -16,6 +16,8 @@
 package gaffer.serialisation.simple.raw;
 
 import gaffer.exception.SerialisationException;
+import gaffer.serialisation.OffsetSerialisation;
+import gaffer.serialisation.simple.OffsetSerialisationTest;
 import org.apache.commons.io.output.ByteArrayOutputStream;
 import org.junit.Test;
 
@@ -25,7 +27,7 @@ import java.io.DataOutputStream;
 
 import static org.junit.Assert.*;
 
-public class CompactRawLongSerialiserTest {
+public class CompactRawLongSerialiserTest extends OffsetSerialisationTest {
 
     private static final CompactRawLongSerialiser SERIALISER = new CompactRawLongSerialiser();
 
@@ -83,4 +85,13 @@ public class CompactRawLongSerialiserTest {
         assertEquals(result, value);
     }
 
-}
\ No newline at end of file
+    @Override
+    protected OffsetSerialisation getSerialisation() {
+        return SERIALISER;
+    }
+
+    @Override
+    protected Object getOffsetTestValue() {
+        return Long.MAX_VALUE;
+    }
+}
@@ -16,13 +16,15 @@
 package gaffer.serialisation.simple.raw;
 
 import gaffer.exception.SerialisationException;
+import gaffer.serialisation.OffsetSerialisation;
+import gaffer.serialisation.simple.OffsetSerialisationTest;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
-public class RawFloatSerialiserTest {
+public class RawFloatSerialiserTest extends OffsetSerialisationTest {
 
     private static final RawFloatSerialiser SERIALISER = new RawFloatSerialiser();
 
@@ -62,4 +64,13 @@ public class RawFloatSerialiserTest {
         assertTrue(SERIALISER.canHandle(Float.class));
     }
 
-}
\ No newline at end of file
+    @Override
+    protected OffsetSerialisation getSerialisation() {
+        return SERIALISER;
+    }
+
+    @Override
+    protected Object getOffsetTestValue() {
+        return 2.25f;
+    }
+}
@@ -16,13 +16,15 @@
 package gaffer.serialisation.simple.raw;
 
 import gaffer.exception.SerialisationException;
+import gaffer.serialisation.OffsetSerialisation;
+import gaffer.serialisation.simple.OffsetSerialisationTest;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
-public class RawIntegerSerialiserTest {
+public class RawIntegerSerialiserTest extends OffsetSerialisationTest {
 
     private static final RawIntegerSerialiser SERIALISER = new RawIntegerSerialiser();
 
@@ -62,4 +64,13 @@ public class RawIntegerSerialiserTest {
         assertTrue(SERIALISER.canHandle(Integer.class));
     }
 
-}
\ No newline at end of file
+    @Override
+    protected OffsetSerialisation getSerialisation() {
+        return SERIALISER;
+    }
+
+    @Override
+    protected Object getOffsetTestValue() {
+        return Integer.MIN_VALUE;
+    }
+}
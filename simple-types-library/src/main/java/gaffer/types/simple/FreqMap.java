@@ -38,4 +38,25 @@ public class FreqMap extends HashMap<String, Integer> {
     public FreqMap(final int initialCapacity, final float loadFactor) {
         super(initialCapacity, loadFactor);
     }
+
+    /**
+     * Adds the given frequency to the current frequency of the key, inserting
+     * the key if it is not already in the map. A null frequency counts as 0.
+     *
+     * @param key       the key to update
+     * @param frequency the frequency to add
+     */
+    public void upsert(final String key, final int frequency) {
+        final Integer current = get(key);
+        put(key, null != current ? current + frequency : frequency);
+    }
+
+    /**
+     * @param key the key to look up
+     * @return the frequency of the key, or 0 if the key is not in the map or its frequency is null
+     */
+    public int getFrequency(final String key) {
+        final Integer frequency = get(key);
+        return null != frequency ? frequency : 0;
+    }
 }
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.types.simple;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+public class FreqMapTest {
+    @Test
+    public void shouldUpsertFrequencies() {
+        // Given
+        final FreqMap freqMap = new FreqMap();
+
+        // When
+        freqMap.upsert("a", 1);
+        freqMap.upsert("b", 2);
+        freqMap.upsert("a", 3);
+
+        // Then
+        assertEquals(2, freqMap.size());
+        assertEquals(4, freqMap.getFrequency("a"));
+        assertEquals(2, freqMap.getFrequency("b"));
+        assertEquals(0, freqMap.getFrequency("c"));
+    }
+
+    @Test
+    public void shouldCountNullFrequencyAsZeroWhenUpserting() {
+        // Given
+        final FreqMap freqMap = new FreqMap();
+        freqMap.put("a", null);
+
+        // When
+        freqMap.upsert("a", 2);
+
+        // Then
+        assertEquals((Integer) 2, freqMap.get("a"));
+    }
+
+    @Test
+    public void shouldJavaSerialiseAndDeserialise() throws IOException, ClassNotFoundException {
+        // Given
+        final FreqMap freqMap = new FreqMap();
+        freqMap.put("a", 1);
+        freqMap.put("b", 2);
+        freqMap.remove("a");
+
+        // When
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(freqMap);
+        }
+        final FreqMap deserialised;
+        try (final ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            deserialised = (FreqMap) in.readObject();
+        }
+
+        // Then
+        assertEquals(freqMap, deserialised);
+        deserialised.upsert("c", 3);
+        assertEquals(2, deserialised.size());
+    }
+}